@@ -0,0 +1,36 @@
+package log;
+
+import org.openjdk.jmh.annotations.*;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventLogBenchmark {
+    @Param({"OFF", "INFO", "DEBUG"})
+    public String level;
+
+    private EventLog log;
+    private long time = 0;
+
+    @Setup
+    public void setup() {
+        // Wpisy PASSENGERS_ENTERED mają poziom DEBUG - przy INFO odpada sam filtr
+        log = new EventLog(LogLevel.byName(level), EventLog.allTypes(), Writer.nullWriter(), false);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        log.close();
+    }
+
+    @Benchmark
+    public void logBoarding() {
+        log.log(EventType.PASSENGERS_ENTERED, time++, 1, 7, 3);
+    }
+}
@@ -0,0 +1,33 @@
+package model;
+
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ElevatorBenchmark {
+    @Param({"1", "5", "10"})
+    public int destinationCount;
+
+    private Elevator elevator;
+
+    @Setup
+    public void setup() {
+        elevator = new Elevator();
+    }
+
+    @Benchmark
+    public Elevator addAndRemoveDestinations() {
+        for (int floor = 1; floor <= destinationCount; floor++) {
+            elevator.addDestination(floor);
+        }
+        for (int floor = destinationCount; floor >= 1; floor--) {
+            elevator.removeDestination(floor);
+        }
+        return elevator;
+    }
+}
@@ -0,0 +1,55 @@
+package simulation;
+
+import dispatch.DispatchStrategies;
+import model.Building;
+import model.Elevator;
+import org.openjdk.jmh.annotations.*;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchBenchmark {
+    // Odsetek pięter z aktywnym wezwaniem lub celem
+    @Param({"10", "50", "100"})
+    public int callDensity;
+
+    @Param({"11", "1000"})
+    public int floors;
+
+    @Param({"LOOK", "SCAN", "ETA"})
+    public String strategy;
+
+    private SimulationEngine engine;
+    private Elevator elevator;
+
+    @Setup
+    public void setup() {
+        Building building = new Building(floors, 1);
+        engine = new SimulationEngine(building, DispatchStrategies.byName(strategy));
+        elevator = building.getElevator(0);
+        elevator.setCurrentFloor(building.getFloorsCount() / 2);
+        elevator.setDirection(1);
+
+        Random random = new Random(42);
+        for (int floor = 0; floor < building.getFloorsCount(); floor++) {
+            if (random.nextInt(100) < callDensity) {
+                if (random.nextBoolean()) {
+                    building.addCall(floor);
+                    engine.getDispatcher().assignCall(floor);
+                } else {
+                    elevator.addDestination(floor);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public int findNextDestination() {
+        return engine.findNextDestination(elevator);
+    }
+}
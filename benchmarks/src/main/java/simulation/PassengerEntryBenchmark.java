@@ -0,0 +1,41 @@
+package simulation;
+
+import model.Building;
+import model.Elevator;
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PassengerEntryBenchmark {
+    private static final int FLOOR = 3;
+
+    private Building building;
+    private SimulationEngine engine;
+    private Elevator elevator;
+
+    @Setup
+    public void setup() {
+        building = new Building();
+        engine = new SimulationEngine(building);
+        elevator = building.getElevator(0);
+        elevator.setCurrentFloor(FLOOR);
+    }
+
+    @Benchmark
+    public int processPassengerEntry() {
+        for (int i = 0; i < 5; i++) {
+            building.addWaitingPassenger(FLOOR, 0, 0);
+        }
+        engine.processPassengerEntry(elevator);
+        int boarded = elevator.getPassengerCount();
+        while (!elevator.isEmpty()) {
+            building.getPassengers().release(elevator.removePassenger());
+        }
+        return boarded;
+    }
+}
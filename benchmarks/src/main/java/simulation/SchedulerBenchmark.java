@@ -0,0 +1,61 @@
+package simulation;
+
+import org.openjdk.jmh.annotations.*;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Model "hold": stała liczba oczekujących zdarzeń, w każdym kroku jedno wyjęte, jedno nowe
+// i jedno przeplanowane (anulowanie i ponowne zaplanowanie), jak przy zmianie celu windy
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchedulerBenchmark {
+    @Param({"heap", "wheel"})
+    public String scheduler;
+
+    // Mniej więcej tyle oczekujących zdarzeń, ile wind w grupie
+    @Param({"16", "1024", "65536"})
+    public int pending;
+
+    private EventScheduler events;
+    private ScheduledEvent[] scheduled;
+    // Akcja zdarzenia i zapamiętuje jego miejsce w tablicy, żeby wyjęte zastąpić nowym
+    private Runnable[] actions;
+    private SplittableRandom random;
+    private long now;
+    private int fired;
+
+    @Setup
+    public void setup() {
+        events = scheduler.equals("wheel") ? new TimingWheel() : new EventQueue();
+        scheduled = new ScheduledEvent[pending];
+        actions = new Runnable[pending];
+        random = new SplittableRandom(42);
+        for (int i = 0; i < pending; i++) {
+            int index = i;
+            actions[i] = () -> fired = index;
+            scheduled[i] = events.schedule(delay(), actions[i]);
+        }
+    }
+
+    // Od przejazdu o jedno piętro do długiego postoju
+    private long delay() {
+        return now + 500 + random.nextInt(20_000);
+    }
+
+    @Benchmark
+    public ScheduledEvent holdAndReschedule() {
+        ScheduledEvent event = events.poll();
+        now = event.getTime();
+        event.fire();
+        scheduled[fired] = events.schedule(delay(), actions[fired]);
+
+        int index = random.nextInt(pending);
+        scheduled[index].cancel();
+        scheduled[index] = events.schedule(delay(), actions[index]);
+        return event;
+    }
+}
@@ -0,0 +1,59 @@
+package view;
+
+import dispatch.DispatchStrategies;
+import district.District;
+import org.openjdk.jmh.annotations.*;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class OverviewBenchmark {
+    @Param({"100", "1000"})
+    public int buildings;
+
+    // Cała dzielnica w oknie albo jeden budynek z pełnymi szczegółami
+    @Param({"all", "building"})
+    public String zoom;
+
+    private District district;
+    private OverviewPanel panel;
+    private BufferedImage image;
+    private Graphics2D graphics;
+
+    @Setup
+    public void setup() {
+        district = new District(buildings, 42, "day", 1, DispatchStrategies.LOOK, 1);
+        panel = new OverviewPanel(district.enableStatePublishing());
+        // Poranny szczyt - kolejki na piętrach i pełne kabiny
+        district.advanceTo(9 * 3_600_000L);
+        panel.stop();
+
+        panel.setSize(1920, 1080);
+        if (zoom.equals("all")) {
+            panel.fitAll();
+        } else {
+            panel.fitBuilding(0);
+        }
+        image = new BufferedImage(1920, 1080, BufferedImage.TYPE_INT_RGB);
+        graphics = image.createGraphics();
+        graphics.setClip(0, 0, 1920, 1080);
+    }
+
+    @TearDown
+    public void tearDown() {
+        graphics.dispose();
+        district.shutdown();
+    }
+
+    @Benchmark
+    public BufferedImage paintComponent() {
+        panel.paintComponent(graphics);
+        return image;
+    }
+}
@@ -0,0 +1,65 @@
+package view;
+
+import controler.ElevatorController;
+import model.Building;
+import model.Elevator;
+import org.openjdk.jmh.annotations.*;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmark {
+    @Param({"1", "4"})
+    public int elevatorCount;
+
+    @Param({"11", "10000"})
+    public int floors;
+
+    private ElevatorController controller;
+    private BuildingPanel panel;
+    private BufferedImage image;
+    private Graphics2D graphics;
+
+    @Setup
+    public void setup() {
+        Building building = new Building(floors, elevatorCount);
+        building.generateRandomPassengers(new java.util.Random(42), 0);
+        // Kontroler bez okna - benchmark tylko rysuje, zdarzenia symulacji nie występują
+        controller = new ElevatorController(building, null);
+        panel = new BuildingPanel(building, controller);
+
+        // Okno pokazuje parter, reszta budynku jest poza widokiem
+        Dimension size = panel.getPreferredSize();
+        panel.setSize(size);
+        image = new BufferedImage(size.width, 700, BufferedImage.TYPE_INT_RGB);
+        graphics = image.createGraphics();
+        graphics.translate(0, 700 - size.height);
+        graphics.setClip(0, size.height - 700, size.width, 700);
+
+        for (Elevator elevator : building.getElevators()) {
+            elevator.setCurrentFloor(elevator.getId() * 2);
+            panel.updateElevatorPosition(elevator, elevator.getCurrentFloor());
+        }
+        // Panel rysuje z obrazu stanu, więc trzeba go odświeżyć po ustawieniu kabin
+        controller.publishState();
+    }
+
+    @TearDown
+    public void tearDown() {
+        graphics.dispose();
+        controller.close();
+    }
+
+    @Benchmark
+    public BufferedImage paintComponent() {
+        panel.paintComponent(graphics);
+        return image;
+    }
+}
@@ -1,7 +1,190 @@
+import batch.MonteCarloRunner;
+import batch.ParameterSweep;
+import batch.StrategyComparison;
+import controler.ElevatorController;
+import dispatch.DispatchStrategies;
+import district.District;
+import live.LiveServer;
+import log.EventLog;
+import model.Building;
+import simulation.CarType;
+import simulation.HeadlessRunner;
+import simulation.SimulationConfig;
+import trace.TraceReader;
+import trace.TraceReplayer;
+import traffic.ArrivalStream;
+import traffic.RateProfile;
+import traffic.TrafficLog;
+import traffic.TrafficLogWriter;
 import view.ElevatorGUI;
+import view.WallDisplay;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 
 public class Main {
-    public static void main(String[] args) {
-            new ElevatorGUI().setVisible(true);
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && args[0].equals("--headless")) {
+            long seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+            int elevatorCount = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+            int floors = args.length > 3 ? Integer.parseInt(args[3]) : 11;
+            // "-" pomija raport metryk, gdy podany jest tylko plik śladu
+            Path metricsFile = args.length > 4 && !args[4].equals("-") ? Path.of(args[4]) : null;
+            Path traceFile = args.length > 5 ? Path.of(args[5]) : null;
+            HeadlessRunner.run(seed, floors, elevatorCount, metricsFile, traceFile);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--traffic")) {
+            String profile = args.length > 1 ? args[1] : "day";
+            int repetitions = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+            long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+            int elevatorCount = args.length > 4 ? Integer.parseInt(args[4]) : 4;
+            int floors = args.length > 5 ? Integer.parseInt(args[5]) : 11;
+            Path metricsFile = args.length > 6 && !args[6].equals("-") ? Path.of(args[6]) : null;
+            Path traceFile = args.length > 7 ? Path.of(args[7]) : null;
+            HeadlessRunner.run(seed, floors, elevatorCount, RateProfile.byName(profile, floors).repeat(repetitions),
+                    metricsFile, traceFile);
+            return;
+        }
+        if (args.length > 2 && args[0].equals("--checkpoint")) {
+            // Przebieg z profilem ruchu do podanej sekundy, zapisany do pliku punktu kontrolnego
+            long atMillis = (long) (Double.parseDouble(args[2]) * 1000);
+            String profile = args.length > 3 ? args[3] : "day";
+            int repetitions = args.length > 4 ? Integer.parseInt(args[4]) : 1;
+            long seed = args.length > 5 ? Long.parseLong(args[5]) : System.nanoTime();
+            int elevatorCount = args.length > 6 ? Integer.parseInt(args[6]) : 4;
+            int floors = args.length > 7 ? Integer.parseInt(args[7]) : 11;
+            HeadlessRunner.checkpoint(seed, floors, elevatorCount,
+                    new ArrivalStream(RateProfile.byName(profile, floors).repeat(repetitions), seed), atMillis,
+                    Path.of(args[1]));
+            return;
+        }
+        if (args.length > 1 && args[0].equals("--resume")) {
+            // Profil i liczba powtórzeń muszą być te same co przy zapisie; "-" dla przebiegu bez strumienia przyjść
+            String profile = args.length > 2 && !args[2].equals("-") ? args[2] : null;
+            int repetitions = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+            Path metricsFile = args.length > 4 ? Path.of(args[4]) : null;
+            HeadlessRunner.resume(Path.of(args[1]), engine -> profile == null ? null : new ArrivalStream(
+                    RateProfile.byName(profile, engine.getConfig().getFloors()).repeat(repetitions),
+                    engine.getSeed()), metricsFile);
+            return;
+        }
+        if (args.length > 1 && args[0].equals("--log")) {
+            long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+            int elevatorCount = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+            int floors = args.length > 4 ? Integer.parseInt(args[4]) : 11;
+            Path metricsFile = args.length > 5 && !args[5].equals("-") ? Path.of(args[5]) : null;
+            Path traceFile = args.length > 6 ? Path.of(args[6]) : null;
+            try (TrafficLog log = TrafficLog.open(Path.of(args[1]), floors, seed)) {
+                HeadlessRunner.run(seed, floors, elevatorCount, log, metricsFile, traceFile);
+            }
+            return;
+        }
+        if (args.length > 2 && args[0].equals("--convert-log")) {
+            long records = TrafficLogWriter.convert(Path.of(args[1]), Path.of(args[2]));
+            System.out.println("Zapisano " + records + " rekordów do " + args[2]);
+            return;
+        }
+        if (args.length > 1 && args[0].equals("--print-events")) {
+            // Binarny dziennik zdarzeń (-Dliftsimulator.log.format=binary) jako tekst na konsolę
+            EventLog.print(Path.of(args[1]), new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+            return;
+        }
+        if (args.length > 1 && args[0].equals("--replay")) {
+            double speed = args.length > 2 ? Double.parseDouble(args[2]) : 0;
+            TraceReplayer.run(Path.of(args[1]), speed);
+            return;
+        }
+        if (args.length > 1 && args[0].equals("--replay-gui")) {
+            double speed = args.length > 2 ? Double.parseDouble(args[2]) : 1;
+            TraceReader reader = new TraceReader(Path.of(args[1]));
+            ElevatorGUI gui = new ElevatorGUI(reader.getFloors(), reader.getElevatorCount(),
+                    DispatchStrategies.byName(reader.getStrategyName()));
+            gui.setVisible(true);
+            gui.startReplay(reader, speed);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--batch")) {
+            int replicas = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+            long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+            int elevatorCount = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+            int floors = args.length > 4 ? Integer.parseInt(args[4]) : 11;
+            String strategy = args.length > 5 ? args[5] : DispatchStrategies.LOOK.getName();
+            SimulationConfig config = SimulationConfig.defaults().withFloors(floors).withElevatorCount(elevatorCount)
+                    .withStrategy(DispatchStrategies.byName(strategy));
+            // Bez typu kabiny - dotychczasowa stała prędkość
+            if (args.length > 6) {
+                config = config.withCarType(CarType.byName(args[6]));
+            }
+            MonteCarloRunner.run(replicas, seed, config);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--district")) {
+            int buildings = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+            long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+            String profile = args.length > 3 ? args[3] : "day";
+            int days = args.length > 4 ? Integer.parseInt(args[4]) : 1;
+            String strategy = args.length > 5 ? args[5] : DispatchStrategies.LOOK.getName();
+            long stepMillis = args.length > 6 ? (long) (Double.parseDouble(args[6]) * 1000) : 60_000;
+            Path csvFile = args.length > 7 ? Path.of(args[7]) : null;
+            District.run(buildings, seed, profile, days, DispatchStrategies.byName(strategy), stepMillis, csvFile);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--wall")) {
+            // Dzielnica na żywo w oknie przeglądu; speed - sekundy symulacji na sekundę zegara
+            int buildings = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+            long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+            String profile = args.length > 3 ? args[3] : "day";
+            double speed = args.length > 4 ? Double.parseDouble(args[4]) : 60;
+            String strategy = args.length > 5 ? args[5] : DispatchStrategies.LOOK.getName();
+            District district = new District(buildings, seed, profile, 1, DispatchStrategies.byName(strategy),
+                    Runtime.getRuntime().availableProcessors());
+            WallDisplay wall = new WallDisplay(district, speed, 50);
+            wall.setVisible(true);
+            wall.start();
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--sweep")) {
+            String profile = args.length > 1 ? args[1] : "up-peak";
+            int floors = args.length > 2 ? Integer.parseInt(args[2]) : 11;
+            double maxP95Wait = args.length > 3 ? Double.parseDouble(args[3]) : 60;
+            int replicas = args.length > 4 ? Integer.parseInt(args[4]) : 20;
+            long seed = args.length > 5 ? Long.parseLong(args[5]) : 1;
+            Path cacheFile = args.length > 6 ? Path.of(args[6]) : null;
+            ParameterSweep.run(profile, floors, maxP95Wait, replicas, seed, cacheFile);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--serve")) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+            int elevatorCount = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+            int floors = args.length > 3 ? Integer.parseInt(args[3]) : 11;
+            double speed = args.length > 4 ? Double.parseDouble(args[4]) : 1;
+            // "-" - jedna grupa pasażerów na starcie zamiast profilu ruchu
+            String profile = args.length > 5 && !args[5].equals("-") ? args[5] : null;
+            long tickMillis = args.length > 6 ? Long.parseLong(args[6]) : 50;
+            ElevatorController controller = new ElevatorController(new Building(floors, elevatorCount), null);
+            controller.setAutomaticPassengers(true);
+            controller.setTrafficProfile(profile);
+            LiveServer server = new LiveServer(controller, port, tickMillis, speed);
+            System.out.println("Podgląd na żywo: http://localhost:" + server.getPort() + "/state, ws://localhost:"
+                    + server.getPort() + "/live");
+            // Ctrl+C - dziennik zapisuje resztę bufora przed wyjściem
+            Runtime.getRuntime().addShutdownHook(new Thread(controller::close, "zamykanie"));
+            controller.startSimulation(speed);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--compare")) {
+            int replicas = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+            long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+            int elevatorCount = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+            int floors = args.length > 4 ? Integer.parseInt(args[4]) : 11;
+            StrategyComparison.run(replicas, seed, floors, elevatorCount);
+            return;
+        }
+        int elevatorCount = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+        int floors = args.length > 1 ? Integer.parseInt(args[1]) : 11;
+            new ElevatorGUI(floors, elevatorCount).setVisible(true);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,152 @@
+package batch;
+
+import dispatch.DispatchStrategies;
+import dispatch.DispatchStrategy;
+import simulation.SimulationConfig;
+import simulation.SimulationEngine;
+import stats.ConfidenceInterval;
+import stats.RunResult;
+import stats.RunStatistics;
+import traffic.ArrivalStream;
+import traffic.RateProfile;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class MonteCarloRunner {
+    // Poniżej tej liczby replik zadanie nie jest już dzielone
+    private static final int SPLIT_THRESHOLD = 4;
+
+    private final SimulationConfig config;
+    // null - jedna grupa pasażerów na starcie zamiast strumienia przyjść
+    private final RateProfile profile;
+    private final int parallelism;
+
+    public MonteCarloRunner(int floors, int elevatorCount, int parallelism) {
+        this(floors, elevatorCount, parallelism, DispatchStrategies.LOOK);
+    }
+
+    public MonteCarloRunner(int floors, int elevatorCount, int parallelism, DispatchStrategy strategy) {
+        this(SimulationConfig.defaults().withFloors(floors).withElevatorCount(elevatorCount).withStrategy(strategy),
+                null, parallelism);
+    }
+
+    public MonteCarloRunner(SimulationConfig config, RateProfile profile, int parallelism) {
+        this.config = config;
+        this.profile = profile;
+        this.parallelism = parallelism;
+    }
+
+    // Każda replika dostaje własne ziarno, więc wynik nie zależy od kolejności wykonania
+    public static long[] replicaSeeds(int replicas, long seed) {
+        long[] seeds = new long[replicas];
+        SplittableRandom master = new SplittableRandom(seed);
+        for (int i = 0; i < replicas; i++) {
+            seeds[i] = master.nextLong();
+        }
+        return seeds;
+    }
+
+    public RunResult[] run(int replicas, long seed) {
+        long[] seeds = replicaSeeds(replicas, seed);
+        RunResult[] results = new RunResult[replicas];
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new ReplicaTask(seeds, results, 0, replicas));
+        } finally {
+            pool.shutdown();
+        }
+        return results;
+    }
+
+    public static RunResult runReplica(long seed, int floors, int elevatorCount) {
+        return runReplica(seed, floors, elevatorCount, DispatchStrategies.LOOK);
+    }
+
+    public static RunResult runReplica(long seed, int floors, int elevatorCount, DispatchStrategy strategy) {
+        return runReplica(seed, SimulationConfig.defaults().withFloors(floors).withElevatorCount(elevatorCount)
+                .withStrategy(strategy), null);
+    }
+
+    public static RunResult runReplica(long seed, SimulationConfig config, RateProfile profile) {
+        SimulationEngine engine = new SimulationEngine(config);
+        RunStatistics statistics = new RunStatistics(engine::now);
+        engine.addListener(statistics);
+        engine.enableAutomaticPassengers(seed);
+        if (profile != null) {
+            engine.setTrafficSource(new ArrivalStream(profile, seed));
+        }
+        engine.start();
+        engine.run();
+        return statistics.toResult(seed);
+    }
+
+    private class ReplicaTask extends RecursiveAction {
+        private final long[] seeds;
+        private final RunResult[] results;
+        private final int from;
+        private final int to;
+
+        ReplicaTask(long[] seeds, RunResult[] results, int from, int to) {
+            this.seeds = seeds;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    results[i] = runReplica(seeds[i], config, profile);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ReplicaTask(seeds, results, from, middle),
+                    new ReplicaTask(seeds, results, middle, to));
+        }
+    }
+
+    public static void printSummary(RunResult[] results) {
+        int n = results.length;
+        double[] meanWait = new double[n];
+        double[] p95Wait = new double[n];
+        double[] meanTrip = new double[n];
+        double[] p95Trip = new double[n];
+        double[] throughput = new double[n];
+        for (int i = 0; i < n; i++) {
+            meanWait[i] = results[i].getMeanWait() / 1000.0;
+            p95Wait[i] = results[i].getP95Wait() / 1000.0;
+            meanTrip[i] = results[i].getMeanTrip() / 1000.0;
+            p95Trip[i] = results[i].getP95Trip() / 1000.0;
+            throughput[i] = results[i].getPassengersPerHour();
+        }
+
+        System.out.println("Replik: " + n + " (przedziały ufności 95%)");
+        System.out.println("Średni czas oczekiwania [s]: " + ConfidenceInterval.of(meanWait));
+        System.out.println("95. percentyl oczekiwania [s]: " + ConfidenceInterval.of(p95Wait));
+        System.out.println("Średni czas podróży [s]: " + ConfidenceInterval.of(meanTrip));
+        System.out.println("95. percentyl podróży [s]: " + ConfidenceInterval.of(p95Trip));
+        System.out.println("Obsłużeni pasażerowie/h: " + ConfidenceInterval.of(throughput));
+    }
+
+    public static void run(int replicas, long seed, int floors, int elevatorCount) {
+        run(replicas, seed, floors, elevatorCount, DispatchStrategies.LOOK);
+    }
+
+    public static void run(int replicas, long seed, int floors, int elevatorCount, DispatchStrategy strategy) {
+        run(replicas, seed, SimulationConfig.defaults().withFloors(floors).withElevatorCount(elevatorCount)
+                .withStrategy(strategy));
+    }
+
+    public static void run(int replicas, long seed, SimulationConfig config) {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        long started = System.nanoTime();
+        RunResult[] results = new MonteCarloRunner(config, null, parallelism).run(replicas, seed);
+        long elapsed = (System.nanoTime() - started) / 1_000_000;
+
+        printSummary(results);
+        System.out.println("Obliczono w " + elapsed + " ms na " + parallelism + " wątkach");
+    }
+}
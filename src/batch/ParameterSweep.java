@@ -0,0 +1,257 @@
+package batch;
+
+import dispatch.DispatchStrategies;
+import dispatch.DispatchStrategy;
+import simulation.SimulationConfig;
+import simulation.SimulationEngine;
+import stats.RunResult;
+import traffic.RateProfile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.ToDoubleFunction;
+
+// Przegląd konfiguracji (windy, pojemność, prędkość, postoje, strategia) dla zadanego profilu ruchu
+public class ParameterSweep {
+    // Zmieniana razem z modelem symulacji lub sposobem liczenia wskaźników, żeby plik pamięci podręcznej
+    // nie zwracał wyników policzonych poprzednią wersją (2 - przepustowość do ostatniej podróży)
+    private static final long RESULT_VERSION = 2;
+
+    private final SimulationConfig base;
+    private final String profileName;
+    private final RateProfile profile;
+    private final int replicas;
+    private final long seed;
+    private final ScenarioCache cache;
+    private final int parallelism;
+    private ToDoubleFunction<SimulationConfig> costModel = ParameterSweep::installationCost;
+
+    private int[] elevatorCounts = {1, 2, 3, 4, 5, 6, 7, 8};
+    private int[] capacities = {5, 8, 10, 13, 16};
+    private long[] floorTravelTimes = {1000, 750, 500};
+    private long[] exitPhaseTimes = {4000, 3000, 2000};
+    private long[] entryPhaseTimes = {SimulationEngine.ENTRY_PHASE_TIME};
+    private List<DispatchStrategy> strategies = DispatchStrategies.all();
+
+    public static class Candidate {
+        private final SimulationConfig config;
+        private final double cost;
+        private final ScenarioResult result;
+
+        Candidate(SimulationConfig config, double cost, ScenarioResult result) {
+            this.config = config;
+            this.cost = cost;
+            this.result = result;
+        }
+
+        public SimulationConfig getConfig() {
+            return config;
+        }
+
+        public double getCost() {
+            return cost;
+        }
+
+        public ScenarioResult getResult() {
+            return result;
+        }
+    }
+
+    // profileName identyfikuje ruch w kluczu wyników, więc musi jednoznacznie opisywać profile
+    public ParameterSweep(SimulationConfig base, String profileName, RateProfile profile, int replicas, long seed,
+                          ScenarioCache cache, int parallelism) {
+        this.base = base;
+        this.profileName = profileName;
+        this.profile = profile;
+        this.replicas = replicas;
+        this.seed = seed;
+        this.cache = cache;
+        this.parallelism = parallelism;
+    }
+
+    public ParameterSweep elevatorCounts(int... values) {
+        this.elevatorCounts = values;
+        return this;
+    }
+
+    public ParameterSweep capacities(int... values) {
+        this.capacities = values;
+        return this;
+    }
+
+    public ParameterSweep floorTravelTimes(long... values) {
+        this.floorTravelTimes = values;
+        return this;
+    }
+
+    public ParameterSweep exitPhaseTimes(long... values) {
+        this.exitPhaseTimes = values;
+        return this;
+    }
+
+    public ParameterSweep entryPhaseTimes(long... values) {
+        this.entryPhaseTimes = values;
+        return this;
+    }
+
+    public ParameterSweep strategies(List<DispatchStrategy> values) {
+        this.strategies = values;
+        return this;
+    }
+
+    public ParameterSweep costModel(ToDoubleFunction<SimulationConfig> costModel) {
+        this.costModel = costModel;
+        return this;
+    }
+
+    // Względny koszt instalacji: winda 100, każde miejsce 4, szybszy napęd i drzwi proporcjonalnie do zysku czasu
+    public static double installationCost(SimulationConfig config) {
+        double speedup = (double) SimulationEngine.FLOOR_TRAVEL_TIME / config.getFloorTravelTime() - 1;
+        double doorSpeedup = (double) (SimulationEngine.EXIT_PHASE_TIME + SimulationEngine.ENTRY_PHASE_TIME) /
+                (config.getExitPhaseTime() + config.getEntryPhaseTime()) - 1;
+        double car = 100 + 4 * config.getCapacity() + 60 * speedup + 20 * doorSpeedup;
+        return config.getElevatorCount() * car;
+    }
+
+    // Wszystkie kombinacje siatki, od najtańszej. Z typem kabiny czas przejazdu piętra nie wpływa na przebieg,
+    // więc ta oś zwija się do wartości z konfiguracji bazowej zamiast mnożyć identyczne scenariusze
+    public List<SimulationConfig> candidates() {
+        List<SimulationConfig> configs = new ArrayList<>();
+        long[] travelTimes = base.getCarType() != null ? new long[]{base.getFloorTravelTime()} : floorTravelTimes;
+        for (int elevatorCount : elevatorCounts) {
+            for (int capacity : capacities) {
+                for (long floorTravelTime : travelTimes) {
+                    for (long exitPhaseTime : exitPhaseTimes) {
+                        for (long entryPhaseTime : entryPhaseTimes) {
+                            for (DispatchStrategy strategy : strategies) {
+                                configs.add(base.withElevatorCount(elevatorCount).withCapacity(capacity)
+                                        .withFloorTravelTime(floorTravelTime).withExitPhaseTime(exitPhaseTime)
+                                        .withEntryPhaseTime(entryPhaseTime).withStrategy(strategy));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        configs.sort(Comparator.comparingDouble(costModel));
+        return configs;
+    }
+
+    // Klucz wyniku: wersja modelu, konfiguracja, ruch, liczba replik i ziarno - wszystko, od czego zależy wynik
+    public ScenarioCache.Key scenarioKey(SimulationConfig config) {
+        long hash = SimulationConfig.mix(config.hash(), RESULT_VERSION);
+        for (char c : profileName.toCharArray()) {
+            hash = SimulationConfig.mix(hash, c);
+        }
+        hash = SimulationConfig.mix(hash, profile.getRepetitions());
+        hash = SimulationConfig.mix(hash, replicas);
+        hash = SimulationConfig.mix(hash, seed);
+        return new ScenarioCache.Key(hash, "v=" + RESULT_VERSION + "|" + config.key() + "|profile=" + profileName +
+                "|repetitions=" + profile.getRepetitions() + "|replicas=" + replicas + "|seed=" + seed);
+    }
+
+    public Candidate evaluate(SimulationConfig config) {
+        ScenarioResult result = cache.get(scenarioKey(config), () -> {
+            // Te same ziarna dla każdej konfiguracji - porównanie na wspólnych liczbach losowych
+            long[] seeds = MonteCarloRunner.replicaSeeds(replicas, seed);
+            RunResult[] results = new RunResult[replicas];
+            for (int i = 0; i < replicas; i++) {
+                results[i] = MonteCarloRunner.runReplica(seeds[i], config, profile);
+            }
+            return ScenarioResult.of(results);
+        });
+        return new Candidate(config, costModel.applyAsDouble(config), result);
+    }
+
+    // Ocena całej siatki, równolegle
+    public List<Candidate> sweep() {
+        return evaluateAll(candidates());
+    }
+
+    // Najtańsza konfiguracja, której 95. percentyl oczekiwania (górna granica przedziału) nie przekracza
+    // maxP95Wait [s]. Kandydaci są oceniani partiami w kolejności kosztu - droższych nie trzeba już liczyć
+    public Candidate findCheapest(double maxP95Wait) {
+        List<SimulationConfig> configs = candidates();
+        int batchSize = Math.max(parallelism, 1) * 2;
+        int from = 0;
+        while (from < configs.size()) {
+            // Partia kończy się dopiero po wszystkich kandydatach o tym samym koszcie co ostatni
+            int to = Math.min(from + batchSize, configs.size());
+            while (to < configs.size() && costModel.applyAsDouble(configs.get(to)) == costModel.applyAsDouble(configs.get(to - 1))) {
+                to++;
+            }
+
+            Candidate best = null;
+            for (Candidate candidate : evaluateAll(configs.subList(from, to))) {
+                if (candidate.getResult().getP95WaitUpper() <= maxP95Wait &&
+                        (best == null || candidate.getCost() < best.getCost() ||
+                                candidate.getCost() == best.getCost() &&
+                                        candidate.getResult().getP95Wait() < best.getResult().getP95Wait())) {
+                    best = candidate;
+                }
+            }
+            if (best != null) {
+                return best;
+            }
+            from = to;
+        }
+        return null;
+    }
+
+    private List<Candidate> evaluateAll(List<SimulationConfig> configs) {
+        List<Callable<Candidate>> tasks = new ArrayList<>();
+        for (SimulationConfig config : configs) {
+            tasks.add(() -> evaluate(config));
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<Candidate> candidates = new ArrayList<>();
+            for (Future<Candidate> future : pool.invokeAll(tasks)) {
+                candidates.add(future.get());
+            }
+            return candidates;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Przegląd przerwany", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Błąd oceny konfiguracji", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public static void run(String profileName, int floors, double maxP95Wait, int replicas, long seed, Path cacheFile)
+            throws IOException {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        ScenarioCache cache = cacheFile != null ? new ScenarioCache(cacheFile) : new ScenarioCache();
+        ParameterSweep sweep = new ParameterSweep(SimulationConfig.defaults().withFloors(floors), profileName,
+                RateProfile.byName(profileName, floors), replicas, seed, cache, parallelism);
+
+        long started = System.nanoTime();
+        Candidate best = sweep.findCheapest(maxP95Wait);
+        long elapsed = (System.nanoTime() - started) / 1_000_000;
+
+        System.out.println("Profil " + profileName + ", " + floors + " pięter, wymaganie: p95 oczekiwania <= " +
+                maxP95Wait + " s, " + replicas + " replik na konfigurację");
+        System.out.println("Ocenione konfiguracje: " + (cache.getHits() + cache.getMisses()) + " z " +
+                sweep.candidates().size() + ", z pamięci podręcznej: " + cache.getHits() +
+                ", obliczone: " + cache.getMisses());
+        if (best == null) {
+            System.out.println("Żadna konfiguracja z siatki nie spełnia wymagania");
+        } else {
+            ScenarioResult result = best.getResult();
+            System.out.println("Najtańsza konfiguracja: " + best.getConfig());
+            System.out.printf("Koszt: %.0f, p95 oczekiwania: %.2f ± %.2f s, oczekiwanie śr.: %.2f s, %.1f pasażerów/h%n",
+                    best.getCost(), result.getP95Wait(), result.getP95WaitHalfWidth(), result.getMeanWait(),
+                    result.getPassengersPerHour());
+        }
+        System.out.println("Obliczono w " + elapsed + " ms na " + parallelism + " wątkach");
+    }
+}
@@ -0,0 +1,129 @@
+package batch;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Wyniki scenariuszy według klucza; opcjonalnie dopisywane do pliku, żeby kolejne przeglądy ich nie liczyły
+public class ScenarioCache {
+    // 64-bitowy skrót do szybkiego wyszukiwania i pełny opis pól scenariusza - wpisy są równe tylko przy równych
+    // opisach, więc dwa scenariusze o tym samym skrócie nigdy nie dzielą wyniku
+    public static final class Key {
+        private final long hash;
+        private final String fields;
+
+        public Key(long hash, String fields) {
+            if (fields.indexOf(';') >= 0 || fields.indexOf('\n') >= 0 || fields.indexOf('\r') >= 0) {
+                throw new IllegalArgumentException("Niedozwolony znak w kluczu scenariusza: " + fields);
+            }
+            this.hash = hash;
+            this.fields = fields;
+        }
+
+        public long getHash() {
+            return hash;
+        }
+
+        public String getFields() {
+            return fields;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (!(other instanceof Key)) return false;
+            Key key = (Key) other;
+            return hash == key.hash && fields.equals(key.fields);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(hash);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%016x (%s)", hash, fields);
+        }
+    }
+
+    private final ConcurrentHashMap<Key, CompletableFuture<ScenarioResult>> results = new ConcurrentHashMap<>();
+    private final Path file;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    public ScenarioCache() {
+        this.file = null;
+    }
+
+    // Linie pliku: skrót;pola klucza;p95;połowa przedziału;średnie oczekiwanie;pasażerowie/h.
+    // Linie starszego formatu (bez pól klucza) są pomijane - ich wyniku nie da się przypisać bez ryzyka kolizji
+    public ScenarioCache(Path file) throws IOException {
+        this.file = file;
+        if (!Files.exists(file)) {
+            return;
+        }
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            String[] fields = line.split(";");
+            if (fields.length != 6) continue;
+            ScenarioResult result = new ScenarioResult(Double.parseDouble(fields[2]), Double.parseDouble(fields[3]),
+                    Double.parseDouble(fields[4]), Double.parseDouble(fields[5]));
+            results.put(new Key(Long.parseUnsignedLong(fields[0], 16), fields[1]),
+                    CompletableFuture.completedFuture(result));
+        }
+    }
+
+    // Ten sam klucz liczony równolegle przez kilka wątków trafia do obliczenia tylko raz
+    public ScenarioResult get(Key key, Supplier<ScenarioResult> compute) {
+        CompletableFuture<ScenarioResult> created = new CompletableFuture<>();
+        CompletableFuture<ScenarioResult> existing = results.putIfAbsent(key, created);
+        if (existing != null) {
+            hits.incrementAndGet();
+            return existing.join();
+        }
+        misses.incrementAndGet();
+        try {
+            ScenarioResult result = compute.get();
+            append(key, result);
+            created.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            results.remove(key, created);
+            created.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public int getHits() {
+        return hits.get();
+    }
+
+    public int getMisses() {
+        return misses.get();
+    }
+
+    public int size() {
+        return results.size();
+    }
+
+    private synchronized void append(Key key, ScenarioResult result) {
+        if (file == null) return;
+        String line = String.format(Locale.ROOT, "%016x;%s;%.4f;%.4f;%.4f;%.4f%n", key.hash, key.fields,
+                result.getP95Wait(), result.getP95WaitHalfWidth(), result.getMeanWait(), result.getPassengersPerHour());
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(line);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nie można zapisać wyniku do " + file, e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package batch;
+
+import stats.ConfidenceInterval;
+import stats.RunResult;
+
+// Zbiorczy wynik replik jednego scenariusza; czasy w sekundach
+public class ScenarioResult {
+    private final double p95Wait;
+    private final double p95WaitHalfWidth;
+    private final double meanWait;
+    private final double passengersPerHour;
+
+    public ScenarioResult(double p95Wait, double p95WaitHalfWidth, double meanWait, double passengersPerHour) {
+        this.p95Wait = p95Wait;
+        this.p95WaitHalfWidth = p95WaitHalfWidth;
+        this.meanWait = meanWait;
+        this.passengersPerHour = passengersPerHour;
+    }
+
+    public static ScenarioResult of(RunResult[] results) {
+        int n = results.length;
+        double[] p95Wait = new double[n];
+        double[] meanWait = new double[n];
+        double[] throughput = new double[n];
+        for (int i = 0; i < n; i++) {
+            p95Wait[i] = results[i].getP95Wait() / 1000.0;
+            meanWait[i] = results[i].getMeanWait() / 1000.0;
+            throughput[i] = results[i].getPassengersPerHour();
+        }
+        ConfidenceInterval p95 = ConfidenceInterval.of(p95Wait);
+        return new ScenarioResult(p95.getMean(), p95.getHalfWidth(), ConfidenceInterval.of(meanWait).getMean(),
+                ConfidenceInterval.of(throughput).getMean());
+    }
+
+    public double getP95Wait() {
+        return p95Wait;
+    }
+
+    public double getP95WaitHalfWidth() {
+        return p95WaitHalfWidth;
+    }
+
+    // Górna granica przedziału ufności 95. percentyla - ostrożne kryterium spełnienia wymagania
+    public double getP95WaitUpper() {
+        return p95Wait + p95WaitHalfWidth;
+    }
+
+    public double getMeanWait() {
+        return meanWait;
+    }
+
+    public double getPassengersPerHour() {
+        return passengersPerHour;
+    }
+}
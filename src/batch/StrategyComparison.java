@@ -0,0 +1,55 @@
+package batch;
+
+import dispatch.DispatchStrategies;
+import dispatch.DispatchStrategy;
+import stats.ConfidenceInterval;
+import stats.RunResult;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Wszystkie strategie na tych samych ziarnach, czyli na identycznych strumieniach pasażerów
+public class StrategyComparison {
+    public static void run(int replicas, long seed, int floors, int elevatorCount) {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        System.out.println("Porównanie strategii: " + replicas + " replik, " + floors + " pięter, " +
+                elevatorCount + " wind, ziarno " + seed + " (średnie ± połowa przedziału ufności 95%)");
+        System.out.printf("%-12s %16s %16s %16s %16s %16s %18s%n", "Strategia",
+                "oczek. śr. [s]", "oczek. p50 [s]", "oczek. p95 [s]", "oczek. p99 [s]", "podróż śr. [s]", "pasażerów/h");
+
+        compare(replicas, seed, floors, elevatorCount, parallelism).forEach(StrategyComparison::printRow);
+    }
+
+    // Wyniki replik każdej strategii, w kolejności DispatchStrategies.all()
+    public static Map<String, RunResult[]> compare(int replicas, long seed, int floors, int elevatorCount,
+                                                   int parallelism) {
+        Map<String, RunResult[]> results = new LinkedHashMap<>();
+        for (DispatchStrategy strategy : DispatchStrategies.all()) {
+            results.put(strategy.getName(),
+                    new MonteCarloRunner(floors, elevatorCount, parallelism, strategy).run(replicas, seed));
+        }
+        return results;
+    }
+
+    private static void printRow(String name, RunResult[] results) {
+        int n = results.length;
+        double[] meanWait = new double[n];
+        double[] p50Wait = new double[n];
+        double[] p95Wait = new double[n];
+        double[] p99Wait = new double[n];
+        double[] meanTrip = new double[n];
+        double[] throughput = new double[n];
+        for (int i = 0; i < n; i++) {
+            meanWait[i] = results[i].getMeanWait() / 1000.0;
+            p50Wait[i] = results[i].getP50Wait() / 1000.0;
+            p95Wait[i] = results[i].getP95Wait() / 1000.0;
+            p99Wait[i] = results[i].getP99Wait() / 1000.0;
+            meanTrip[i] = results[i].getMeanTrip() / 1000.0;
+            throughput[i] = results[i].getPassengersPerHour();
+        }
+
+        System.out.printf("%-12s %16s %16s %16s %16s %16s %18s%n", name,
+                ConfidenceInterval.of(meanWait), ConfidenceInterval.of(p50Wait), ConfidenceInterval.of(p95Wait),
+                ConfidenceInterval.of(p99Wait), ConfidenceInterval.of(meanTrip), ConfidenceInterval.of(throughput));
+    }
+}
@@ -1,310 +1,377 @@
 package controler;
 
+import dispatch.DispatchStrategies;
+import dispatch.DispatchStrategy;
+import log.EventLog;
+import log.EventType;
 import model.Building;
 import model.Elevator;
-import model.Passenger;
+import simulation.BuildingState;
+import simulation.SimulationActor;
+import simulation.SimulationEngine;
+import simulation.SimulationListener;
+import simulation.StatePublisher;
+import stats.SimulationMetrics;
+import trace.TraceReader;
+import trace.TraceRecorder;
+import trace.TraceReplayer;
+import traffic.ArrivalStream;
+import traffic.RateProfile;
 import view.ElevatorGUI;
 import javax.swing.JOptionPane;
-import javax.swing.Timer;
-import java.awt.Color;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
-import java.util.ArrayList;
+import javax.swing.SwingUtilities;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Silnik żyje we własnym wątku (SimulationActor); okno tylko wysyła do niego polecenia
+// i rysuje z opublikowanego obrazu stanu. Metody wywoływane z widoku działają w wątku Swinga.
+// Dziennik zdarzeń zamykany jest z końcem każdego przebiegu i przy close(), a otwierany na nowo przy starcie
+public class ElevatorController implements SimulationListener, Closeable {
+    // Ścieżka raportu z metrykami zapisywanego po zakończeniu symulacji (opcjonalna)
+    private static final String METRICS_FILE_PROPERTY = "liftsimulator.metrics";
+    // Ścieżka pliku śladu do późniejszego odtworzenia (opcjonalna, nadpisywana przy każdym starcie)
+    private static final String TRACE_FILE_PROPERTY = "liftsimulator.trace";
+    // Nazwa strategii dyspozytora (LOOK, SCAN, NEAREST, ETA, DESTINATION)
+    private static final String DISPATCH_PROPERTY = "liftsimulator.dispatch";
+    // Profil ruchu (up-peak, down-peak, lunch, interfloor, day) - pasażerowie przychodzą w trakcie symulacji
+    private static final String TRAFFIC_PROPERTY = "liftsimulator.traffic";
 
-public class ElevatorController {
-    private Elevator elevator;
     private Building building;
     private ElevatorGUI gui;
+    private SimulationEngine engine;
+    private SimulationMetrics metrics;
+    private volatile EventLog log;
 
-    private boolean simulationRunning = false;
-    private boolean isExitPhase = false;
+    // Budzi się dokładnie na najbliższe zdarzenie symulacji albo polecenie z okna
+    private final SimulationActor actor;
+    private final StatePublisher publisher;
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
 
-    private Timer mainTimer;
+    // Zegar czytany także przez animację w wątku Swinga
+    private volatile boolean clockRunning = false;
+    private volatile long wallClockStart;
+    private volatile long simulationStart;
+    private volatile double speed = 1;
+
+    // Odtwarzanie śladu - wejścia pochodzą z pliku, przyciski są ignorowane
+    private TraceReplayer replayer;
+    private TraceReader replayReader;
+
+    // Bez okna (serwer podglądu) pasażerowie sami wzywają windy i wybierają cele
+    private volatile boolean automaticPassengers = false;
+    private volatile String trafficProfile = System.getProperty(TRAFFIC_PROPERTY);
+
+    // Winda, której dotyczą przyciski z panelu w kabinie
+    private Elevator selectedElevator;
 
     //z srodka windy
     private Set<Integer> activeCallFloors = new HashSet<>();
-    private List<Passenger> passengersInElevator = new ArrayList<>();
 
-    public ElevatorController(Elevator elevator, Building building, ElevatorGUI gui) {
-        this.elevator = elevator;
+    public ElevatorController(Building building, ElevatorGUI gui) {
+        this(building, gui, configuredStrategy());
+    }
+
+    public ElevatorController(Building building, ElevatorGUI gui, DispatchStrategy strategy) {
         this.building = building;
         this.gui = gui;
-    }
+        this.engine = new SimulationEngine(building, strategy);
+        this.selectedElevator = building.getElevator(0);
+        this.metrics = new SimulationMetrics(engine);
+        this.log = EventLog.fromSystemProperties();
+        engine.addListener(metrics);
+        engine.addListener(this);
+        metrics.register("gui");
+
+        String traceFile = System.getProperty(TRACE_FILE_PROPERTY);
+        if (traceFile != null) {
+            engine.addListener(new TraceRecorder(engine, Path.of(traceFile)));
+        }
 
-    public void startSimulation() {
-        simulationRunning = true;
-        building.generateRandomPassengers();
-        elevator.setCurrentFloor(0);
-        gui.updateAfterStart();
-        gui.repaint();
-        System.out.println("Symulacja rozpoczęta!");
+        this.publisher = new StatePublisher(engine);
+        this.actor = new SimulationActor("symulacja", this::tick, this::delayToNextTick, this::publishState);
     }
 
-    public void callElevator(int floor) {
-        building.addCall(floor);
-        System.out.println("Wezwanie windy na piętro " + floor);
-        StartMovement();
+    public static DispatchStrategy configuredStrategy() {
+        return DispatchStrategies.byName(System.getProperty(DISPATCH_PROPERTY, DispatchStrategies.LOOK.getName()));
     }
 
-    public void selectDestination(int floor) {
-        elevator.addDestination(floor);
-        System.out.println("Wybrano cel: piętro " + floor);
-        StartMovement();
+    public void setAutomaticPassengers(boolean automaticPassengers) {
+        this.automaticPassengers = automaticPassengers;
     }
 
-    public void exitPassenger() {
-        if (canExitPassenger()) {
-            elevator.removePassenger();
-            removePassengerFromElevatorVisual();
-            gui.updateButtonStates();
-            System.out.println("Pasażer wysiadł na piętrze " + elevator.getCurrentFloor());
-        }
+    // Nazwa profilu ruchu dla kolejnych startów albo null - jedna grupa pasażerów na starcie
+    public void setTrafficProfile(String trafficProfile) {
+        this.trafficProfile = trafficProfile;
     }
 
-    private boolean canExitPassenger() {
-        return simulationRunning && !elevator.isMoving() &&
-                !gui.isElevatorAnimating() && !elevator.isEmpty() && isExitPhase;
+    public void startSimulation() {
+        startSimulation(1);
     }
 
-    private void StartMovement() {
-        if (elevator.isMoving() || gui.isElevatorAnimating()) {
-            return;
-        }
+    public void startSimulation(double speed) {
+        actor.post(() -> {
+            if (replayer != null || engine.isRunning()) return;
+            reopenLog();
+            long seed = System.nanoTime();
+            if (automaticPassengers) {
+                engine.enableAutomaticPassengers(seed);
+            } else {
+                engine.setSeed(seed);
+            }
+            String traffic = trafficProfile;
+            if (traffic != null) {
+                engine.setTrafficSource(new ArrivalStream(RateProfile.byName(traffic, building.getFloorsCount()), engine.getSeed()));
+            }
+            startClock(speed);
+            engine.start();
+        });
+    }
 
-        int nextFloor = findNextDestination();
-        if (nextFloor != -1) {
-            startMovingToFloor(nextFloor);
-        } else {
-            elevator.setDirection(0);
-            gui.updateArrows();
-            checkSimulationEnd();
-        }
+    public void startReplay(TraceReader reader, double speed) {
+        actor.post(() -> {
+            reopenLog();
+            replayReader = reader;
+            replayer = new TraceReplayer(engine, reader);
+            startClock(speed);
+            replayer.start();
+        });
     }
 
-    private int findNextDestination() {
-        Set<Integer> allTargets = new HashSet<>(elevator.getDestinations());
-        allTargets.addAll(building.getCalls());
+    private void startClock(double speed) {
+        this.speed = speed;
+        wallClockStart = System.currentTimeMillis();
+        simulationStart = engine.now();
+        clockRunning = true;
+    }
 
-        if (allTargets.isEmpty()) return -1;
+    // Czas symulacji odpowiadający bieżącej chwili zegara ściennego
+    public long getSimulationTime() {
+        if (!clockRunning) return publisher.snapshot().getTime();
+        return simulationStart + (long) ((System.currentTimeMillis() - wallClockStart) * speed);
+    }
 
-        int currentFloor = elevator.getCurrentFloor();
-        int direction = elevator.getDirection();
-        int closest = -1;
-        int minDistance = Integer.MAX_VALUE;
+    // Obraz stanu z ostatniego kroku symulacji - jedyne, co widok czyta z modelu
+    public BuildingState getState() {
+        return publisher.snapshot();
+    }
 
-        if (direction != 0) {
-            for (int target : allTargets) {
-                if ((direction > 0 && target > currentFloor) || (direction < 0 && target < currentFloor)) {
-                    int distance = Math.abs(target - currentFloor);
-                    if (distance < minDistance) {
-                        closest = target;
-                        minDistance = distance;
-                    }
-                }
-            }
-        }
+    public StatePublisher getStatePublisher() {
+        return publisher;
+    }
 
-        if (closest == -1) {
-            for (int target : allTargets) {
-                int distance = Math.abs(target - currentFloor);
-                if (distance > 0 && distance < minDistance) {
-                    closest = target;
-                    minDistance = distance;
-                }
-            }
+    // W wątku symulacji po każdym kroku; z innego wątku (np. w benchmarku) tylko, gdy symulacja nie działa
+    public void publishState() {
+        publisher.publish();
+        if (gui != null && refreshPending.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(() -> {
+                refreshPending.set(false);
+                gui.refresh();
+            });
         }
-
-        return closest;
     }
 
-    private void startMovingToFloor(int targetFloor) {
-        elevator.setDirection(targetFloor > elevator.getCurrentFloor() ? 1 : -1);
-        elevator.setMoving(true);
-        gui.updateArrows();
-
-        mainTimer = new Timer(1000, new MoveActionListener());
-        mainTimer.setInitialDelay(500);
-        mainTimer.start();
+    private void tick() {
+        if (!engine.isRunning()) return;
+        if (replayer != null) {
+            replayer.advanceTo(getSimulationTime() - simulationStart);
+        } else {
+            engine.runUntil(getSimulationTime());
+        }
     }
 
-    private class MoveActionListener implements ActionListener {
-        @Override
-        public void actionPerformed(ActionEvent e) {
-            if (!gui.isElevatorAnimating()) {
-                elevator.moveForOneFloor();
-                gui.updateElevatorPosition();
-
-                if (shouldStopAtCurrentFloor()) {
-                    stopTimer();
-                    waitForAnimationThenStop();
-                }
-            }
+    private long delayToNextTick() {
+        if (!engine.isRunning()) return -1;
+        long next = replayer != null ? replayer.nextEventTime() : engine.nextEventTime();
+        if (next == -1) return -1;
+        if (replayer != null) {
+            next += simulationStart;
         }
+        return Math.max(0, (long) Math.ceil((next - getSimulationTime()) / speed));
     }
 
-    private boolean shouldStopAtCurrentFloor() {
-        int currentFloor = elevator.getCurrentFloor();
-        return building.getCalls().contains(currentFloor) ||
-                elevator.getDestinations().contains(currentFloor);
+    // Wejście użytkownika trafia do silnika w chwili, w której faktycznie nastąpiło
+    private void catchUp() {
+        engine.runUntil(getSimulationTime());
     }
 
-    private void waitForAnimationThenStop() {
-        Timer waitTimer = new Timer(50, e -> {
-            if (!gui.isElevatorAnimating()) {
-                ((Timer) e.getSource()).stop();
-                handleFloorStop();
-            }
+    public void callElevator(int floor) {
+        actor.post(() -> {
+            if (replayer != null) return;
+            catchUp();
+            log.log(EventType.CALL, engine.now(), -1, floor);
+            engine.callElevator(floor);
         });
-        waitTimer.start();
     }
 
-    private void handleFloorStop() {
-        elevator.setMoving(false);
-        int currentFloor = elevator.getCurrentFloor();
-
-        System.out.println("Winda zatrzymała się na piętrze " + currentFloor);
-
-        building.removeCall(currentFloor);
-        elevator.removeDestination(currentFloor);
-        clearFloorCall(currentFloor);
-
-        startPassengerExchange();
+    public void selectDestination(int floor) {
+        selectDestination(selectedElevator, floor);
     }
 
-    private void startPassengerExchange() {
-        isExitPhase = true;
-        System.out.println("Faza wysiadania - 4 sekundy");
-
-        Timer exitTimer = new Timer(4000, e -> {
-            ((Timer) e.getSource()).stop();
-            isExitPhase = false;
-            startEntryPhase();
+    public void selectDestination(Elevator elevator, int floor) {
+        actor.post(() -> {
+            if (replayer != null) return;
+            catchUp();
+            log.log(EventType.DESTINATION, engine.now(), elevator.getId(), floor);
+            engine.selectDestination(elevator, floor);
         });
-        exitTimer.setRepeats(false);
-        exitTimer.start();
     }
 
-    private void startEntryPhase() {
-        System.out.println("Faza wsiadania - 1 sekunda");
-
-        Timer entryTimer = new Timer(1000, e -> {
-            ((Timer) e.getSource()).stop();
-            processPassengerEntry();
-            StartMovement();
-        });
-        entryTimer.setRepeats(false);
-        entryTimer.start();
+    public void exitPassenger(Elevator elevator) {
+        selectElevator(elevator);
+        if (!gui.isElevatorAnimating(elevator)) {
+            actor.post(() -> {
+                if (replayer != null) return;
+                catchUp();
+                engine.exitPassenger(elevator);
+            });
+        }
     }
 
-    private void processPassengerEntry() {
-        int currentFloor = elevator.getCurrentFloor();
-        int entering = Math.min(
-                building.getWaitingPassengers(currentFloor),
-                elevator.getAvailableSpace()
-        );
-
-        for (int i = 0; i < entering; i++) {
-            elevator.addPassenger();
-            addPassengerToElevatorVisual();
-        }
+    // Wywoływane przez widok, gdy kabina na ekranie dojechała do piętra
+    public void elevatorArrived(Elevator elevator) {
+        gui.updateButtonStates();
+    }
 
-        building.removePassengers(currentFloor, entering);
-        gui.repaint();
+    public void selectElevator(Elevator elevator) {
+        selectedElevator = elevator;
         gui.updateButtonStates();
+        gui.repaint();
+    }
 
-        System.out.println("Wsiadło " + entering + " pasażerów na piętrze " + currentFloor);
+    public Building getBuilding() {
+        return building;
     }
 
-    private void checkSimulationEnd() {
-        boolean shouldEnd = building.getCalls().isEmpty() &&
-                elevator.getDestinations().isEmpty() &&
-                elevator.isEmpty();
+    public Elevator getSelectedElevator() {
+        return selectedElevator;
+    }
 
-        if (shouldEnd) {
-            Timer endTimer = new Timer(10000, e -> {
-                ((Timer) e.getSource()).stop();
-                if (isSimulationStillEmpty()) {
-                    endSimulation();
-                }
-            });
-            endTimer.setRepeats(false);
-            endTimer.start();
+    // Zdarzenia silnika przychodzą w wątku symulacji; okno aktualizuje się w wątku Swinga
+    private void inGui(Runnable update) {
+        if (gui != null) {
+            SwingUtilities.invokeLater(update);
         }
     }
 
-    private boolean isSimulationStillEmpty() {
-        return building.getCalls().isEmpty() &&
-                elevator.getDestinations().isEmpty() &&
-                elevator.isEmpty();
+    @Override
+    public void onSimulationStarted() {
+        inGui(() -> {
+            gui.updateAfterStart();
+            gui.repaint();
+        });
+        log.log(EventType.SIMULATION_STARTED, engine.now());
     }
 
-    private void endSimulation() {
-        simulationRunning = false;
-        isExitPhase = false;
-        stopTimer();
+    @Override
+    public void onDirectionChanged(Elevator elevator) {
+        if (elevator.getDirection() == 0) {
+            int floor = elevator.getCurrentFloor();
+            inGui(() -> gui.updateElevatorPosition(elevator, floor));
+        }
+    }
 
-        activeCallFloors.clear();
-        passengersInElevator.clear();
+    @Override
+    public void onElevatorDeparted(Elevator elevator, int nextFloor, long arrivalTime) {
+        long departureTime = engine.now();
+        inGui(() -> gui.moveElevator(elevator, nextFloor, departureTime, arrivalTime));
+    }
 
-        gui.endSimulation();
+    @Override
+    public void onElevatorStopped(Elevator elevator, int floor) {
+        inGui(() -> {
+            gui.updateElevatorPosition(elevator, floor);
+            clearFloorCall(floor);
+        });
+        log.log(EventType.STOP, engine.now(), elevator.getId(), floor);
+    }
 
-        System.out.println("Symulacja zakończona!");
-        JOptionPane.showMessageDialog(gui, "Symulacja zakończona!");
+    @Override
+    public void onExitPhaseStarted(Elevator elevator, int floor) {
+        log.log(EventType.EXIT_PHASE, engine.now(), elevator.getId(), floor,
+                (int) (engine.getConfig().getExitPhaseTime() / 1000));
     }
 
-    private void stopTimer() {
-        if (mainTimer != null && mainTimer.isRunning()) {
-            mainTimer.stop();
-        }
+    @Override
+    public void onEntryPhaseStarted(Elevator elevator, int floor) {
+        log.log(EventType.ENTRY_PHASE, engine.now(), elevator.getId(), floor,
+                (int) (engine.getConfig().getEntryPhaseTime() / 1000));
     }
 
-    private void addPassengerToElevatorVisual() {
-        int dotIndex = passengersInElevator.size();
-        int x = 5 + (dotIndex % 3) * 8;
-        int y = 5 + (dotIndex / 3) * 10;
+    @Override
+    public void onPassengerExited(Elevator elevator, int floor) {
+        log.log(EventType.PASSENGER_EXITED, engine.now(), elevator.getId(), floor);
+    }
 
-        Color passengerColor = Utils.Utils.getFloorColor(elevator.getCurrentFloor());
-        Passenger newPassenger = new Passenger(x, y, passengerColor, elevator.getCurrentFloor());
-        passengersInElevator.add(newPassenger);
+    @Override
+    public void onPassengersEntered(Elevator elevator, int floor, int count) {
+        if (count > 0) {
+            inGui(() -> selectedElevator = elevator);
+        }
 
-        gui.repaint();
+        log.log(EventType.PASSENGERS_ENTERED, engine.now(), elevator.getId(), floor, count);
     }
 
-    private void removePassengerFromElevatorVisual() {
-        if (!passengersInElevator.isEmpty()) {
-            passengersInElevator.remove(0);
-            repositionPassengersInElevator();
-            gui.repaint();
+    @Override
+    public void onSimulationEnded() {
+        clockRunning = false;
+        building.clearWaitingPassengers();
+        writeMetricsReport();
+        finishReplay();
+
+        inGui(() -> {
+            activeCallFloors.clear();
+            gui.endSimulation();
+            JOptionPane.showMessageDialog(gui, "Symulacja zakończona!");
+        });
+        log.log(EventType.SIMULATION_ENDED, engine.now());
+        closeLog();
+    }
+
+    // Kolejny przebieg po zamknięciu dziennika dopisuje się do tego samego pliku
+    private void reopenLog() {
+        if (log.isClosed()) {
+            log = EventLog.fromSystemProperties(true);
         }
     }
 
-    private void repositionPassengersInElevator() {
-        for (int i = 0; i < passengersInElevator.size(); i++) {
-            Passenger passenger = passengersInElevator.get(i);
-            passenger.x = 5 + (i % 3) * 8;
-            passenger.y = 5 + (i / 3) * 10;
+    // Opróżnia bufor dziennika, kończy wątek zapisu i zamyka plik
+    private void closeLog() {
+        try {
+            log.close();
+        } catch (IOException e) {
+            System.err.println("Nie udało się zamknąć dziennika: " + e.getMessage());
         }
     }
 
+    // Przy zamykaniu okna albo procesu - dziennik i rejestracja metryk nie mogą przeżyć kontrolera
+    @Override
+    public void close() {
+        closeLog();
+        metrics.unregister();
+    }
+
     private void clearFloorCall(int floor) {
         activeCallFloors.remove(floor);
         gui.updateArrows();
     }
 
-    public Set<Integer> getActiveCallFloors() {
-        return activeCallFloors;
-    }
-
-    public List<Passenger> getPassengersInElevator() {
-        return passengersInElevator;
+    // Tylko w wątku Swinga, który jako jedyny zmienia ten zbiór
+    public boolean isCallActive(int floor) {
+        return activeCallFloors.contains(floor);
     }
 
     public int determineDirectionForFloor(int floor) {
-        int elevatorDirection = elevator.getDirection();
-        int currentFloor = elevator.getCurrentFloor();
+        BuildingState state = publisher.snapshot();
+        int car = state.getAssignedCar(floor);
+        if (car == -1) {
+            car = selectedElevator.getId();
+        }
+        int elevatorDirection = state.getDirection(car);
+        int currentFloor = state.getCurrentFloor(car);
 
         if (elevatorDirection != 0) {
             return elevatorDirection;
@@ -313,14 +380,47 @@ public class ElevatorController {
         }
     }
 
+    private void finishReplay() {
+        if (replayer == null) return;
+        log.log(replayer.matchesRecording() ? EventType.REPLAY_MATCHED : EventType.REPLAY_DIVERGED, engine.now());
+        try {
+            replayReader.close();
+        } catch (IOException e) {
+            System.err.println("Nie udało się zamknąć pliku śladu: " + e.getMessage());
+        }
+        replayer = null;
+        replayReader = null;
+    }
+
+    private void writeMetricsReport() {
+        String file = System.getProperty(METRICS_FILE_PROPERTY);
+        if (file == null) return;
+        try {
+            metrics.writeReport(Path.of(file));
+            System.out.println("Zapisano metryki do " + file);
+        } catch (IOException e) {
+            System.err.println("Nie udało się zapisać metryk: " + e.getMessage());
+        }
+    }
+
+    public EventLog getEventLog() {
+        return log;
+    }
+
+    public SimulationMetrics getMetrics() {
+        return metrics;
+    }
+
     public boolean shouldEnableElevatorButton(int floor) {
-        return !elevator.isEmpty() &&
-                floor != elevator.getCurrentFloor() &&
-                !elevator.getDestinations().contains(floor);
+        BuildingState state = publisher.snapshot();
+        int car = selectedElevator.getId();
+        return state.getPassengerCount(car) > 0 &&
+                floor != state.getCurrentFloor(car) &&
+                !state.hasDestination(car, floor);
     }
 
     public boolean shouldEnableCallButton(int floor) {
-        return building.hasWaitingPassengers(floor);
+        return publisher.snapshot().getWaitingPassengers(floor) > 0;
     }
 
-}
\ No newline at end of file
+}
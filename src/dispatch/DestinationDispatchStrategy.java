@@ -0,0 +1,29 @@
+package dispatch;
+
+import model.Building;
+import model.Elevator;
+import model.FloorSet;
+
+// Przybliżenie przydziału według celów na zwykłych wezwaniach z korytarza: koszt ETA plus postój za każdy
+// cel czekających, na którym winda i tak się nie zatrzyma. Wezwanie nadal obsługuje jedna winda dla całego
+// piętra - to nie jest pełny przydział każdego pasażera osobno z panelu celów
+public class DestinationDispatchStrategy extends EtaStrategy {
+    @Override
+    public String getName() {
+        return "DESTINATION";
+    }
+
+    @Override
+    public int callCost(Dispatcher dispatcher, Elevator elevator, int floor) {
+        Building building = dispatcher.getBuilding();
+        FloorSet destinations = elevator.getDestinations();
+        FloorSet calls = dispatcher.getAssignedCalls(elevator);
+
+        // Każdy różny cel czekających, który nie jest jeszcze przystankiem tej windy, dokłada jeden postój;
+        // budynek trzyma cele per piętro, więc koszt zależy od liczby różnych celów, a nie od długości kolejki
+        int extraStops = building.countWaitingDestinationsOutside(floor, destinations, calls);
+
+        long cost = estimateArrival(dispatcher, elevator, floor) + extraStops * dispatcher.getConfig().getStopTime();
+        return (int) Math.min(Integer.MAX_VALUE, cost);
+    }
+}
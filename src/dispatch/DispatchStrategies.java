@@ -0,0 +1,29 @@
+package dispatch;
+
+import java.util.List;
+
+public final class DispatchStrategies {
+    public static final DispatchStrategy LOOK = new LookStrategy();
+    public static final DispatchStrategy SCAN = new ScanStrategy();
+    public static final DispatchStrategy NEAREST = new NearestCarStrategy();
+    public static final DispatchStrategy ETA = new EtaStrategy();
+    public static final DispatchStrategy DESTINATION = new DestinationDispatchStrategy();
+
+    private static final List<DispatchStrategy> ALL = List.of(LOOK, SCAN, NEAREST, ETA, DESTINATION);
+
+    private DispatchStrategies() {
+    }
+
+    public static List<DispatchStrategy> all() {
+        return ALL;
+    }
+
+    public static DispatchStrategy byName(String name) {
+        for (DispatchStrategy strategy : ALL) {
+            if (strategy.getName().equalsIgnoreCase(name)) {
+                return strategy;
+            }
+        }
+        throw new IllegalArgumentException("Nieznana strategia dyspozytora: " + name);
+    }
+}
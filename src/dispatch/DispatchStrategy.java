@@ -0,0 +1,19 @@
+package dispatch;
+
+import model.Elevator;
+import model.FloorSet;
+
+// Polityka grupy wind: która winda bierze wezwanie z korytarza i dokąd każda jedzie dalej.
+// Implementacje są bezstanowe, więc jedna instancja może obsługiwać wiele symulacji równolegle.
+public interface DispatchStrategy {
+    String getName();
+
+    // Koszt obsłużenia wezwania z piętra floor przez windę - wygrywa najmniejszy
+    int callCost(Dispatcher dispatcher, Elevator elevator, int floor);
+
+    // O ile tańsza musi być inna winda, żeby przejąć już przydzielone wezwanie
+    int getReassignMargin();
+
+    // Następne piętro docelowe albo -1; calls to wezwania, które winda ma teraz obsłużyć
+    int nextFloor(Elevator elevator, FloorSet destinations, FloorSet calls, int floors);
+}
@@ -0,0 +1,162 @@
+package dispatch;
+
+import model.Building;
+import model.Elevator;
+import model.FloorColumns;
+import model.FloorSet;
+import simulation.SimulationConfig;
+import java.util.ArrayList;
+import java.util.List;
+
+public class Dispatcher {
+    // Pełna winda przegrywa z każdą inną, niezależnie od strategii
+    private static final int FULL_PENALTY = 100_000_000;
+    private static final int UNASSIGNED = FloorColumns.NONE;
+
+    private final Building building;
+    private final DispatchStrategy strategy;
+    private final SimulationConfig config;
+    // Dla każdego piętra numer windy obsługującej wezwanie
+    private final FloorColumns assignedCar;
+    private final FloorSet[] assignedCalls;
+
+    public Dispatcher(Building building) {
+        this(building, DispatchStrategies.LOOK);
+    }
+
+    public Dispatcher(Building building, DispatchStrategy strategy) {
+        this(building, SimulationConfig.of(building, strategy));
+    }
+
+    public Dispatcher(Building building, SimulationConfig config) {
+        this.building = building;
+        this.config = config;
+        this.strategy = config.getStrategy();
+        this.assignedCar = FloorColumns.create(building.getStateArena(), building.getFloorsCount());
+        this.assignedCalls = new FloorSet[building.getElevatorCount()];
+        for (int i = 0; i < assignedCalls.length; i++) {
+            assignedCalls[i] = new FloorSet(building.getFloorsCount());
+        }
+    }
+
+    public Building getBuilding() {
+        return building;
+    }
+
+    public DispatchStrategy getStrategy() {
+        return strategy;
+    }
+
+    // Czasy jazdy i postojów, z których korzystają strategie szacujące czas dojazdu
+    public SimulationConfig getConfig() {
+        return config;
+    }
+
+    public Elevator assignCall(int floor) {
+        int assigned = assignedCar.getAssignedCar(floor);
+        if (assigned != UNASSIGNED) {
+            return building.getElevator(assigned);
+        }
+        Elevator best = findBestCar(floor);
+        assign(floor, best);
+        return best;
+    }
+
+    public Elevator getAssignedCar(int floor) {
+        int id = assignedCar.getAssignedCar(floor);
+        return id == UNASSIGNED ? null : building.getElevator(id);
+    }
+
+    public boolean isAssignedTo(int floor, Elevator elevator) {
+        return assignedCar.getAssignedCar(floor) == elevator.getId();
+    }
+
+    // Widok tylko do odczytu - zmieniany wyłącznie przez dyspozytora
+    public FloorSet getAssignedCalls(Elevator elevator) {
+        return assignedCalls[elevator.getId()];
+    }
+
+    // Przydział odczytany z punktu kontrolnego, bez ponownego liczenia kosztów
+    public void restoreCall(int floor, Elevator elevator) {
+        assign(floor, elevator);
+    }
+
+    public void completeCall(int floor) {
+        int id = assignedCar.getAssignedCar(floor);
+        if (id != UNASSIGNED) {
+            assignedCalls[id].remove(floor);
+            assignedCar.setAssignedCar(floor, UNASSIGNED);
+        }
+    }
+
+    public void clear() {
+        assignedCar.clearAssignments();
+        for (FloorSet calls : assignedCalls) {
+            calls.clear();
+        }
+    }
+
+    // Przenosi wezwania z pełnych lub spóźnionych wind; zwraca windy, które dostały nowe wezwania
+    public List<Elevator> reassignCalls() {
+        List<Elevator> changed = new ArrayList<>();
+        FloorSet calls = building.getCalls();
+        for (int floor = calls.nextFloor(0); floor != -1; floor = calls.nextAbove(floor)) {
+            Elevator current = getAssignedCar(floor);
+            if (current == null) {
+                continue;
+            }
+            Elevator best = findBestCar(floor);
+            if (best == current) {
+                continue;
+            }
+
+            if ((long) cost(best, floor) + strategy.getReassignMargin() < cost(current, floor)) {
+                completeCall(floor);
+                assign(floor, best);
+                if (!changed.contains(best)) {
+                    changed.add(best);
+                }
+            }
+        }
+        return changed;
+    }
+
+    private void assign(int floor, Elevator elevator) {
+        assignedCar.setAssignedCar(floor, elevator.getId());
+        assignedCalls[elevator.getId()].add(floor);
+    }
+
+    private Elevator findBestCar(int floor) {
+        Elevator best = null;
+        int bestCost = Integer.MAX_VALUE;
+        for (Elevator elevator : building.getElevators()) {
+            int cost = cost(elevator, floor);
+            if (best == null || cost < bestCost) {
+                best = elevator;
+                bestCost = cost;
+            }
+        }
+        return best;
+    }
+
+    private int cost(Elevator elevator, int floor) {
+        int cost = strategy.callCost(this, elevator, floor);
+        if (elevator.getAvailableSpace() == 0) {
+            cost = (int) Math.min(Integer.MAX_VALUE, (long) cost + FULL_PENALTY);
+        }
+        return cost;
+    }
+
+    // Przystanki zaplanowane dla windy, bez samego rozważanego wezwania
+    public int getPendingStops(Elevator elevator, int floor) {
+        int pendingStops = elevator.getDestinations().size() + assignedCalls[elevator.getId()].size();
+        if (isAssignedTo(floor, elevator)) {
+            pendingStops--;
+        }
+        return pendingStops;
+    }
+
+    public int nextFloor(Elevator elevator, FloorSet calls) {
+        return strategy.nextFloor(elevator, elevator.getDestinations(), calls, building.getFloorsCount());
+    }
+}
@@ -0,0 +1,59 @@
+package dispatch;
+
+import model.Elevator;
+import model.FloorSet;
+import simulation.SimulationConfig;
+import simulation.TravelTimeTable;
+
+// Koszt to szacowany czas dojazdu [ms] po trasie LOOK z uwzględnieniem postojów po drodze;
+// czasy jazdy między postojami pochodzą z tablicy przejazdów typu kabiny
+public class EtaStrategy implements DispatchStrategy {
+    private static final int REASSIGN_MARGIN = 4000;
+
+    @Override
+    public String getName() {
+        return "ETA";
+    }
+
+    @Override
+    public int callCost(Dispatcher dispatcher, Elevator elevator, int floor) {
+        return (int) Math.min(Integer.MAX_VALUE, estimateArrival(dispatcher, elevator, floor));
+    }
+
+    long estimateArrival(Dispatcher dispatcher, Elevator elevator, int floor) {
+        FloorSet destinations = elevator.getDestinations();
+        FloorSet calls = dispatcher.getAssignedCalls(elevator);
+        int currentFloor = elevator.getCurrentFloor();
+        int direction = elevator.getDirection();
+        if (floor == currentFloor && direction == 0) return 0;
+
+        SimulationConfig config = dispatcher.getConfig();
+        TravelTimeTable travelTimes = config.getTravelTimes();
+        long startDelay = direction == 0 ? config.getStartDelay() : 0;
+        if (direction == 0 || Integer.signum(floor - currentFloor) == direction) {
+            int stops = Routes.stopsBetween(destinations, calls, currentFloor, floor);
+            return startDelay + travelTimes.travelTime(Math.abs(floor - currentFloor), stops) +
+                    stops * config.getStopTime();
+        }
+
+        // Najpierw dojazd do ostatniego przystanku w bieżącym kierunku, potem powrót
+        int turn = Routes.lastStop(destinations, calls, currentFloor, direction);
+        if (turn == -1) {
+            turn = currentFloor;
+        }
+        int stops = Routes.stopsBetween(destinations, calls, currentFloor, turn) + (turn != currentFloor ? 1 : 0) +
+                Routes.stopsBetween(destinations, calls, turn, floor);
+        int floorsTravelled = Math.abs(turn - currentFloor) + Math.abs(turn - floor);
+        return travelTimes.travelTime(floorsTravelled, stops) + stops * config.getStopTime() + config.getStartDelay();
+    }
+
+    @Override
+    public int getReassignMargin() {
+        return REASSIGN_MARGIN;
+    }
+
+    @Override
+    public int nextFloor(Elevator elevator, FloorSet destinations, FloorSet calls, int floors) {
+        return Routes.look(elevator, destinations, calls);
+    }
+}
@@ -0,0 +1,40 @@
+package dispatch;
+
+import model.Elevator;
+import model.FloorSet;
+
+// Domyślna polityka: koszt w piętrach z karą za zawracanie i za każdy zaplanowany przystanek
+public class LookStrategy implements DispatchStrategy {
+    // Koszt liczony w "piętrach": każdy zaplanowany przystanek kosztuje tyle, co kilka pięter jazdy
+    private static final int STOP_PENALTY = 3;
+    private static final int REASSIGN_MARGIN = 4;
+
+    @Override
+    public String getName() {
+        return "LOOK";
+    }
+
+    @Override
+    public int callCost(Dispatcher dispatcher, Elevator elevator, int floor) {
+        int currentFloor = elevator.getCurrentFloor();
+        int cost = Math.abs(floor - currentFloor);
+
+        // Winda jadąca w przeciwną stronę musi najpierw zawrócić
+        int direction = elevator.getDirection();
+        if (direction != 0 && Integer.signum(floor - currentFloor) != direction) {
+            cost += dispatcher.getBuilding().getFloorsCount();
+        }
+
+        return cost + dispatcher.getPendingStops(elevator, floor) * STOP_PENALTY;
+    }
+
+    @Override
+    public int getReassignMargin() {
+        return REASSIGN_MARGIN;
+    }
+
+    @Override
+    public int nextFloor(Elevator elevator, FloorSet destinations, FloorSet calls, int floors) {
+        return Routes.look(elevator, destinations, calls);
+    }
+}
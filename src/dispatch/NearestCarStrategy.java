@@ -0,0 +1,29 @@
+package dispatch;
+
+import model.Elevator;
+import model.FloorSet;
+
+// Wezwanie dostaje najbliższa winda, bez względu na kierunek jazdy i liczbę przystanków
+public class NearestCarStrategy implements DispatchStrategy {
+    private static final int REASSIGN_MARGIN = 2;
+
+    @Override
+    public String getName() {
+        return "NEAREST";
+    }
+
+    @Override
+    public int callCost(Dispatcher dispatcher, Elevator elevator, int floor) {
+        return Math.abs(floor - elevator.getCurrentFloor());
+    }
+
+    @Override
+    public int getReassignMargin() {
+        return REASSIGN_MARGIN;
+    }
+
+    @Override
+    public int nextFloor(Elevator elevator, FloorSet destinations, FloorSet calls, int floors) {
+        return Routes.look(elevator, destinations, calls);
+    }
+}
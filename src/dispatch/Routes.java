@@ -0,0 +1,67 @@
+package dispatch;
+
+import model.Elevator;
+import model.FloorSet;
+
+// Wspólne wyszukiwanie przystanków w sumie celów pasażerów i wezwań
+final class Routes {
+    private Routes() {
+    }
+
+    // Jazda w bieżącym kierunku, dopóki są przed windą cele; potem najbliższy przystanek
+    static int look(Elevator elevator, FloorSet destinations, FloorSet calls) {
+        if (destinations.isEmpty() && calls.isEmpty()) return -1;
+
+        int currentFloor = elevator.getCurrentFloor();
+        int above = nextStopAbove(destinations, calls, currentFloor);
+        int below = nextStopBelow(destinations, calls, currentFloor);
+
+        int direction = elevator.getDirection();
+        if (direction > 0 && above != -1) return above;
+        if (direction < 0 && below != -1) return below;
+
+        return nearest(below, above, currentFloor);
+    }
+
+    static int nextStopAbove(FloorSet destinations, FloorSet calls, int floor) {
+        return nearest(destinations.nextAbove(floor), calls.nextAbove(floor), floor);
+    }
+
+    static int nextStopBelow(FloorSet destinations, FloorSet calls, int floor) {
+        return nearest(destinations.nextBelow(floor), calls.nextBelow(floor), floor);
+    }
+
+    // Najdalszy przystanek w danym kierunku albo -1
+    static int lastStop(FloorSet destinations, FloorSet calls, int floor, int direction) {
+        int last = -1;
+        for (int stop = next(destinations, calls, floor, direction); stop != -1;
+             stop = next(destinations, calls, stop, direction)) {
+            last = stop;
+        }
+        return last;
+    }
+
+    // Liczba przystanków ściśle pomiędzy from i to
+    static int stopsBetween(FloorSet destinations, FloorSet calls, int from, int to) {
+        int direction = Integer.signum(to - from);
+        if (direction == 0) return 0;
+        int count = 0;
+        for (int stop = next(destinations, calls, from, direction);
+             stop != -1 && (to - stop) * direction > 0;
+             stop = next(destinations, calls, stop, direction)) {
+            count++;
+        }
+        return count;
+    }
+
+    private static int next(FloorSet destinations, FloorSet calls, int floor, int direction) {
+        return direction > 0 ? nextStopAbove(destinations, calls, floor) : nextStopBelow(destinations, calls, floor);
+    }
+
+    // Bliższe z dwóch pięter (-1 oznacza brak); przy remisie wygrywa pierwsze
+    static int nearest(int first, int second, int currentFloor) {
+        if (first == -1) return second;
+        if (second == -1) return first;
+        return Math.abs(second - currentFloor) < Math.abs(first - currentFloor) ? second : first;
+    }
+}
@@ -0,0 +1,54 @@
+package dispatch;
+
+import model.Elevator;
+import model.FloorSet;
+
+// Winda przejeżdża cały szyb do skrajnego piętra i dopiero tam zawraca
+public class ScanStrategy implements DispatchStrategy {
+    private static final int STOP_PENALTY = 3;
+    private static final int REASSIGN_MARGIN = 4;
+
+    @Override
+    public String getName() {
+        return "SCAN";
+    }
+
+    // Odległość liczona wzdłuż przejazdu: przez skrajne piętro, jeśli wezwanie jest za windą
+    @Override
+    public int callCost(Dispatcher dispatcher, Elevator elevator, int floor) {
+        int currentFloor = elevator.getCurrentFloor();
+        int direction = elevator.getDirection();
+        int distance;
+        if (direction == 0 || Integer.signum(floor - currentFloor) == direction) {
+            distance = Math.abs(floor - currentFloor);
+        } else {
+            int end = direction > 0 ? dispatcher.getBuilding().getFloorsCount() - 1 : 0;
+            distance = Math.abs(end - currentFloor) + Math.abs(end - floor);
+        }
+        return distance + dispatcher.getPendingStops(elevator, floor) * STOP_PENALTY;
+    }
+
+    @Override
+    public int getReassignMargin() {
+        return REASSIGN_MARGIN;
+    }
+
+    @Override
+    public int nextFloor(Elevator elevator, FloorSet destinations, FloorSet calls, int floors) {
+        if (destinations.isEmpty() && calls.isEmpty()) return -1;
+
+        int currentFloor = elevator.getCurrentFloor();
+        int direction = elevator.getDirection();
+        if (direction > 0) {
+            int above = Routes.nextStopAbove(destinations, calls, currentFloor);
+            if (above != -1) return above;
+            if (currentFloor < floors - 1) return floors - 1;
+        } else if (direction < 0) {
+            int below = Routes.nextStopBelow(destinations, calls, currentFloor);
+            if (below != -1) return below;
+            if (currentFloor > 0) return 0;
+        }
+
+        return Routes.look(elevator, destinations, calls);
+    }
+}
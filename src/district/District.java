@@ -0,0 +1,246 @@
+package district;
+
+import batch.MonteCarloRunner;
+import dispatch.DispatchStrategy;
+import model.StateArena;
+import simulation.SimulationConfig;
+import simulation.StatePublisher;
+import stats.CoarseHistogram;
+import traffic.RateProfile;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Dzielnica: tysiące niezależnych budynków, każdy z własną grupą wind, przesuwanych razem krokami czasu
+// na puli z podkradaniem zadań. Między krokami widać stan całej dzielnicy, a budynek nigdy nie wyprzedza pozostałych
+// o więcej niż jeden krok
+public class District {
+    private static final long HOUR = 3_600_000;
+    // Poniżej tej liczby budynków zadanie nie jest już dzielone
+    private static final int SPLIT_THRESHOLD = 8;
+    private static final int MIN_FLOORS = 5;
+    private static final int MAX_FLOORS = 30;
+    private static final int MAX_CARS = 16;
+    private static final int WORST_SHOWN = 10;
+
+    private final DistrictBuilding[] buildings;
+    private final ForkJoinPool pool;
+    // Kolumny skalarów wind i przydziałów wezwań wszystkich budynków; z -Dliftsimulator.state=offheap
+    // w kilku dużych blokach poza stertą, których GC nie przegląda (kosztem wolniejszego dostępu niż do tablic)
+    private final StateArena stateArena = StateArena.shared();
+
+    // Wysokość i liczba wind losowane z ziarna budynku - ta sama dzielnica niezależnie od liczby wątków
+    public District(int buildingCount, long seed, String profileName, int days, DispatchStrategy strategy,
+                    int parallelism) {
+        if (buildingCount < 1) {
+            throw new IllegalArgumentException("Dzielnica musi mieć co najmniej jeden budynek");
+        }
+        this.pool = new ForkJoinPool(parallelism);
+        this.buildings = new DistrictBuilding[buildingCount];
+        // Profil zależy tylko od wysokości, więc budynki o tej samej liczbie pięter dzielą jeden egzemplarz
+        RateProfile[] profiles = new RateProfile[MAX_FLOORS + 1];
+        long[] seeds = MonteCarloRunner.replicaSeeds(buildingCount, seed);
+        SimulationConfig defaults = SimulationConfig.defaults().withStrategy(strategy);
+        for (int i = 0; i < buildingCount; i++) {
+            SplittableRandom random = new SplittableRandom(seeds[i]);
+            int floors = MIN_FLOORS + random.nextInt(MAX_FLOORS - MIN_FLOORS + 1);
+            int cars = Math.min(MAX_CARS, Math.max(1, floors / 2 + random.nextInt(-1, 2)));
+            if (profiles[floors] == null) {
+                profiles[floors] = RateProfile.byName(profileName, floors).repeat(days);
+            }
+            buildings[i] = new DistrictBuilding(i, defaults.withFloors(floors).withElevatorCount(cars),
+                    profiles[floors], seeds[i], stateArena);
+        }
+    }
+
+    public int size() {
+        return buildings.length;
+    }
+
+    public StateArena getStateArena() {
+        return stateArena;
+    }
+
+    // Przesuwa wszystkie budynki krokami step aż do końca ich ruchu; po każdej godzinie wypisuje stan dzielnicy
+    public void run(long step) {
+        long time = 0;
+        long nextReport = HOUR;
+        boolean running = true;
+        while (running) {
+            time += step;
+            running = advanceTo(time);
+            if (time >= nextReport || !running) {
+                printProgress(time);
+                nextReport = (time / HOUR + 1) * HOUR;
+            }
+        }
+    }
+
+    // Wszystkie budynki do chwili time; false, gdy żaden nie ma już ruchu
+    public boolean advanceTo(long time) {
+        pool.invoke(new AdvanceTask(time, 0, buildings.length));
+        for (DistrictBuilding building : buildings) {
+            if (building.isRunning()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Publikatory stanu budynków w kolejności numerów; od tej chwili każdy krok publikuje nowy obraz
+    public List<StatePublisher> enableStatePublishing() {
+        List<StatePublisher> publishers = new ArrayList<>(buildings.length);
+        for (DistrictBuilding building : buildings) {
+            publishers.add(building.enablePublishing());
+        }
+        return publishers;
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private void printProgress(long time) {
+        int running = 0;
+        long waiting = 0;
+        long riding = 0;
+        long served = 0;
+        for (DistrictBuilding building : buildings) {
+            if (building.isRunning()) running++;
+            waiting += building.getWaiting();
+            riding += building.getRiding();
+            served += building.getWaitTimes().count();
+        }
+        System.out.printf("godz. %5.1f: aktywnych budynków %d, czeka %d, w windach %d, obsłużono %d%n",
+                time / (double) HOUR, running, waiting, riding, served);
+    }
+
+    private class AdvanceTask extends RecursiveAction {
+        private final long time;
+        private final int from;
+        private final int to;
+
+        AdvanceTask(long time, int from, int to) {
+            this.time = time;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    buildings[i].advanceTo(time);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new AdvanceTask(time, from, middle), new AdvanceTask(time, middle, to));
+        }
+    }
+
+    public void printSummary() {
+        CoarseHistogram waitTimes = new CoarseHistogram();
+        CoarseHistogram tripTimes = new CoarseHistogram();
+        long floors = 0;
+        long cars = 0;
+        long arrived = 0;
+        long stops = 0;
+        double[] p95Waits = new double[buildings.length];
+        for (int i = 0; i < buildings.length; i++) {
+            DistrictBuilding building = buildings[i];
+            waitTimes.add(building.getWaitTimes());
+            tripTimes.add(building.getTripTimes());
+            floors += building.getFloors();
+            cars += building.getElevatorCount();
+            arrived += building.getArrived();
+            stops += building.getStops();
+            p95Waits[i] = building.getWaitTimes().percentile(95) / 1000.0;
+        }
+        Arrays.sort(p95Waits);
+
+        System.out.println("Dzielnica: " + buildings.length + " budynków, " + floors + " pięter, " + cars + " wind");
+        System.out.println("Przyszło pasażerów: " + arrived + ", obsłużono: " + waitTimes.count() +
+                ", przystanków: " + stops);
+        System.out.printf("Oczekiwanie: śr. %.2f s, p95 %.2f s, maks. %.2f s; przejazd: śr. %.2f s, p95 %.2f s%n",
+                waitTimes.mean() / 1000, waitTimes.percentile(95) / 1000.0, waitTimes.max() / 1000.0,
+                tripTimes.mean() / 1000, tripTimes.percentile(95) / 1000.0);
+        System.out.printf("p95 oczekiwania w budynkach: mediana %.2f s, 95%% budynków poniżej %.2f s, najgorszy %.2f s%n",
+                p95Waits[(p95Waits.length - 1) / 2], p95Waits[(int) Math.ceil(0.95 * p95Waits.length) - 1],
+                p95Waits[p95Waits.length - 1]);
+
+        DistrictBuilding[] worst = buildings.clone();
+        Arrays.sort(worst, Comparator.comparingLong((DistrictBuilding b) -> b.getWaitTimes().percentile(95))
+                .reversed());
+        System.out.println("Budynki z najdłuższym oczekiwaniem (p95):");
+        System.out.printf("%8s %7s %6s %10s %14s %14s %14s%n", "budynek", "piętra", "windy", "obsłużono",
+                "oczek. śr. [s]", "oczek. p95 [s]", "podróż p95 [s]");
+        for (int i = 0; i < Math.min(WORST_SHOWN, worst.length); i++) {
+            DistrictBuilding building = worst[i];
+            System.out.printf("%8d %7d %6d %10d %14.2f %14.2f %14.2f%n", building.getId(), building.getFloors(),
+                    building.getElevatorCount(), building.getWaitTimes().count(),
+                    building.getWaitTimes().mean() / 1000, building.getWaitTimes().percentile(95) / 1000.0,
+                    building.getTripTimes().percentile(95) / 1000.0);
+        }
+    }
+
+    // Wskaźniki każdego budynku, jeden wiersz na budynek
+    public void writeCsv(Path file) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            out.println("building,floors,elevators,arrived,served,stops,simulatedTimeMs,meanWaitMs,p95WaitMs," +
+                    "maxWaitMs,meanTripMs,p95TripMs,passengersPerHour");
+            for (DistrictBuilding building : buildings) {
+                CoarseHistogram waits = building.getWaitTimes();
+                CoarseHistogram trips = building.getTripTimes();
+                double hours = building.getSimulatedTime() / (double) HOUR;
+                out.printf(Locale.ROOT, "%d,%d,%d,%d,%d,%d,%d,%.1f,%d,%d,%.1f,%d,%.2f%n", building.getId(),
+                        building.getFloors(), building.getElevatorCount(), building.getArrived(), waits.count(),
+                        building.getStops(), building.getSimulatedTime(), waits.mean(), waits.percentile(95),
+                        waits.max(), trips.mean(), trips.percentile(95), hours > 0 ? waits.count() / hours : 0.0);
+            }
+        }
+    }
+
+    // Tryb dzielnicy bez okna: budowa, przebieg krokami stepMillis, podsumowanie i opcjonalny plik CSV
+    public static void run(int buildingCount, long seed, String profile, int days, DispatchStrategy strategy,
+                           long stepMillis, Path csvFile) throws IOException {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+        long started = System.nanoTime();
+        District district = new District(buildingCount, seed, profile, days, strategy, parallelism);
+        long built = (System.nanoTime() - started) / 1_000_000;
+        System.gc();
+        long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+        StateArena stateArena = district.getStateArena();
+        System.out.printf("Zbudowano %d budynków w %d ms, ok. %.1f KB pamięci na budynek; stan wind %.1f KB %s%n",
+                buildingCount, built, Math.max(0, heapAfter - heapBefore) / 1024.0 / buildingCount,
+                stateArena.getAllocated() / 1024.0, stateArena.isOffHeap() ? "poza stertą" : "na stercie");
+
+        started = System.nanoTime();
+        try {
+            district.run(stepMillis);
+        } finally {
+            district.shutdown();
+        }
+        long elapsed = (System.nanoTime() - started) / 1_000_000;
+        district.printSummary();
+        System.out.println("Obliczono w " + elapsed + " ms na " + parallelism + " wątkach");
+
+        if (csvFile != null) {
+            district.writeCsv(csvFile);
+            System.out.println("Zapisano wskaźniki budynków do " + csvFile);
+        }
+    }
+}
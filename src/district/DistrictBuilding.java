@@ -0,0 +1,116 @@
+package district;
+
+import model.CarColumns;
+import model.Elevator;
+import model.StateArena;
+import simulation.SimulationConfig;
+import simulation.SimulationEngine;
+import simulation.SimulationListener;
+import simulation.StatePublisher;
+import stats.CoarseHistogram;
+import traffic.ArrivalStream;
+import traffic.RateProfile;
+
+// Jeden budynek dzielnicy: własny silnik i grupa wind oraz wskaźniki zbierane bez próbek pojedynczych przejazdów,
+// więc pamięć budynku nie rośnie z długością symulacji
+class DistrictBuilding implements SimulationListener {
+    private final int id;
+    private final SimulationEngine engine;
+    private final CoarseHistogram waitTimes = new CoarseHistogram();
+    private final CoarseHistogram tripTimes = new CoarseHistogram();
+    private long arrived = 0;
+    private long stops = 0;
+    // Tylko gdy ktoś ogląda dzielnicę - bez podglądu budynek nie płaci za kopie stanu
+    private StatePublisher publisher;
+
+    DistrictBuilding(int id, SimulationConfig config, RateProfile profile, long seed, StateArena stateArena) {
+        this.id = id;
+        this.engine = new SimulationEngine(config, stateArena);
+        engine.addListener(this);
+        engine.enableAutomaticPassengers(seed);
+        engine.setTrafficSource(new ArrivalStream(profile, seed));
+        engine.start();
+    }
+
+    // Wywoływane przez jeden wątek puli naraz; budynki dzielą pamięć kolumn, ale każdy pisze tylko do swoich wycinków
+    void advanceTo(long time) {
+        if (engine.isRunning()) {
+            engine.runUntil(time);
+            if (publisher != null) {
+                publisher.publish();
+            }
+        }
+    }
+
+    StatePublisher enablePublishing() {
+        if (publisher == null) {
+            publisher = new StatePublisher(engine);
+        }
+        return publisher;
+    }
+
+    boolean isRunning() {
+        return engine.isRunning();
+    }
+
+    int getId() {
+        return id;
+    }
+
+    int getFloors() {
+        return engine.getConfig().getFloors();
+    }
+
+    int getElevatorCount() {
+        return engine.getConfig().getElevatorCount();
+    }
+
+    long getArrived() {
+        return arrived;
+    }
+
+    long getStops() {
+        return stops;
+    }
+
+    long getWaiting() {
+        return engine.getBuilding().getTotalWaitingPassengers();
+    }
+
+    int getRiding() {
+        int riding = 0;
+        CarColumns cars = engine.getBuilding().getCarColumns();
+        for (int i = 0; i < cars.size(); i++) {
+            riding += cars.getLoad(i);
+        }
+        return riding;
+    }
+
+    long getSimulatedTime() {
+        return engine.now();
+    }
+
+    CoarseHistogram getWaitTimes() {
+        return waitTimes;
+    }
+
+    CoarseHistogram getTripTimes() {
+        return tripTimes;
+    }
+
+    @Override
+    public void onPassengerArrived(int origin, int destination) {
+        arrived++;
+    }
+
+    @Override
+    public void onElevatorStopped(Elevator elevator, int floor) {
+        stops++;
+    }
+
+    @Override
+    public void onTripCompleted(Elevator elevator, long waitTime, long tripTime) {
+        waitTimes.record(waitTime);
+        tripTimes.record(tripTime);
+    }
+}
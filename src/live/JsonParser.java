@@ -0,0 +1,230 @@
+package live;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Najprostszy pełny parser JSON (RFC 8259) dla poleceń widzów: obiekt -> Map, tablica -> List, liczba całkowita
+// -> Long, pozostałe liczby -> Double, do tego String, Boolean i null. Błąd składni to IllegalArgumentException
+// z pozycją w tekście
+final class JsonParser {
+    // Polecenia są płaskie; głębsze zagnieżdżenie to raczej próba wyczerpania stosu niż polecenie
+    private static final int MAX_DEPTH = 16;
+
+    private final String text;
+    private int position = 0;
+
+    private JsonParser(String text) {
+        this.text = text;
+    }
+
+    static Object parse(String text) {
+        JsonParser parser = new JsonParser(text);
+        Object value = parser.value(0);
+        parser.skipWhitespace();
+        if (parser.position != text.length()) {
+            throw parser.error("Nadmiarowe znaki po wartości");
+        }
+        return value;
+    }
+
+    private Object value(int depth) {
+        if (depth > MAX_DEPTH) {
+            throw error("Zbyt głębokie zagnieżdżenie");
+        }
+        skipWhitespace();
+        if (position >= text.length()) {
+            throw error("Nieoczekiwany koniec tekstu");
+        }
+        char c = text.charAt(position);
+        return switch (c) {
+            case '{' -> object(depth);
+            case '[' -> array(depth);
+            case '"' -> string();
+            case 't' -> literal("true", Boolean.TRUE);
+            case 'f' -> literal("false", Boolean.FALSE);
+            case 'n' -> literal("null", null);
+            default -> {
+                if (c == '-' || (c >= '0' && c <= '9')) yield number();
+                throw error("Nieoczekiwany znak '" + c + "'");
+            }
+        };
+    }
+
+    private Map<String, Object> object(int depth) {
+        Map<String, Object> object = new LinkedHashMap<>();
+        position++;
+        skipWhitespace();
+        if (peek() == '}') {
+            position++;
+            return object;
+        }
+        while (true) {
+            skipWhitespace();
+            if (peek() != '"') {
+                throw error("Oczekiwano nazwy pola");
+            }
+            String key = string();
+            skipWhitespace();
+            expect(':');
+            object.put(key, value(depth + 1));
+            skipWhitespace();
+            if (peek() == ',') {
+                position++;
+            } else {
+                expect('}');
+                return object;
+            }
+        }
+    }
+
+    private List<Object> array(int depth) {
+        List<Object> array = new ArrayList<>();
+        position++;
+        skipWhitespace();
+        if (peek() == ']') {
+            position++;
+            return array;
+        }
+        while (true) {
+            array.add(value(depth + 1));
+            skipWhitespace();
+            if (peek() == ',') {
+                position++;
+            } else {
+                expect(']');
+                return array;
+            }
+        }
+    }
+
+    private String string() {
+        position++;
+        StringBuilder value = new StringBuilder();
+        while (true) {
+            if (position >= text.length()) {
+                throw error("Niezamknięty napis");
+            }
+            char c = text.charAt(position++);
+            if (c == '"') {
+                return value.toString();
+            }
+            if (c < 0x20) {
+                throw error("Znak sterujący w napisie");
+            }
+            if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+            if (position >= text.length()) {
+                throw error("Niezamknięty napis");
+            }
+            char escape = text.charAt(position++);
+            switch (escape) {
+                case '"', '\\', '/' -> value.append(escape);
+                case 'b' -> value.append('\b');
+                case 'f' -> value.append('\f');
+                case 'n' -> value.append('\n');
+                case 'r' -> value.append('\r');
+                case 't' -> value.append('\t');
+                case 'u' -> {
+                    if (position + 4 > text.length()) {
+                        throw error("Niepełna sekwencja \\u");
+                    }
+                    int code = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int digit = Character.digit(text.charAt(position++), 16);
+                        if (digit < 0) {
+                            throw error("Nieprawidłowa sekwencja \\u");
+                        }
+                        code = code << 4 | digit;
+                    }
+                    value.append((char) code);
+                }
+                default -> throw error("Nieznana sekwencja \\" + escape);
+            }
+        }
+    }
+
+    private Object number() {
+        int start = position;
+        boolean integral = true;
+        if (peek() == '-') {
+            position++;
+        }
+        if (peek() == '0') {
+            position++;
+        } else if (isDigit(peek())) {
+            digits();
+        } else {
+            throw error("Oczekiwano cyfry");
+        }
+        if (peek() == '.') {
+            integral = false;
+            position++;
+            if (!isDigit(peek())) throw error("Oczekiwano cyfry po kropce");
+            digits();
+        }
+        if (peek() == 'e' || peek() == 'E') {
+            integral = false;
+            position++;
+            if (peek() == '+' || peek() == '-') {
+                position++;
+            }
+            if (!isDigit(peek())) throw error("Oczekiwano cyfry wykładnika");
+            digits();
+        }
+        String number = text.substring(start, position);
+        if (integral) {
+            try {
+                return Long.parseLong(number);
+            } catch (NumberFormatException e) {
+                // Poza zakresem long - zostaje jako Double
+            }
+        }
+        return Double.parseDouble(number);
+    }
+
+    private void digits() {
+        while (isDigit(peek())) {
+            position++;
+        }
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private Object literal(String word, Object value) {
+        if (!text.startsWith(word, position)) {
+            throw error("Nieprawidłowa wartość");
+        }
+        position += word.length();
+        return value;
+    }
+
+    private void expect(char c) {
+        if (peek() != c) {
+            throw error("Oczekiwano '" + c + "'");
+        }
+        position++;
+    }
+
+    // -1 na końcu tekstu
+    private int peek() {
+        return position < text.length() ? text.charAt(position) : -1;
+    }
+
+    private void skipWhitespace() {
+        while (position < text.length()) {
+            char c = text.charAt(position);
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r') return;
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " (pozycja " + position + ")");
+    }
+}
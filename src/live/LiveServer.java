@@ -0,0 +1,293 @@
+package live;
+
+import controler.ElevatorController;
+import simulation.BuildingState;
+import simulation.SimulationActor;
+import simulation.StatePublisher;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Podgląd symulacji na żywo pod adresem lokalnym: GET /state zwraca pełny stan, a /live to WebSocket,
+// który co takt wysyła różnice i przyjmuje polecenia. Serwer czyta tylko opublikowane obrazy stanu,
+// więc liczba widzów nie wpływa na wątek symulacji.
+// WebSocket przyjmuje tylko strony z tego serwera (Origin localhost:port);
+// -Dliftsimulator.live.origin=http://host:port dopuszcza jeszcze jedną stronę i włącza dla niej CORS na /state,
+// a -Dliftsimulator.live.allowNoOrigin=true także klientów spoza przeglądarki, którzy nie wysyłają Origin
+public class LiveServer implements Closeable {
+    private static final String ORIGIN_PROPERTY = "liftsimulator.live.origin";
+    private static final String NO_ORIGIN_PROPERTY = "liftsimulator.live.allowNoOrigin";
+    private static final String WEBSOCKET_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+    private static final int MAX_HEADER_LINE = 8192;
+
+    private final ElevatorController controller;
+    private final StatePublisher publisher;
+    private final ServerSocket serverSocket;
+    private final long tickNanos;
+    // Tempo zegara symulacji dla polecenia start
+    private final double speed;
+    // Dodatkowa dopuszczona strona albo null
+    private final String allowedOrigin;
+    private final boolean allowNoOrigin;
+    private final Set<WebSocketSession> sessions = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed = false;
+
+    public LiveServer(ElevatorController controller, int port, long tickMillis, double speed) throws IOException {
+        this.controller = controller;
+        this.speed = speed;
+        this.publisher = controller.getStatePublisher();
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.allowedOrigin = System.getProperty(ORIGIN_PROPERTY);
+        this.allowNoOrigin = Boolean.getBoolean(NO_ORIGIN_PROPERTY);
+
+        // Wątek przyjmowania połączeń nie jest demonem - trzyma przy życiu proces bez okna
+        Thread acceptor = new Thread(this::acceptLoop, "podgląd-połączenia");
+        acceptor.start();
+        SimulationActor.newThread("podgląd-takt", this::broadcastLoop).start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int getViewerCount() {
+        return sessions.size();
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                SimulationActor.newThread("podgląd-widz", () -> handle(socket)).start();
+            } catch (SocketException e) {
+                // Gniazdo zamknięte przez close()
+            } catch (IOException e) {
+                System.err.println("Błąd serwera podglądu: " + e.getMessage());
+            }
+        }
+    }
+
+    // Jeden takt: najnowszy obraz, różnica względem poprzedniego zakodowana raz i rozesłana wszystkim widzom.
+    // Kilka publikacji między taktami składa się w jedną różnicę
+    private void broadcastLoop() {
+        BuildingState previous = publisher.snapshot();
+        while (!closed) {
+            LockSupport.parkNanos(tickNanos);
+            if (sessions.isEmpty()) {
+                previous = publisher.snapshot();
+                continue;
+            }
+
+            BuildingState state = publisher.snapshot();
+            byte[] delta = null;
+            if (state.getVersion() != previous.getVersion()) {
+                delta = WebSocketSession.textFrame(StateEncoder.delta(previous, state));
+            }
+            byte[] full = null;
+            for (WebSocketSession session : sessions) {
+                if (session.isClosed()) {
+                    sessions.remove(session);
+                } else if (session.needsFullState()) {
+                    if (full == null) {
+                        full = WebSocketSession.textFrame(StateEncoder.full(state));
+                    }
+                    session.sendFull(full);
+                } else if (delta != null) {
+                    session.send(delta);
+                }
+            }
+            previous = state;
+        }
+    }
+
+    private void handle(Socket socket) {
+        try {
+            socket.setTcpNoDelay(true);
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+            String requestLine = readLine(in);
+            Map<String, String> headers = new HashMap<>();
+            for (String line = readLine(in); !line.isEmpty(); line = readLine(in)) {
+                int colon = line.indexOf(':');
+                if (colon > 0) {
+                    headers.put(line.substring(0, colon).trim().toLowerCase(Locale.ROOT), line.substring(colon + 1).trim());
+                }
+            }
+
+            String[] request = requestLine.split(" ");
+            String path = request.length > 1 ? request[1] : "";
+            String origin = headers.get("origin");
+            // Nagłówek CORS tylko dla strony dopuszczonej wprost właściwością
+            String corsOrigin = allowedOrigin != null && allowedOrigin.equals(origin) ? allowedOrigin : null;
+            boolean websocket = path.equals("/live") && "websocket".equalsIgnoreCase(headers.get("upgrade"))
+                    && headers.containsKey("sec-websocket-key");
+            if (!request[0].equals("GET")) {
+                respond(out, "405 Method Not Allowed", "text/plain", "Obsługiwane jest tylko GET", corsOrigin);
+            } else if (websocket && !isAllowedOrigin(origin)) {
+                // Obca strona otwarta w przeglądarce widza nie może sterować symulacją
+                respond(out, "403 Forbidden", "text/plain", "Niedozwolone źródło: " + origin, null);
+            } else if (websocket) {
+                upgrade(socket, in, out, headers.get("sec-websocket-key"));
+                return;
+            } else if (path.equals("/state")) {
+                respond(out, "200 OK", "application/json", StateEncoder.full(publisher.snapshot()), corsOrigin);
+            } else {
+                respond(out, "404 Not Found", "text/plain", "Dostępne: GET /state, WebSocket /live", corsOrigin);
+            }
+            socket.close();
+        } catch (IOException e) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // Połączenie i tak jest stracone
+            }
+        }
+    }
+
+    // Przeglądarka zawsze wysyła Origin przy WebSocket; bez nagłówka to klient spoza przeglądarki, którego
+    // trzeba dopuścić wprost - nie da się sprawdzić, skąd pochodzi
+    private boolean isAllowedOrigin(String origin) {
+        if (origin == null) return allowNoOrigin;
+        int port = getPort();
+        return origin.equals("http://localhost:" + port) || origin.equals("http://127.0.0.1:" + port)
+                || origin.equals("http://[::1]:" + port) || origin.equals(allowedOrigin);
+    }
+
+    private void upgrade(Socket socket, InputStream in, OutputStream out, String key) throws IOException {
+        String response = "HTTP/1.1 101 Switching Protocols\r\n" +
+                "Upgrade: websocket\r\n" +
+                "Connection: Upgrade\r\n" +
+                "Sec-WebSocket-Accept: " + acceptKey(key) + "\r\n\r\n";
+        out.write(response.getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+
+        WebSocketSession session = new WebSocketSession(socket, in, out);
+        sessions.add(session);
+        session.readLoop(this::onCommand);
+        sessions.remove(session);
+    }
+
+    // {"cmd":"call","floor":3}, {"cmd":"destination","car":0,"floor":7}, {"cmd":"start"}
+    private void onCommand(WebSocketSession session, String message) {
+        Map<?, ?> command;
+        try {
+            if (!(JsonParser.parse(message) instanceof Map<?, ?> object)) {
+                session.sendText(error("Polecenie musi być obiektem JSON"));
+                return;
+            }
+            command = object;
+        } catch (IllegalArgumentException e) {
+            session.sendText(error("Nieprawidłowy JSON: " + e.getMessage()));
+            return;
+        }
+        if (!(command.get("cmd") instanceof String name)) {
+            session.sendText(error("Brak pola cmd"));
+            return;
+        }
+        BuildingState state = publisher.snapshot();
+        switch (name) {
+            case "call" -> {
+                int floor = intField(command, "floor");
+                if (floor < 0 || floor >= state.getFloorsCount()) {
+                    session.sendText(error("Nieprawidłowe piętro"));
+                    return;
+                }
+                controller.callElevator(floor);
+            }
+            case "destination" -> {
+                int car = intField(command, "car");
+                int floor = intField(command, "floor");
+                if (car < 0 || car >= state.getElevatorCount()) {
+                    session.sendText(error("Nieprawidłowa winda"));
+                    return;
+                }
+                if (floor < 0 || floor >= state.getFloorsCount()) {
+                    session.sendText(error("Nieprawidłowe piętro"));
+                    return;
+                }
+                controller.selectDestination(controller.getBuilding().getElevator(car), floor);
+            }
+            case "start" -> controller.startSimulation(speed);
+            default -> session.sendText(error("Nieznane polecenie: " + name));
+        }
+    }
+
+    // -1, gdy pola brak albo nie jest liczbą całkowitą w zakresie int
+    private static int intField(Map<?, ?> command, String name) {
+        if (command.get(name) instanceof Long value && value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+            return value.intValue();
+        }
+        return -1;
+    }
+
+    private static String error(String message) {
+        return "{\"type\":\"error\",\"message\":\"" + message.replace("\\", "\\\\").replace("\"", "\\\"") + "\"}";
+    }
+
+    private static String acceptKey(String key) {
+        try {
+            MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
+            byte[] digest = sha1.digest((key + WEBSOCKET_GUID).getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Brak algorytmu SHA-1", e);
+        }
+    }
+
+    private static void respond(OutputStream out, String status, String contentType, String body, String corsOrigin)
+            throws IOException {
+        byte[] content = body.getBytes(StandardCharsets.UTF_8);
+        String header = "HTTP/1.1 " + status + "\r\n" +
+                "Content-Type: " + contentType + "; charset=utf-8\r\n" +
+                "Content-Length: " + content.length + "\r\n" +
+                (corsOrigin != null ? "Access-Control-Allow-Origin: " + corsOrigin + "\r\nVary: Origin\r\n" : "") +
+                "Connection: close\r\n\r\n";
+        out.write(header.getBytes(StandardCharsets.US_ASCII));
+        out.write(content);
+        out.flush();
+    }
+
+    // Nagłówki czytane bajt po bajcie, żeby po przejściu na WebSocket nic z ramek nie zostało w czytniku tekstu
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        for (int b = in.read(); b != '\n'; b = in.read()) {
+            if (b < 0 || line.length() > MAX_HEADER_LINE) {
+                throw new IOException("Przerwane żądanie HTTP");
+            }
+            if (b != '\r') {
+                line.append((char) b);
+            }
+        }
+        return line.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        serverSocket.close();
+        for (WebSocketSession session : sessions) {
+            session.close();
+        }
+        sessions.clear();
+    }
+}
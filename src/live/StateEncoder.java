@@ -0,0 +1,133 @@
+package live;
+
+import simulation.BuildingState;
+
+import java.util.Arrays;
+
+// Obrazy stanu jako JSON: pełny przy podłączeniu widza, potem tylko windy i piętra, które się zmieniły
+final class StateEncoder {
+    private StateEncoder() {
+    }
+
+    static String full(BuildingState state) {
+        StringBuilder json = header("full", state);
+        json.append(",\"floorsCount\":").append(state.getFloorsCount())
+                .append(",\"elevators\":").append(state.getElevatorCount())
+                .append(",\"cars\":[");
+        for (int car = 0; car < state.getElevatorCount(); car++) {
+            if (car > 0) json.append(',');
+            appendCar(json, state, car);
+        }
+        json.append("],\"floors\":[");
+        boolean first = true;
+        for (int floor : activeFloors(state, null)) {
+            if (!first) json.append(',');
+            appendFloor(json, state, floor);
+            first = false;
+        }
+        return json.append("]}").toString();
+    }
+
+    static String delta(BuildingState previous, BuildingState state) {
+        StringBuilder json = header("delta", state);
+        json.append(",\"cars\":[");
+        boolean first = true;
+        for (int car = 0; car < state.getElevatorCount(); car++) {
+            if (!carChanged(previous, state, car)) continue;
+            if (!first) json.append(',');
+            appendCar(json, state, car);
+            first = false;
+        }
+        json.append("],\"floors\":[");
+        first = true;
+        // Piętra, na których coś było albo jest - reszta budynku na pewno się nie zmieniła
+        for (int floor : activeFloors(state, previous)) {
+            if (!floorChanged(previous, state, floor)) continue;
+            if (!first) json.append(',');
+            appendFloor(json, state, floor);
+            first = false;
+        }
+        return json.append("]}").toString();
+    }
+
+    private static StringBuilder header(String type, BuildingState state) {
+        return new StringBuilder(256)
+                .append("{\"type\":\"").append(type)
+                .append("\",\"version\":").append(state.getVersion())
+                .append(",\"time\":").append(state.getTime())
+                .append(",\"running\":").append(state.isRunning());
+    }
+
+    private static void appendCar(StringBuilder json, BuildingState state, int car) {
+        json.append("{\"id\":").append(car)
+                .append(",\"floor\":").append(state.getCurrentFloor(car))
+                .append(",\"direction\":").append(state.getDirection(car))
+                .append(",\"exitPhase\":").append(state.isExitPhase(car))
+                .append(",\"load\":").append(state.getPassengerCount(car))
+                .append(",\"stops\":[");
+        for (int i = 0; i < state.getDestinationCount(car); i++) {
+            if (i > 0) json.append(',');
+            json.append(state.getDestination(car, i));
+        }
+        json.append("]}");
+    }
+
+    private static void appendFloor(StringBuilder json, BuildingState state, int floor) {
+        json.append("{\"floor\":").append(floor)
+                .append(",\"waiting\":").append(state.getWaitingPassengers(floor))
+                .append(",\"call\":").append(state.hasCall(floor))
+                .append(",\"car\":").append(state.getAssignedCar(floor))
+                .append('}');
+    }
+
+    private static boolean carChanged(BuildingState previous, BuildingState state, int car) {
+        if (previous.getCurrentFloor(car) != state.getCurrentFloor(car)
+                || previous.getDirection(car) != state.getDirection(car)
+                || previous.isExitPhase(car) != state.isExitPhase(car)
+                || previous.getPassengerCount(car) != state.getPassengerCount(car)
+                || previous.getDestinationCount(car) != state.getDestinationCount(car)) {
+            return true;
+        }
+        for (int i = 0; i < state.getDestinationCount(car); i++) {
+            if (previous.getDestination(car, i) != state.getDestination(car, i)) return true;
+        }
+        return false;
+    }
+
+    private static boolean floorChanged(BuildingState previous, BuildingState state, int floor) {
+        return previous.getWaitingPassengers(floor) != state.getWaitingPassengers(floor)
+                || previous.hasCall(floor) != state.hasCall(floor)
+                || previous.getAssignedCar(floor) != state.getAssignedCar(floor);
+    }
+
+    // Piętra z oczekującymi lub wezwaniem w jednym albo obu obrazach, rosnąco i bez powtórzeń
+    private static int[] activeFloors(BuildingState state, BuildingState previous) {
+        int size = state.getOccupiedFloorCount() + state.getCallCount();
+        if (previous != null) {
+            size += previous.getOccupiedFloorCount() + previous.getCallCount();
+        }
+        int[] floors = new int[size];
+        int n = collect(state, floors, 0);
+        if (previous != null) {
+            n = collect(previous, floors, n);
+        }
+        Arrays.sort(floors, 0, n);
+        int unique = 0;
+        for (int i = 0; i < n; i++) {
+            if (unique == 0 || floors[unique - 1] != floors[i]) {
+                floors[unique++] = floors[i];
+            }
+        }
+        return Arrays.copyOf(floors, unique);
+    }
+
+    private static int collect(BuildingState state, int[] floors, int n) {
+        for (int i = 0; i < state.getOccupiedFloorCount(); i++) {
+            floors[n++] = state.getOccupiedFloor(i);
+        }
+        for (int i = 0; i < state.getCallCount(); i++) {
+            floors[n++] = state.getCallFloor(i);
+        }
+        return n;
+    }
+}
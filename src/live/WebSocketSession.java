@@ -0,0 +1,264 @@
+package live;
+
+import simulation.SimulationActor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+// Jedno połączenie WebSocket (RFC 6455, tylko wiadomości tekstowe, także dzielone na fragmenty). Do gniazda pisze
+// wyłącznie wątek wysyłki; kolejki i znacznik pełnego stanu są pod jedną blokadą. Różnice stanu idą przez krótką
+// kolejkę - wolny widz traci zaległe różnice i dostaje potem pełny stan, zamiast hamować innych. Odpowiedzi
+// (pong, błędy poleceń, zamknięcie) mają osobną kolejkę, której przepełnienie nie czyści
+final class WebSocketSession {
+    // Polecenia od widzów są krótkie; dłuższa wiadomość zamyka połączenie
+    static final int MAX_INCOMING = 4096;
+    private static final int QUEUE_SIZE = 32;
+    private static final byte[] CLOSE_FRAME = {(byte) 0x88, 0};
+
+    interface MessageHandler {
+        void onMessage(WebSocketSession session, String message);
+    }
+
+    private final Socket socket;
+    private final InputStream in;
+    private final OutputStream out;
+    private final Object lock = new Object();
+    // Pod blokadą lock
+    private final ArrayDeque<byte[]> outgoing = new ArrayDeque<>(QUEUE_SIZE);
+    private final ArrayDeque<byte[]> replies = new ArrayDeque<>();
+    private boolean needsFullState = true;
+    private volatile boolean closed = false;
+
+    // Odpowiedź 101 musi być już wysłana - od tej chwili strumień wyjścia należy do wątku wysyłki
+    WebSocketSession(Socket socket, InputStream in, OutputStream out) {
+        this.socket = socket;
+        this.in = in;
+        this.out = out;
+        SimulationActor.newThread("widz-wysyłka", this::writeLoop).start();
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    // Po przepełnieniu kolejki albo zaraz po podłączeniu widz potrzebuje pełnego obrazu
+    boolean needsFullState() {
+        synchronized (lock) {
+            return needsFullState;
+        }
+    }
+
+    void sendFull(byte[] frame) {
+        synchronized (lock) {
+            needsFullState = false;
+            enqueueState(frame);
+        }
+    }
+
+    void send(byte[] frame) {
+        synchronized (lock) {
+            enqueueState(frame);
+        }
+    }
+
+    private void enqueueState(byte[] frame) {
+        if (closed) return;
+        if (outgoing.size() == QUEUE_SIZE) {
+            outgoing.clear();
+            needsFullState = true;
+            return;
+        }
+        outgoing.add(frame);
+        lock.notifyAll();
+    }
+
+    // Odpowiedź na ramkę widza; widz, który nie odbiera odpowiedzi, a dalej wysyła, zostaje rozłączony
+    private void reply(byte[] frame) {
+        synchronized (lock) {
+            if (closed) return;
+            if (replies.size() == QUEUE_SIZE) {
+                closeLocked();
+                return;
+            }
+            replies.add(frame);
+            lock.notifyAll();
+        }
+    }
+
+    void sendText(String text) {
+        reply(textFrame(text));
+    }
+
+    static byte[] textFrame(String text) {
+        byte[] payload = text.getBytes(StandardCharsets.UTF_8);
+        int headerSize = payload.length < 126 ? 2 : payload.length <= 0xFFFF ? 4 : 10;
+        byte[] frame = new byte[headerSize + payload.length];
+        frame[0] = (byte) 0x81;
+        if (headerSize == 2) {
+            frame[1] = (byte) payload.length;
+        } else if (headerSize == 4) {
+            frame[1] = 126;
+            frame[2] = (byte) (payload.length >>> 8);
+            frame[3] = (byte) payload.length;
+        } else {
+            frame[1] = 127;
+            long length = payload.length;
+            for (int i = 0; i < 8; i++) {
+                frame[2 + i] = (byte) (length >>> (56 - 8 * i));
+            }
+        }
+        System.arraycopy(payload, 0, frame, headerSize, payload.length);
+        return frame;
+    }
+
+    // Czyta ramki od widza w wątku połączenia aż do zamknięcia. Ramki sterujące mogą przychodzić między
+    // fragmentami wiadomości; naruszenie protokołu zamyka połączenie
+    void readLoop(MessageHandler handler) {
+        ByteArrayOutputStream message = null;
+        try {
+            while (!closed) {
+                int first = readByte();
+                int second = readByte();
+                boolean fin = (first & 0x80) != 0;
+                int opcode = first & 0x0F;
+                boolean masked = (second & 0x80) != 0;
+                long length = second & 0x7F;
+                if (length == 126) {
+                    length = (readByte() << 8) | readByte();
+                } else if (length == 127) {
+                    length = 0;
+                    for (int i = 0; i < 8; i++) {
+                        length = (length << 8) | readByte();
+                    }
+                }
+                boolean control = (opcode & 0x8) != 0;
+                // Bity RSV bez rozszerzeń, ramki od klienta zawsze maskowane, sterujące krótkie i niedzielone
+                if ((first & 0x70) != 0 || !masked || length < 0 || length > MAX_INCOMING
+                        || (control && (!fin || length > 125))) {
+                    break;
+                }
+                byte[] mask = readFully(4);
+                byte[] payload = readFully((int) length);
+                for (int i = 0; i < payload.length; i++) {
+                    payload[i] ^= mask[i & 3];
+                }
+                switch (opcode) {
+                    case 0x0, 0x1 -> {
+                        // Kontynuacja bez początku albo nowa wiadomość w środku poprzedniej
+                        if ((opcode == 0x0) == (message == null)) {
+                            close();
+                            return;
+                        }
+                        if (message == null) {
+                            message = new ByteArrayOutputStream();
+                        }
+                        if (message.size() + payload.length > MAX_INCOMING) {
+                            close();
+                            return;
+                        }
+                        message.write(payload);
+                        if (fin) {
+                            handler.onMessage(this, message.toString(StandardCharsets.UTF_8));
+                            message = null;
+                        }
+                    }
+                    case 0x8 -> {
+                        close();
+                        return;
+                    }
+                    case 0x9 -> reply(pongFrame(payload));
+                    case 0xA -> {
+                        // Niezamówiony pong - ignorowany
+                    }
+                    default -> {
+                        close();
+                        return;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // Widz się rozłączył
+        }
+        close();
+    }
+
+    private static byte[] pongFrame(byte[] payload) {
+        byte[] frame = new byte[2 + Math.min(payload.length, 125)];
+        frame[0] = (byte) 0x8A;
+        frame[1] = (byte) (frame.length - 2);
+        System.arraycopy(payload, 0, frame, 2, frame.length - 2);
+        return frame;
+    }
+
+    // Jedyny wątek piszący do gniazda: zabiera pod blokadą wszystko, co czeka, i wysyła poza nią jednym flush
+    private void writeLoop() {
+        List<byte[]> batch = new ArrayList<>();
+        try {
+            boolean closing = false;
+            while (!closing) {
+                synchronized (lock) {
+                    while (replies.isEmpty() && outgoing.isEmpty()) {
+                        lock.wait();
+                    }
+                    batch.addAll(replies);
+                    replies.clear();
+                    batch.addAll(outgoing);
+                    outgoing.clear();
+                }
+                for (byte[] frame : batch) {
+                    out.write(frame);
+                    if (frame == CLOSE_FRAME) {
+                        closing = true;
+                        break;
+                    }
+                }
+                out.flush();
+                batch.clear();
+            }
+        } catch (IOException | InterruptedException e) {
+            // Widz się rozłączył
+        }
+        closed = true;
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Nic więcej do zrobienia
+        }
+    }
+
+    // Ramka zamknięcia idzie przez kolejkę odpowiedzi, żeby nie przeplotła się z ramką w trakcie wysyłania;
+    // zaległe różnice stanu już się nie liczą
+    void close() {
+        synchronized (lock) {
+            closeLocked();
+        }
+    }
+
+    private void closeLocked() {
+        if (closed) return;
+        closed = true;
+        outgoing.clear();
+        replies.add(CLOSE_FRAME);
+        lock.notifyAll();
+    }
+
+    private int readByte() throws IOException {
+        int b = in.read();
+        if (b < 0) throw new EOFException();
+        return b;
+    }
+
+    private byte[] readFully(int length) throws IOException {
+        byte[] data = in.readNBytes(length);
+        if (data.length < length) throw new EOFException();
+        return data;
+    }
+}
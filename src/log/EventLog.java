@@ -0,0 +1,385 @@
+package log;
+
+import simulation.SimulationActor;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Dziennik zdarzeń: zapis to kilka liczb w gotowym buforze pierścieniowym, wyjście robi osobny wątek - jako tekst
+// albo, z -Dliftsimulator.log.format=binary, jako rekordy binarne stałej długości bez żadnego formatowania.
+// Jeden wątek zapisujący (wątek symulacji). Gdy bufor jest pełny albo dziennik zamknięty, wpis przepada
+// (i jest liczony) zamiast wstrzymywać symulację.
+public class EventLog implements Closeable {
+    // Poziom (OFF, WARN, INFO, DEBUG), lista rodzajów zdarzeń po przecinku, plik zamiast konsoli
+    // i format pliku (text, binary)
+    private static final String LEVEL_PROPERTY = "liftsimulator.log";
+    private static final String TYPES_PROPERTY = "liftsimulator.log.types";
+    private static final String FILE_PROPERTY = "liftsimulator.log.file";
+    private static final String FORMAT_PROPERTY = "liftsimulator.log.format";
+
+    // Plik binarny: "LSEL", wersja, potem rekordy: czas (long), rodzaj, winda, piętro, liczba (int)
+    static final int MAGIC = 0x4C53454C;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 6;
+    static final int RECORD_SIZE = 24;
+    private static final int BATCH_RECORDS = 1024;
+
+    private static final int DEFAULT_CAPACITY = 1 << 13;
+    // Rekord: czas symulacji, rodzaj z windą, piętro z liczbą
+    private static final int RECORD_LONGS = 3;
+    private static final long IDLE_PARK = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final long[] ring;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    // Bit na rodzaj zdarzenia - wyłączony wpis kosztuje jeden odczyt tej maski
+    private volatile long enabledTypes;
+
+    // Dokładnie jedno z wyjść jest ustawione
+    private final Writer out;
+    private final WritableByteChannel binaryOut;
+    private final boolean closeOut;
+    // Bufory wątku zapisu, używane ponownie dla każdego wpisu
+    private final StringBuilder line = new StringBuilder(80);
+    private char[] chars = new char[80];
+    private final ByteBuffer batch;
+    private long lastTime = 0;
+
+    private final Thread drainer;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    public EventLog(LogLevel level, long typeMask, Writer out, boolean closeOut) {
+        this(level, typeMask, out, closeOut, DEFAULT_CAPACITY);
+    }
+
+    public EventLog(LogLevel level, long typeMask, Writer out, boolean closeOut, int capacity) {
+        this(level, typeMask, out, null, closeOut, capacity);
+    }
+
+    // Wyjście binarne - kanał musi już mieć zapisany nagłówek (zob. openBinary)
+    public EventLog(LogLevel level, long typeMask, WritableByteChannel out, boolean closeOut, int capacity) {
+        this(level, typeMask, null, out, closeOut, capacity);
+    }
+
+    private EventLog(LogLevel level, long typeMask, Writer out, WritableByteChannel binaryOut, boolean closeOut,
+                     int capacity) {
+        int records = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.ring = new long[records * RECORD_LONGS];
+        this.mask = records - 1;
+        this.out = out;
+        this.binaryOut = binaryOut;
+        this.closeOut = closeOut;
+        this.batch = binaryOut == null ? null : ByteBuffer.allocateDirect(BATCH_RECORDS * RECORD_SIZE);
+        setFilter(level, typeMask);
+        this.drainer = SimulationActor.newThread("dziennik", this::drain);
+        drainer.start();
+    }
+
+    // Dziennik skonfigurowany właściwościami systemowymi; domyślnie wszystko na konsolę, jak dotąd
+    public static EventLog fromSystemProperties() {
+        return fromSystemProperties(false);
+    }
+
+    // append - dziennik kolejnego przebiegu dopisywany do pliku poprzedniego zamiast go nadpisywać
+    public static EventLog fromSystemProperties(boolean append) {
+        LogLevel level = LogLevel.byName(System.getProperty(LEVEL_PROPERTY, LogLevel.DEBUG.name()));
+        long types = allTypes();
+        String typeList = System.getProperty(TYPES_PROPERTY);
+        if (typeList != null) {
+            types = 0;
+            for (String name : typeList.split(",")) {
+                if (!name.isBlank()) {
+                    types |= bit(EventType.byName(name.trim()));
+                }
+            }
+        }
+
+        String file = System.getProperty(FILE_PROPERTY);
+        boolean binary = switch (System.getProperty(FORMAT_PROPERTY, "text")) {
+            case "text" -> false;
+            case "binary" -> true;
+            default -> throw new IllegalArgumentException("Nieznany format dziennika: " +
+                    System.getProperty(FORMAT_PROPERTY));
+        };
+        if (file == null) {
+            if (binary) {
+                throw new IllegalArgumentException("Dziennik binarny wymaga pliku (" + FILE_PROPERTY + ")");
+            }
+            return new EventLog(level, types, new OutputStreamWriter(System.out, StandardCharsets.UTF_8), false);
+        }
+        try {
+            if (binary) {
+                return new EventLog(level, types, openBinary(Path.of(file), append), true, DEFAULT_CAPACITY);
+            }
+            return new EventLog(level, types, append ? Files.newBufferedWriter(Path.of(file),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND) : Files.newBufferedWriter(Path.of(file)), true);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Nie można otworzyć pliku dziennika: " + file, e);
+        }
+    }
+
+    // Kanał pliku binarnego z nagłówkiem; przy dopisywaniu nagłówek powstaje tylko w pustym pliku
+    public static FileChannel openBinary(Path file, boolean append) throws IOException {
+        FileChannel channel = append
+                ? FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)
+                : FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+        if (channel.size() == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putShort(VERSION).flip();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+        }
+        return channel;
+    }
+
+    // Zamienia binarny plik dziennika na tekst w tym samym formacie, w jakim dziennik pisze na konsolę
+    public static long print(Path file, Writer out) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || (size - HEADER_SIZE) % RECORD_SIZE != 0) {
+                throw new IllegalArgumentException("Nieprawidłowy rozmiar pliku dziennika: " + size);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(BATCH_RECORDS * RECORD_SIZE);
+            buffer.limit(HEADER_SIZE);
+            readFully(channel, buffer);
+            if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+                throw new IllegalArgumentException("To nie jest binarny dziennik zdarzeń: " + file);
+            }
+            EventType[] types = EventType.values();
+            StringBuilder line = new StringBuilder(80);
+            long records = (size - HEADER_SIZE) / RECORD_SIZE;
+            for (long read = 0; read < records; ) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), (records - read) * RECORD_SIZE));
+                readFully(channel, buffer);
+                while (buffer.hasRemaining()) {
+                    long time = buffer.getLong();
+                    int type = buffer.getInt();
+                    if (type < 0 || type >= types.length) {
+                        throw new IllegalArgumentException("Nieznany rodzaj zdarzenia w rekordzie " + read + ": " + type);
+                    }
+                    line.setLength(0);
+                    appendLine(line, time, types[type], buffer.getInt(), buffer.getInt(), buffer.getInt());
+                    out.append(line);
+                    read++;
+                }
+            }
+            out.flush();
+            return records;
+        }
+    }
+
+    public static long allTypes() {
+        return (1L << EventType.values().length) - 1;
+    }
+
+    public static long bit(EventType type) {
+        return 1L << type.ordinal();
+    }
+
+    public void setFilter(LogLevel level, long typeMask) {
+        long enabled = 0;
+        for (EventType type : EventType.values()) {
+            if ((typeMask & bit(type)) != 0 && level != LogLevel.OFF && type.getLevel().compareTo(level) <= 0) {
+                enabled |= bit(type);
+            }
+        }
+        enabledTypes = enabled;
+    }
+
+    public boolean isEnabled(EventType type) {
+        return (enabledTypes & bit(type)) != 0;
+    }
+
+    public void log(EventType type, long time) {
+        log(type, time, -1, -1, 0);
+    }
+
+    public void log(EventType type, long time, int car, int floor) {
+        log(type, time, car, floor, 0);
+    }
+
+    public void log(EventType type, long time, int car, int floor, int count) {
+        if ((enabledTypes & bit(type)) == 0) return;
+        // Po zamknięciu nikt już nie opróżnia bufora - wpis zostałby w nim na zawsze
+        if (closed.get()) {
+            dropped.incrementAndGet();
+            return;
+        }
+        long position = head.get();
+        if (position - tail.get() > mask) {
+            dropped.incrementAndGet();
+            return;
+        }
+        int slot = (int) (position & mask) * RECORD_LONGS;
+        ring[slot] = time;
+        ring[slot + 1] = (long) type.ordinal() << 32 | (car & 0xFFFFFFFFL);
+        ring[slot + 2] = (long) floor << 32 | (count & 0xFFFFFFFFL);
+        // Rekord staje się widoczny dla wątku zapisu dopiero po wpisaniu wszystkich pól
+        head.lazySet(position + 1);
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    // Wpisy utracone przy pełnym buforze i zapisane po zamknięciu
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    private void drain() {
+        long reportedDrops = 0;
+        while (true) {
+            boolean finishing = closed.get();
+            int written = drainAvailable();
+            long drops = dropped.get();
+            try {
+                if (drops != reportedDrops) {
+                    write(lastTime, EventType.DROPPED, -1, -1, (int) Math.min(Integer.MAX_VALUE, drops - reportedDrops));
+                    reportedDrops = drops;
+                    written++;
+                }
+                if (written > 0 || finishing) {
+                    flush();
+                }
+            } catch (IOException e) {
+                System.err.println("Błąd zapisu dziennika: " + e.getMessage());
+            }
+            if (finishing) return;
+            if (written == 0) {
+                LockSupport.parkNanos(IDLE_PARK);
+            }
+        }
+    }
+
+    private int drainAvailable() {
+        EventType[] types = EventType.values();
+        long position = tail.get();
+        long end = head.get();
+        int written = 0;
+        for (; position < end; position++) {
+            int slot = (int) (position & mask) * RECORD_LONGS;
+            long time = ring[slot];
+            long typeAndCar = ring[slot + 1];
+            long floorAndCount = ring[slot + 2];
+            // Zwolnienie miejsca zaraz po odczycie - zapis już nie blokuje zapisującego
+            tail.lazySet(position + 1);
+
+            lastTime = time;
+            try {
+                write(time, types[(int) (typeAndCar >>> 32)], (int) typeAndCar, (int) (floorAndCount >>> 32),
+                        (int) floorAndCount);
+                written++;
+            } catch (IOException e) {
+                System.err.println("Błąd zapisu dziennika: " + e.getMessage());
+            }
+        }
+        return written;
+    }
+
+    private void write(long time, EventType type, int car, int floor, int count) throws IOException {
+        if (binaryOut != null) {
+            if (batch.remaining() < RECORD_SIZE) {
+                flushBatch();
+            }
+            batch.putLong(time).putInt(type.ordinal()).putInt(car).putInt(floor).putInt(count);
+            return;
+        }
+        line.setLength(0);
+        appendLine(line, time, type, car, floor, count);
+        int length = line.length();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        line.getChars(0, length, chars, 0);
+        out.write(chars, 0, length);
+    }
+
+    private void flush() throws IOException {
+        if (binaryOut != null) {
+            flushBatch();
+        } else {
+            out.flush();
+        }
+    }
+
+    private void flushBatch() throws IOException {
+        batch.flip();
+        while (batch.hasRemaining()) {
+            binaryOut.write(batch);
+        }
+        batch.clear();
+    }
+
+    // Wiersz jak dawniej z "[%10.3f s] " i wzorca rodzaju, ale bez String.format i bez tworzenia obiektów
+    static void appendLine(StringBuilder line, long time, EventType type, int car, int floor, int count) {
+        line.append('[');
+        int start = line.length();
+        if (time < 0) {
+            line.append('-');
+            time = -time;
+        }
+        long millis = time % 1000;
+        line.append(time / 1000).append('.');
+        if (millis < 100) line.append('0');
+        if (millis < 10) line.append('0');
+        line.append(millis);
+        while (line.length() - start < 10) {
+            line.insert(start, ' ');
+        }
+        line.append(" s] ");
+        type.appendTo(line, car, floor, count);
+        line.append('\n');
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IllegalArgumentException("Nieoczekiwany koniec pliku dziennika");
+            }
+        }
+        buffer.flip();
+    }
+
+    // Zapisuje wszystko, co zdążyło trafić do bufora, i kończy wątek zapisu. Bezpieczne przy równoczesnym
+    // wywołaniu z kilku wątków - zamyka tylko pierwszy
+    @Override
+    public void close() throws IOException {
+        if (!closed.compareAndSet(false, true)) return;
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Wpis, który minął sprawdzenie zamknięcia tuż przed nim, mógł się pojawić po ostatnim opróżnieniu
+        dropped.addAndGet(head.get() - tail.get());
+        if (binaryOut != null) {
+            if (closeOut) {
+                binaryOut.close();
+            }
+        } else if (closeOut) {
+            out.close();
+        } else {
+            out.flush();
+        }
+    }
+}
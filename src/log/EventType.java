@@ -0,0 +1,61 @@
+package log;
+
+// Rodzaje wpisów dziennika. Rekord niesie tylko liczby (winda, piętro, liczba) - tekst powstaje dopiero przy zapisie.
+// Numery rodzajów trafiają do binarnego pliku dziennika, więc nowe dopisuje się tylko na końcu
+public enum EventType {
+    SIMULATION_STARTED(LogLevel.INFO, "Symulacja rozpoczęta!"),
+    SIMULATION_ENDED(LogLevel.INFO, "Symulacja zakończona!"),
+    CALL(LogLevel.INFO, "Wezwanie windy na piętro %2$d"),
+    DESTINATION(LogLevel.INFO, "Wybrano cel: piętro %2$d (winda %1$d)"),
+    STOP(LogLevel.INFO, "Winda %1$d zatrzymała się na piętrze %2$d"),
+    EXIT_PHASE(LogLevel.DEBUG, "Faza wysiadania - %3$d s"),
+    ENTRY_PHASE(LogLevel.DEBUG, "Faza wsiadania - %3$d s"),
+    PASSENGER_EXITED(LogLevel.DEBUG, "Pasażer wysiadł na piętrze %2$d"),
+    PASSENGERS_ENTERED(LogLevel.DEBUG, "Wsiadło %3$d pasażerów na piętrze %2$d"),
+    REPLAY_MATCHED(LogLevel.INFO, "Przebieg zgodny z zapisem"),
+    REPLAY_DIVERGED(LogLevel.WARN, "UWAGA: przebieg różni się od zapisu"),
+    // Wpis samego dziennika, nie symulacji - liczba wpisów utraconych przy pełnym buforze
+    DROPPED(LogLevel.WARN, "Dziennik: pominięto %3$d wpisów (pełny bufor)");
+
+    private final LogLevel level;
+    // Wzorzec rozbity raz na stałe fragmenty i numery argumentów (1 - winda, 2 - piętro, 3 - liczba),
+    // żeby wątek zapisu nie parsował go przy każdym wpisie
+    private final String[] literals;
+    private final int[] arguments;
+
+    EventType(LogLevel level, String pattern) {
+        this.level = level;
+        int placeholders = pattern.split("%", -1).length - 1;
+        this.literals = new String[placeholders + 1];
+        this.arguments = new int[placeholders];
+        int start = 0;
+        for (int i = 0; i < placeholders; i++) {
+            int at = pattern.indexOf('%', start);
+            literals[i] = pattern.substring(start, at);
+            arguments[i] = pattern.charAt(at + 1) - '0';
+            start = pattern.indexOf('d', at) + 1;
+        }
+        literals[placeholders] = pattern.substring(start);
+    }
+
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    void appendTo(StringBuilder line, int car, int floor, int count) {
+        for (int i = 0; i < arguments.length; i++) {
+            line.append(literals[i]);
+            line.append(arguments[i] == 1 ? car : arguments[i] == 2 ? floor : count);
+        }
+        line.append(literals[arguments.length]);
+    }
+
+    public static EventType byName(String name) {
+        for (EventType type : values()) {
+            if (type.name().equalsIgnoreCase(name.replace('-', '_'))) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Nieznany rodzaj zdarzenia: " + name);
+    }
+}
@@ -0,0 +1,18 @@
+package log;
+
+// Poziomy od najważniejszego; dziennik przepuszcza zdarzenia o poziomie nie niższym niż ustawiony
+public enum LogLevel {
+    OFF,
+    WARN,
+    INFO,
+    DEBUG;
+
+    public static LogLevel byName(String name) {
+        for (LogLevel level : values()) {
+            if (level.name().equalsIgnoreCase(name)) {
+                return level;
+            }
+        }
+        throw new IllegalArgumentException("Nieznany poziom dziennika: " + name);
+    }
+}
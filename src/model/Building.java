@@ -3,26 +3,164 @@ package model;
 import java.util.*;
 
 public class Building {
-    private int Floors = 11;
+    private static final int DEFAULT_FLOORS = 11;
 
-    private int[] waitingPassengers = new int[Floors];
-    private Set<Integer> calls = new HashSet<>();
+    private final int Floors;
+
+    private PassengerStore passengers = new PassengerStore();
+    private FloorQueues waitingPassengers = new FloorQueues(passengers);
+    // Cele czekających: piętro -> numer tablicy + 1, a w tablicy cel -> liczba czekających. Pamięć rośnie
+    // z liczbą zajętych pięter i różnych celów, nie z wysokością; tablice opróżnionych pięter wracają do puli
+    private final SparseFloorCounts destinationTableOf = new SparseFloorCounts();
+    private SparseFloorCounts[] destinationTables = new SparseFloorCounts[0];
+    private int[] freeTables = new int[0];
+    private int freeTableCount = 0;
+    private FloorSet calls;
+    private List<Elevator> elevators = new ArrayList<>();
+    // Pamięć kolumn stanu wind i dyspozytora; wiele budynków może dzielić jedną
+    private final StateArena stateArena;
+    private final CarColumns cars;
+
+    public Building() {
+        this(1);
+    }
+
+    public Building(int elevatorCount) {
+        this(DEFAULT_FLOORS, elevatorCount);
+    }
+
+    public Building(int floors, int elevatorCount) {
+        this(floors, elevatorCount, Elevator.DEFAULT_CAPACITY);
+    }
+
+    public Building(int floors, int elevatorCount, int capacity) {
+        this(floors, elevatorCount, capacity, StateArena.forBuilding());
+    }
+
+    public Building(int floors, int elevatorCount, int capacity, StateArena stateArena) {
+        if (floors < 2) {
+            throw new IllegalArgumentException("Budynek musi mieć co najmniej 2 piętra");
+        }
+        this.Floors = floors;
+        this.calls = new FloorSet(floors);
+        this.stateArena = stateArena;
+        this.cars = CarColumns.create(stateArena, elevatorCount);
+        for (int i = 0; i < elevatorCount; i++) {
+            elevators.add(new Elevator(cars, i, capacity));
+        }
+    }
 
     public int getFloorsCount() {
         return Floors;
     }
 
+    public List<Elevator> getElevators() {
+        return elevators;
+    }
+
+    public Elevator getElevator(int id) {
+        return elevators.get(id);
+    }
 
+    public int getElevatorCount() {
+        return elevators.size();
+    }
+
+    public StateArena getStateArena() {
+        return stateArena;
+    }
+
+    // Stan wszystkich wind naraz - dla pętli, które przeglądają całą grupę
+    public CarColumns getCarColumns() {
+        return cars;
+    }
+
+    public PassengerStore getPassengers() {
+        return passengers;
+    }
 
     public int getWaitingPassengers(int floor) {
-        return waitingPassengers[floor];
+        return waitingPassengers.size(floor);
+    }
+
+    public int addWaitingPassenger(int origin, int destination, long arrivalTime) {
+        int id = passengers.allocate(origin, destination, arrivalTime);
+        waitingPassengers.add(origin, id);
+        int table = destinationTableOf.get(origin) - 1;
+        if (table < 0) {
+            table = takeDestinationTable();
+            destinationTableOf.set(origin, table + 1);
+        }
+        destinationTables[table].add(destination, 1);
+        return id;
     }
 
-    public void setWaitingPassengers(int floor, int count) {
-        waitingPassengers[floor] = count;
+    // Przeglądanie kolejki bez zdejmowania: peekWaitingPassenger, potem nextWaitingPassenger aż do NONE
+    public int peekWaitingPassenger(int floor) {
+        return waitingPassengers.peek(floor);
     }
 
-    public Set<Integer> getCalls() {
+    public int nextWaitingPassenger(int id) {
+        return waitingPassengers.next(id);
+    }
+
+    // Pierwszy w kolejce na piętrze albo PassengerStore.NONE
+    public int pollWaitingPassenger(int floor) {
+        int id = waitingPassengers.poll(floor);
+        if (id != PassengerStore.NONE) {
+            int table = destinationTableOf.get(floor) - 1;
+            SparseFloorCounts destinations = destinationTables[table];
+            destinations.add(passengers.getDestination(id), -1);
+            if (destinations.size() == 0) {
+                destinationTableOf.set(floor, 0);
+                freeTables[freeTableCount++] = table;
+            }
+        }
+        return id;
+    }
+
+    public int getWaitingPassengers(int floor, int destination) {
+        int table = destinationTableOf.get(floor) - 1;
+        return table < 0 ? 0 : destinationTables[table].get(destination);
+    }
+
+    // Liczba różnych celów czekających na piętrze, których nie ma w żadnym z dwóch zbiorów; bez alokacji
+    public int countWaitingDestinationsOutside(int floor, FloorSet first, FloorSet second) {
+        int table = destinationTableOf.get(floor) - 1;
+        return table < 0 ? 0 : destinationTables[table].countFloorsOutside(first, second);
+    }
+
+    private int takeDestinationTable() {
+        if (freeTableCount > 0) {
+            return freeTables[--freeTableCount];
+        }
+        int table = destinationTables.length;
+        destinationTables = Arrays.copyOf(destinationTables, table + 1);
+        destinationTables[table] = new SparseFloorCounts(4);
+        freeTables = Arrays.copyOf(freeTables, table + 1);
+        return table;
+    }
+
+    // Piętra, na których ktoś czeka, rosnąco
+    public int[] getOccupiedFloors() {
+        return waitingPassengers.floors();
+    }
+
+    public int getOccupiedFloorCount() {
+        return waitingPassengers.floorCount();
+    }
+
+    // Piętra z oczekującymi i ich liczba, bez alokacji i w dowolnej kolejności; zwraca liczbę wpisów
+    public int copyWaitingCounts(int[] floors, int[] counts) {
+        return waitingPassengers.copyCounts(floors, counts);
+    }
+
+    public long getTotalWaitingPassengers() {
+        return waitingPassengers.total();
+    }
+
+    // Żywy zbiór wezwań - tylko dla wątku symulacji; inne wątki czytają StatePublisher
+    public FloorSet getCalls() {
         return calls;
     }
 
@@ -34,19 +172,36 @@ public class Building {
         calls.remove(floor);
     }
 
-    public void removePassengers(int floor, int count) {
-        waitingPassengers[floor] = Math.max(0, waitingPassengers[floor] - count);
+    public void clearWaitingPassengers() {
+        waitingPassengers.clear();
+        destinationTableOf.clear();
+        freeTableCount = 0;
+        for (int table = 0; table < destinationTables.length; table++) {
+            destinationTables[table].clear();
+            freeTables[freeTableCount++] = table;
+        }
     }
 
     public void generateRandomPassengers() {
-        Random random = new Random();
+        generateRandomPassengers(new Random(), 0);
+    }
+
+    public void generateRandomPassengers(Random random, long arrivalTime) {
         for (int i = 1; i < Floors; i++) {
 
-            waitingPassengers[i] = random.nextInt(6);
+            int count = random.nextInt(6);
+            for (int p = 0; p < count; p++) {
+                addWaitingPassenger(i, randomDestination(random, i), arrivalTime);
+            }
         }
     }
 
+    public int randomDestination(Random random, int origin) {
+        int destination = random.nextInt(Floors - 1);
+        return destination >= origin ? destination + 1 : destination;
+    }
+
     public boolean hasWaitingPassengers(int floor) {
-        return waitingPassengers[floor] > 0;
+        return waitingPassengers.size(floor) > 0;
     }
-}
\ No newline at end of file
+}
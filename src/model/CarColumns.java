@@ -0,0 +1,184 @@
+package model;
+
+import java.nio.ByteBuffer;
+
+// Stan wind jednego budynku w kolumnach: wszystkie piętra obok siebie, potem wszystkie obciążenia itd.
+// Pętle dyspozytora po windach czytają kolejne słowa jednej kolumny zamiast skakać po obiektach.
+// Tylko skalary (piętro, kierunek, ruch, drzwi, obciążenie) - cele i pasażerowie kabiny są w Elevator na stercie.
+// W jednym procesie używany jest jeden wariant, więc wywołania zostają monomorficzne
+public abstract class CarColumns {
+    public static final byte DOORS_CLOSED = 0;
+    public static final byte DOORS_OPENING = 1;
+    public static final byte DOORS_OPEN = 2;
+
+    private final int count;
+
+    private CarColumns(int count) {
+        this.count = count;
+    }
+
+    // Tablice na stercie albo wycinek pamięci poza stertą, zależnie od areny
+    public static CarColumns create(StateArena arena, int count) {
+        return arena.isOffHeap() ? new OffHeap(arena, count) : new Heap(arena, count);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public abstract int getFloor(int car);
+
+    public abstract void setFloor(int car, int floor);
+
+    public abstract int getLoad(int car);
+
+    public abstract void setLoad(int car, int load);
+
+    public abstract int getDirection(int car);
+
+    public abstract void setDirection(int car, int direction);
+
+    public abstract boolean isMoving(int car);
+
+    public abstract void setMoving(int car, boolean moving);
+
+    public abstract byte getDoors(int car);
+
+    public abstract void setDoors(int car, byte doors);
+
+    private static final class Heap extends CarColumns {
+        private final int[] floor;
+        private final int[] load;
+        private final byte[] direction;
+        private final boolean[] moving;
+        private final byte[] doors;
+
+        Heap(StateArena arena, int count) {
+            super(count);
+            arena.reserve(count * (2 * Integer.BYTES + 3));
+            this.floor = new int[count];
+            this.load = new int[count];
+            this.direction = new byte[count];
+            this.moving = new boolean[count];
+            this.doors = new byte[count];
+        }
+
+        @Override
+        public int getFloor(int car) {
+            return floor[car];
+        }
+
+        @Override
+        public void setFloor(int car, int floor) {
+            this.floor[car] = floor;
+        }
+
+        @Override
+        public int getLoad(int car) {
+            return load[car];
+        }
+
+        @Override
+        public void setLoad(int car, int load) {
+            this.load[car] = load;
+        }
+
+        @Override
+        public int getDirection(int car) {
+            return direction[car];
+        }
+
+        @Override
+        public void setDirection(int car, int direction) {
+            this.direction[car] = (byte) direction;
+        }
+
+        @Override
+        public boolean isMoving(int car) {
+            return moving[car];
+        }
+
+        @Override
+        public void setMoving(int car, boolean moving) {
+            this.moving[car] = moving;
+        }
+
+        @Override
+        public byte getDoors(int car) {
+            return doors[car];
+        }
+
+        @Override
+        public void setDoors(int car, byte doors) {
+            this.doors[car] = doors;
+        }
+    }
+
+    // Jeden wycinek areny; początki kolumn w bajtach
+    private static final class OffHeap extends CarColumns {
+        private final ByteBuffer data;
+        private final int loadOffset;
+        private final int directionOffset;
+        private final int movingOffset;
+        private final int doorsOffset;
+
+        OffHeap(StateArena arena, int count) {
+            super(count);
+            this.loadOffset = count * Integer.BYTES;
+            this.directionOffset = loadOffset + count * Integer.BYTES;
+            this.movingOffset = directionOffset + count;
+            this.doorsOffset = movingOffset + count;
+            this.data = arena.allocate(doorsOffset + count);
+        }
+
+        @Override
+        public int getFloor(int car) {
+            return data.getInt(car * Integer.BYTES);
+        }
+
+        @Override
+        public void setFloor(int car, int floor) {
+            data.putInt(car * Integer.BYTES, floor);
+        }
+
+        @Override
+        public int getLoad(int car) {
+            return data.getInt(loadOffset + car * Integer.BYTES);
+        }
+
+        @Override
+        public void setLoad(int car, int load) {
+            data.putInt(loadOffset + car * Integer.BYTES, load);
+        }
+
+        @Override
+        public int getDirection(int car) {
+            return data.get(directionOffset + car);
+        }
+
+        @Override
+        public void setDirection(int car, int direction) {
+            data.put(directionOffset + car, (byte) direction);
+        }
+
+        @Override
+        public boolean isMoving(int car) {
+            return data.get(movingOffset + car) != 0;
+        }
+
+        @Override
+        public void setMoving(int car, boolean moving) {
+            data.put(movingOffset + car, (byte) (moving ? 1 : 0));
+        }
+
+        @Override
+        public byte getDoors(int car) {
+            return data.get(doorsOffset + car);
+        }
+
+        @Override
+        public void setDoors(int car, byte doors) {
+            data.put(doorsOffset + car, doors);
+        }
+    }
+}
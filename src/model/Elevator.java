@@ -1,74 +1,132 @@
 package model;
 
-import java.util.*;
-
 public class Elevator {
-    private int Max_Passengers = 5;
-    private int currentFloor = 0;
-    private boolean isMoving = false;
-    private int direction = 0;
-    private List<Integer> passengersInElevator = new ArrayList<>();
-    private List<Integer> destinations = new ArrayList<>();
+    public static final int DEFAULT_CAPACITY = 5;
+
+    private final int id;
+    private final int Max_Passengers;
+    // Piętro, kierunek, ruch, drzwi i liczba pasażerów leżą w kolumnach budynku (CarColumns) pod indeksem id
+    private final CarColumns state;
+    // Identyfikatory pasażerów z PassengerStore, w kolejności wsiadania
+    private int[] passengersInElevator;
+    private FloorSet destinations = new FloorSet();
+
+    public Elevator() {
+        this(0);
+    }
+
+    public Elevator(int id) {
+        this(id, DEFAULT_CAPACITY);
+    }
+
+    // Winda bez budynku dostaje własne kolumny z jednym wierszem
+    public Elevator(int id, int capacity) {
+        this(CarColumns.create(StateArena.forBuilding(), id + 1), id, capacity);
+    }
+
+    public Elevator(CarColumns state, int id, int capacity) {
+        this.id = id;
+        this.Max_Passengers = capacity;
+        this.passengersInElevator = new int[capacity];
+        this.state = state;
+    }
+
+    public int getId() {
+        return id;
+    }
 
     public int getCurrentFloor() {
-        return currentFloor;
+        return state.getFloor(id);
     }
 
     public void setCurrentFloor(int floor) {
-        this.currentFloor = floor;
+        state.setFloor(id, floor);
     }
 
     public boolean isMoving() {
-        return isMoving;
+        return state.isMoving(id);
     }
 
     public void setMoving(boolean moving) {
-        this.isMoving = moving;
+        state.setMoving(id, moving);
     }
 
     public int getDirection() {
-        return direction;
+        return state.getDirection(id);
     }
 
     public void setDirection(int direction) {
-        this.direction = direction;
+        state.setDirection(id, direction);
+    }
+
+    // CarColumns.DOORS_CLOSED, DOORS_OPENING albo DOORS_OPEN
+    public byte getDoors() {
+        return state.getDoors(id);
+    }
+
+    public void setDoors(byte doors) {
+        state.setDoors(id, doors);
     }
 
-    public List<Integer> getDestinations() {
+    // Żywy zbiór celów - tylko dla wątku symulacji; inne wątki czytają StatePublisher
+    public FloorSet getDestinations() {
         return destinations;
     }
 
     public void addDestination(int floor) {
-        if (!destinations.contains(floor) && floor != currentFloor) {
+        if (!destinations.contains(floor) && floor != getCurrentFloor()) {
             destinations.add(floor);
         }
     }
 
     public void removeDestination(int floor) {
-        destinations.remove((Integer) floor);
+        destinations.remove(floor);
     }
 
-    public void addPassenger() {
-        if (passengersInElevator.size() < Max_Passengers) {
-            passengersInElevator.add(currentFloor);
+    public void addPassenger(int passengerId) {
+        int count = state.getLoad(id);
+        if (count < Max_Passengers) {
+            passengersInElevator[count] = passengerId;
+            state.setLoad(id, count + 1);
         }
     }
 
-    public void removePassenger() {
-        if (!passengersInElevator.isEmpty()) {
-            passengersInElevator.remove(0);
+    public int removePassenger() {
+        if (state.getLoad(id) == 0) {
+            return PassengerStore.NONE;
         }
+        return removePassenger(0);
+    }
+
+    public int removePassenger(int index) {
+        int passengerId = passengersInElevator[index];
+        int count = state.getLoad(id);
+        System.arraycopy(passengersInElevator, index + 1, passengersInElevator, index, count - index - 1);
+        state.setLoad(id, count - 1);
+        return passengerId;
+    }
+
+    public int getPassenger(int index) {
+        return passengersInElevator[index];
+    }
+
+    public int getPassengerCount() {
+        return state.getLoad(id);
+    }
+
+    public int getCapacity() {
+        return Max_Passengers;
     }
 
     public int getAvailableSpace() {
-        return Max_Passengers - passengersInElevator.size();
+        return Max_Passengers - state.getLoad(id);
     }
 
     public boolean isEmpty() {
-        return passengersInElevator.isEmpty();
+        return state.getLoad(id) == 0;
     }
 
     public void moveForOneFloor() {
-        currentFloor += direction;
+        state.setFloor(id, state.getFloor(id) + state.getDirection(id));
     }
 }
\ No newline at end of file
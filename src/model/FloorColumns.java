@@ -0,0 +1,74 @@
+package model;
+
+import java.nio.ByteBuffer;
+
+// Dane per piętro w jednej kolumnie: numer windy obsługującej wezwanie z piętra albo NONE.
+// To jedyna gęsta kolumna pięter w arenie; same wezwania i oczekujący są w Building na stercie (zob. StateArena)
+public abstract class FloorColumns {
+    public static final int NONE = -1;
+
+    private final int floors;
+
+    private FloorColumns(int floors) {
+        this.floors = floors;
+    }
+
+    public static FloorColumns create(StateArena arena, int floors) {
+        FloorColumns columns = arena.isOffHeap() ? new OffHeap(arena, floors) : new Heap(arena, floors);
+        columns.clearAssignments();
+        return columns;
+    }
+
+    public int size() {
+        return floors;
+    }
+
+    public abstract int getAssignedCar(int floor);
+
+    public abstract void setAssignedCar(int floor, int car);
+
+    public void clearAssignments() {
+        for (int floor = 0; floor < floors; floor++) {
+            setAssignedCar(floor, NONE);
+        }
+    }
+
+    private static final class Heap extends FloorColumns {
+        private final int[] assignedCar;
+
+        Heap(StateArena arena, int floors) {
+            super(floors);
+            arena.reserve(floors * Integer.BYTES);
+            this.assignedCar = new int[floors];
+        }
+
+        @Override
+        public int getAssignedCar(int floor) {
+            return assignedCar[floor];
+        }
+
+        @Override
+        public void setAssignedCar(int floor, int car) {
+            assignedCar[floor] = car;
+        }
+    }
+
+    private static final class OffHeap extends FloorColumns {
+        private final ByteBuffer assignedCar;
+
+        OffHeap(StateArena arena, int floors) {
+            super(floors);
+            this.assignedCar = arena.allocate(floors * Integer.BYTES);
+        }
+
+        @Override
+        public int getAssignedCar(int floor) {
+            return assignedCar.getInt(floor * Integer.BYTES);
+        }
+
+        @Override
+        public void setAssignedCar(int floor, int car) {
+            assignedCar.putInt(floor * Integer.BYTES, car);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package model;
+
+// Kolejki FIFO oczekujących na piętrach, powiązane przez pole next w PassengerStore
+public class FloorQueues {
+    private final PassengerStore passengers;
+    private final SparseFloorCounts counts = new SparseFloorCounts();
+    // Początek i koniec kolejki zapisane jako id + 1, bo 0 oznacza brak wpisu
+    private final SparseFloorCounts heads = new SparseFloorCounts();
+    private final SparseFloorCounts tails = new SparseFloorCounts();
+
+    public FloorQueues(PassengerStore passengers) {
+        this.passengers = passengers;
+    }
+
+    public void add(int floor, int id) {
+        passengers.setNext(id, PassengerStore.NONE);
+        int tail = tails.get(floor) - 1;
+        if (tail == PassengerStore.NONE) {
+            heads.set(floor, id + 1);
+        } else {
+            passengers.setNext(tail, id);
+        }
+        tails.set(floor, id + 1);
+        counts.add(floor, 1);
+    }
+
+    public int peek(int floor) {
+        return heads.get(floor) - 1;
+    }
+
+    // Następny w tej samej kolejce albo PassengerStore.NONE
+    public int next(int id) {
+        return passengers.getNext(id);
+    }
+
+    public int poll(int floor) {
+        int head = heads.get(floor) - 1;
+        if (head == PassengerStore.NONE) {
+            return PassengerStore.NONE;
+        }
+        int next = passengers.getNext(head);
+        if (next == PassengerStore.NONE) {
+            heads.set(floor, 0);
+            tails.set(floor, 0);
+        } else {
+            heads.set(floor, next + 1);
+        }
+        counts.add(floor, -1);
+        return head;
+    }
+
+    public int size(int floor) {
+        return counts.get(floor);
+    }
+
+    public long total() {
+        return counts.total();
+    }
+
+    public int[] floors() {
+        return counts.floors();
+    }
+
+    public int floorCount() {
+        return counts.size();
+    }
+
+    public int copyCounts(int[] floors, int[] sizes) {
+        return counts.copyTo(floors, sizes);
+    }
+
+    public void clear() {
+        for (int floor : counts.floors()) {
+            for (int id = poll(floor); id != PassengerStore.NONE; id = poll(floor)) {
+                passengers.release(id);
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package model;
+
+import java.util.Arrays;
+
+// Zbiór numerów pięter na bitach - bez boxingu i bez alokacji przy sprawdzaniu i wyszukiwaniu
+public class FloorSet {
+    private long[] words;
+    private int size = 0;
+
+    public FloorSet() {
+        this(64);
+    }
+
+    public FloorSet(int floors) {
+        words = new long[Math.max(1, (floors + 63) >>> 6)];
+    }
+
+    public boolean add(int floor) {
+        if (floor < 0) {
+            throw new IllegalArgumentException("Ujemny numer piętra: " + floor);
+        }
+        int index = floor >>> 6;
+        if (index >= words.length) {
+            words = Arrays.copyOf(words, Math.max(index + 1, words.length * 2));
+        }
+        long mask = 1L << floor;
+        if ((words[index] & mask) != 0) {
+            return false;
+        }
+        words[index] |= mask;
+        size++;
+        return true;
+    }
+
+    public boolean remove(int floor) {
+        int index = floor >>> 6;
+        if (floor < 0 || index >= words.length) {
+            return false;
+        }
+        long mask = 1L << floor;
+        if ((words[index] & mask) == 0) {
+            return false;
+        }
+        words[index] &= ~mask;
+        size--;
+        return true;
+    }
+
+    public boolean contains(int floor) {
+        int index = floor >>> 6;
+        return floor >= 0 && index < words.length && (words[index] & (1L << floor)) != 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(words, 0);
+        size = 0;
+    }
+
+    // Najmniejsze piętro >= floor albo -1
+    public int nextFloor(int floor) {
+        if (floor < 0) floor = 0;
+        int index = floor >>> 6;
+        if (index >= words.length) return -1;
+
+        long word = words[index] & (-1L << floor);
+        while (true) {
+            if (word != 0) {
+                return (index << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++index == words.length) {
+                return -1;
+            }
+            word = words[index];
+        }
+    }
+
+    // Największe piętro <= floor albo -1
+    public int previousFloor(int floor) {
+        if (floor < 0) return -1;
+        int index = floor >>> 6;
+        if (index >= words.length) {
+            index = words.length - 1;
+            floor = (index << 6) + 63;
+        }
+
+        long word = words[index] & (-1L >>> (63 - (floor & 63)));
+        while (true) {
+            if (word != 0) {
+                return (index << 6) + 63 - Long.numberOfLeadingZeros(word);
+            }
+            if (index-- == 0) {
+                return -1;
+            }
+            word = words[index];
+        }
+    }
+
+    // Najbliższe piętro powyżej podanego albo -1; floor + 1 nie może się przekręcić na ujemne
+    public int nextAbove(int floor) {
+        return floor == Integer.MAX_VALUE ? -1 : nextFloor(floor + 1);
+    }
+
+    // Najbliższe piętro poniżej podanego albo -1
+    public int nextBelow(int floor) {
+        return floor <= 0 ? -1 : previousFloor(floor - 1);
+    }
+}
@@ -0,0 +1,129 @@
+package model;
+
+import java.util.Arrays;
+
+// Rekordy pasażerów w tablicach prymitywów (struktura tablic); zwolnione sloty trafiają na listę wolnych i są używane ponownie
+public class PassengerStore {
+    public static final int NONE = -1;
+    public static final long NOT_YET = -1;
+
+    private int[] origin;
+    private int[] destination;
+    private long[] arrivalTime;
+    private long[] boardingTime;
+    private long[] alightingTime;
+    // Lista wolnych slotów albo kolejka oczekujących na piętrze
+    private int[] next;
+
+    private int highWater = 0;
+    private int freeHead = NONE;
+    private int size = 0;
+
+    public PassengerStore() {
+        this(256);
+    }
+
+    public PassengerStore(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        origin = new int[capacity];
+        destination = new int[capacity];
+        arrivalTime = new long[capacity];
+        boardingTime = new long[capacity];
+        alightingTime = new long[capacity];
+        next = new int[capacity];
+    }
+
+    public int allocate(int originFloor, int destinationFloor, long arrival) {
+        int id;
+        if (freeHead != NONE) {
+            id = freeHead;
+            freeHead = next[id];
+        } else {
+            if (highWater == origin.length) {
+                grow();
+            }
+            id = highWater++;
+        }
+        origin[id] = originFloor;
+        destination[id] = destinationFloor;
+        arrivalTime[id] = arrival;
+        boardingTime[id] = NOT_YET;
+        alightingTime[id] = NOT_YET;
+        next[id] = NONE;
+        size++;
+        return id;
+    }
+
+    public void release(int id) {
+        next[id] = freeHead;
+        freeHead = id;
+        size--;
+    }
+
+    // Liczba żywych rekordów
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return origin.length;
+    }
+
+    public int getOrigin(int id) {
+        return origin[id];
+    }
+
+    public int getDestination(int id) {
+        return destination[id];
+    }
+
+    public void setDestination(int id, int floor) {
+        destination[id] = floor;
+    }
+
+    public long getArrivalTime(int id) {
+        return arrivalTime[id];
+    }
+
+    public long getBoardingTime(int id) {
+        return boardingTime[id];
+    }
+
+    public void setBoardingTime(int id, long time) {
+        boardingTime[id] = time;
+    }
+
+    public long getAlightingTime(int id) {
+        return alightingTime[id];
+    }
+
+    public void setAlightingTime(int id, long time) {
+        alightingTime[id] = time;
+    }
+
+    public long getWaitTime(int id) {
+        return boardingTime[id] - arrivalTime[id];
+    }
+
+    public long getRideTime(int id) {
+        return alightingTime[id] - boardingTime[id];
+    }
+
+    int getNext(int id) {
+        return next[id];
+    }
+
+    void setNext(int id, int nextId) {
+        next[id] = nextId;
+    }
+
+    private void grow() {
+        int capacity = origin.length * 2;
+        origin = Arrays.copyOf(origin, capacity);
+        destination = Arrays.copyOf(destination, capacity);
+        arrivalTime = Arrays.copyOf(arrivalTime, capacity);
+        boardingTime = Arrays.copyOf(boardingTime, capacity);
+        alightingTime = Arrays.copyOf(alightingTime, capacity);
+        next = Arrays.copyOf(next, capacity);
+    }
+}
@@ -0,0 +1,165 @@
+package model;
+
+import java.util.Arrays;
+
+// Liczniki per piętro w tablicy mieszającej (adresowanie otwarte) - pamięć rośnie z liczbą zajętych pięter, nie z wysokością
+public class SparseFloorCounts {
+    private static final int EMPTY = -1;
+
+    private int[] keys;
+    private int[] values;
+    private int size = 0;
+    private long total = 0;
+
+    public SparseFloorCounts() {
+        this(16);
+    }
+
+    public SparseFloorCounts(int expectedFloors) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedFloors * 2 - 1)) << 1;
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    public int get(int floor) {
+        int slot = find(floor);
+        return slot < 0 ? 0 : values[slot];
+    }
+
+    public void set(int floor, int count) {
+        // Klucz -1 oznacza pusty slot - ujemne piętro rozspójniłoby tablicę
+        if (floor < 0) {
+            throw new IllegalArgumentException("Ujemny numer piętra: " + floor);
+        }
+        int slot = find(floor);
+        if (count <= 0) {
+            if (slot >= 0) {
+                total -= values[slot];
+                delete(slot);
+            }
+            return;
+        }
+        if (slot >= 0) {
+            total += count - values[slot];
+            values[slot] = count;
+            return;
+        }
+        if ((size + 1) * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        slot = indexFor(floor);
+        while (keys[slot] != EMPTY) {
+            slot = (slot + 1) & (keys.length - 1);
+        }
+        keys[slot] = floor;
+        values[slot] = count;
+        size++;
+        total += count;
+    }
+
+    public void add(int floor, int count) {
+        set(floor, get(floor) + count);
+    }
+
+    // Liczba pięter z niezerowym licznikiem
+    public int size() {
+        return size;
+    }
+
+    public long total() {
+        return total;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        total = 0;
+    }
+
+    // Zajęte piętra w kolejności rosnącej
+    public int[] floors() {
+        int[] floors = new int[size];
+        int i = 0;
+        for (int key : keys) {
+            if (key != EMPTY) {
+                floors[i++] = key;
+            }
+        }
+        Arrays.sort(floors);
+        return floors;
+    }
+
+    // Kopia par piętro-licznik bez alokacji, w kolejności tablicy; tablice muszą mieć co najmniej size() miejsc
+    public int copyTo(int[] floors, int[] counts) {
+        int i = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                floors[i] = keys[slot];
+                counts[i] = values[slot];
+                i++;
+            }
+        }
+        return i;
+    }
+
+    // Liczba pięter z niezerowym licznikiem spoza obu zbiorów - przegląd tablicy, bez alokacji
+    public int countFloorsOutside(FloorSet first, FloorSet second) {
+        int count = 0;
+        for (int key : keys) {
+            if (key != EMPTY && !first.contains(key) && !second.contains(key)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int indexFor(int floor) {
+        int h = floor * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (keys.length - 1);
+    }
+
+    private int find(int floor) {
+        int slot = indexFor(floor);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == floor) {
+                return slot;
+            }
+            slot = (slot + 1) & (keys.length - 1);
+        }
+        return -1;
+    }
+
+    // Usuwanie z przesunięciem wstecz, bez znaczników usunięcia
+    private void delete(int slot) {
+        int mask = keys.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = indexFor(keys[next]);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = EMPTY;
+        size--;
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        total = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                set(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+}
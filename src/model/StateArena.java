@@ -0,0 +1,84 @@
+package model;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+// Pamięć na kolumny stanu wind i pięter (CarColumns, FloorColumns). Wersja poza stertą dzieli duże bufory
+// bezpośrednie na wyrównane wycinki - stan tysięcy budynków leży w kilku ciągłych blokach, których GC nie przegląda.
+// Wersja na stercie daje kolumnom zwykłe tablice prymitywów i tylko liczy ich rozmiar.
+// Poza stertą są tylko skalary wind i tablica przydziału wezwań. Wezwania (FloorSet), kolejki oczekujących
+// (FloorQueues) i cele kabin zostają na stercie: to tablice prymitywów bez obiektów w środku, a liczniki
+// oczekujących są rzadkie i rosną z liczbą zajętych pięter, czego stała kolumna poza stertą by nie dała.
+// Przydział nie jest synchronizowany - budynki tworzy jeden wątek
+public final class StateArena {
+    private static final String BACKEND_PROPERTY = "liftsimulator.state";
+    private static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+    private static final int ALIGNMENT = 8;
+
+    private final boolean offHeap;
+    private final int blockSize;
+    private ByteBuffer block;
+    private long allocated = 0;
+
+    private StateArena(boolean offHeap, int blockSize) {
+        this.offHeap = offHeap;
+        this.blockSize = blockSize;
+    }
+
+    // Wspólna pamięć wielu budynków, z wariantem wybranym właściwością liftsimulator.state
+    public static StateArena shared() {
+        return new StateArena(isOffHeapDefault(), DEFAULT_BLOCK_SIZE);
+    }
+
+    public static StateArena offHeap() {
+        return new StateArena(true, DEFAULT_BLOCK_SIZE);
+    }
+
+    public static StateArena heap() {
+        return new StateArena(false, DEFAULT_BLOCK_SIZE);
+    }
+
+    // Pojedynczy budynek dostaje mały blok, żeby nie rezerwować megabajta na kilka wind
+    public static StateArena forBuilding() {
+        return new StateArena(isOffHeapDefault(), 256);
+    }
+
+    // -Dliftsimulator.state=offheap przenosi stan wind i pięter poza stertę
+    public static boolean isOffHeapDefault() {
+        return "offheap".equalsIgnoreCase(System.getProperty(BACKEND_PROPERTY));
+    }
+
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    // Łączny rozmiar przydzielonych kolumn w bajtach
+    public long getAllocated() {
+        return allocated;
+    }
+
+    // Kolumny na stercie tylko zgłaszają swój rozmiar
+    void reserve(int bytes) {
+        allocated += bytes;
+    }
+
+    // Wyzerowany wycinek w kolejności bajtów procesora; większe niż blok żądania dostają własny blok
+    public ByteBuffer allocate(int bytes) {
+        int size = (bytes + ALIGNMENT - 1) & -ALIGNMENT;
+        allocated += size;
+        if (size > blockSize / 4) {
+            return newBlock(size);
+        }
+        if (block == null || block.remaining() < size) {
+            block = newBlock(blockSize);
+        }
+        ByteBuffer slice = block.slice(block.position(), size).order(ByteOrder.nativeOrder());
+        block.position(block.position() + size);
+        return slice;
+    }
+
+    private ByteBuffer newBlock(int size) {
+        ByteBuffer buffer = offHeap ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+        return buffer.order(ByteOrder.nativeOrder());
+    }
+}
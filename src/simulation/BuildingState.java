@@ -0,0 +1,127 @@
+package simulation;
+
+import java.util.Arrays;
+
+// Niezmienny obraz budynku z jednej chwili symulacji, wydawany przez StatePublisher.
+// Widok, metryki i eksport czytają tylko takie obrazy, nigdy żywego modelu
+public final class BuildingState {
+    private final long version;
+    private final int floors;
+    private final long time;
+    private final boolean running;
+    private final int[] carFloor;
+    private final int[] carDirection;
+    private final boolean[] carExitPhase;
+    // Piętra startowe pasażerów w kabinie (kolor postaci) i cele kabiny, rosnąco
+    private final int[][] riderOrigins;
+    private final int[][] carDestinations;
+    // Piętra z oczekującymi (rosnąco) i liczba oczekujących na każdym z nich
+    private final int[] waitingFloors;
+    private final int[] waitingCounts;
+    // Wezwania (rosnąco) i windy, którym je przydzielono (-1 - bez przydziału)
+    private final int[] callFloors;
+    private final int[] callCars;
+
+    BuildingState(long version, int floors, long time, boolean running, int[] carFloor, int[] carDirection, boolean[] carExitPhase,
+                  int[][] riderOrigins, int[][] carDestinations, int[] waitingFloors, int[] waitingCounts,
+                  int[] callFloors, int[] callCars) {
+        this.version = version;
+        this.floors = floors;
+        this.time = time;
+        this.running = running;
+        this.carFloor = carFloor;
+        this.carDirection = carDirection;
+        this.carExitPhase = carExitPhase;
+        this.riderOrigins = riderOrigins;
+        this.carDestinations = carDestinations;
+        this.waitingFloors = waitingFloors;
+        this.waitingCounts = waitingCounts;
+        this.callFloors = callFloors;
+        this.callCars = callCars;
+    }
+
+    // Rośnie z każdą publikacją; ten sam numer oznacza ten sam stan
+    public long getVersion() {
+        return version;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public int getFloorsCount() {
+        return floors;
+    }
+
+    public int getElevatorCount() {
+        return carFloor.length;
+    }
+
+    public int getCurrentFloor(int car) {
+        return carFloor[car];
+    }
+
+    public int getDirection(int car) {
+        return carDirection[car];
+    }
+
+    public boolean isExitPhase(int car) {
+        return carExitPhase[car];
+    }
+
+    public int getPassengerCount(int car) {
+        return riderOrigins[car].length;
+    }
+
+    public int getRiderOrigin(int car, int index) {
+        return riderOrigins[car][index];
+    }
+
+    public int getDestinationCount(int car) {
+        return carDestinations[car].length;
+    }
+
+    public int getDestination(int car, int index) {
+        return carDestinations[car][index];
+    }
+
+    public boolean hasDestination(int car, int floor) {
+        return Arrays.binarySearch(carDestinations[car], floor) >= 0;
+    }
+
+    // Piętra z oczekującymi po kolei (rosnąco) - do eksportu bez przeglądania całego budynku
+    public int getOccupiedFloorCount() {
+        return waitingFloors.length;
+    }
+
+    public int getOccupiedFloor(int index) {
+        return waitingFloors[index];
+    }
+
+    public int getWaitingPassengers(int floor) {
+        int index = Arrays.binarySearch(waitingFloors, floor);
+        return index >= 0 ? waitingCounts[index] : 0;
+    }
+
+    public int getCallCount() {
+        return callFloors.length;
+    }
+
+    public int getCallFloor(int index) {
+        return callFloors[index];
+    }
+
+    public boolean hasCall(int floor) {
+        return Arrays.binarySearch(callFloors, floor) >= 0;
+    }
+
+    // Winda przydzielona do wezwania z piętra floor albo -1
+    public int getAssignedCar(int floor) {
+        int index = Arrays.binarySearch(callFloors, floor);
+        return index >= 0 ? callCars[index] : -1;
+    }
+}
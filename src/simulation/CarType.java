@@ -0,0 +1,197 @@
+package simulation;
+
+import java.util.List;
+
+// Parametry napędu i drzwi jednego typu kabiny; z nich powstaje tablica czasów przejazdu (TravelTimeTable)
+public final class CarType {
+    public static final CarType RESIDENTIAL = new CarType("residential", 1.0, 0.6, 1.0, 2.8, 2500, 3500);
+    public static final CarType OFFICE = new CarType("office", 2.5, 1.0, 1.5, 3.5, 2000, 3000);
+    public static final CarType HIGH_RISE = new CarType("high-rise", 6.0, 1.2, 1.8, 4.0, 1800, 2800);
+
+    private static final List<CarType> ALL = List.of(RESIDENTIAL, OFFICE, HIGH_RISE);
+
+    private final String name;
+    // Prędkość znamionowa [m/s], przyspieszenie [m/s^2], zryw [m/s^3], wysokość kondygnacji [m]
+    private final double ratedSpeed;
+    private final double acceleration;
+    private final double jerk;
+    private final double floorHeight;
+    // Otwieranie drzwi po zatrzymaniu i zamykanie przed odjazdem [ms]
+    private final long doorOpenTime;
+    private final long doorCloseTime;
+
+    public CarType(String name, double ratedSpeed, double acceleration, double jerk, double floorHeight,
+                   long doorOpenTime, long doorCloseTime) {
+        if (ratedSpeed <= 0 || acceleration <= 0 || jerk <= 0 || floorHeight <= 0) {
+            throw new IllegalArgumentException("Parametry napędu muszą być dodatnie: " + name);
+        }
+        if (doorOpenTime < 0 || doorCloseTime < 0) {
+            throw new IllegalArgumentException("Czasy drzwi nie mogą być ujemne: " + name);
+        }
+        this.name = name;
+        this.ratedSpeed = ratedSpeed;
+        this.acceleration = acceleration;
+        this.jerk = jerk;
+        this.floorHeight = floorHeight;
+        this.doorOpenTime = doorOpenTime;
+        this.doorCloseTime = doorCloseTime;
+    }
+
+    public static List<CarType> all() {
+        return ALL;
+    }
+
+    public static CarType byName(String name) {
+        for (CarType type : ALL) {
+            if (type.name.equalsIgnoreCase(name)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Nieznany typ kabiny: " + name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getRatedSpeed() {
+        return ratedSpeed;
+    }
+
+    public double getAcceleration() {
+        return acceleration;
+    }
+
+    public double getJerk() {
+        return jerk;
+    }
+
+    public double getFloorHeight() {
+        return floorHeight;
+    }
+
+    public long getDoorOpenTime() {
+        return doorOpenTime;
+    }
+
+    public long getDoorCloseTime() {
+        return doorCloseTime;
+    }
+
+    // Czas [s] przejazdu od postoju do postoju na odległość distance [m] po profilu S z ograniczonym zrywem
+    public double runTime(double distance) {
+        if (distance <= 0) return 0;
+        double a = peakAcceleration();
+        double toRatedSpeed = ratedSpeed / a + a / jerk;
+        if (distance >= ratedSpeed * toRatedSpeed) {
+            return distance / ratedSpeed + toRatedSpeed;
+        }
+        // Krótki przejazd nie osiąga prędkości znamionowej - szukamy prędkości szczytowej,
+        // przy której rozpędzanie i hamowanie zajmują razem dokładnie distance
+        double low = 0;
+        double high = ratedSpeed;
+        for (int i = 0; i < 60; i++) {
+            double peak = (low + high) / 2;
+            if (2 * accelerationDistance(peak) < distance) {
+                low = peak;
+            } else {
+                high = peak;
+            }
+        }
+        return 2 * accelerationTime((low + high) / 2);
+    }
+
+    // Czas [s], po którym rozpędzająca się od postoju kabina mija punkt odległy o distance [m]
+    public double passingTime(double distance) {
+        if (distance <= 0) return 0;
+        double a = peakAcceleration();
+        double toRatedSpeed = ratedSpeed / a + a / jerk;
+        double accelerating = ratedSpeed * toRatedSpeed / 2;
+        if (distance >= accelerating) {
+            return toRatedSpeed + (distance - accelerating) / ratedSpeed;
+        }
+        double low = 0;
+        double high = toRatedSpeed;
+        for (int i = 0; i < 60; i++) {
+            double time = (low + high) / 2;
+            if (position(time) < distance) {
+                low = time;
+            } else {
+                high = time;
+            }
+        }
+        return (low + high) / 2;
+    }
+
+    // Przy małej prędkości znamionowej kabina nie zdąży osiągnąć pełnego przyspieszenia
+    private double peakAcceleration() {
+        return Math.min(acceleration, Math.sqrt(ratedSpeed * jerk));
+    }
+
+    // Czas i droga rozpędzania od postoju do prędkości speed (symetryczny profil przyspieszenia)
+    private double accelerationTime(double speed) {
+        double a = peakAcceleration();
+        return speed >= a * a / jerk ? speed / a + a / jerk : 2 * Math.sqrt(speed / jerk);
+    }
+
+    private double accelerationDistance(double speed) {
+        return speed * accelerationTime(speed) / 2;
+    }
+
+    // Położenie w chwili time podczas rozpędzania do prędkości znamionowej: narastanie przyspieszenia,
+    // stałe przyspieszenie, zanik przyspieszenia
+    private double position(double time) {
+        double a = peakAcceleration();
+        double rampTime = a / jerk;
+        double constantEnd = ratedSpeed / a;
+        if (time <= rampTime) {
+            return jerk * time * time * time / 6;
+        }
+        double rampSpeed = a * rampTime / 2;
+        double rampDistance = jerk * rampTime * rampTime * rampTime / 6;
+        if (time <= constantEnd) {
+            double t = time - rampTime;
+            return rampDistance + rampSpeed * t + a * t * t / 2;
+        }
+        double t1 = constantEnd - rampTime;
+        double speed = rampSpeed + a * t1;
+        double distance = rampDistance + rampSpeed * t1 + a * t1 * t1 / 2;
+        double t = time - constantEnd;
+        return distance + speed * t + a * t * t / 2 - jerk * t * t * t / 6;
+    }
+
+    // Skrót samych parametrów ruchu i drzwi - nazwa nie wpływa na przebieg
+    long hash(long hash) {
+        hash = SimulationConfig.mix(hash, Double.doubleToLongBits(ratedSpeed));
+        hash = SimulationConfig.mix(hash, Double.doubleToLongBits(acceleration));
+        hash = SimulationConfig.mix(hash, Double.doubleToLongBits(jerk));
+        hash = SimulationConfig.mix(hash, Double.doubleToLongBits(floorHeight));
+        hash = SimulationConfig.mix(hash, doorOpenTime);
+        return SimulationConfig.mix(hash, doorCloseTime);
+    }
+
+    // Te same parametry co w hash(), jako tekst do pełnego klucza konfiguracji
+    String key() {
+        return ratedSpeed + "/" + acceleration + "/" + jerk + "/" + floorHeight + "/" + doorOpenTime + "/" + doorCloseTime;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (!(other instanceof CarType)) return false;
+        CarType type = (CarType) other;
+        return Double.compare(ratedSpeed, type.ratedSpeed) == 0 && Double.compare(acceleration, type.acceleration) == 0 &&
+                Double.compare(jerk, type.jerk) == 0 && Double.compare(floorHeight, type.floorHeight) == 0 &&
+                doorOpenTime == type.doorOpenTime && doorCloseTime == type.doorCloseTime;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(hash(0));
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + ratedSpeed + " m/s, " + acceleration + " m/s^2, " + jerk + " m/s^3)";
+    }
+}
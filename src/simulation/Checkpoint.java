@@ -0,0 +1,452 @@
+package simulation;
+
+import dispatch.DispatchStrategies;
+import dispatch.Dispatcher;
+import model.Building;
+import model.Elevator;
+import model.FloorSet;
+import model.PassengerStore;
+import traffic.ArrivalSource;
+import traffic.ArrivalStream;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+// Punkt kontrolny: cały stan przebiegu (parametry, zegar, kolejka zdarzeń, oczekujący, windy, przydziały wezwań)
+// w zwartym pliku binarnym. Liczby zapisane są jako varinty, czasy pasażerów względem bieżącej chwili,
+// a na końcu jest CRC32. Po wczytaniu przebieg toczy się dokładnie tak, jak toczyłby się bez przerwy.
+// GUI i kontroler rysują z opublikowanego stanu silnika, więc silnik to cały stan do zapisania
+public final class Checkpoint {
+    public static final int MAGIC = 0x4C434B50; // "LCKP"
+    public static final short VERSION = 1;
+
+    private static final byte FLAG_RUNNING = 1;
+    private static final byte FLAG_AUTOMATIC = 2;
+    private static final byte FLAG_TRAFFIC = 4;
+    private static final byte FLAG_STREAM_STATE = 8;
+
+    private static final byte CAR_MOVING = 1;
+    private static final byte CAR_EXIT_PHASE = 2;
+    private static final byte CAR_EXCHANGE = 4;
+    private static final byte CAR_PLANNED_STOP = 8;
+
+    private Checkpoint() {
+    }
+
+    public static void save(SimulationEngine engine, Path file) throws IOException {
+        Files.write(file, write(engine));
+    }
+
+    // Wczytany przebieg potrzebuje tego samego źródła przyjść co zapisany (np. ten sam profil ruchu),
+    // ustawionego na początek; null, gdy przebieg nie miał strumienia przyjść
+    public static SimulationEngine load(Path file, ArrivalSource traffic) throws IOException {
+        return read(Files.readAllBytes(file), engine -> traffic);
+    }
+
+    // Źródło tworzone dopiero dla odczytanego silnika, gdy zależy od zapisanych parametrów i ziarna
+    public static SimulationEngine load(Path file, Function<SimulationEngine, ArrivalSource> traffic)
+            throws IOException {
+        return read(Files.readAllBytes(file), traffic);
+    }
+
+    // Zapis w pamięci - np. rozgrzany przebieg wczytywany wielokrotnie w kolejnych eksperymentach
+    public static byte[] write(SimulationEngine engine) {
+        Output out = new Output();
+        out.putInt(MAGIC);
+        out.putShort(VERSION);
+        writeConfig(out, engine.getConfig());
+
+        Building building = engine.getBuilding();
+        Dispatcher dispatcher = engine.getDispatcher();
+        long now = engine.now();
+        ArrivalStream stream = engine.getTrafficSource() instanceof ArrivalStream s ? s : null;
+        out.put((byte) ((engine.isRunning() ? FLAG_RUNNING : 0) | (engine.isAutomaticPassengers() ? FLAG_AUTOMATIC : 0)
+                | (engine.hasTrafficSource() ? FLAG_TRAFFIC : 0) | (stream != null ? FLAG_STREAM_STATE : 0)));
+        out.putVarLong(now);
+        out.putVarLong(engine.getSimulationStart());
+        out.putLong(engine.getSeed());
+        out.putVarLong(engine.getNextSequence());
+        out.putVarLong(engine.getArrivalsTaken());
+        if (stream != null) {
+            long[] state = stream.getState();
+            out.putVarLong(state.length);
+            for (long value : state) {
+                out.putLong(value);
+            }
+        }
+        ScheduledEvent endEvent = engine.getEndEvent();
+        if (endEvent != null && !endEvent.isCancelled()) {
+            out.put((byte) 1);
+            out.putVarLong(endEvent.getTime() - now);
+            out.putVarLong(endEvent.getSequence());
+        } else {
+            out.put((byte) 0);
+        }
+
+        // Kolejki na piętrach w kolejności przyjścia - id pasażerów nadawane są od nowa przy wczytaniu
+        PassengerStore passengers = building.getPassengers();
+        int[] floors = building.getOccupiedFloors();
+        out.putVarLong(floors.length);
+        for (int floor : floors) {
+            out.putVarLong(floor);
+            out.putVarLong(building.getWaitingPassengers(floor));
+            for (int id = building.peekWaitingPassenger(floor); id != PassengerStore.NONE;
+                 id = building.nextWaitingPassenger(id)) {
+                out.putVarLong(passengers.getDestination(id));
+                out.putVarLong(now - passengers.getArrivalTime(id));
+            }
+        }
+        writeFloors(out, building.getCalls());
+
+        for (int i = 0; i < building.getElevatorCount(); i++) {
+            SimulationEngine.Car car = engine.carAt(i);
+            Elevator elevator = car.elevator;
+            out.putVarLong(elevator.getCurrentFloor());
+            out.putSignedVarLong(elevator.getDirection());
+            out.put((byte) ((elevator.isMoving() ? CAR_MOVING : 0) | (car.isExitPhase ? CAR_EXIT_PHASE : 0)
+                    | (car.exchangeInProgress ? CAR_EXCHANGE : 0) | (car.plannedStop ? CAR_PLANNED_STOP : 0)));
+            out.putVarLong(car.runStart);
+            writeFloors(out, elevator.getDestinations());
+            writeFloors(out, dispatcher.getAssignedCalls(elevator));
+            out.putVarLong(elevator.getPassengerCount());
+            for (int p = 0; p < elevator.getPassengerCount(); p++) {
+                int id = elevator.getPassenger(p);
+                out.putVarLong(passengers.getOrigin(id));
+                out.putVarLong(passengers.getDestination(id));
+                out.putVarLong(now - passengers.getArrivalTime(id));
+                out.putVarLong(now - passengers.getBoardingTime(id));
+            }
+            ScheduledEvent pending = car.pending;
+            if (pending != null && !pending.isCancelled()) {
+                out.putVarLong(car.pendingStep);
+                out.putVarLong(pending.getTime() - now);
+                out.putVarLong(pending.getSequence());
+            } else {
+                out.putVarLong(SimulationEngine.NO_STEP);
+            }
+        }
+        return out.finish();
+    }
+
+    public static SimulationEngine read(byte[] data, ArrivalSource traffic) {
+        return read(data, engine -> traffic);
+    }
+
+    public static SimulationEngine read(byte[] data, Function<SimulationEngine, ArrivalSource> trafficFactory) {
+        try {
+            return decode(data, trafficFactory);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Przerwany punkt kontrolny", e);
+        }
+    }
+
+    private static SimulationEngine decode(byte[] data, Function<SimulationEngine, ArrivalSource> trafficFactory) {
+        if (data.length < 4 + 2 + 4) {
+            throw new IllegalArgumentException("Nieprawidłowy rozmiar punktu kontrolnego: " + data.length);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length - 4);
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+            throw new IllegalArgumentException("To nie jest punkt kontrolny symulacji w obsługiwanej wersji");
+        }
+        if ((int) crc.getValue() != buffer.getInt(data.length - 4)) {
+            throw new IllegalArgumentException("Uszkodzony punkt kontrolny - suma kontrolna się nie zgadza");
+        }
+        Input in = new Input(buffer.limit(data.length - 4));
+
+        SimulationConfig config = readConfig(in);
+        SimulationEngine engine = new SimulationEngine(config);
+        Building building = engine.getBuilding();
+        Dispatcher dispatcher = engine.getDispatcher();
+        PassengerStore passengers = building.getPassengers();
+
+        byte flags = in.get();
+        long now = in.getVarLong();
+        long simulationStart = in.getVarLong();
+        long seed = in.getLong();
+        long nextSequence = in.getVarLong();
+        long arrivalsTaken = in.getVarLong();
+        if ((flags & FLAG_AUTOMATIC) != 0) {
+            engine.enableAutomaticPassengers(seed);
+        } else {
+            engine.setSeed(seed);
+        }
+        ArrivalSource traffic = trafficFactory.apply(engine);
+        long[] streamState = null;
+        if ((flags & FLAG_STREAM_STATE) != 0) {
+            streamState = new long[(int) in.getVarLong()];
+            for (int i = 0; i < streamState.length; i++) {
+                streamState[i] = in.getLong();
+            }
+        }
+        if (((flags & FLAG_TRAFFIC) != 0) != (traffic != null)) {
+            throw new IllegalArgumentException(traffic == null
+                    ? "Punkt kontrolny wymaga źródła przyjść pasażerów (np. profilu ruchu)"
+                    : "Zapisany przebieg nie miał strumienia przyjść");
+        }
+        if (traffic != null) {
+            if (streamState != null && traffic instanceof ArrivalStream stream) {
+                stream.restoreState(streamState);
+            } else {
+                // Źródło bez zapisywalnego stanu (np. dziennik ruchu) przewijane jest o pobrane przyjścia
+                for (long i = 0; i < arrivalsTaken && traffic.hasNext(); i++) {
+                    traffic.advance();
+                }
+            }
+            engine.setTrafficSource(traffic);
+        }
+        engine.restoreRun(now, simulationStart, (flags & FLAG_RUNNING) != 0, arrivalsTaken, nextSequence);
+        if (in.get() != 0) {
+            long time = now + in.getVarLong();
+            engine.restoreEndEvent(time, in.getVarLong());
+        }
+
+        int occupiedFloors = in.getCount(config.getFloors());
+        for (int i = 0; i < occupiedFloors; i++) {
+            int floor = in.getFloor(config.getFloors());
+            long waiting = in.getVarLong();
+            for (long p = 0; p < waiting; p++) {
+                int destination = in.getFloor(config.getFloors());
+                building.addWaitingPassenger(floor, destination, now - in.getVarLong());
+            }
+        }
+        FloorSet calls = building.getCalls();
+        for (int floor : readFloors(in, config.getFloors())) {
+            calls.add(floor);
+        }
+
+        for (int i = 0; i < building.getElevatorCount(); i++) {
+            SimulationEngine.Car car = engine.carAt(i);
+            Elevator elevator = car.elevator;
+            elevator.setCurrentFloor(in.getFloor(config.getFloors()));
+            elevator.setDirection((int) in.getSignedVarLong());
+            byte carFlags = in.get();
+            elevator.setMoving((carFlags & CAR_MOVING) != 0);
+            car.isExitPhase = (carFlags & CAR_EXIT_PHASE) != 0;
+            car.exchangeInProgress = (carFlags & CAR_EXCHANGE) != 0;
+            car.plannedStop = (carFlags & CAR_PLANNED_STOP) != 0;
+            car.runStart = in.getFloor(config.getFloors());
+            // Bezpośrednio do zbioru - cel na bieżącym piętrze (winda właśnie hamuje) jest poprawny
+            FloorSet destinations = elevator.getDestinations();
+            for (int floor : readFloors(in, config.getFloors())) {
+                destinations.add(floor);
+            }
+            for (int floor : readFloors(in, config.getFloors())) {
+                dispatcher.restoreCall(floor, elevator);
+            }
+            int riders = in.getCount(elevator.getCapacity());
+            for (int p = 0; p < riders; p++) {
+                int origin = in.getFloor(config.getFloors());
+                int destination = in.getFloor(config.getFloors());
+                int id = passengers.allocate(origin, destination, now - in.getVarLong());
+                passengers.setBoardingTime(id, now - in.getVarLong());
+                elevator.addPassenger(id);
+            }
+            int step = (int) in.getVarLong();
+            if (step != SimulationEngine.NO_STEP) {
+                if (step > SimulationEngine.ENTRY_PHASE_END) {
+                    throw new IllegalArgumentException("Nieznany krok windy w punkcie kontrolnym: " + step);
+                }
+                long time = now + in.getVarLong();
+                engine.restoreStep(car, step, time, in.getVarLong());
+            }
+        }
+        if (in.remaining() != 0) {
+            throw new IllegalArgumentException("Nadmiarowe dane na końcu punktu kontrolnego");
+        }
+        return engine;
+    }
+
+    private static void writeConfig(Output out, SimulationConfig config) {
+        out.putVarLong(config.getFloors());
+        out.putVarLong(config.getElevatorCount());
+        out.putVarLong(config.getCapacity());
+        out.putVarLong(config.getFloorTravelTime());
+        out.putVarLong(config.getStartDelay());
+        out.putVarLong(config.getExitPhaseTime());
+        out.putVarLong(config.getEntryPhaseTime());
+        out.putVarLong(config.getDoorOpenTime());
+        out.putString(config.getStrategy().getName());
+        CarType type = config.getCarType();
+        if (type == null) {
+            out.put((byte) 0);
+            return;
+        }
+        out.put((byte) 1);
+        out.putString(type.getName());
+        out.putLong(Double.doubleToRawLongBits(type.getRatedSpeed()));
+        out.putLong(Double.doubleToRawLongBits(type.getAcceleration()));
+        out.putLong(Double.doubleToRawLongBits(type.getJerk()));
+        out.putLong(Double.doubleToRawLongBits(type.getFloorHeight()));
+        out.putVarLong(type.getDoorOpenTime());
+        out.putVarLong(type.getDoorCloseTime());
+    }
+
+    private static SimulationConfig readConfig(Input in) {
+        int floors = (int) in.getVarLong();
+        int elevatorCount = (int) in.getVarLong();
+        int capacity = (int) in.getVarLong();
+        long floorTravelTime = in.getVarLong();
+        long startDelay = in.getVarLong();
+        long exitPhaseTime = in.getVarLong();
+        long entryPhaseTime = in.getVarLong();
+        long doorOpenTime = in.getVarLong();
+        String strategy = in.getString();
+        CarType type = null;
+        if (in.get() != 0) {
+            type = new CarType(in.getString(), Double.longBitsToDouble(in.getLong()),
+                    Double.longBitsToDouble(in.getLong()), Double.longBitsToDouble(in.getLong()),
+                    Double.longBitsToDouble(in.getLong()), in.getVarLong(), in.getVarLong());
+        }
+        return new SimulationConfig(floors, elevatorCount, capacity, floorTravelTime, startDelay, exitPhaseTime,
+                entryPhaseTime, DispatchStrategies.byName(strategy), type, doorOpenTime);
+    }
+
+    // Rosnące piętra zapisane jako odstępy od poprzedniego
+    private static void writeFloors(Output out, FloorSet floors) {
+        out.putVarLong(floors.size());
+        int previous = 0;
+        for (int floor = floors.nextFloor(0); floor != -1; floor = floors.nextAbove(floor)) {
+            out.putVarLong(floor - previous);
+            previous = floor;
+        }
+    }
+
+    private static int[] readFloors(Input in, int floorCount) {
+        int[] floors = new int[in.getCount(floorCount)];
+        int previous = 0;
+        for (int i = 0; i < floors.length; i++) {
+            previous += (int) in.getVarLong();
+            if (previous < 0 || previous >= floorCount) {
+                throw new IllegalArgumentException("Nieprawidłowe piętro w punkcie kontrolnym: " + previous);
+            }
+            floors[i] = previous;
+        }
+        return floors;
+    }
+
+    private static final class Output {
+        private byte[] data = new byte[1024];
+        private int size = 0;
+
+        void put(byte value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            data[size++] = value;
+        }
+
+        void putShort(short value) {
+            put((byte) (value >>> 8));
+            put((byte) value);
+        }
+
+        void putInt(int value) {
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                put((byte) (value >>> shift));
+            }
+        }
+
+        void putLong(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                put((byte) (value >>> shift));
+            }
+        }
+
+        void putVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            put((byte) value);
+        }
+
+        // Kodowanie zigzag - małe liczby ujemne też zajmują jeden bajt
+        void putSignedVarLong(long value) {
+            putVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void putString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putVarLong(bytes.length);
+            for (byte b : bytes) {
+                put(b);
+            }
+        }
+
+        byte[] finish() {
+            CRC32 crc = new CRC32();
+            crc.update(data, 0, size);
+            putInt((int) crc.getValue());
+            return Arrays.copyOf(data, size);
+        }
+    }
+
+    private static final class Input {
+        private final ByteBuffer buffer;
+
+        Input(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        int remaining() {
+            return buffer.remaining();
+        }
+
+        byte get() {
+            return buffer.get();
+        }
+
+        long getLong() {
+            return buffer.getLong();
+        }
+
+        long getVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = buffer.get();
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Nieprawidłowa liczba w punkcie kontrolnym");
+        }
+
+        long getSignedVarLong() {
+            long value = getVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        // Liczność ograniczona rozmiarem budynku - uszkodzony plik nie wymusi ogromnej alokacji
+        int getCount(int max) {
+            long count = getVarLong();
+            if (count < 0 || count > max) {
+                throw new IllegalArgumentException("Nieprawidłowa liczba elementów w punkcie kontrolnym: " + count);
+            }
+            return (int) count;
+        }
+
+        int getFloor(int floors) {
+            long floor = getVarLong();
+            if (floor < 0 || floor >= floors) {
+                throw new IllegalArgumentException("Nieprawidłowe piętro w punkcie kontrolnym: " + floor);
+            }
+            return (int) floor;
+        }
+
+        String getString() {
+            byte[] bytes = new byte[getCount(buffer.remaining())];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
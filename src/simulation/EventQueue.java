@@ -0,0 +1,37 @@
+package simulation;
+
+import java.util.PriorityQueue;
+
+// Kopiec: O(log n) na zdarzenie, a anulowane zdarzenia zostają w kopcu aż do wyjęcia
+public class EventQueue extends EventScheduler {
+    private final PriorityQueue<ScheduledEvent> events = new PriorityQueue<>();
+
+    @Override
+    void add(ScheduledEvent event) {
+        events.add(event);
+    }
+
+    @Override
+    void remove(ScheduledEvent event) {
+        // Usuwane leniwie w peek
+    }
+
+    @Override
+    public ScheduledEvent peek() {
+        while (!events.isEmpty() && events.peek().isCancelled()) {
+            events.poll();
+        }
+        return events.peek();
+    }
+
+    @Override
+    public ScheduledEvent poll() {
+        ScheduledEvent next = peek();
+        return next == null ? null : events.poll();
+    }
+
+    @Override
+    public void clear() {
+        events.clear();
+    }
+}
@@ -0,0 +1,59 @@
+package simulation;
+
+// Kolejka zdarzeń silnika: zdarzenia wychodzą rosnąco po czasie, a równoczesne w kolejności zaplanowania.
+// Czas jest wirtualny (ms symulacji) - do zegara ściennego dopasowuje go dopiero SimulationActor.
+// Implementacja wybierana właściwością liftsimulator.scheduler: wheel (domyślnie) albo heap
+public abstract class EventScheduler {
+    private static final String SCHEDULER_PROPERTY = "liftsimulator.scheduler";
+
+    private long nextSequence = 0;
+
+    public static EventScheduler create() {
+        String name = System.getProperty(SCHEDULER_PROPERTY, "wheel");
+        if (name.equalsIgnoreCase("wheel")) {
+            return new TimingWheel();
+        }
+        if (name.equalsIgnoreCase("heap")) {
+            return new EventQueue();
+        }
+        throw new IllegalArgumentException("Nieznana kolejka zdarzeń: " + name + " (dostępne: wheel, heap)");
+    }
+
+    public ScheduledEvent schedule(long time, Runnable action) {
+        ScheduledEvent event = new ScheduledEvent(time, nextSequence++, action);
+        add(event);
+        return event;
+    }
+
+    // Zdarzenie odtworzone z punktu kontrolnego zachowuje swój numer, a z nim kolejność wśród równoczesnych
+    ScheduledEvent restore(long time, long sequence, Runnable action) {
+        ScheduledEvent event = new ScheduledEvent(time, sequence, action);
+        add(event);
+        nextSequence = Math.max(nextSequence, sequence + 1);
+        return event;
+    }
+
+    long getNextSequence() {
+        return nextSequence;
+    }
+
+    void setNextSequence(long nextSequence) {
+        this.nextSequence = nextSequence;
+    }
+
+    abstract void add(ScheduledEvent event);
+
+    // Wywoływane przez ScheduledEvent.cancel()
+    abstract void remove(ScheduledEvent event);
+
+    // Najbliższe nieanulowane zdarzenie albo null
+    public abstract ScheduledEvent peek();
+
+    public abstract ScheduledEvent poll();
+
+    public boolean isEmpty() {
+        return peek() == null;
+    }
+
+    public abstract void clear();
+}
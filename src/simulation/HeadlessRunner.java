@@ -0,0 +1,155 @@
+package simulation;
+
+import model.Building;
+import model.Elevator;
+import stats.SimulationMetrics;
+import trace.TraceRecorder;
+import traffic.ArrivalSource;
+import traffic.ArrivalStream;
+import traffic.RateProfile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Function;
+
+public class HeadlessRunner implements SimulationListener {
+    private int stops = 0;
+    private int entered = 0;
+    private int exited = 0;
+    private int arrived = 0;
+
+    public static void run(long seed, int floors, int elevatorCount) {
+        run(seed, floors, elevatorCount, null, null);
+    }
+
+    // metricsFile może być null - wtedy metryki są tylko wypisywane; traceFile null - bez zapisu śladu
+    public static void run(long seed, int floors, int elevatorCount, Path metricsFile, Path traceFile) {
+        run(seed, floors, elevatorCount, (ArrivalSource) null, metricsFile, traceFile);
+    }
+
+    public static void run(long seed, int floors, int elevatorCount, RateProfile profile, Path metricsFile, Path traceFile) {
+        run(seed, floors, elevatorCount, profile != null ? new ArrivalStream(profile, seed) : null, metricsFile, traceFile);
+    }
+
+    // traffic null oznacza jedną grupę losowych pasażerów na starcie zamiast strumienia przyjść
+    public static void run(long seed, int floors, int elevatorCount, ArrivalSource traffic, Path metricsFile, Path traceFile) {
+        SimulationEngine engine = createEngine(seed, floors, elevatorCount, traffic);
+        HeadlessRunner runner = new HeadlessRunner();
+        SimulationMetrics metrics = new SimulationMetrics(engine);
+        engine.addListener(runner);
+        engine.addListener(metrics);
+        metrics.register("headless");
+        if (traceFile != null) {
+            engine.addListener(new TraceRecorder(engine, traceFile));
+        }
+
+        long started = System.nanoTime();
+        engine.start();
+        engine.run();
+        long elapsed = (System.nanoTime() - started) / 1_000_000;
+
+        runner.report(engine, metrics, 0, elapsed, traffic != null, metricsFile);
+        metrics.unregister();
+    }
+
+    // Przebieg do chwili atMillis zapisany jako punkt kontrolny - np. rozgrzewka wspólna dla wielu eksperymentów
+    public static void checkpoint(long seed, int floors, int elevatorCount, ArrivalSource traffic, long atMillis,
+                                  Path file) throws IOException {
+        SimulationEngine engine = createEngine(seed, floors, elevatorCount, traffic);
+        long started = System.nanoTime();
+        engine.start();
+        engine.runUntil(atMillis);
+        long simulated = (System.nanoTime() - started) / 1_000_000;
+
+        started = System.nanoTime();
+        Checkpoint.save(engine, file);
+        long saved = (System.nanoTime() - started) / 1000;
+        System.out.println("Przebieg do " + engine.now() / 1000 + " s obliczono w " + simulated + " ms" +
+                (engine.isRunning() ? "" : " (symulacja zakończyła się wcześniej)"));
+        System.out.printf("Zapisano punkt kontrolny %s: %d B w %.2f ms; oczekujących: %d%n", file,
+                Files.size(file), saved / 1000.0, engine.getBuilding().getTotalWaitingPassengers());
+    }
+
+    // traffic tworzy dla wczytanego silnika to samo źródło przyjść, z którym przebieg zapisano (albo null)
+    public static void resume(Path file, Function<SimulationEngine, ArrivalSource> traffic, Path metricsFile)
+            throws IOException {
+        long started = System.nanoTime();
+        SimulationEngine engine = Checkpoint.load(file, traffic);
+        long loaded = (System.nanoTime() - started) / 1000;
+        System.out.printf("Wczytano punkt kontrolny %s (%d B) w %.2f ms, chwila %d s%n", file, Files.size(file),
+                loaded / 1000.0, engine.now() / 1000);
+
+        HeadlessRunner runner = new HeadlessRunner();
+        SimulationMetrics metrics = new SimulationMetrics(engine);
+        engine.addListener(runner);
+        engine.addListener(metrics);
+        metrics.register("headless");
+        long from = engine.now();
+        engine.resume();
+
+        started = System.nanoTime();
+        engine.run();
+        long elapsed = (System.nanoTime() - started) / 1_000_000;
+
+        runner.report(engine, metrics, from, elapsed, engine.hasTrafficSource(), metricsFile);
+        metrics.unregister();
+    }
+
+    private static SimulationEngine createEngine(long seed, int floors, int elevatorCount, ArrivalSource traffic) {
+        SimulationEngine engine = new SimulationEngine(new Building(floors, elevatorCount));
+        engine.enableAutomaticPassengers(seed);
+        engine.setTrafficSource(traffic);
+        return engine;
+    }
+
+    // Podsumowanie części przebiegu od chwili from do końca
+    private void report(SimulationEngine engine, SimulationMetrics metrics, long from, long elapsed,
+                        boolean streamedTraffic, Path metricsFile) {
+        Building building = engine.getBuilding();
+        double hours = (engine.now() - from) / 3_600_000.0;
+        System.out.println("Czas symulacji: " + (from > 0 ? from / 1000 + "-" : "") + engine.now() / 1000 +
+                " s (obliczono w " + elapsed + " ms)");
+        System.out.println("Piętra: " + building.getFloorsCount() + ", windy: " + building.getElevatorCount() +
+                ", przystanki: " + stops + ", wsiadło: " + entered + ", wysiadło: " + exited);
+        if (streamedTraffic) {
+            System.out.println("Przyszło pasażerów: " + arrived);
+        }
+        System.out.printf("Przepustowość grupy: %.1f pasażerów/h%n", hours > 0 ? exited / hours : 0.0);
+        System.out.printf("Oczekiwanie: śr. %.2f s, p95 %.2f s; przejazd: śr. %.2f s, p95 %.2f s%n",
+                metrics.getMeanWaitTime() / 1000, metrics.getWaitTimeP95() / 1000.0,
+                metrics.getMeanRideTime() / 1000, metrics.getRideTimeP95() / 1000.0);
+        System.out.printf("Wykorzystanie wind: %.1f%%, przystanków na kurs: %.2f, kolejka wezwań: śr. %.2f, maks. %d%n",
+                metrics.getCarUtilization() * 100, metrics.getMeanStopsPerTrip(),
+                metrics.getMeanCallQueueDepth(), metrics.getMaxCallQueueDepth());
+
+        if (metricsFile != null) {
+            try {
+                metrics.writeReport(metricsFile);
+                System.out.println("Zapisano metryki do " + metricsFile);
+            } catch (IOException e) {
+                System.err.println("Nie udało się zapisać metryk: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void onPassengerArrived(int origin, int destination) {
+        arrived++;
+    }
+
+    @Override
+    public void onElevatorStopped(Elevator elevator, int floor) {
+        stops++;
+    }
+
+    @Override
+    public void onPassengersEntered(Elevator elevator, int floor, int count) {
+        entered += count;
+    }
+
+    @Override
+    public void onPassengerExited(Elevator elevator, int floor) {
+        exited++;
+    }
+}
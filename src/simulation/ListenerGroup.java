@@ -0,0 +1,111 @@
+package simulation;
+
+import model.Elevator;
+import java.util.Arrays;
+
+// Rozsyła zdarzenia silnika do wszystkich zarejestrowanych obserwatorów
+class ListenerGroup implements SimulationListener {
+    private SimulationListener[] listeners = new SimulationListener[0];
+
+    void add(SimulationListener listener) {
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+    }
+
+    void remove(SimulationListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                SimulationListener[] remaining = new SimulationListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, remaining, 0, i);
+                System.arraycopy(listeners, i + 1, remaining, i, remaining.length - i);
+                listeners = remaining;
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void onSimulationStarted() {
+        for (SimulationListener listener : listeners) listener.onSimulationStarted();
+    }
+
+    @Override
+    public void onSimulationResumed() {
+        for (SimulationListener listener : listeners) listener.onSimulationResumed();
+    }
+
+    @Override
+    public void onCallRequested(int floor) {
+        for (SimulationListener listener : listeners) listener.onCallRequested(floor);
+    }
+
+    @Override
+    public void onDestinationSelected(Elevator elevator, int floor) {
+        for (SimulationListener listener : listeners) listener.onDestinationSelected(elevator, floor);
+    }
+
+    @Override
+    public void onPassengerExitRequested(Elevator elevator) {
+        for (SimulationListener listener : listeners) listener.onPassengerExitRequested(elevator);
+    }
+
+    @Override
+    public void onPassengerArrived(int origin, int destination) {
+        for (SimulationListener listener : listeners) listener.onPassengerArrived(origin, destination);
+    }
+
+    @Override
+    public void onCallRegistered(int floor) {
+        for (SimulationListener listener : listeners) listener.onCallRegistered(floor);
+    }
+
+    @Override
+    public void onDirectionChanged(Elevator elevator) {
+        for (SimulationListener listener : listeners) listener.onDirectionChanged(elevator);
+    }
+
+    @Override
+    public void onElevatorDeparted(Elevator elevator, int nextFloor, long arrivalTime) {
+        for (SimulationListener listener : listeners) listener.onElevatorDeparted(elevator, nextFloor, arrivalTime);
+    }
+
+    @Override
+    public void onElevatorMoved(Elevator elevator, int floor) {
+        for (SimulationListener listener : listeners) listener.onElevatorMoved(elevator, floor);
+    }
+
+    @Override
+    public void onElevatorStopped(Elevator elevator, int floor) {
+        for (SimulationListener listener : listeners) listener.onElevatorStopped(elevator, floor);
+    }
+
+    @Override
+    public void onExitPhaseStarted(Elevator elevator, int floor) {
+        for (SimulationListener listener : listeners) listener.onExitPhaseStarted(elevator, floor);
+    }
+
+    @Override
+    public void onEntryPhaseStarted(Elevator elevator, int floor) {
+        for (SimulationListener listener : listeners) listener.onEntryPhaseStarted(elevator, floor);
+    }
+
+    @Override
+    public void onPassengerExited(Elevator elevator, int floor) {
+        for (SimulationListener listener : listeners) listener.onPassengerExited(elevator, floor);
+    }
+
+    @Override
+    public void onPassengersEntered(Elevator elevator, int floor, int count) {
+        for (SimulationListener listener : listeners) listener.onPassengersEntered(elevator, floor, count);
+    }
+
+    @Override
+    public void onTripCompleted(Elevator elevator, long waitTime, long tripTime) {
+        for (SimulationListener listener : listeners) listener.onTripCompleted(elevator, waitTime, tripTime);
+    }
+
+    @Override
+    public void onSimulationEnded() {
+        for (SimulationListener listener : listeners) listener.onSimulationEnded();
+    }
+}
@@ -0,0 +1,54 @@
+package simulation;
+
+public class ScheduledEvent implements Comparable<ScheduledEvent> {
+    private final long time;
+    private final long sequence;
+    private final Runnable action;
+    private boolean cancelled = false;
+
+    // Kolejka, w której zdarzenie czeka, i miejsce na jej liście (TimingWheel); null po wyjęciu
+    EventScheduler owner;
+    ScheduledEvent previous;
+    ScheduledEvent next;
+    int slot;
+
+    ScheduledEvent(long time, long sequence, Runnable action) {
+        this.time = time;
+        this.sequence = sequence;
+        this.action = action;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void cancel() {
+        if (cancelled) return;
+        cancelled = true;
+        if (owner != null) {
+            owner.remove(this);
+        }
+    }
+
+    void fire() {
+        action.run();
+    }
+
+    boolean isBefore(ScheduledEvent other) {
+        return time != other.time ? time < other.time : sequence < other.sequence;
+    }
+
+    @Override
+    public int compareTo(ScheduledEvent other) {
+        int byTime = Long.compare(time, other.time);
+        return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+    }
+}
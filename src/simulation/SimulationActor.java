@@ -0,0 +1,85 @@
+package simulation;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+// Wątek, do którego należy silnik: polecenia z zewnątrz trafiają do skrzynki i wykonują się po kolei,
+// a między nimi wątek śpi do najbliższego zdarzenia symulacji. Nikt inny nie dotyka modelu.
+// Jeden aktor na budynek - windy są aktorami logicznymi na jego wątku, więc pojedynczy budynek zajmuje
+// jeden rdzeń; kilka rdzeni wykorzystują dopiero niezależne budynki (District) i powtórzenia (MonteCarloRunner)
+public class SimulationActor {
+    private final BlockingQueue<Runnable> mailbox = new LinkedBlockingQueue<>();
+    private final Runnable tick;
+    private final LongSupplier delayToNextTick;
+    private final Runnable afterEach;
+    private final Thread thread;
+    private volatile boolean stopped = false;
+
+    // tick - przesuwa symulację do bieżącej chwili; delayToNextTick - ms do kolejnego ticku albo -1;
+    // afterEach - po każdym poleceniu i ticku, np. publikacja stanu dla widoku
+    public SimulationActor(String name, Runnable tick, LongSupplier delayToNextTick, Runnable afterEach) {
+        this.tick = tick;
+        this.delayToNextTick = delayToNextTick;
+        this.afterEach = afterEach;
+        this.thread = newThread(name, this::loop);
+        thread.start();
+    }
+
+    public void post(Runnable command) {
+        mailbox.add(command);
+    }
+
+    public boolean isActorThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    public void stop() {
+        stopped = true;
+        thread.interrupt();
+    }
+
+    private void loop() {
+        while (!stopped) {
+            try {
+                long delay = delayToNextTick.getAsLong();
+                Runnable command = delay < 0 ? mailbox.take() : mailbox.poll(delay, TimeUnit.MILLISECONDS);
+                if (command != null) {
+                    command.run();
+                    // Przy ciągłym strumieniu poleceń poll() nigdy nie czeka do końca - tick nie może przez to
+                    // przepadać, gdy jego termin już minął
+                    if (delayToNextTick.getAsLong() == 0) {
+                        tick.run();
+                    }
+                } else {
+                    tick.run();
+                }
+                afterEach.run();
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                // Błąd jednego polecenia nie może zatrzymać wątku symulacji
+                System.err.println("Błąd w wątku symulacji: " + e);
+                e.printStackTrace();
+            }
+        }
+    }
+
+    // Wątek wirtualny, gdy środowisko uruchomieniowe go ma (Java 21+), w przeciwnym razie zwykły wątek demona.
+    // Kompilacja celuje w Javę 17, więc API wątków wirtualnych jest wywoływane refleksją
+    public static Thread newThread(String name, Runnable task) {
+        try {
+            Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            Object builder = ofVirtual.invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class).invoke(builder, name);
+            return (Thread) builderType.getMethod("unstarted", Runnable.class).invoke(builder, task);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            Thread thread = new Thread(task, name);
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
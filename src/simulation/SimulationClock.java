@@ -0,0 +1,15 @@
+package simulation;
+
+public class SimulationClock {
+    private long now = 0;
+
+    public long now() {
+        return now;
+    }
+
+    public void advanceTo(long time) {
+        if (time > now) {
+            now = time;
+        }
+    }
+}
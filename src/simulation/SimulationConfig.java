@@ -0,0 +1,251 @@
+package simulation;
+
+import dispatch.DispatchStrategies;
+import dispatch.DispatchStrategy;
+import model.Building;
+import model.Elevator;
+import model.StateArena;
+
+// Niezmienne parametry przebiegu; metody with* zwracają zmienioną kopię
+public final class SimulationConfig {
+    private static final SimulationConfig DEFAULTS = new SimulationConfig(11, 1, Elevator.DEFAULT_CAPACITY,
+            SimulationEngine.FLOOR_TRAVEL_TIME, SimulationEngine.START_DELAY, SimulationEngine.EXIT_PHASE_TIME,
+            SimulationEngine.ENTRY_PHASE_TIME, DispatchStrategies.LOOK);
+
+    private final int floors;
+    private final int elevatorCount;
+    private final int capacity;
+    private final long floorTravelTime;
+    private final long startDelay;
+    private final long exitPhaseTime;
+    private final long entryPhaseTime;
+    private final DispatchStrategy strategy;
+    // null - stała prędkość floorTravelTime; typ kabiny daje czasy z profilu ruchu i otwieranie drzwi
+    private final CarType carType;
+    private final long doorOpenTime;
+
+    private volatile TravelTimeTable travelTimes;
+
+    public SimulationConfig(int floors, int elevatorCount, int capacity, long floorTravelTime, long startDelay,
+                            long exitPhaseTime, long entryPhaseTime, DispatchStrategy strategy) {
+        this(floors, elevatorCount, capacity, floorTravelTime, startDelay, exitPhaseTime, entryPhaseTime, strategy,
+                null, 0);
+    }
+
+    public SimulationConfig(int floors, int elevatorCount, int capacity, long floorTravelTime, long startDelay,
+                            long exitPhaseTime, long entryPhaseTime, DispatchStrategy strategy,
+                            CarType carType, long doorOpenTime) {
+        if (floors < 2 || elevatorCount < 1 || capacity < 1) {
+            throw new IllegalArgumentException("Nieprawidłowy budynek: " + floors + " pięter, " + elevatorCount +
+                    " wind, " + capacity + " miejsc");
+        }
+        if (floorTravelTime <= 0 || startDelay < 0 || exitPhaseTime < 0 || entryPhaseTime < 0 || doorOpenTime < 0) {
+            throw new IllegalArgumentException("Czasy ruchu i postoju nie mogą być ujemne");
+        }
+        this.floors = floors;
+        this.elevatorCount = elevatorCount;
+        this.capacity = capacity;
+        this.floorTravelTime = floorTravelTime;
+        this.startDelay = startDelay;
+        this.exitPhaseTime = exitPhaseTime;
+        this.entryPhaseTime = entryPhaseTime;
+        this.strategy = strategy;
+        this.carType = carType;
+        this.doorOpenTime = doorOpenTime;
+    }
+
+    public static SimulationConfig defaults() {
+        return DEFAULTS;
+    }
+
+    // Domyślne czasy dla istniejącego budynku
+    public static SimulationConfig of(Building building, DispatchStrategy strategy) {
+        return DEFAULTS.withFloors(building.getFloorsCount())
+                .withElevatorCount(building.getElevatorCount())
+                .withCapacity(building.getElevator(0).getCapacity())
+                .withStrategy(strategy);
+    }
+
+    public Building createBuilding() {
+        return new Building(floors, elevatorCount, capacity);
+    }
+
+    public Building createBuilding(StateArena stateArena) {
+        return new Building(floors, elevatorCount, capacity, stateArena);
+    }
+
+    public int getFloors() {
+        return floors;
+    }
+
+    public int getElevatorCount() {
+        return elevatorCount;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getFloorTravelTime() {
+        return floorTravelTime;
+    }
+
+    public long getStartDelay() {
+        return startDelay;
+    }
+
+    public long getExitPhaseTime() {
+        return exitPhaseTime;
+    }
+
+    public long getEntryPhaseTime() {
+        return entryPhaseTime;
+    }
+
+    public CarType getCarType() {
+        return carType;
+    }
+
+    public long getDoorOpenTime() {
+        return doorOpenTime;
+    }
+
+    // Pełny postój: otwarcie drzwi, wysiadanie, wsiadanie i ponowny start
+    public long getStopTime() {
+        return doorOpenTime + exitPhaseTime + entryPhaseTime + startDelay;
+    }
+
+    // Liczona przy pierwszym użyciu; kopie with* liczą własną, bo mogą mieć inną wysokość budynku
+    public TravelTimeTable getTravelTimes() {
+        TravelTimeTable table = travelTimes;
+        if (table == null) {
+            table = carType != null ? TravelTimeTable.of(carType, floors)
+                    : TravelTimeTable.constant(floors, floorTravelTime);
+            travelTimes = table;
+        }
+        return table;
+    }
+
+    public DispatchStrategy getStrategy() {
+        return strategy;
+    }
+
+    public SimulationConfig withFloors(int floors) {
+        return new SimulationConfig(floors, elevatorCount, capacity, floorTravelTime, startDelay, exitPhaseTime, entryPhaseTime, strategy, carType, doorOpenTime);
+    }
+
+    public SimulationConfig withElevatorCount(int elevatorCount) {
+        return new SimulationConfig(floors, elevatorCount, capacity, floorTravelTime, startDelay, exitPhaseTime, entryPhaseTime, strategy, carType, doorOpenTime);
+    }
+
+    public SimulationConfig withCapacity(int capacity) {
+        return new SimulationConfig(floors, elevatorCount, capacity, floorTravelTime, startDelay, exitPhaseTime, entryPhaseTime, strategy, carType, doorOpenTime);
+    }
+
+    public SimulationConfig withFloorTravelTime(long floorTravelTime) {
+        return new SimulationConfig(floors, elevatorCount, capacity, floorTravelTime, startDelay, exitPhaseTime, entryPhaseTime, strategy, carType, doorOpenTime);
+    }
+
+    public SimulationConfig withStartDelay(long startDelay) {
+        return new SimulationConfig(floors, elevatorCount, capacity, floorTravelTime, startDelay, exitPhaseTime, entryPhaseTime, strategy, carType, doorOpenTime);
+    }
+
+    public SimulationConfig withExitPhaseTime(long exitPhaseTime) {
+        return new SimulationConfig(floors, elevatorCount, capacity, floorTravelTime, startDelay, exitPhaseTime, entryPhaseTime, strategy, carType, doorOpenTime);
+    }
+
+    public SimulationConfig withEntryPhaseTime(long entryPhaseTime) {
+        return new SimulationConfig(floors, elevatorCount, capacity, floorTravelTime, startDelay, exitPhaseTime, entryPhaseTime, strategy, carType, doorOpenTime);
+    }
+
+    // Drzwi typu kabiny zastępują czas ruszania i dochodzi czas ich otwierania
+    public SimulationConfig withCarType(CarType carType) {
+        if (carType == null) {
+            return new SimulationConfig(floors, elevatorCount, capacity, floorTravelTime, SimulationEngine.START_DELAY,
+                    exitPhaseTime, entryPhaseTime, strategy, null, 0);
+        }
+        return new SimulationConfig(floors, elevatorCount, capacity, floorTravelTime, carType.getDoorCloseTime(),
+                exitPhaseTime, entryPhaseTime, strategy, carType, carType.getDoorOpenTime());
+    }
+
+    public SimulationConfig withStrategy(DispatchStrategy strategy) {
+        return new SimulationConfig(floors, elevatorCount, capacity, floorTravelTime, startDelay, exitPhaseTime, entryPhaseTime, strategy, carType, doorOpenTime);
+    }
+
+    // Stabilny między uruchomieniami skrót parametrów (FNV-1a), np. jako klucz zapisanych wyników
+    public long hash() {
+        long hash = 0xcbf29ce484222325L;
+        hash = mix(hash, floors);
+        hash = mix(hash, elevatorCount);
+        hash = mix(hash, capacity);
+        // Z typem kabiny czasy przejazdu wynikają z jego parametrów, a floorTravelTime nie jest używany
+        if (carType == null) {
+            hash = mix(hash, floorTravelTime);
+        }
+        hash = mix(hash, startDelay);
+        hash = mix(hash, exitPhaseTime);
+        hash = mix(hash, entryPhaseTime);
+        for (char c : strategy.getName().toCharArray()) {
+            hash = mix(hash, c);
+        }
+        if (carType != null) {
+            hash = carType.hash(hash);
+            hash = mix(hash, doorOpenTime);
+        }
+        return hash;
+    }
+
+    // Pola, od których zależy przebieg, jako tekst w stałej kolejności - to samo co equals(), ale do zapisania
+    // obok skrótu hash(), żeby kolizja 64-bitowych skrótów nie pomyliła dwóch konfiguracji
+    public String key() {
+        StringBuilder key = new StringBuilder()
+                .append("floors=").append(floors)
+                .append(",cars=").append(elevatorCount)
+                .append(",capacity=").append(capacity);
+        if (carType == null) {
+            key.append(",travel=").append(floorTravelTime);
+        }
+        key.append(",start=").append(startDelay)
+                .append(",exit=").append(exitPhaseTime)
+                .append(",entry=").append(entryPhaseTime)
+                .append(",doorOpen=").append(doorOpenTime)
+                .append(",strategy=").append(strategy.getName());
+        if (carType != null) {
+            key.append(",car=").append(carType.key());
+        }
+        return key.toString();
+    }
+
+    public static long mix(long hash, long value) {
+        for (int i = 0; i < 8; i++) {
+            hash ^= (value >>> (i * 8)) & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (!(other instanceof SimulationConfig)) return false;
+        SimulationConfig config = (SimulationConfig) other;
+        return floors == config.floors && elevatorCount == config.elevatorCount && capacity == config.capacity &&
+                startDelay == config.startDelay &&
+                exitPhaseTime == config.exitPhaseTime && entryPhaseTime == config.entryPhaseTime &&
+                doorOpenTime == config.doorOpenTime && strategy.getName().equals(config.strategy.getName()) &&
+                (carType == null ? config.carType == null && floorTravelTime == config.floorTravelTime
+                        : carType.equals(config.carType));
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(hash());
+    }
+
+    @Override
+    public String toString() {
+        String motion = carType != null ? carType.getName() : floorTravelTime + " ms/piętro";
+        return elevatorCount + " wind x " + capacity + " os., " + motion + ", postój " +
+                exitPhaseTime + "+" + entryPhaseTime + " ms, " + strategy.getName();
+    }
+}
@@ -0,0 +1,720 @@
+package simulation;
+
+import dispatch.DispatchStrategies;
+import dispatch.DispatchStrategy;
+import dispatch.Dispatcher;
+import model.Building;
+import model.CarColumns;
+import model.Elevator;
+import model.FloorSet;
+import model.PassengerStore;
+import model.StateArena;
+import traffic.ArrivalSource;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class SimulationEngine {
+    // Wartości domyślne; przebieg korzysta z czasów zapisanych w SimulationConfig
+    public static final long START_DELAY = 500;
+    public static final long FLOOR_TRAVEL_TIME = 1000;
+    public static final long EXIT_PHASE_TIME = 4000;
+    public static final long ENTRY_PHASE_TIME = 1000;
+    private static final long END_TIMEOUT = 10000;
+    private static final FloorSet EMPTY_FLOORS = new FloorSet();
+
+    // Polecenia dla windy; dyspozytor i pasażerowie rozmawiają z windą wyłącznie przez jej skrzynkę
+    private static final int ACCEPT_CALL = 0;
+    private static final int GO_TO_FLOOR = 1;
+    private static final int OPEN_DOORS = 2;
+
+    // Zaplanowane kroki windy. Każda winda ma naraz najwyżej jeden, więc punkt kontrolny zapisuje go jako kod
+    static final int NO_STEP = 0;
+    static final int MOVE = 1;
+    static final int LATE_STOP = 2;
+    static final int DOORS_OPENED = 3;
+    static final int EXIT_PHASE_END = 4;
+    static final int ENTRY_PHASE_END = 5;
+
+    private final Building building;
+    private final SimulationConfig config;
+    private final Dispatcher dispatcher;
+    private final List<Car> cars = new ArrayList<>();
+    private final SimulationClock clock = new SimulationClock();
+    private final EventScheduler events = EventScheduler.create();
+    private final ListenerGroup listener = new ListenerGroup();
+    // Windy z nieodebranymi poleceniami, w kolejności wysłania
+    private final ArrayDeque<Car> mailQueue = new ArrayDeque<>();
+    private boolean deliveringMail = false;
+
+    private boolean simulationRunning = false;
+    private ScheduledEvent endEvent;
+    private long simulationStart;
+    // Przyjścia pobrane ze źródła - po wznowieniu z punktu kontrolnego źródło przewija się o tyle
+    private long arrivalsTaken = 0;
+
+    // Tryb bez użytkownika: pasażerowie sami wzywają windę, wybierają cel i wysiadają
+    private boolean automaticPassengers = false;
+    // Ziarno losowania pasażerów - ten sam seed i te same wejścia dają ten sam przebieg
+    private long seed = System.nanoTime();
+    // Strumień przyjść zastępuje jednorazową grupę pasażerów losowaną na starcie
+    private ArrivalSource traffic;
+
+    static class Car {
+        final Elevator elevator;
+        boolean isExitPhase = false;
+        boolean exchangeInProgress = false;
+        // Piętro, z którego kabina ostatnio ruszyła z postoju, i czy hamuje do najbliższego piętra
+        int runStart;
+        boolean plannedStop = false;
+        ScheduledEvent pending;
+        int pendingStep = NO_STEP;
+        // Skrzynka poleceń: pierścień zakodowanych wpisów piętro << 2 | rodzaj
+        int[] mailbox = new int[4];
+        int mailHead = 0;
+        int mailSize = 0;
+        boolean queued = false;
+
+        Car(Elevator elevator) {
+            this.elevator = elevator;
+        }
+
+        void post(int command, int floor) {
+            if (mailSize == mailbox.length) {
+                int[] grown = new int[mailbox.length * 2];
+                for (int i = 0; i < mailSize; i++) {
+                    grown[i] = mailbox[(mailHead + i) % mailbox.length];
+                }
+                mailbox = grown;
+                mailHead = 0;
+            }
+            mailbox[(mailHead + mailSize++) % mailbox.length] = floor << 2 | command;
+        }
+
+        int take() {
+            int message = mailbox[mailHead];
+            mailHead = (mailHead + 1) % mailbox.length;
+            mailSize--;
+            return message;
+        }
+    }
+
+    public SimulationEngine(Building building) {
+        this(building, DispatchStrategies.LOOK);
+    }
+
+    public SimulationEngine(Building building, DispatchStrategy strategy) {
+        this(building, SimulationConfig.of(building, strategy));
+    }
+
+    public SimulationEngine(SimulationConfig config) {
+        this(config.createBuilding(), config);
+    }
+
+    // Stan wind i dyspozytora w kolumnach ze wspólnej pamięci, np. jednej dla całej dzielnicy
+    public SimulationEngine(SimulationConfig config, StateArena stateArena) {
+        this(config.createBuilding(stateArena), config);
+    }
+
+    private SimulationEngine(Building building, SimulationConfig config) {
+        this.building = building;
+        this.config = config;
+        this.dispatcher = new Dispatcher(building, config);
+        for (Elevator elevator : building.getElevators()) {
+            cars.add(new Car(elevator));
+        }
+    }
+
+    public void addListener(SimulationListener listener) {
+        this.listener.add(listener);
+    }
+
+    public void removeListener(SimulationListener listener) {
+        this.listener.remove(listener);
+    }
+
+    public void enableAutomaticPassengers(long seed) {
+        this.automaticPassengers = true;
+        this.seed = seed;
+    }
+
+    public boolean isAutomaticPassengers() {
+        return automaticPassengers;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setTrafficSource(ArrivalSource traffic) {
+        this.traffic = traffic;
+    }
+
+    ArrivalSource getTrafficSource() {
+        return traffic;
+    }
+
+    public boolean hasTrafficSource() {
+        return traffic != null;
+    }
+
+    public long now() {
+        return clock.now();
+    }
+
+    // Czas najbliższego zdarzenia lub przyjścia pasażera albo -1, gdy nic nie czeka
+    public long nextEventTime() {
+        ScheduledEvent next = events.peek();
+        long time = next != null ? next.getTime() : -1;
+        if (hasPendingArrival() && (time == -1 || nextArrivalTime() < time)) {
+            time = nextArrivalTime();
+        }
+        return time;
+    }
+
+    private boolean hasPendingArrival() {
+        return traffic != null && traffic.hasNext();
+    }
+
+    private long nextArrivalTime() {
+        return simulationStart + traffic.nextTime();
+    }
+
+    public boolean isRunning() {
+        return simulationRunning;
+    }
+
+    public boolean isExitPhase(Elevator elevator) {
+        return car(elevator).isExitPhase;
+    }
+
+    public Building getBuilding() {
+        return building;
+    }
+
+    public SimulationConfig getConfig() {
+        return config;
+    }
+
+    public Dispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    private Car car(Elevator elevator) {
+        return cars.get(elevator.getId());
+    }
+
+    Car carAt(int id) {
+        return cars.get(id);
+    }
+
+    long getSimulationStart() {
+        return simulationStart;
+    }
+
+    long getArrivalsTaken() {
+        return arrivalsTaken;
+    }
+
+    ScheduledEvent getEndEvent() {
+        return endEvent;
+    }
+
+    long getNextSequence() {
+        return events.getNextSequence();
+    }
+
+    // Odtwarzanie przebiegu z punktu kontrolnego (Checkpoint) - przed pierwszym zdarzeniem i bez powiadomień
+    void restoreRun(long now, long simulationStart, boolean running, long arrivalsTaken, long nextSequence) {
+        clock.advanceTo(now);
+        this.simulationStart = simulationStart;
+        this.simulationRunning = running;
+        this.arrivalsTaken = arrivalsTaken;
+        events.setNextSequence(nextSequence);
+    }
+
+    void restoreStep(Car car, int step, long time, long sequence) {
+        car.pendingStep = step;
+        // Stan drzwi nie jest zapisywany - wynika z oczekującego kroku
+        car.elevator.setDoors(step == DOORS_OPENED ? CarColumns.DOORS_OPENING
+                : step == EXIT_PHASE_END || step == ENTRY_PHASE_END ? CarColumns.DOORS_OPEN : CarColumns.DOORS_CLOSED);
+        car.pending = events.restore(time, sequence, () -> perform(car, step));
+    }
+
+    void restoreEndEvent(long time, long sequence) {
+        endEvent = events.restore(time, sequence, this::endIfEmpty);
+    }
+
+    // Wywoływane po podpięciu obserwatorów do wczytanego przebiegu
+    public void resume() {
+        listener.onSimulationResumed();
+    }
+
+    public void start() {
+        simulationRunning = true;
+        simulationStart = clock.now();
+        if (traffic == null) {
+            building.generateRandomPassengers(new Random(seed), clock.now());
+        }
+        for (Car car : cars) {
+            car.elevator.setCurrentFloor(0);
+        }
+        listener.onSimulationStarted();
+
+        if (automaticPassengers) {
+            for (int floor : building.getOccupiedFloors()) {
+                registerCall(floor);
+            }
+        }
+    }
+
+    // Przetwarza wszystkie zdarzenia do podanej chwili czasu symulacji
+    public void runUntil(long time) {
+        // Przyjścia trafiają do silnika jak wejścia z zewnątrz - po zdarzeniach z tej samej chwili,
+        // dzięki czemu zapisane w śladzie odtwarzają się identycznie
+        while (simulationRunning && hasPendingArrival() && nextArrivalTime() <= time) {
+            fireUntil(nextArrivalTime());
+            nextArrival();
+        }
+        fireUntil(time);
+    }
+
+    // Przetwarza zdarzenia tak szybko, jak pozwala procesor, aż do końca symulacji
+    public void run() {
+        while (simulationRunning && hasPendingArrival()) {
+            fireUntil(nextArrivalTime());
+            nextArrival();
+        }
+        while (simulationRunning && !events.isEmpty()) {
+            fire(events.poll());
+        }
+    }
+
+    private void fireUntil(long time) {
+        ScheduledEvent next = events.peek();
+        while (next != null && next.getTime() <= time) {
+            fire(events.poll());
+            next = events.peek();
+        }
+        clock.advanceTo(time);
+    }
+
+    private void nextArrival() {
+        if (!simulationRunning) {
+            return;
+        }
+        int origin = traffic.nextOrigin();
+        int destination = traffic.nextDestination();
+        traffic.advance();
+        arrivalsTaken++;
+        addArrival(origin, destination);
+    }
+
+    private void fire(ScheduledEvent event) {
+        clock.advanceTo(event.getTime());
+        event.fire();
+    }
+
+    private ScheduledEvent schedule(long delay, Runnable action) {
+        return events.schedule(clock.now() + delay, action);
+    }
+
+    private void schedule(Car car, int step, long delay) {
+        car.pendingStep = step;
+        car.pending = events.schedule(clock.now() + delay, () -> perform(car, step));
+    }
+
+    private void perform(Car car, int step) {
+        car.pending = null;
+        car.pendingStep = NO_STEP;
+        switch (step) {
+            case MOVE -> moveOneFloor(car);
+            case LATE_STOP -> handleFloorStop(car);
+            case DOORS_OPENED -> startExitPhase(car);
+            case EXIT_PHASE_END -> {
+                car.isExitPhase = false;
+                startEntryPhase(car);
+            }
+            case ENTRY_PHASE_END -> {
+                processPassengerEntry(car);
+                car.elevator.setDoors(CarColumns.DOORS_CLOSED);
+                car.exchangeInProgress = false;
+                startMovement(car);
+                reassignCalls();
+            }
+            default -> throw new IllegalStateException("Nieznany krok windy: " + step);
+        }
+    }
+
+    // Nowy pasażer czeka na piętrze origin; w trybie automatycznym sam wzywa windę
+    public void addArrival(int origin, int destination) {
+        checkFloor(origin);
+        checkFloor(destination);
+        if (!simulationRunning) return;
+        building.addWaitingPassenger(origin, destination, clock.now());
+        listener.onPassengerArrived(origin, destination);
+        if (automaticPassengers && !building.getCalls().contains(origin)) {
+            registerCall(origin);
+        }
+    }
+
+    public void callElevator(int floor) {
+        checkFloor(floor);
+        if (!simulationRunning) return;
+        listener.onCallRequested(floor);
+        registerCall(floor);
+    }
+
+    private void registerCall(int floor) {
+        building.addCall(floor);
+        listener.onCallRegistered(floor);
+        send(car(dispatcher.assignCall(floor)), ACCEPT_CALL, floor);
+    }
+
+    public void selectDestination(Elevator elevator, int floor) {
+        checkFloor(floor);
+        if (!simulationRunning) return;
+        listener.onDestinationSelected(elevator, floor);
+        send(car(elevator), GO_TO_FLOOR, floor);
+        reassignCalls();
+    }
+
+    // Wejścia z zewnątrz (GUI, podgląd na żywo, ślad) nie mogą wskazać piętra spoza budynku
+    private void checkFloor(int floor) {
+        if (floor < 0 || floor >= building.getFloorsCount()) {
+            throw new IllegalArgumentException("Piętro spoza budynku: " + floor + " (pięter: " +
+                    building.getFloorsCount() + ")");
+        }
+    }
+
+    public boolean exitPassenger(Elevator elevator) {
+        Car car = car(elevator);
+        if (!canExitPassenger(car)) {
+            return false;
+        }
+        listener.onPassengerExitRequested(elevator);
+        // Wysiadający ręcznie kończy podróż tam, gdzie wysiadł
+        int passengerId = elevator.removePassenger();
+        building.getPassengers().setDestination(passengerId, elevator.getCurrentFloor());
+        completeTrip(elevator, passengerId);
+        return true;
+    }
+
+    private boolean canExitPassenger(Car car) {
+        return simulationRunning && !car.elevator.isMoving() && !car.elevator.isEmpty() && car.isExitPhase;
+    }
+
+    private void reassignCalls() {
+        for (Elevator elevator : dispatcher.reassignCalls()) {
+            send(car(elevator), ACCEPT_CALL, -1);
+        }
+    }
+
+    // Polecenie wysłane poza obsługą innego polecenia jest doręczane od razu; wysłane w trakcie
+    // czeka, aż windy skończą bieżące polecenia (każde polecenie wykonuje się w całości)
+    private void send(Car car, int command, int floor) {
+        if (command == ACCEPT_CALL && floor == car.elevator.getCurrentFloor()) {
+            command = OPEN_DOORS;
+        }
+        car.post(command, floor);
+        if (!car.queued) {
+            car.queued = true;
+            mailQueue.add(car);
+        }
+        if (!deliveringMail) {
+            deliverMail();
+        }
+    }
+
+    private void deliverMail() {
+        deliveringMail = true;
+        try {
+            Car car;
+            while ((car = mailQueue.poll()) != null) {
+                car.queued = false;
+                while (car.mailSize > 0) {
+                    int message = car.take();
+                    receive(car, message & 3, message >> 2);
+                }
+            }
+        } finally {
+            deliveringMail = false;
+        }
+    }
+
+    private void receive(Car car, int command, int floor) {
+        Elevator elevator = car.elevator;
+        switch (command) {
+            case GO_TO_FLOOR:
+                elevator.addDestination(floor);
+                startMovement(car);
+                break;
+            case OPEN_DOORS:
+                // Wezwanie na piętrze, na którym winda stoi bezczynnie - drzwi otwierają się bez ruszania
+                if (!elevator.isMoving() && !car.exchangeInProgress && elevator.getCurrentFloor() == floor &&
+                        dispatcher.isAssignedTo(floor, elevator) && acceptsCalls(elevator)) {
+                    handleFloorStop(car);
+                } else {
+                    startMovement(car);
+                }
+                break;
+            default:
+                startMovement(car);
+        }
+    }
+
+    private void startMovement(Car car) {
+        Elevator elevator = car.elevator;
+        if (elevator.isMoving() || car.exchangeInProgress) {
+            return;
+        }
+
+        // Wezwanie na piętrze, na którym winda już stoi - od razu otwieramy drzwi
+        if (dispatcher.isAssignedTo(elevator.getCurrentFloor(), elevator) && acceptsCalls(elevator)) {
+            handleFloorStop(car);
+            return;
+        }
+
+        int nextFloor = findNextDestination(car);
+        if (nextFloor != -1) {
+            startMovingToFloor(car, nextFloor);
+        } else {
+            elevator.setDirection(0);
+            listener.onDirectionChanged(elevator);
+            checkSimulationEnd();
+        }
+    }
+
+    int findNextDestination(Elevator elevator) {
+        return findNextDestination(car(elevator));
+    }
+
+    private int findNextDestination(Car car) {
+        Elevator elevator = car.elevator;
+        // Pełna winda mija wezwania z korytarza i jedzie tylko do celów pasażerów
+        FloorSet calls = acceptsCalls(elevator) ? dispatcher.getAssignedCalls(elevator) : EMPTY_FLOORS;
+        return dispatcher.nextFloor(elevator, calls);
+    }
+
+    private void startMovingToFloor(Car car, int targetFloor) {
+        Elevator elevator = car.elevator;
+        elevator.setDirection(targetFloor > elevator.getCurrentFloor() ? 1 : -1);
+        elevator.setMoving(true);
+        listener.onDirectionChanged(elevator);
+
+        car.runStart = elevator.getCurrentFloor();
+        scheduleNextFloor(car, config.getStartDelay());
+    }
+
+    // Czas do następnego piętra z tablicy przejazdów: kabina hamuje tylko przed piętrem, na którym ma postój
+    private void scheduleNextFloor(Car car, long delay) {
+        Elevator elevator = car.elevator;
+        int nextFloor = elevator.getCurrentFloor() + elevator.getDirection();
+        if (nextFloor < 0 || nextFloor >= building.getFloorsCount()) {
+            throw new IllegalStateException("Krok windy " + elevator.getId() + " poza budynek: piętro " + nextFloor);
+        }
+        // Na skrajnym piętrze kabina zawsze hamuje - także gdy jedzie tam tylko zawrócić (SCAN) albo jej cel zniknął
+        car.plannedStop = isTerminal(nextFloor, elevator.getDirection()) || shouldStopAt(car, nextFloor);
+        long travelTime = delay + config.getTravelTimes().stepTime(Math.abs(nextFloor - car.runStart), car.plannedStop);
+        schedule(car, MOVE, travelTime);
+        listener.onElevatorDeparted(elevator, nextFloor, clock.now() + travelTime);
+    }
+
+    private void moveOneFloor(Car car) {
+        Elevator elevator = car.elevator;
+
+        // Cel mógł zostać obsłużony przez inną windę albo przeniesiony przez dyspozytora
+        int nextFloor = findNextDestination(car);
+        if (nextFloor == -1 || Integer.signum(nextFloor - elevator.getCurrentFloor()) != elevator.getDirection()) {
+            elevator.setMoving(false);
+            startMovement(car);
+            return;
+        }
+
+        elevator.moveForOneFloor();
+        listener.onElevatorMoved(elevator, elevator.getCurrentFloor());
+
+        TravelTimeTable travelTimes = config.getTravelTimes();
+        int currentFloor = elevator.getCurrentFloor();
+        if (shouldStopAt(car, currentFloor)) {
+            long braking = car.plannedStop ? 0 : travelTimes.lateStopTime(Math.abs(currentFloor - car.runStart));
+            if (braking == 0) {
+                handleFloorStop(car);
+            } else {
+                // Postój pojawił się, gdy kabina miała już minąć piętro - dochodzi hamowanie z pełnej prędkości
+                schedule(car, LATE_STOP, braking);
+            }
+            return;
+        }
+        if (isTerminal(currentFloor, elevator.getDirection())) {
+            // Zawrócenie bez postoju: dalej w tym kierunku nie ma już pięter
+            elevator.setMoving(false);
+            startMovement(car);
+            return;
+        }
+        if (car.plannedStop && !travelTimes.isConstantSpeed()) {
+            // Odwołany postój: kabina zdążyła wyhamować i rozpędza się od nowa
+            car.runStart = currentFloor;
+        }
+        scheduleNextFloor(car, 0);
+    }
+
+    private boolean isTerminal(int floor, int direction) {
+        return direction > 0 ? floor == building.getFloorsCount() - 1 : floor == 0;
+    }
+
+    private boolean shouldStopAt(Car car, int floor) {
+        return (dispatcher.isAssignedTo(floor, car.elevator) && acceptsCalls(car.elevator)) ||
+                car.elevator.getDestinations().contains(floor);
+    }
+
+    private static boolean acceptsCalls(Elevator elevator) {
+        return elevator.getAvailableSpace() > 0;
+    }
+
+    private void handleFloorStop(Car car) {
+        Elevator elevator = car.elevator;
+        elevator.setMoving(false);
+        int currentFloor = elevator.getCurrentFloor();
+
+        building.removeCall(currentFloor);
+        dispatcher.completeCall(currentFloor);
+        elevator.removeDestination(currentFloor);
+        listener.onElevatorStopped(elevator, currentFloor);
+
+        startPassengerExchange(car);
+    }
+
+    private void startPassengerExchange(Car car) {
+        car.exchangeInProgress = true;
+        if (config.getDoorOpenTime() > 0) {
+            car.elevator.setDoors(CarColumns.DOORS_OPENING);
+            schedule(car, DOORS_OPENED, config.getDoorOpenTime());
+        } else {
+            startExitPhase(car);
+        }
+    }
+
+    private void startExitPhase(Car car) {
+        car.isExitPhase = true;
+        car.elevator.setDoors(CarColumns.DOORS_OPEN);
+        listener.onExitPhaseStarted(car.elevator, car.elevator.getCurrentFloor());
+
+        if (automaticPassengers) {
+            exitArrivedPassengers(car);
+        }
+
+        schedule(car, EXIT_PHASE_END, config.getExitPhaseTime());
+    }
+
+    private void exitArrivedPassengers(Car car) {
+        Elevator elevator = car.elevator;
+        PassengerStore passengers = building.getPassengers();
+        int currentFloor = elevator.getCurrentFloor();
+        for (int i = elevator.getPassengerCount() - 1; i >= 0; i--) {
+            if (passengers.getDestination(elevator.getPassenger(i)) == currentFloor) {
+                completeTrip(elevator, elevator.removePassenger(i));
+            }
+        }
+    }
+
+    private void completeTrip(Elevator elevator, int passengerId) {
+        PassengerStore passengers = building.getPassengers();
+        passengers.setAlightingTime(passengerId, clock.now());
+        listener.onPassengerExited(elevator, elevator.getCurrentFloor());
+        listener.onTripCompleted(elevator, passengers.getWaitTime(passengerId), passengers.getRideTime(passengerId));
+        passengers.release(passengerId);
+    }
+
+    private void startEntryPhase(Car car) {
+        listener.onEntryPhaseStarted(car.elevator, car.elevator.getCurrentFloor());
+
+        schedule(car, ENTRY_PHASE_END, config.getEntryPhaseTime());
+    }
+
+    void processPassengerEntry(Elevator elevator) {
+        processPassengerEntry(car(elevator));
+    }
+
+    private void processPassengerEntry(Car car) {
+        Elevator elevator = car.elevator;
+        int currentFloor = elevator.getCurrentFloor();
+        building.removeCall(currentFloor);
+        dispatcher.completeCall(currentFloor);
+
+        int entering = Math.min(
+                building.getWaitingPassengers(currentFloor),
+                elevator.getAvailableSpace()
+        );
+
+        PassengerStore passengers = building.getPassengers();
+        for (int i = 0; i < entering; i++) {
+            int passengerId = building.pollWaitingPassenger(currentFloor);
+            passengers.setBoardingTime(passengerId, clock.now());
+            elevator.addPassenger(passengerId);
+            if (automaticPassengers) {
+                elevator.addDestination(passengers.getDestination(passengerId));
+            }
+        }
+
+        listener.onPassengersEntered(elevator, currentFloor, entering);
+
+        // Ci, którzy się nie zmieścili, wzywają windę ponownie
+        if (automaticPassengers && building.hasWaitingPassengers(currentFloor)) {
+            building.addCall(currentFloor);
+            listener.onCallRegistered(currentFloor);
+            // Wezwanie może trafić do stojącej windy, którą trzeba od razu uruchomić
+            send(car(dispatcher.assignCall(currentFloor)), ACCEPT_CALL, currentFloor);
+        }
+    }
+
+    private void checkSimulationEnd() {
+        if (isSimulationEmpty()) {
+            if (endEvent != null) {
+                endEvent.cancel();
+            }
+            endEvent = schedule(END_TIMEOUT, this::endIfEmpty);
+        }
+    }
+
+    private void endIfEmpty() {
+        endEvent = null;
+        if (isSimulationEmpty()) {
+            endSimulation();
+        }
+    }
+
+    private boolean isSimulationEmpty() {
+        if (hasPendingArrival() || !building.getCalls().isEmpty()) {
+            return false;
+        }
+        for (Car car : cars) {
+            if (!car.elevator.getDestinations().isEmpty() || !car.elevator.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void endSimulation() {
+        simulationRunning = false;
+        events.clear();
+        endEvent = null;
+        dispatcher.clear();
+        for (Car car : cars) {
+            car.isExitPhase = false;
+            car.exchangeInProgress = false;
+            car.pending = null;
+            car.pendingStep = NO_STEP;
+            car.elevator.setMoving(false);
+            car.elevator.setDoors(CarColumns.DOORS_CLOSED);
+        }
+
+        listener.onSimulationEnded();
+    }
+}
@@ -0,0 +1,43 @@
+package simulation;
+
+import model.Elevator;
+
+public interface SimulationListener {
+    default void onSimulationStarted() {}
+
+    // Przebieg wczytany z punktu kontrolnego rusza dalej od zapisanej chwili
+    default void onSimulationResumed() {}
+
+    // Wejścia z zewnątrz (przyciski, kliknięcia) - tylko te są potrzebne do odtworzenia przebiegu
+    default void onCallRequested(int floor) {}
+
+    default void onDestinationSelected(Elevator elevator, int floor) {}
+
+    default void onPassengerExitRequested(Elevator elevator) {}
+
+    // Pasażer ze strumienia przyjść pojawił się na piętrze origin
+    default void onPassengerArrived(int origin, int destination) {}
+
+    default void onCallRegistered(int floor) {}
+
+    default void onDirectionChanged(Elevator elevator) {}
+
+    // Winda rusza w stronę sąsiedniego piętra i dotrze do niego w chwili arrivalTime
+    default void onElevatorDeparted(Elevator elevator, int nextFloor, long arrivalTime) {}
+
+    default void onElevatorMoved(Elevator elevator, int floor) {}
+
+    default void onElevatorStopped(Elevator elevator, int floor) {}
+
+    default void onExitPhaseStarted(Elevator elevator, int floor) {}
+
+    default void onEntryPhaseStarted(Elevator elevator, int floor) {}
+
+    default void onPassengerExited(Elevator elevator, int floor) {}
+
+    default void onPassengersEntered(Elevator elevator, int floor, int count) {}
+
+    default void onTripCompleted(Elevator elevator, long waitTime, long tripTime) {}
+
+    default void onSimulationEnded() {}
+}
@@ -0,0 +1,206 @@
+package simulation;
+
+import dispatch.Dispatcher;
+import model.Building;
+import model.Elevator;
+import model.FloorSet;
+import model.PassengerStore;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+// Stan budynku publikowany pod licznikiem sekwencji (seqlock). Wątek symulacji przepisuje go do
+// własnych tablic bez alokacji i bez blokad; czytelnicy z dowolnego wątku kopiują go optymistycznie
+// i powtarzają kopię, gdy w międzyczasie trafili na zapis. Obraz danej wersji powstaje raz i jest współdzielony.
+public class StatePublisher {
+    private static final VarHandle SEQUENCE;
+    private static final int[] NONE = new int[0];
+
+    static {
+        try {
+            SEQUENCE = MethodHandles.lookup().findVarHandle(StatePublisher.class, "sequence", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final SimulationEngine engine;
+    private final int floors;
+
+    // Nieparzysta wartość - zapis w toku; wersja obrazu to sequence / 2
+    private volatile long sequence = 0;
+
+    // Pola poniżej zapisuje tylko wątek symulacji; czytelnicy czytają je bez synchronizacji i sprawdzają sekwencję
+    private long time;
+    private boolean running;
+    private final int[] carFloor;
+    private final int[] carDirection;
+    private final boolean[] carExitPhase;
+    private final int[][] riderOrigins;
+    private final int[] riderCounts;
+    private final int[][] carDestinations;
+    private final int[] destinationCounts;
+    // Oczekujący w kolejności tablicy mieszającej - sortuje dopiero czytelnik
+    private int[] waitingFloors = new int[16];
+    private int[] waitingCounts = new int[16];
+    private int waitingSize;
+    private int[] callFloors = new int[16];
+    private int[] callCars = new int[16];
+    private int callSize;
+
+    private volatile BuildingState latest;
+
+    public StatePublisher(SimulationEngine engine) {
+        this.engine = engine;
+        Building building = engine.getBuilding();
+        this.floors = building.getFloorsCount();
+        int cars = building.getElevatorCount();
+        carFloor = new int[cars];
+        carDirection = new int[cars];
+        carExitPhase = new boolean[cars];
+        riderOrigins = new int[cars][];
+        riderCounts = new int[cars];
+        carDestinations = new int[cars][];
+        destinationCounts = new int[cars];
+        for (Elevator elevator : building.getElevators()) {
+            riderOrigins[elevator.getId()] = new int[elevator.getCapacity()];
+            carDestinations[elevator.getId()] = new int[16];
+        }
+        publish();
+    }
+
+    // Tylko w wątku, który prowadzi silnik
+    public void publish() {
+        long start = sequence;
+        SEQUENCE.setOpaque(this, start + 1);
+        // Zapisy danych nie mogą wyprzedzić nieparzystego licznika
+        VarHandle.storeStoreFence();
+
+        Building building = engine.getBuilding();
+        Dispatcher dispatcher = engine.getDispatcher();
+        PassengerStore passengers = building.getPassengers();
+        time = engine.now();
+        running = engine.isRunning();
+        for (Elevator elevator : building.getElevators()) {
+            int id = elevator.getId();
+            carFloor[id] = elevator.getCurrentFloor();
+            carDirection[id] = elevator.getDirection();
+            carExitPhase[id] = engine.isExitPhase(elevator);
+
+            int count = elevator.getPassengerCount();
+            if (count > riderOrigins[id].length) {
+                riderOrigins[id] = new int[count];
+            }
+            for (int i = 0; i < count; i++) {
+                riderOrigins[id][i] = passengers.getOrigin(elevator.getPassenger(i));
+            }
+            riderCounts[id] = count;
+
+            FloorSet destinations = elevator.getDestinations();
+            if (destinations.size() > carDestinations[id].length) {
+                carDestinations[id] = new int[Integer.highestOneBit(destinations.size()) << 1];
+            }
+            destinationCounts[id] = copyFloors(destinations, carDestinations[id]);
+        }
+
+        int occupied = building.getOccupiedFloorCount();
+        if (occupied > waitingFloors.length) {
+            int capacity = Integer.highestOneBit(occupied) << 1;
+            waitingFloors = new int[capacity];
+            waitingCounts = new int[capacity];
+        }
+        waitingSize = building.copyWaitingCounts(waitingFloors, waitingCounts);
+
+        FloorSet calls = building.getCalls();
+        if (calls.size() > callFloors.length) {
+            int capacity = Integer.highestOneBit(calls.size()) << 1;
+            callFloors = new int[capacity];
+            callCars = new int[capacity];
+        }
+        callSize = copyFloors(calls, callFloors);
+        for (int i = 0; i < callSize; i++) {
+            Elevator assigned = dispatcher.getAssignedCar(callFloors[i]);
+            callCars[i] = assigned != null ? assigned.getId() : -1;
+        }
+
+        SEQUENCE.setRelease(this, start + 2);
+    }
+
+    private static int copyFloors(FloorSet floors, int[] target) {
+        int i = 0;
+        for (int floor = floors.nextFloor(0); floor != -1; floor = floors.nextAbove(floor)) {
+            target[i++] = floor;
+        }
+        return i;
+    }
+
+    // Numer ostatniej pełnej publikacji, bez kopiowania stanu
+    public long getVersion() {
+        return (long) SEQUENCE.getAcquire(this) >>> 1;
+    }
+
+    // Spójny obraz ostatniej publikacji; z dowolnego wątku, nigdy nie blokuje wątku symulacji
+    public BuildingState snapshot() {
+        while (true) {
+            long start = (long) SEQUENCE.getAcquire(this);
+            BuildingState cached = latest;
+            // W trakcie zapisu start >>> 1 to wciąż ostatnia pełna wersja - gotowy obraz można oddać bez czekania
+            if (cached != null && cached.getVersion() == start >>> 1) {
+                return cached;
+            }
+            if ((start & 1) == 0) {
+                BuildingState state = copy(start >>> 1);
+                // Odczyty kopii muszą się zakończyć przed ponownym sprawdzeniem licznika
+                VarHandle.acquireFence();
+                if ((long) SEQUENCE.getOpaque(this) == start) {
+                    if (cached == null || cached.getVersion() < state.getVersion()) {
+                        latest = state;
+                    }
+                    return state;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    // Kopia może być niespójna, jeśli w trakcie trwał zapis - wtedy snapshot() ją odrzuca.
+    // Długości są przycinane do tablic, żeby rozerwany odczyt nie skończył się wyjątkiem
+    private BuildingState copy(long version) {
+        int cars = carFloor.length;
+        int[][] origins = new int[cars][];
+        int[][] destinations = new int[cars][];
+        for (int car = 0; car < cars; car++) {
+            origins[car] = copyOf(riderOrigins[car], riderCounts[car]);
+            destinations[car] = copyOf(carDestinations[car], destinationCounts[car]);
+        }
+
+        int[] occupied = waitingFloors;
+        int[] counts = waitingCounts;
+        int size = Math.max(0, Math.min(waitingSize, Math.min(occupied.length, counts.length)));
+        long[] waiting = new long[size];
+        for (int i = 0; i < size; i++) {
+            waiting[i] = (long) occupied[i] << 32 | (counts[i] & 0xFFFFFFFFL);
+        }
+        Arrays.sort(waiting);
+        int[] sortedFloors = new int[size];
+        int[] sortedCounts = new int[size];
+        for (int i = 0; i < size; i++) {
+            sortedFloors[i] = (int) (waiting[i] >>> 32);
+            sortedCounts[i] = (int) waiting[i];
+        }
+
+        int[] calls = callFloors;
+        int[] assigned = callCars;
+        int callCount = Math.max(0, Math.min(callSize, Math.min(calls.length, assigned.length)));
+
+        return new BuildingState(version, floors, time, running, carFloor.clone(), carDirection.clone(), carExitPhase.clone(),
+                origins, destinations, sortedFloors, sortedCounts,
+                copyOf(calls, callCount), copyOf(assigned, callCount));
+    }
+
+    private static int[] copyOf(int[] source, int length) {
+        length = Math.max(0, Math.min(length, source.length));
+        return length == 0 ? NONE : Arrays.copyOf(source, length);
+    }
+}
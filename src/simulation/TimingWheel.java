@@ -0,0 +1,170 @@
+package simulation;
+
+import java.util.Arrays;
+
+// Hierarchiczne koło czasu: 11 poziomów po 64 przegródki, poziom k odpowiada cyfrom 6k..6k+5 czasu w ms.
+// Zdarzenie trafia na najniższy poziom, na którym jego czas różni się od kursora - przegródka na poziomie 0
+// to dokładnie jedna milisekunda. Planowanie i anulowanie to O(1) (lista dwukierunkowa w przegródce i bit
+// zajętości), a zdarzenie schodzi poziom niżej najwyżej 10 razy, gdy kursor dochodzi do jego przegródki.
+// Kursor stoi na czasie ostatnio wyjętego zdarzenia, więc nigdy nie wyprzedza zegara silnika
+public class TimingWheel extends EventScheduler {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int LEVELS = (Long.SIZE + SLOT_BITS - 1) / SLOT_BITS;
+
+    private final ScheduledEvent[] heads = new ScheduledEvent[LEVELS * SLOTS];
+    private final ScheduledEvent[] tails = new ScheduledEvent[LEVELS * SLOTS];
+    // Bit i poziomu k - przegródka i niepusta
+    private final long[] occupied = new long[LEVELS];
+    private long cursor = 0;
+    private int size = 0;
+    // Najbliższe zdarzenie, gdy już policzone; null - do wyszukania
+    private ScheduledEvent earliest;
+
+    @Override
+    void add(ScheduledEvent event) {
+        if (event.getTime() < cursor) {
+            throw new IllegalArgumentException("Zdarzenie w przeszłości: " + event.getTime() + " < " + cursor);
+        }
+        event.owner = this;
+        insert(event);
+        size++;
+        if (earliest != null && event.isBefore(earliest)) {
+            earliest = event;
+        }
+    }
+
+    // Poziom według najwyższego bitu, którym czas różni się od kursora
+    private void insert(ScheduledEvent event) {
+        long time = event.getTime();
+        long difference = time ^ cursor;
+        int level = difference == 0 ? 0 : (63 - Long.numberOfLeadingZeros(difference)) / SLOT_BITS;
+        int slot = level * SLOTS + ((int) (time >>> (level * SLOT_BITS)) & (SLOTS - 1));
+        event.slot = slot;
+
+        // Na poziomie 0 przegródka ma jeden czas, więc wystarczy kolejność numerów; nowe zdarzenie ma zwykle
+        // największy numer i trafia na koniec, a cofa się tylko zdarzenie zstępujące z wyższego poziomu
+        ScheduledEvent after = tails[slot];
+        while (after != null && after.getSequence() > event.getSequence()) {
+            after = after.previous;
+        }
+        event.previous = after;
+        event.next = after != null ? after.next : heads[slot];
+        if (event.next != null) {
+            event.next.previous = event;
+        } else {
+            tails[slot] = event;
+        }
+        if (after != null) {
+            after.next = event;
+        } else {
+            heads[slot] = event;
+        }
+        occupied[level] |= 1L << (slot & (SLOTS - 1));
+    }
+
+    private void unlink(ScheduledEvent event) {
+        int slot = event.slot;
+        if (event.previous != null) {
+            event.previous.next = event.next;
+        } else {
+            heads[slot] = event.next;
+        }
+        if (event.next != null) {
+            event.next.previous = event.previous;
+        } else {
+            tails[slot] = event.previous;
+        }
+        if (heads[slot] == null) {
+            occupied[slot / SLOTS] &= ~(1L << (slot & (SLOTS - 1)));
+        }
+        event.previous = null;
+        event.next = null;
+        event.owner = null;
+    }
+
+    @Override
+    void remove(ScheduledEvent event) {
+        unlink(event);
+        size--;
+        if (event == earliest) {
+            earliest = null;
+        }
+    }
+
+    // Wszystkie przegródki poniżej kursora są puste, więc najbliższa jest pierwsza zajęta przegródka
+    // najniższego niepustego poziomu; powyżej poziomu 0 trzeba w niej znaleźć najwcześniejsze zdarzenie
+    @Override
+    public ScheduledEvent peek() {
+        if (earliest == null && size > 0) {
+            int level = 0;
+            while (occupied[level] == 0) {
+                level++;
+            }
+            int slot = level * SLOTS + Long.numberOfTrailingZeros(occupied[level]);
+            ScheduledEvent first = heads[slot];
+            if (level > 0) {
+                for (ScheduledEvent event = first.next; event != null; event = event.next) {
+                    if (event.isBefore(first)) {
+                        first = event;
+                    }
+                }
+            }
+            earliest = first;
+        }
+        return earliest;
+    }
+
+    @Override
+    public ScheduledEvent poll() {
+        ScheduledEvent next = peek();
+        if (next == null) {
+            return null;
+        }
+        int slot = next.slot;
+        remove(next);
+        cursor = next.getTime();
+        if (slot >= SLOTS) {
+            // Kursor wszedł w przegródkę wyższego poziomu - jej pozostałe zdarzenia schodzą niżej
+            cascade(slot);
+        }
+        return next;
+    }
+
+    private void cascade(int slot) {
+        ScheduledEvent event = heads[slot];
+        heads[slot] = null;
+        tails[slot] = null;
+        occupied[slot / SLOTS] &= ~(1L << (slot & (SLOTS - 1)));
+        while (event != null) {
+            ScheduledEvent following = event.next;
+            event.previous = null;
+            event.next = null;
+            insert(event);
+            event = following;
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        for (int slot = 0; slot < heads.length; slot++) {
+            for (ScheduledEvent event = heads[slot]; event != null; event = event.next) {
+                event.owner = null;
+            }
+            heads[slot] = null;
+            tails[slot] = null;
+        }
+        Arrays.fill(occupied, 0);
+        size = 0;
+        earliest = null;
+    }
+}
@@ -0,0 +1,69 @@
+package simulation;
+
+// Czasy przejazdu policzone raz dla całej wysokości budynku - silnik i dyspozytor tylko odczytują tablice.
+// Indeks to liczba pięter od miejsca, w którym kabina ruszyła z postoju
+public final class TravelTimeTable {
+    // Dojazd z zatrzymaniem na piętrze k [ms]
+    private final long[] stopAt;
+    // Minięcie piętra k bez hamowania [ms]
+    private final long[] pass;
+    // Szacunek dla dyspozytora: czysty czas jazdy na k pięter [ms]
+    private final long[] estimate;
+    // Kabina o stałej prędkości nie hamuje, więc odwołany postój nie przerywa jej przejazdu
+    private final boolean constantSpeed;
+
+    private TravelTimeTable(long[] stopAt, long[] pass, long[] estimate, boolean constantSpeed) {
+        this.stopAt = stopAt;
+        this.pass = pass;
+        this.estimate = estimate;
+        this.constantSpeed = constantSpeed;
+    }
+
+    // Dotychczasowy model: piętro co floorTravelTime, pierwsze pokonywane już w czasie ruszania
+    public static TravelTimeTable constant(int floors, long floorTravelTime) {
+        long[] times = new long[floors];
+        long[] estimate = new long[floors];
+        for (int k = 1; k < floors; k++) {
+            times[k] = (k - 1) * floorTravelTime;
+            estimate[k] = k * floorTravelTime;
+        }
+        return new TravelTimeTable(times, times, estimate, true);
+    }
+
+    public static TravelTimeTable of(CarType type, int floors) {
+        long[] stopAt = new long[floors];
+        long[] pass = new long[floors];
+        for (int k = 1; k < floors; k++) {
+            double distance = k * type.getFloorHeight();
+            stopAt[k] = Math.round(type.runTime(distance) * 1000);
+            pass[k] = Math.round(type.passingTime(distance) * 1000);
+        }
+        return new TravelTimeTable(stopAt, pass, stopAt, false);
+    }
+
+    public boolean isConstantSpeed() {
+        return constantSpeed;
+    }
+
+    // Czas od minięcia piętra k - 1 do piętra k (liczonych od miejsca ruszenia)
+    public long stepTime(int floorsFromStart, boolean stopping) {
+        return (stopping ? stopAt[floorsFromStart] : pass[floorsFromStart]) - pass[floorsFromStart - 1];
+    }
+
+    // Dodatkowe hamowanie, gdy postój wypadł na piętrze, które kabina miała minąć
+    public long lateStopTime(int floorsFromStart) {
+        return stopAt[floorsFromStart] - pass[floorsFromStart];
+    }
+
+    // Czas jazdy na floors pięter z stops postojami po drodze, przy równych odcinkach między nimi
+    public long travelTime(int floors, int stops) {
+        if (floors <= 0) return 0;
+        // Trasa z nawrotem bywa dłuższa niż budynek - wtedy co najmniej tyle odcinków, by każdy zmieścił się w tablicy
+        int longest = estimate.length - 1;
+        int segments = Math.max(Math.min(floors, stops + 1), (floors + longest - 1) / longest);
+        int length = floors / segments;
+        int longer = floors % segments;
+        long time = (segments - longer) * estimate[length];
+        return longer > 0 ? time + longer * estimate[length + 1] : time;
+    }
+}
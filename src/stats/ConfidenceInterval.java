@@ -0,0 +1,60 @@
+package stats;
+
+public class ConfidenceInterval {
+    // Kwantyl rozkładu normalnego dla 95% - przy tysiącach replik wystarczające przybliżenie t-Studenta
+    private static final double Z_95 = 1.96;
+
+    private final double mean;
+    private final double halfWidth;
+    private final int samples;
+
+    private ConfidenceInterval(double mean, double halfWidth, int samples) {
+        this.mean = mean;
+        this.halfWidth = halfWidth;
+        this.samples = samples;
+    }
+
+    public static ConfidenceInterval of(double[] values) {
+        int n = values.length;
+        if (n == 0) return new ConfidenceInterval(0, 0, 0);
+
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        double mean = sum / n;
+        if (n == 1) return new ConfidenceInterval(mean, 0, 1);
+
+        double squares = 0;
+        for (double value : values) {
+            squares += (value - mean) * (value - mean);
+        }
+        double deviation = Math.sqrt(squares / (n - 1));
+        return new ConfidenceInterval(mean, Z_95 * deviation / Math.sqrt(n), n);
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getHalfWidth() {
+        return halfWidth;
+    }
+
+    public double getLower() {
+        return mean - halfWidth;
+    }
+
+    public double getUpper() {
+        return mean + halfWidth;
+    }
+
+    public int getSamples() {
+        return samples;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%.2f ± %.2f", mean, halfWidth);
+    }
+}
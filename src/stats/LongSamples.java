@@ -0,0 +1,46 @@
+package stats;
+
+import java.util.Arrays;
+
+public class LongSamples {
+    private long[] values = new long[64];
+    private int size = 0;
+    private boolean sorted = true;
+
+    public void add(long value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+        sorted = false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+        sorted = true;
+    }
+
+    public double mean() {
+        if (size == 0) return 0;
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += values[i];
+        }
+        return sum / size;
+    }
+
+    // Percentyl metodą najbliższej rangi, p w zakresie 0-100
+    public long percentile(double p) {
+        if (size == 0) return 0;
+        if (!sorted) {
+            Arrays.sort(values, 0, size);
+            sorted = true;
+        }
+        int rank = (int) Math.ceil(p / 100.0 * size);
+        return values[Math.max(0, Math.min(size - 1, rank - 1))];
+    }
+}
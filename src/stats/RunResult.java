@@ -0,0 +1,68 @@
+package stats;
+
+public class RunResult {
+    private final long seed;
+    private final int handledPassengers;
+    // Od startu do ostatniej ukończonej podróży [ms]
+    private final long simulatedTime;
+    private final double meanWait;
+    private final double p50Wait;
+    private final double p95Wait;
+    private final double p99Wait;
+    private final double meanTrip;
+    private final double p95Trip;
+
+    public RunResult(long seed, int handledPassengers, long simulatedTime,
+                     double meanWait, double p50Wait, double p95Wait, double p99Wait,
+                     double meanTrip, double p95Trip) {
+        this.seed = seed;
+        this.handledPassengers = handledPassengers;
+        this.simulatedTime = simulatedTime;
+        this.meanWait = meanWait;
+        this.p50Wait = p50Wait;
+        this.p95Wait = p95Wait;
+        this.p99Wait = p99Wait;
+        this.meanTrip = meanTrip;
+        this.p95Trip = p95Trip;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getHandledPassengers() {
+        return handledPassengers;
+    }
+
+    public long getSimulatedTime() {
+        return simulatedTime;
+    }
+
+    public double getMeanWait() {
+        return meanWait;
+    }
+
+    public double getP50Wait() {
+        return p50Wait;
+    }
+
+    public double getP95Wait() {
+        return p95Wait;
+    }
+
+    public double getP99Wait() {
+        return p99Wait;
+    }
+
+    public double getMeanTrip() {
+        return meanTrip;
+    }
+
+    public double getP95Trip() {
+        return p95Trip;
+    }
+
+    public double getPassengersPerHour() {
+        return simulatedTime > 0 ? handledPassengers * 3_600_000.0 / simulatedTime : 0;
+    }
+}
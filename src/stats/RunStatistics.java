@@ -0,0 +1,47 @@
+package stats;
+
+import model.Elevator;
+import simulation.SimulationListener;
+
+import java.util.function.LongSupplier;
+
+public class RunStatistics implements SimulationListener {
+    private final LongSamples waitTimes = new LongSamples();
+    private final LongSamples tripTimes = new LongSamples();
+    // Zegar symulacji - okno pomiaru przepustowości kończy się na ostatniej ukończonej podróży,
+    // bez bezczynnego ogona przed końcem przebiegu
+    private final LongSupplier clock;
+    private long startTime = 0;
+    private long lastTripTime = 0;
+
+    public RunStatistics(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public void onSimulationStarted() {
+        startTime = clock.getAsLong();
+        lastTripTime = startTime;
+    }
+
+    @Override
+    public void onTripCompleted(Elevator elevator, long waitTime, long tripTime) {
+        waitTimes.add(waitTime);
+        tripTimes.add(tripTime);
+        lastTripTime = clock.getAsLong();
+    }
+
+    public LongSamples getWaitTimes() {
+        return waitTimes;
+    }
+
+    public LongSamples getTripTimes() {
+        return tripTimes;
+    }
+
+    public RunResult toResult(long seed) {
+        return new RunResult(seed, tripTimes.size(), lastTripTime - startTime,
+                waitTimes.mean(), waitTimes.percentile(50), waitTimes.percentile(95), waitTimes.percentile(99),
+                tripTimes.mean(), tripTimes.percentile(95));
+    }
+}
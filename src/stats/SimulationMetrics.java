@@ -0,0 +1,307 @@
+package stats;
+
+import model.Building;
+import model.Elevator;
+import simulation.SimulationEngine;
+import simulation.SimulationListener;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Wskaźniki pracy grupy wind. Zapisuje wątek symulacji, odczyt (JMX, raport) może iść z dowolnego wątku.
+public class SimulationMetrics implements SimulationListener, SimulationMetricsMBean {
+    private static final long IDLE = -1;
+
+    private final SimulationEngine engine;
+    private final Building building;
+
+    private final Histogram waitTimes = new Histogram();
+    private final Histogram rideTimes = new Histogram();
+    // Kurs windy: od wyjścia z bezczynności do ponownego postoju bez celu
+    private final Histogram stopsPerTrip = new Histogram();
+    private final Histogram callQueueDepths = new Histogram();
+    private final LongAdder stops = new LongAdder();
+    private final AtomicInteger callQueueDepth = new AtomicInteger();
+
+    private final AtomicLongArray busySince;
+    private final AtomicLongArray busyTime;
+    private final int[] tripStops;
+    private final AtomicLong startTime = new AtomicLong();
+    private final AtomicLong endTime = new AtomicLong(IDLE);
+    private final AtomicLong lastTripTime = new AtomicLong();
+
+    private ObjectName objectName;
+
+    public SimulationMetrics(SimulationEngine engine) {
+        this.engine = engine;
+        this.building = engine.getBuilding();
+        int elevatorCount = building.getElevatorCount();
+        this.busySince = new AtomicLongArray(elevatorCount);
+        this.busyTime = new AtomicLongArray(elevatorCount);
+        this.tripStops = new int[elevatorCount];
+        for (int i = 0; i < elevatorCount; i++) {
+            busySince.set(i, IDLE);
+        }
+    }
+
+    @Override
+    public void onSimulationStarted() {
+        waitTimes.reset();
+        rideTimes.reset();
+        stopsPerTrip.reset();
+        callQueueDepths.reset();
+        stops.reset();
+        callQueueDepth.set(0);
+        for (int i = 0; i < tripStops.length; i++) {
+            busySince.set(i, IDLE);
+            busyTime.set(i, 0);
+            tripStops[i] = 0;
+        }
+        startTime.set(engine.now());
+        endTime.set(IDLE);
+        lastTripTime.set(engine.now());
+    }
+
+    // Po wznowieniu metryki obejmują tylko dalszą część przebiegu
+    @Override
+    public void onSimulationResumed() {
+        onSimulationStarted();
+    }
+
+    @Override
+    public void onCallRegistered(int floor) {
+        sampleCallQueue();
+    }
+
+    @Override
+    public void onDirectionChanged(Elevator elevator) {
+        if (elevator.getDirection() != 0) {
+            markBusy(elevator);
+        } else {
+            markIdle(elevator);
+        }
+    }
+
+    @Override
+    public void onElevatorStopped(Elevator elevator, int floor) {
+        markBusy(elevator);
+        tripStops[elevator.getId()]++;
+        stops.increment();
+        sampleCallQueue();
+    }
+
+    @Override
+    public void onTripCompleted(Elevator elevator, long waitTime, long tripTime) {
+        waitTimes.record(waitTime);
+        rideTimes.record(tripTime);
+        lastTripTime.set(engine.now());
+    }
+
+    @Override
+    public void onSimulationEnded() {
+        long now = engine.now();
+        for (int i = 0; i < tripStops.length; i++) {
+            closeTrip(i, now);
+        }
+        callQueueDepth.set(0);
+        endTime.set(now);
+    }
+
+    private void markBusy(Elevator elevator) {
+        busySince.compareAndSet(elevator.getId(), IDLE, engine.now());
+    }
+
+    private void markIdle(Elevator elevator) {
+        closeTrip(elevator.getId(), engine.now());
+    }
+
+    private void closeTrip(int id, long now) {
+        long since = busySince.getAndSet(id, IDLE);
+        if (since == IDLE) return;
+        busyTime.addAndGet(id, now - since);
+        stopsPerTrip.record(tripStops[id]);
+        tripStops[id] = 0;
+    }
+
+    private void sampleCallQueue() {
+        int depth = building.getCalls().size();
+        callQueueDepth.set(depth);
+        callQueueDepths.record(depth);
+    }
+
+    public Histogram getWaitTimes() {
+        return waitTimes;
+    }
+
+    public Histogram getRideTimes() {
+        return rideTimes;
+    }
+
+    @Override
+    public long getTripsCompleted() {
+        return rideTimes.count();
+    }
+
+    @Override
+    public double getMeanWaitTime() {
+        return waitTimes.mean();
+    }
+
+    @Override
+    public long getWaitTimeP50() {
+        return waitTimes.percentile(50);
+    }
+
+    @Override
+    public long getWaitTimeP95() {
+        return waitTimes.percentile(95);
+    }
+
+    @Override
+    public long getWaitTimeP99() {
+        return waitTimes.percentile(99);
+    }
+
+    @Override
+    public long getMaxWaitTime() {
+        return waitTimes.max();
+    }
+
+    @Override
+    public double getMeanRideTime() {
+        return rideTimes.mean();
+    }
+
+    @Override
+    public long getRideTimeP50() {
+        return rideTimes.percentile(50);
+    }
+
+    @Override
+    public long getRideTimeP95() {
+        return rideTimes.percentile(95);
+    }
+
+    @Override
+    public long getRideTimeP99() {
+        return rideTimes.percentile(99);
+    }
+
+    @Override
+    public long getMaxRideTime() {
+        return rideTimes.max();
+    }
+
+    // Udział czasu, w którym windy jeździły lub obsługiwały przystanek
+    @Override
+    public double getCarUtilization() {
+        long elapsed = getSimulatedTime();
+        if (elapsed <= 0) return 0;
+        long now = startTime.get() + elapsed;
+        long busy = 0;
+        for (int i = 0; i < busyTime.length(); i++) {
+            busy += busyTime.get(i);
+            long since = busySince.get(i);
+            if (since != IDLE) {
+                busy += now - since;
+            }
+        }
+        return (double) busy / ((double) elapsed * busyTime.length());
+    }
+
+    @Override
+    public long getStops() {
+        return stops.sum();
+    }
+
+    @Override
+    public double getMeanStopsPerTrip() {
+        return stopsPerTrip.mean();
+    }
+
+    @Override
+    public double getPassengersPerHour() {
+        // Po końcu przebiegu okno kończy się na ostatniej podróży - bez bezczynnego oczekiwania na koniec
+        long elapsed = endTime.get() != IDLE ? lastTripTime.get() - startTime.get() : getSimulatedTime();
+        return elapsed > 0 ? getTripsCompleted() / (elapsed / 3_600_000.0) : 0;
+    }
+
+    @Override
+    public int getCallQueueDepth() {
+        return callQueueDepth.get();
+    }
+
+    @Override
+    public long getMaxCallQueueDepth() {
+        return callQueueDepths.max();
+    }
+
+    @Override
+    public double getMeanCallQueueDepth() {
+        return callQueueDepths.mean();
+    }
+
+    @Override
+    public long getSimulatedTime() {
+        long end = endTime.get();
+        return (end != IDLE ? end : engine.now()) - startTime.get();
+    }
+
+    public void register(String name) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            objectName = new ObjectName("liftsimulator:type=SimulationMetrics,name=" + ObjectName.quote(name));
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(this, objectName);
+        } catch (JMException e) {
+            throw new IllegalStateException("Nie można zarejestrować metryk w JMX", e);
+        }
+    }
+
+    public void unregister() {
+        if (objectName == null) return;
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            throw new IllegalStateException("Nie można wyrejestrować metryk z JMX", e);
+        }
+        objectName = null;
+    }
+
+    public void writeReport(Path file) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            out.println("{");
+            out.printf(Locale.ROOT, "  \"simulatedTimeMs\": %d,%n", getSimulatedTime());
+            out.printf(Locale.ROOT, "  \"elevators\": %d,%n", busyTime.length());
+            out.printf(Locale.ROOT, "  \"tripsCompleted\": %d,%n", getTripsCompleted());
+            out.printf(Locale.ROOT, "  \"passengersPerHour\": %.2f,%n", getPassengersPerHour());
+            out.printf(Locale.ROOT, "  \"carUtilization\": %.4f,%n", getCarUtilization());
+            out.printf(Locale.ROOT, "  \"stops\": %d,%n", getStops());
+            writeHistogram(out, "waitTimeMs", waitTimes, true);
+            writeHistogram(out, "rideTimeMs", rideTimes, true);
+            writeHistogram(out, "stopsPerTrip", stopsPerTrip, true);
+            writeHistogram(out, "callQueueDepth", callQueueDepths, false);
+            out.println("}");
+        }
+    }
+
+    private static void writeHistogram(PrintWriter out, String name, Histogram histogram, boolean more) {
+        out.printf(Locale.ROOT, "  \"%s\": {\"count\": %d, \"mean\": %.2f, \"p50\": %d, \"p90\": %d, " +
+                        "\"p95\": %d, \"p99\": %d, \"max\": %d}%s%n",
+                name, histogram.count(), histogram.mean(), histogram.percentile(50), histogram.percentile(90),
+                histogram.percentile(95), histogram.percentile(99), histogram.max(), more ? "," : "");
+    }
+}
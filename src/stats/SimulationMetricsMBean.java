@@ -0,0 +1,41 @@
+package stats;
+
+public interface SimulationMetricsMBean {
+    long getTripsCompleted();
+
+    double getMeanWaitTime();
+
+    long getWaitTimeP50();
+
+    long getWaitTimeP95();
+
+    long getWaitTimeP99();
+
+    long getMaxWaitTime();
+
+    double getMeanRideTime();
+
+    long getRideTimeP50();
+
+    long getRideTimeP95();
+
+    long getRideTimeP99();
+
+    long getMaxRideTime();
+
+    double getCarUtilization();
+
+    long getStops();
+
+    double getMeanStopsPerTrip();
+
+    double getPassengersPerHour();
+
+    int getCallQueueDepth();
+
+    long getMaxCallQueueDepth();
+
+    double getMeanCallQueueDepth();
+
+    long getSimulatedTime();
+}
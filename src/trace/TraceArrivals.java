@@ -0,0 +1,45 @@
+package trace;
+
+import traffic.ArrivalSource;
+
+// Przyjścia pasażerów zapisane w śladzie, podawane silnikowi tak jak robił to oryginalny strumień ruchu
+class TraceArrivals implements ArrivalSource {
+    private final TraceReader cursor;
+    private boolean hasNext;
+
+    TraceArrivals(TraceReader cursor) {
+        this.cursor = cursor;
+        advance();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    @Override
+    public long nextTime() {
+        return cursor.getTime();
+    }
+
+    @Override
+    public int nextOrigin() {
+        return cursor.getFloor();
+    }
+
+    @Override
+    public int nextDestination() {
+        return cursor.getDestination();
+    }
+
+    @Override
+    public void advance() {
+        hasNext = false;
+        while (cursor.next()) {
+            if (cursor.getType() == TraceFormat.ARRIVAL) {
+                hasNext = true;
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package trace;
+
+import model.Elevator;
+import simulation.SimulationEngine;
+import simulation.SimulationListener;
+
+// Skrót przejść stanu (przystanki, wsiadanie, wysiadanie) liczony w kolejności ich wystąpienia
+public class TraceDigest implements SimulationListener {
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final SimulationEngine engine;
+    private long startTime = 0;
+    private long value = FNV_OFFSET;
+    private long count = 0;
+
+    public TraceDigest(SimulationEngine engine) {
+        this.engine = engine;
+    }
+
+    @Override
+    public void onSimulationStarted() {
+        startTime = engine.now();
+        value = FNV_OFFSET;
+        count = 0;
+    }
+
+    @Override
+    public void onElevatorStopped(Elevator elevator, int floor) {
+        update(TraceFormat.STOP, elevator.getId(), floor, 0);
+    }
+
+    @Override
+    public void onPassengersEntered(Elevator elevator, int floor, int count) {
+        update(TraceFormat.BOARDING, elevator.getId(), floor, count);
+    }
+
+    @Override
+    public void onPassengerExited(Elevator elevator, int floor) {
+        update(TraceFormat.ALIGHTING, elevator.getId(), floor, 0);
+    }
+
+    private void update(byte type, int car, int floor, int passengers) {
+        mix(type);
+        mix(engine.now() - startTime);
+        mix(car);
+        mix(floor);
+        mix(passengers);
+        count++;
+    }
+
+    private void mix(long field) {
+        value = (value ^ field) * FNV_PRIME;
+    }
+
+    public long getValue() {
+        return value;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,39 @@
+package trace;
+
+// Układ pliku śladu: nagłówek stałej długości, potem rekordy [typ][przyrost czasu][pola] zapisane jako varinty
+public final class TraceFormat {
+    public static final int MAGIC = 0x4C494654; // "LIFT"
+    public static final short VERSION = 2;
+    // Wersja 1 nie zapisywała strategii dyspozytora - była nią zawsze LOOK
+    public static final short VERSION_WITHOUT_STRATEGY = 1;
+    // Część stałej długości; w wersji 2 po niej następuje nazwa strategii (długość w bajcie + ASCII)
+    public static final int HEADER_SIZE = 4 + 2 + 4 + 4 + 8 + 1;
+
+    // Zapis i odczyt mapują plik przesuwanym oknem tej wielkości, więc ślad może mieć dowolną długość
+    static final int WINDOW_SIZE = 1 << 20;
+    // Najdłuższy rekord: typ, 4 varinty po maks. 10 bajtów i 8 bajtów skrótu
+    static final int MAX_RECORD_SIZE = 1 + 4 * 10 + 8;
+
+    // Bajt flag w nagłówku (w wersji 1 jedyną wartością było 0 albo 1 - tryb automatyczny)
+    public static final byte FLAG_AUTOMATIC = 1;
+    public static final byte FLAG_STREAMED_TRAFFIC = 2;
+
+    // Wejścia - odtwarzane w silniku
+    public static final byte CALL = 1;
+    public static final byte DESTINATION = 2;
+    public static final byte EXIT = 3;
+    // Przejścia stanu - tylko do porównania z odtworzonym przebiegiem
+    public static final byte STOP = 4;
+    public static final byte BOARDING = 5;
+    public static final byte ALIGHTING = 6;
+    public static final byte END = 7;
+    // Przyjście pasażera ze strumienia ruchu - silnik czyta je osobnym kursorem jako źródło przyjść
+    public static final byte ARRIVAL = 8;
+
+    private TraceFormat() {
+    }
+
+    public static boolean isInput(byte type) {
+        return type == CALL || type == DESTINATION || type == EXIT;
+    }
+}
@@ -0,0 +1,211 @@
+package trace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Sekwencyjny odczyt śladu z pliku mapowanego w pamięci przesuwanym oknem, jak przy zapisie - ślad może być
+// dłuższy niż 2 GB; pola bieżącego rekordu dostępne przez gettery
+public class TraceReader implements Closeable {
+    private final FileChannel channel;
+    private final long size;
+    private final int windowSize;
+    private MappedByteBuffer buffer;
+    private long windowStart = 0;
+    private final int floors;
+    private final int elevatorCount;
+    private final long seed;
+    private final boolean automaticPassengers;
+    private final boolean streamedTraffic;
+    private final String strategyName;
+    private final int recordsStart;
+
+    private byte type;
+    private long time = 0;
+    private int car;
+    private int floor;
+    private int count;
+    private int destination;
+    private long stateCount;
+    private long digest;
+
+    public TraceReader(Path file) throws IOException {
+        this(file, TraceFormat.WINDOW_SIZE);
+    }
+
+    // Mniejsze okno tylko w testach - nagłówek musi się w nim zmieścić w całości
+    TraceReader(Path file, int windowSize) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        size = channel.size();
+        this.windowSize = windowSize;
+        if (size < TraceFormat.HEADER_SIZE) {
+            channel.close();
+            throw new IllegalArgumentException("Nieprawidłowy rozmiar pliku śladu: " + size);
+        }
+        map(0);
+        int magic = buffer.getInt();
+        short version = buffer.getShort();
+        if (magic != TraceFormat.MAGIC ||
+                (version != TraceFormat.VERSION && version != TraceFormat.VERSION_WITHOUT_STRATEGY)) {
+            channel.close();
+            throw new IllegalArgumentException("To nie jest plik śladu symulacji w obsługiwanej wersji: " + file);
+        }
+        floors = buffer.getInt();
+        elevatorCount = buffer.getInt();
+        seed = buffer.getLong();
+        byte flags = buffer.get();
+        automaticPassengers = (flags & TraceFormat.FLAG_AUTOMATIC) != 0;
+        streamedTraffic = (flags & TraceFormat.FLAG_STREAMED_TRAFFIC) != 0;
+        if (version == TraceFormat.VERSION_WITHOUT_STRATEGY) {
+            strategyName = "LOOK";
+        } else {
+            byte[] strategy = new byte[buffer.get()];
+            buffer.get(strategy);
+            strategyName = new String(strategy, StandardCharsets.US_ASCII);
+        }
+        recordsStart = buffer.position();
+    }
+
+    // Drugi, niezależny kursor od początku rekordów z własnym oknem na tym samym pliku; zamyka się go razem
+    // z oryginałem
+    private TraceReader(TraceReader other) {
+        channel = other.channel;
+        size = other.size;
+        windowSize = other.windowSize;
+        floors = other.floors;
+        elevatorCount = other.elevatorCount;
+        seed = other.seed;
+        automaticPassengers = other.automaticPassengers;
+        streamedTraffic = other.streamedTraffic;
+        strategyName = other.strategyName;
+        recordsStart = other.recordsStart;
+        map(recordsStart);
+    }
+
+    public TraceReader newCursor() {
+        return new TraceReader(this);
+    }
+
+    public int getFloors() {
+        return floors;
+    }
+
+    public int getElevatorCount() {
+        return elevatorCount;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public boolean isAutomaticPassengers() {
+        return automaticPassengers;
+    }
+
+    // Pasażerowie przychodzili ze strumienia ruchu zamiast jednej grupy na starcie
+    public boolean isStreamedTraffic() {
+        return streamedTraffic;
+    }
+
+    public String getStrategyName() {
+        return strategyName;
+    }
+
+    // Przechodzi do następnego rekordu; false na końcu pliku
+    public boolean next() {
+        if (windowStart + buffer.position() >= size) return false;
+        if (buffer.remaining() < TraceFormat.MAX_RECORD_SIZE && windowStart + buffer.limit() < size) {
+            map(windowStart + buffer.position());
+        }
+        type = buffer.get();
+        time += getVarLong();
+        switch (type) {
+            case TraceFormat.CALL -> floor = (int) getVarLong();
+            case TraceFormat.EXIT -> car = (int) getVarLong();
+            case TraceFormat.BOARDING -> {
+                car = (int) getVarLong();
+                floor = (int) getVarLong();
+                count = (int) getVarLong();
+            }
+            case TraceFormat.ARRIVAL -> {
+                floor = (int) getVarLong();
+                destination = (int) getVarLong();
+            }
+            case TraceFormat.END -> {
+                stateCount = getVarLong();
+                digest = buffer.getLong();
+            }
+            case TraceFormat.DESTINATION, TraceFormat.STOP, TraceFormat.ALIGHTING -> {
+                car = (int) getVarLong();
+                floor = (int) getVarLong();
+            }
+            default -> throw new IllegalStateException("Nieznany typ rekordu śladu: " + type);
+        }
+        return true;
+    }
+
+    public byte getType() {
+        return type;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public int getCar() {
+        return car;
+    }
+
+    public int getFloor() {
+        return floor;
+    }
+
+    // Piętro docelowe rekordu ARRIVAL; piętro startowe zwraca getFloor()
+    public int getDestination() {
+        return destination;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getStateCount() {
+        return stateCount;
+    }
+
+    public long getDigest() {
+        return digest;
+    }
+
+    private long getVarLong() {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    // Błąd mapowania w trakcie odczytu jest niesprawdzany - next() jest wołane z pętli silnika
+    private void map(long start) {
+        windowStart = start;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowSize, size - start));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nie można odczytać pliku śladu", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,101 @@
+package trace;
+
+import model.Elevator;
+import simulation.SimulationEngine;
+import simulation.SimulationListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+// Zapisuje każdy przebieg silnika do pliku śladu; kolejny start nadpisuje plik
+public class TraceRecorder implements SimulationListener {
+    private final SimulationEngine engine;
+    private final Path file;
+    private final TraceDigest digest;
+    private TraceWriter writer;
+    private long startTime;
+
+    public TraceRecorder(SimulationEngine engine, Path file) {
+        this.engine = engine;
+        this.file = file;
+        this.digest = new TraceDigest(engine);
+    }
+
+    @Override
+    public void onSimulationStarted() {
+        startTime = engine.now();
+        digest.onSimulationStarted();
+        try {
+            writer = new TraceWriter(file, engine.getBuilding().getFloorsCount(),
+                    engine.getBuilding().getElevatorCount(), engine.getSeed(), engine.isAutomaticPassengers(),
+                    engine.hasTrafficSource(), engine.getDispatcher().getStrategy().getName());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nie można utworzyć pliku śladu " + file, e);
+        }
+    }
+
+    @Override
+    public void onCallRequested(int floor) {
+        write(TraceFormat.CALL, 0, floor, 0);
+    }
+
+    @Override
+    public void onDestinationSelected(Elevator elevator, int floor) {
+        write(TraceFormat.DESTINATION, elevator.getId(), floor, 0);
+    }
+
+    @Override
+    public void onPassengerExitRequested(Elevator elevator) {
+        write(TraceFormat.EXIT, elevator.getId(), 0, 0);
+    }
+
+    @Override
+    public void onPassengerArrived(int origin, int destination) {
+        if (writer == null) return;
+        try {
+            writer.writeArrival(engine.now() - startTime, origin, destination);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Błąd zapisu śladu " + file, e);
+        }
+    }
+
+    @Override
+    public void onElevatorStopped(Elevator elevator, int floor) {
+        digest.onElevatorStopped(elevator, floor);
+        write(TraceFormat.STOP, elevator.getId(), floor, 0);
+    }
+
+    @Override
+    public void onPassengersEntered(Elevator elevator, int floor, int count) {
+        digest.onPassengersEntered(elevator, floor, count);
+        write(TraceFormat.BOARDING, elevator.getId(), floor, count);
+    }
+
+    @Override
+    public void onPassengerExited(Elevator elevator, int floor) {
+        digest.onPassengerExited(elevator, floor);
+        write(TraceFormat.ALIGHTING, elevator.getId(), floor, 0);
+    }
+
+    @Override
+    public void onSimulationEnded() {
+        if (writer == null) return;
+        try {
+            writer.writeEnd(engine.now() - startTime, digest.getCount(), digest.getValue());
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nie można zamknąć pliku śladu " + file, e);
+        }
+        writer = null;
+    }
+
+    private void write(byte type, int car, int floor, int count) {
+        if (writer == null) return;
+        try {
+            writer.write(type, engine.now() - startTime, car, floor, count);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Błąd zapisu śladu " + file, e);
+        }
+    }
+}
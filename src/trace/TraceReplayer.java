@@ -0,0 +1,152 @@
+package trace;
+
+import dispatch.DispatchStrategies;
+import model.Building;
+import simulation.SimulationEngine;
+import stats.SimulationMetrics;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Odtwarza zapisany przebieg: ten sam seed i te same wejścia w tych samych chwilach czasu symulacji
+public class TraceReplayer {
+    private static final long FRAME_DELAY = 15;
+
+    private final SimulationEngine engine;
+    private final TraceReader reader;
+    private final TraceDigest digest;
+    private long startTime;
+    private boolean hasPending = false;
+    private boolean endReached = false;
+
+    public TraceReplayer(SimulationEngine engine, TraceReader reader) {
+        Building building = engine.getBuilding();
+        if (building.getFloorsCount() != reader.getFloors() || building.getElevatorCount() != reader.getElevatorCount()) {
+            throw new IllegalArgumentException("Budynek nie pasuje do śladu: " + reader.getFloors() +
+                    " pięter, " + reader.getElevatorCount() + " wind");
+        }
+        if (!engine.getDispatcher().getStrategy().getName().equals(reader.getStrategyName())) {
+            throw new IllegalArgumentException("Ślad nagrano ze strategią " + reader.getStrategyName());
+        }
+        this.engine = engine;
+        this.reader = reader;
+        this.digest = new TraceDigest(engine);
+        engine.addListener(digest);
+        if (reader.isAutomaticPassengers()) {
+            engine.enableAutomaticPassengers(reader.getSeed());
+        } else {
+            engine.setSeed(reader.getSeed());
+        }
+        if (reader.isStreamedTraffic()) {
+            engine.setTrafficSource(new TraceArrivals(reader.newCursor()));
+        }
+    }
+
+    public SimulationEngine getEngine() {
+        return engine;
+    }
+
+    public void start() {
+        engine.start();
+        startTime = engine.now();
+        readNextInput();
+    }
+
+    // Odtwarza wejścia i zdarzenia do chwili time (czas liczony od startu przebiegu)
+    public void advanceTo(long time) {
+        while (hasPending && reader.getTime() <= time) {
+            engine.runUntil(startTime + reader.getTime());
+            applyInput();
+            readNextInput();
+        }
+        engine.runUntil(startTime + time);
+    }
+
+    // Odtwarza resztę śladu bez oglądania się na zegar
+    public void finish() {
+        while (hasPending) {
+            engine.runUntil(startTime + reader.getTime());
+            applyInput();
+            readNextInput();
+        }
+        engine.run();
+    }
+
+    // Najbliższa chwila (od startu przebiegu), w której coś się wydarzy, albo -1
+    public long nextEventTime() {
+        long next = engine.nextEventTime();
+        if (next != -1) {
+            next -= startTime;
+        }
+        if (hasPending && (next == -1 || reader.getTime() < next)) {
+            next = reader.getTime();
+        }
+        return next;
+    }
+
+    public boolean isFinished() {
+        return !hasPending && !engine.isRunning();
+    }
+
+    // Czy odtworzone przejścia stanu są identyczne z zapisanymi
+    public boolean matchesRecording() {
+        return endReached && digest.getCount() == reader.getStateCount() && digest.getValue() == reader.getDigest();
+    }
+
+    private void readNextInput() {
+        hasPending = false;
+        while (reader.next()) {
+            if (TraceFormat.isInput(reader.getType())) {
+                hasPending = true;
+                return;
+            }
+            if (reader.getType() == TraceFormat.END) {
+                endReached = true;
+            }
+        }
+    }
+
+    private void applyInput() {
+        Building building = engine.getBuilding();
+        switch (reader.getType()) {
+            case TraceFormat.CALL -> engine.callElevator(reader.getFloor());
+            case TraceFormat.DESTINATION -> engine.selectDestination(building.getElevator(reader.getCar()), reader.getFloor());
+            case TraceFormat.EXIT -> engine.exitPassenger(building.getElevator(reader.getCar()));
+            default -> throw new IllegalStateException("Rekord nie jest wejściem: " + reader.getType());
+        }
+    }
+
+    // speed <= 0 oznacza odtwarzanie tak szybko, jak pozwala procesor
+    public static void run(Path file, double speed) throws IOException {
+        try (TraceReader reader = new TraceReader(file)) {
+            SimulationEngine engine = new SimulationEngine(new Building(reader.getFloors(), reader.getElevatorCount()),
+                    DispatchStrategies.byName(reader.getStrategyName()));
+            SimulationMetrics metrics = new SimulationMetrics(engine);
+            engine.addListener(metrics);
+            TraceReplayer replayer = new TraceReplayer(engine, reader);
+
+            long started = System.nanoTime();
+            replayer.start();
+            if (speed <= 0) {
+                replayer.finish();
+            } else {
+                while (!replayer.isFinished()) {
+                    replayer.advanceTo((long) ((System.nanoTime() - started) / 1_000_000 * speed));
+                    try {
+                        Thread.sleep(FRAME_DELAY);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+            long elapsed = (System.nanoTime() - started) / 1_000_000;
+
+            System.out.println("Odtworzono " + file + ": " + engine.now() / 1000 + " s symulacji w " + elapsed + " ms");
+            System.out.printf("Obsłużeni pasażerowie: %d, oczekiwanie śr. %.2f s, przepustowość %.1f pasażerów/h%n",
+                    metrics.getTripsCompleted(), metrics.getMeanWaitTime() / 1000, metrics.getPassengersPerHour());
+            System.out.println(replayer.matchesRecording() ? "Przebieg zgodny z zapisem" :
+                    "UWAGA: przebieg różni się od zapisu");
+        }
+    }
+}
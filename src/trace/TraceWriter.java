@@ -0,0 +1,102 @@
+package trace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Zapis śladu przez plik mapowany w pamięci; okno mapowania przesuwa się co TraceFormat.WINDOW_SIZE bajtów
+public class TraceWriter implements Closeable {
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long mappedStart = 0;
+    private long lastTime = 0;
+
+    public TraceWriter(Path file, int floors, int elevatorCount, long seed, boolean automaticPassengers,
+                       boolean streamedTraffic, String strategyName) throws IOException {
+        byte[] strategy = strategyName.getBytes(StandardCharsets.US_ASCII);
+        if (strategy.length > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Za długa nazwa strategii: " + strategyName);
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, TraceFormat.WINDOW_SIZE);
+        buffer.putInt(TraceFormat.MAGIC);
+        buffer.putShort(TraceFormat.VERSION);
+        buffer.putInt(floors);
+        buffer.putInt(elevatorCount);
+        buffer.putLong(seed);
+        buffer.put((byte) ((automaticPassengers ? TraceFormat.FLAG_AUTOMATIC : 0)
+                | (streamedTraffic ? TraceFormat.FLAG_STREAMED_TRAFFIC : 0)));
+        buffer.put((byte) strategy.length);
+        buffer.put(strategy);
+    }
+
+    public void write(byte type, long time, int car, int floor, int count) throws IOException {
+        ensureCapacity();
+        buffer.put(type);
+        putVarLong(time - lastTime);
+        lastTime = time;
+        switch (type) {
+            case TraceFormat.CALL -> putVarLong(floor);
+            case TraceFormat.EXIT -> putVarLong(car);
+            case TraceFormat.BOARDING -> {
+                putVarLong(car);
+                putVarLong(floor);
+                putVarLong(count);
+            }
+            default -> {
+                putVarLong(car);
+                putVarLong(floor);
+            }
+        }
+    }
+
+    public void writeArrival(long time, int origin, int destination) throws IOException {
+        ensureCapacity();
+        buffer.put(TraceFormat.ARRIVAL);
+        putVarLong(time - lastTime);
+        lastTime = time;
+        putVarLong(origin);
+        putVarLong(destination);
+    }
+
+    public void writeEnd(long time, long stateCount, long digest) throws IOException {
+        ensureCapacity();
+        buffer.put(TraceFormat.END);
+        putVarLong(time - lastTime);
+        lastTime = time;
+        putVarLong(stateCount);
+        buffer.putLong(digest);
+    }
+
+    public long size() {
+        return mappedStart + buffer.position();
+    }
+
+    private void ensureCapacity() throws IOException {
+        if (buffer.remaining() < TraceFormat.MAX_RECORD_SIZE) {
+            mappedStart += buffer.position();
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, mappedStart, TraceFormat.WINDOW_SIZE);
+        }
+    }
+
+    private void putVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        // Obcięcie pustego końca ostatniego okna mapowania
+        channel.truncate(size());
+        channel.close();
+    }
+}
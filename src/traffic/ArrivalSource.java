@@ -0,0 +1,16 @@
+package traffic;
+
+// Strumień przyjść pasażerów czytany przez silnik po jednym, w kolejności czasu
+public interface ArrivalSource {
+    boolean hasNext();
+
+    // Czas symulacji najbliższego przyjścia, liczony od startu symulacji
+    long nextTime();
+
+    int nextOrigin();
+
+    int nextDestination();
+
+    // Przechodzi do kolejnego przyjścia
+    void advance();
+}
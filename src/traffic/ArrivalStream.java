@@ -0,0 +1,105 @@
+package traffic;
+
+import java.util.List;
+
+// Niejednorodny proces Poissona generowany leniwie: w pamięci jest tylko najbliższe przyjście,
+// więc zużycie pamięci nie zależy od długości symulowanego okresu
+public class ArrivalStream implements ArrivalSource {
+    private static final double HOUR = 3_600_000.0;
+
+    private final List<RateProfile.Period> periods;
+    private final int repetitions;
+    private final ResumableRandom random;
+
+    private int period = 0;
+    private int repetition = 0;
+    private double periodStart = 0;
+    private double time = 0;
+
+    private boolean hasNext;
+    private long nextTime;
+    private int nextOrigin;
+    private int nextDestination;
+
+    public ArrivalStream(RateProfile profile, long seed) {
+        if (profile.getPeriods().isEmpty()) {
+            throw new IllegalArgumentException("Profil ruchu nie zawiera żadnego okresu");
+        }
+        this.periods = profile.getPeriods();
+        this.repetitions = profile.getRepetitions();
+        this.random = new ResumableRandom(seed);
+        generateNext();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    @Override
+    public long nextTime() {
+        return nextTime;
+    }
+
+    @Override
+    public int nextOrigin() {
+        return nextOrigin;
+    }
+
+    @Override
+    public int nextDestination() {
+        return nextDestination;
+    }
+
+    @Override
+    public void advance() {
+        generateNext();
+    }
+
+    // Położenie w strumieniu dla punktu kontrolnego; profil nie jest zapisywany - wznawiający podaje ten sam
+    public long[] getState() {
+        return new long[]{random.getState(), period, repetition, Double.doubleToRawLongBits(periodStart),
+                Double.doubleToRawLongBits(time), hasNext ? 1 : 0, nextTime, nextOrigin, nextDestination};
+    }
+
+    public void restoreState(long[] state) {
+        if (state.length != 9 || state[1] < 0 || state[1] >= periods.size()) {
+            throw new IllegalArgumentException("Stan strumienia przyjść nie pasuje do profilu ruchu");
+        }
+        random.setState(state[0]);
+        period = (int) state[1];
+        repetition = (int) state[2];
+        periodStart = Double.longBitsToDouble(state[3]);
+        time = Double.longBitsToDouble(state[4]);
+        hasNext = state[5] != 0;
+        nextTime = state[6];
+        nextOrigin = (int) state[7];
+        nextDestination = (int) state[8];
+    }
+
+    private void generateNext() {
+        while (repetition < repetitions) {
+            RateProfile.Period current = periods.get(period);
+            double periodEnd = periodStart + current.duration;
+            if (current.passengersPerHour > 0) {
+                // Odstępy wykładnicze; brak pamięci procesu pozwala zacząć losowanie od nowa na granicy okresu
+                double gap = -Math.log(1.0 - random.nextDouble()) * HOUR / current.passengersPerHour;
+                if (time + gap < periodEnd) {
+                    time += gap;
+                    hasNext = true;
+                    nextTime = (long) time;
+                    nextOrigin = current.od.sampleOrigin(random);
+                    nextDestination = current.od.sampleDestination(random, nextOrigin);
+                    return;
+                }
+            }
+            time = periodEnd;
+            periodStart = periodEnd;
+            if (++period == periods.size()) {
+                period = 0;
+                repetition++;
+            }
+        }
+        hasNext = false;
+    }
+}
@@ -0,0 +1,85 @@
+package traffic;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+// Odczyt binarnego dziennika ruchu (TrafficLogFormat) przez przesuwane okno mapowania
+public class BinaryTrafficLog extends TrafficLog {
+    private final MappedLog log;
+    private long time;
+
+    public BinaryTrafficLog(Path file, int floors, long seed) throws IOException {
+        this(new MappedLog(file), floors, seed, file);
+    }
+
+    BinaryTrafficLog(MappedLog log, int floors, long seed, Path file) throws IOException {
+        super(floors, seed);
+        this.log = log;
+        ByteBuffer buffer = log.buffer();
+        if (buffer.remaining() < TrafficLogFormat.HEADER_SIZE || buffer.getInt() != TrafficLogFormat.MAGIC ||
+                buffer.getShort() != TrafficLogFormat.VERSION) {
+            log.close();
+            throw new IllegalArgumentException("To nie jest binarny dziennik ruchu w obsługiwanej wersji: " + file);
+        }
+        time = buffer.getLong();
+    }
+
+    @Override
+    protected boolean readRecord() throws IOException {
+        if (!log.hasRemaining()) {
+            return false;
+        }
+        log.ensure(TrafficLogFormat.MAX_RECORD_SIZE);
+        ByteBuffer buffer = log.buffer();
+        long start = log.position();
+        long delta = getVarLong(buffer, start);
+        long origin = getVarLong(buffer, start);
+        long destination = getVarLong(buffer, start);
+        // Wartości sprawdzane przed zawężeniem do int - uszkodzony plik nie może dać przypadkowego piętra
+        if (delta < 0 || time + delta < time) {
+            throw error(start, "czas poza zakresem");
+        }
+        if (origin < 0 || origin > Integer.MAX_VALUE || destination < 0 || destination - 1 > Integer.MAX_VALUE) {
+            throw error(start, "piętro poza zakresem");
+        }
+        time += delta;
+        recordTime = time;
+        recordOrigin = (int) origin;
+        recordDestination = (int) (destination - 1);
+        return true;
+    }
+
+    @Override
+    protected String location() {
+        return "bajt " + log.position();
+    }
+
+    // Varint najwyżej 10 bajtów; koniec pliku w środku rekordu to ucięty dziennik
+    private static long getVarLong(ByteBuffer buffer, long recordStart) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (!buffer.hasRemaining()) {
+                throw error(recordStart, "ucięty rekord");
+            }
+            if (shift > 63) {
+                throw error(recordStart, "za długa liczba");
+            }
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static IllegalArgumentException error(long position, String message) {
+        return new IllegalArgumentException("Błąd w dzienniku ruchu, bajt " + position + ": " + message);
+    }
+
+    @Override
+    public void close() throws IOException {
+        log.close();
+    }
+}
@@ -0,0 +1,175 @@
+package traffic;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+
+// Dziennik CSV: czas;piętro startowe[;piętro docelowe] - czas w ms albo jako data ISO (2024-03-01T08:00:12.345)
+// Separator: przecinek, średnik lub tabulator; puste linie i komentarze (#) są pomijane, a pierwsza linia z danymi
+// może być nagłówkiem (zaczyna się literą). Każda inna nieprawidłowa linia to błąd z jej numerem
+public class CsvTrafficLog extends TrafficLog {
+    private static final int MAX_LINE = 4096;
+
+    private final MappedLog log;
+    private final byte[] timestamp = new byte[64];
+    private long line = 0;
+    // Nagłówek wolno pominąć tylko przed pierwszym rekordem
+    private boolean headerAllowed = true;
+
+    public CsvTrafficLog(Path file, int floors, long seed) throws IOException {
+        this(new MappedLog(file), floors, seed);
+    }
+
+    CsvTrafficLog(MappedLog log, int floors, long seed) {
+        super(floors, seed);
+        this.log = log;
+    }
+
+    @Override
+    protected boolean readRecord() throws IOException {
+        while (log.hasRemaining()) {
+            log.ensure(MAX_LINE);
+            line++;
+            if (parseLine(log.buffer())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Parsuje jedną linię bez tworzenia obiektów (poza czasem w formacie ISO); false dla linii bez rekordu
+    private boolean parseLine(ByteBuffer buffer) {
+        int start = buffer.position();
+        skipSpaces(buffer);
+        if (!buffer.hasRemaining() || isLineEnd(peek(buffer)) || peek(buffer) == '#') {
+            skipLine(buffer, start);
+            return false;
+        }
+        boolean header = headerAllowed && Character.isLetter(peek(buffer));
+        headerAllowed = false;
+        if (header) {
+            skipLine(buffer, start);
+            return false;
+        }
+
+        int timestampLength = 0;
+        boolean numeric = true;
+        long time = 0;
+        while (buffer.hasRemaining() && !isSeparator(peek(buffer)) && !isLineEnd(peek(buffer))) {
+            byte b = buffer.get();
+            if (timestampLength == timestamp.length) {
+                throw error("za długi znacznik czasu");
+            }
+            timestamp[timestampLength++] = b;
+            if (b >= '0' && b <= '9' && numeric) {
+                if (time > (Long.MAX_VALUE - (b - '0')) / 10) {
+                    throw error("czas poza zakresem");
+                }
+                time = time * 10 + (b - '0');
+            } else {
+                numeric = false;
+            }
+        }
+        recordTime = numeric ? time : parseTimestamp(timestampLength);
+        recordOrigin = nextNumber(buffer, true);
+        recordDestination = nextNumber(buffer, false);
+        if (buffer.hasRemaining() && !isLineEnd(peek(buffer))) {
+            throw error("nadmiarowe znaki po piętrze docelowym");
+        }
+        skipLine(buffer, start);
+        return true;
+    }
+
+    private long parseTimestamp(int length) {
+        String text = new String(timestamp, 0, length, StandardCharsets.US_ASCII).trim().replace(' ', 'T');
+        try {
+            return LocalDateTime.parse(text).toInstant(ZoneOffset.UTC).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw error("nieprawidłowy czas " + text);
+        }
+    }
+
+    // Kolejne pole liczbowe po separatorze; brak opcjonalnego pola (albo puste pole) daje UNKNOWN_DESTINATION.
+    // Zakres sprawdzany w trakcie sumowania cyfr, zanim wartość zostanie zawężona do int
+    private int nextNumber(ByteBuffer buffer, boolean required) {
+        String field = required ? "piętro startowe" : "piętro docelowe";
+        if (!buffer.hasRemaining() || isLineEnd(peek(buffer))) {
+            if (required) {
+                throw error("brak pola " + field);
+            }
+            return TrafficLogFormat.UNKNOWN_DESTINATION;
+        }
+        if (!isSeparator(peek(buffer))) {
+            throw error("nieprawidłowy znak '" + (char) peek(buffer) + "' przed polem " + field);
+        }
+        buffer.get();
+        skipSpaces(buffer);
+        int value = 0;
+        int digits = 0;
+        while (buffer.hasRemaining() && peek(buffer) >= '0' && peek(buffer) <= '9') {
+            int digit = buffer.get() - '0';
+            if (value > (Integer.MAX_VALUE - digit) / 10) {
+                throw error(field + " poza zakresem");
+            }
+            value = value * 10 + digit;
+            digits++;
+        }
+        skipSpaces(buffer);
+        boolean fieldEnd = !buffer.hasRemaining() || isLineEnd(peek(buffer)) || isSeparator(peek(buffer));
+        if (digits == 0 && !required && fieldEnd && (!buffer.hasRemaining() || !isSeparator(peek(buffer)))) {
+            return TrafficLogFormat.UNKNOWN_DESTINATION;
+        }
+        if (digits == 0 || !fieldEnd) {
+            throw error("nieprawidłowe " + field);
+        }
+        return value;
+    }
+
+    private void skipLine(ByteBuffer buffer, int start) {
+        while (buffer.hasRemaining()) {
+            if (buffer.get() == '\n') {
+                return;
+            }
+        }
+        // Koniec okna bez końca linii jest w porządku tylko na końcu pliku
+        if (log.hasRemaining() || buffer.position() - start >= MAX_LINE) {
+            throw error("linia dłuższa niż " + MAX_LINE + " bajtów");
+        }
+    }
+
+    private static void skipSpaces(ByteBuffer buffer) {
+        while (buffer.hasRemaining() && peek(buffer) == ' ') {
+            buffer.get();
+        }
+    }
+
+    private static byte peek(ByteBuffer buffer) {
+        return buffer.get(buffer.position());
+    }
+
+    private static boolean isSeparator(byte b) {
+        return b == ',' || b == ';' || b == '\t';
+    }
+
+    private static boolean isLineEnd(byte b) {
+        return b == '\n' || b == '\r';
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Błąd w dzienniku ruchu, linia " + line + ": " + message);
+    }
+
+    @Override
+    protected String location() {
+        return "linia " + line;
+    }
+
+    @Override
+    public void close() throws IOException {
+        log.close();
+    }
+}
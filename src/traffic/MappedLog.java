@@ -0,0 +1,59 @@
+package traffic;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Odczyt pliku dowolnej wielkości przez przesuwane okno mapowania - na stercie nie ląduje nic z pliku
+class MappedLog implements Closeable {
+    private static final int WINDOW_SIZE = 64 << 20;
+
+    private final FileChannel channel;
+    private final long size;
+    private final int windowSize;
+    private MappedByteBuffer buffer;
+    private long windowStart = 0;
+
+    MappedLog(Path file) throws IOException {
+        this(file, WINDOW_SIZE);
+    }
+
+    MappedLog(Path file, int windowSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.windowSize = windowSize;
+        map(0);
+    }
+
+    MappedByteBuffer buffer() {
+        return buffer;
+    }
+
+    long position() {
+        return windowStart + buffer.position();
+    }
+
+    boolean hasRemaining() {
+        return position() < size;
+    }
+
+    // Przesuwa okno tak, żeby od bieżącej pozycji było dostępne co najmniej bytes bajtów (albo reszta pliku)
+    void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes && windowStart + buffer.limit() < size) {
+            map(position());
+        }
+    }
+
+    private void map(long start) throws IOException {
+        windowStart = start;
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowSize, size - start));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
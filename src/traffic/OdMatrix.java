@@ -0,0 +1,60 @@
+package traffic;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// Dowolna macierz źródło-cel: weights[origin][destination] to względna intensywność danej pary
+public class OdMatrix implements OriginDestination {
+    private final double[] originCumulative;
+    private final double[][] destinationCumulative;
+
+    public OdMatrix(double[][] weights) {
+        int floors = weights.length;
+        originCumulative = new double[floors];
+        destinationCumulative = new double[floors][];
+        double total = 0;
+        for (int origin = 0; origin < floors; origin++) {
+            if (weights[origin].length != floors) {
+                throw new IllegalArgumentException("Macierz musi być kwadratowa: wiersz " + origin);
+            }
+            double[] row = new double[floors];
+            double rowTotal = 0;
+            for (int destination = 0; destination < floors; destination++) {
+                double weight = destination == origin ? 0 : weights[origin][destination];
+                if (weight < 0) {
+                    throw new IllegalArgumentException("Ujemna waga pary " + origin + " -> " + destination);
+                }
+                rowTotal += weight;
+                row[destination] = rowTotal;
+            }
+            destinationCumulative[origin] = row;
+            total += rowTotal;
+            originCumulative[origin] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Macierz nie zawiera żadnego ruchu");
+        }
+    }
+
+    @Override
+    public int sampleOrigin(Random random) {
+        return search(originCumulative, random.nextDouble() * originCumulative[originCumulative.length - 1]);
+    }
+
+    @Override
+    public int sampleDestination(Random random, int origin) {
+        double[] row = destinationCumulative[origin];
+        return search(row, random.nextDouble() * row[row.length - 1]);
+    }
+
+    // Pierwszy indeks, którego suma skumulowana przekracza value
+    private static int search(double[] cumulative, double value) {
+        int index = Arrays.binarySearch(cumulative, value);
+        index = index >= 0 ? index + 1 : -index - 1;
+        // Pomija zerowe wagi (powtórzone sumy) i chroni przed wyjściem poza tablicę
+        while (index < cumulative.length - 1 && cumulative[index] <= value) {
+            index++;
+        }
+        return Math.min(index, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,11 @@
+package traffic;
+
+import java.util.Random;
+
+// Rozkład par (piętro startowe, piętro docelowe) dla przychodzących pasażerów
+public interface OriginDestination {
+    int sampleOrigin(Random random);
+
+    // Cel różny od origin
+    int sampleDestination(Random random, int origin);
+}
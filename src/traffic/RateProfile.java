@@ -0,0 +1,102 @@
+package traffic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Przedziałami stała intensywność przyjść: kolejne okresy z własną liczbą pasażerów na godzinę i macierzą źródło-cel
+public class RateProfile {
+    private static final long HOUR = 3_600_000;
+
+    private final List<Period> periods = new ArrayList<>();
+    private int repetitions = 1;
+
+    static class Period {
+        final long duration;
+        final double passengersPerHour;
+        final OriginDestination od;
+
+        Period(long duration, double passengersPerHour, OriginDestination od) {
+            this.duration = duration;
+            this.passengersPerHour = passengersPerHour;
+            this.od = od;
+        }
+    }
+
+    public RateProfile add(long duration, double passengersPerHour, OriginDestination od) {
+        if (duration <= 0 || passengersPerHour < 0) {
+            throw new IllegalArgumentException("Okres musi mieć dodatni czas trwania i nieujemną intensywność");
+        }
+        periods.add(new Period(duration, passengersPerHour, od));
+        return this;
+    }
+
+    // Profil odtwarzany wielokrotnie, np. ten sam dzień przez kolejne doby
+    public RateProfile repeat(int repetitions) {
+        if (repetitions < 1) {
+            throw new IllegalArgumentException("Liczba powtórzeń musi być dodatnia");
+        }
+        this.repetitions = repetitions;
+        return this;
+    }
+
+    public int getRepetitions() {
+        return repetitions;
+    }
+
+    public long getDuration() {
+        long duration = 0;
+        for (Period period : periods) {
+            duration += period.duration;
+        }
+        return duration * repetitions;
+    }
+
+    List<Period> getPeriods() {
+        return periods;
+    }
+
+    // Intensywności liczone na piętro (bez holu), żeby profil skalował się z wysokością budynku
+    public static RateProfile upPeak(int floors) {
+        return new RateProfile().add(HOUR, 60.0 * (floors - 1), TrafficPattern.upPeak(floors));
+    }
+
+    public static RateProfile downPeak(int floors) {
+        return new RateProfile().add(HOUR, 60.0 * (floors - 1), TrafficPattern.downPeak(floors));
+    }
+
+    public static RateProfile lunch(int floors) {
+        return new RateProfile().add(HOUR, 45.0 * (floors - 1), TrafficPattern.lunch(floors));
+    }
+
+    public static RateProfile interfloor(int floors) {
+        return new RateProfile().add(HOUR, 30.0 * (floors - 1), TrafficPattern.interfloor(floors));
+    }
+
+    // Dzień biurowy 8:00-18:00: poranny szczyt, praca, obiad, praca, popołudniowy szczyt
+    public static RateProfile officeDay(int floors) {
+        return new RateProfile()
+                .add(HOUR, 60.0 * (floors - 1), TrafficPattern.upPeak(floors))
+                .add(3 * HOUR, 15.0 * (floors - 1), TrafficPattern.interfloor(floors))
+                .add(HOUR, 45.0 * (floors - 1), TrafficPattern.lunch(floors))
+                .add(4 * HOUR, 15.0 * (floors - 1), TrafficPattern.interfloor(floors))
+                .add(HOUR, 60.0 * (floors - 1), TrafficPattern.downPeak(floors));
+    }
+
+    public static RateProfile byName(String name, int floors) {
+        switch (name.toLowerCase()) {
+            case "up-peak":
+                return upPeak(floors);
+            case "down-peak":
+                return downPeak(floors);
+            case "lunch":
+                return lunch(floors);
+            case "interfloor":
+                return interfloor(floors);
+            case "day":
+                return officeDay(floors);
+            default:
+                throw new IllegalArgumentException("Nieznany profil ruchu: " + name
+                        + " (dostępne: up-peak, down-peak, lunch, interfloor, day)");
+        }
+    }
+}
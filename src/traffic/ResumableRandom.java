@@ -0,0 +1,38 @@
+package traffic;
+
+import java.util.Random;
+
+// Ten sam generator liniowy co java.util.Random (te same liczby dla tego samego ziarna), ale z dostępnym stanem,
+// który można zapisać w punkcie kontrolnym i odtworzyć
+final class ResumableRandom extends Random {
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    // Bez inicjalizatora - konstruktor Random ustawia go przez setSeed, zanim ruszą inicjalizatory tej klasy
+    private long state;
+
+    ResumableRandom(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        super.setSeed(seed);
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    long getState() {
+        return state;
+    }
+
+    void setState(long state) {
+        this.state = state & MASK;
+    }
+
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+}
@@ -0,0 +1,118 @@
+package traffic;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+// Zarejestrowany ruch budynku jako źródło przyjść; czas liczony od pierwszego rekordu dziennika
+public abstract class TrafficLog implements ArrivalSource, Closeable {
+    private final int floors;
+    private final Random random;
+
+    private boolean started = false;
+    private long baseTime;
+    private long lastTime;
+    private long records = 0;
+
+    private boolean hasNext;
+    private long nextTime;
+    private int nextOrigin;
+    private int nextDestination;
+
+    // Pola rekordu wypełniane przez readRecord()
+    protected long recordTime;
+    protected int recordOrigin;
+    protected int recordDestination;
+
+    protected TrafficLog(int floors, long seed) {
+        this.floors = floors;
+        this.random = new Random(seed);
+    }
+
+    // Rozpoznaje format po pierwszych bajtach: binarny dziennik albo CSV
+    public static TrafficLog open(Path file, int floors, long seed) throws IOException {
+        int magic = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(4);
+            if (channel.read(header) == 4) {
+                magic = header.flip().getInt();
+            }
+        }
+        if (magic == TrafficLogFormat.MAGIC) {
+            return new BinaryTrafficLog(file, floors, seed);
+        }
+        return new CsvTrafficLog(file, floors, seed);
+    }
+
+    // Wczytuje kolejny rekord do pól record*; false na końcu dziennika
+    protected abstract boolean readRecord() throws IOException;
+
+    // Opis miejsca w pliku do komunikatów o błędach
+    protected abstract String location();
+
+    @Override
+    public boolean hasNext() {
+        if (!started) {
+            started = true;
+            advance();
+        }
+        return hasNext;
+    }
+
+    @Override
+    public long nextTime() {
+        return nextTime;
+    }
+
+    @Override
+    public int nextOrigin() {
+        return nextOrigin;
+    }
+
+    @Override
+    public int nextDestination() {
+        return nextDestination;
+    }
+
+    public long getRecordCount() {
+        return records;
+    }
+
+    @Override
+    public void advance() {
+        started = true;
+        try {
+            hasNext = readRecord();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Błąd odczytu dziennika ruchu", e);
+        }
+        if (!hasNext) {
+            return;
+        }
+        if (records == 0) {
+            baseTime = recordTime;
+            lastTime = recordTime;
+        }
+        if (recordTime < lastTime) {
+            throw new IllegalArgumentException("Dziennik ruchu nie jest posortowany po czasie (" + location() + ")");
+        }
+        if (recordOrigin < 0 || recordOrigin >= floors || recordDestination >= floors || recordDestination == recordOrigin) {
+            throw new IllegalArgumentException("Piętra spoza budynku lub cel równy startowi (" + location() + ")");
+        }
+        records++;
+        lastTime = recordTime;
+        nextTime = recordTime - baseTime;
+        nextOrigin = recordOrigin;
+        nextDestination = recordDestination < 0 ? randomDestination(recordOrigin) : recordDestination;
+    }
+
+    private int randomDestination(int origin) {
+        int destination = random.nextInt(floors - 1);
+        return destination >= origin ? destination + 1 : destination;
+    }
+}
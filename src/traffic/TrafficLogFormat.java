@@ -0,0 +1,16 @@
+package traffic;
+
+// Binarny dziennik ruchu: nagłówek [MAGIC][wersja][czas pierwszego rekordu w ms],
+// potem rekordy [przyrost czasu][piętro startowe][piętro docelowe + 1] zapisane jako varinty
+public final class TrafficLogFormat {
+    public static final int MAGIC = 0x4C545246; // "LTRF"
+    public static final short VERSION = 1;
+    public static final int HEADER_SIZE = 4 + 2 + 8;
+    // Piętro docelowe nieznane (np. sam przycisk wezwania) - losuje je źródło przyjść
+    public static final int UNKNOWN_DESTINATION = -1;
+    // Trzy varinty po maks. 10 bajtów
+    static final int MAX_RECORD_SIZE = 3 * 10;
+
+    private TrafficLogFormat() {
+    }
+}
@@ -0,0 +1,72 @@
+package traffic;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Zapis binarnego dziennika ruchu; rekordy muszą przychodzić w kolejności czasu
+public class TrafficLogWriter implements Closeable {
+    private final DataOutputStream out;
+    private boolean headerWritten = false;
+    private long lastTime;
+    private long records = 0;
+
+    public TrafficLogWriter(Path file) throws IOException {
+        out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+    }
+
+    // destination może być TrafficLogFormat.UNKNOWN_DESTINATION
+    public void write(long time, int origin, int destination) throws IOException {
+        if (!headerWritten) {
+            out.writeInt(TrafficLogFormat.MAGIC);
+            out.writeShort(TrafficLogFormat.VERSION);
+            out.writeLong(time);
+            lastTime = time;
+            headerWritten = true;
+        }
+        if (time < lastTime) {
+            throw new IllegalArgumentException("Rekordy dziennika muszą być posortowane po czasie: " + time);
+        }
+        putVarLong(time - lastTime);
+        putVarLong(origin);
+        putVarLong(destination + 1);
+        lastTime = time;
+        records++;
+    }
+
+    public long getRecordCount() {
+        return records;
+    }
+
+    private void putVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!headerWritten) {
+            out.writeInt(TrafficLogFormat.MAGIC);
+            out.writeShort(TrafficLogFormat.VERSION);
+            out.writeLong(0);
+        }
+        out.close();
+    }
+
+    // Przepisuje dziennik CSV do formatu binarnego strumieniowo, zachowując nieznane cele
+    public static long convert(Path csvFile, Path binaryFile) throws IOException {
+        try (CsvTrafficLog csv = new CsvTrafficLog(csvFile, Integer.MAX_VALUE, 0);
+             TrafficLogWriter writer = new TrafficLogWriter(binaryFile)) {
+            while (csv.readRecord()) {
+                writer.write(csv.recordTime, csv.recordOrigin, csv.recordDestination);
+            }
+            return writer.getRecordCount();
+        }
+    }
+}
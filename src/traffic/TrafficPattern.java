@@ -0,0 +1,77 @@
+package traffic;
+
+import java.util.Random;
+
+// Klasyczny podział ruchu na składowe: wejściowy (z holu w górę), wyjściowy (do holu) i międzypiętrowy.
+// Hol jest na parterze; wagi nie muszą sumować się do 1.
+public class TrafficPattern implements OriginDestination {
+    private static final int LOBBY = 0;
+
+    private final int floors;
+    private final double incoming;
+    private final double outgoing;
+    private final double interfloor;
+
+    public TrafficPattern(int floors, double incoming, double outgoing, double interfloor) {
+        if (floors < 2) {
+            throw new IllegalArgumentException("Budynek musi mieć co najmniej 2 piętra");
+        }
+        if (incoming < 0 || outgoing < 0 || interfloor < 0 || incoming + outgoing + interfloor <= 0) {
+            throw new IllegalArgumentException("Wagi ruchu muszą być nieujemne i nie wszystkie zerowe");
+        }
+        // Przy dwóch piętrach nie ma ruchu międzypiętrowego - jedyną parą pięter jest hol i piętro 1
+        if (floors == 2) {
+            outgoing += interfloor;
+            interfloor = 0;
+        }
+        this.floors = floors;
+        this.incoming = incoming;
+        this.outgoing = outgoing;
+        this.interfloor = interfloor;
+    }
+
+    public static TrafficPattern upPeak(int floors) {
+        return new TrafficPattern(floors, 0.85, 0.05, 0.10);
+    }
+
+    public static TrafficPattern downPeak(int floors) {
+        return new TrafficPattern(floors, 0.05, 0.85, 0.10);
+    }
+
+    public static TrafficPattern lunch(int floors) {
+        return new TrafficPattern(floors, 0.40, 0.40, 0.20);
+    }
+
+    public static TrafficPattern interfloor(int floors) {
+        return new TrafficPattern(floors, 0.05, 0.05, 0.90);
+    }
+
+    @Override
+    public int sampleOrigin(Random random) {
+        double total = incoming + outgoing + interfloor;
+        if (random.nextDouble() * total < incoming) {
+            return LOBBY;
+        }
+        return randomUpperFloor(random, -1);
+    }
+
+    @Override
+    public int sampleDestination(Random random, int origin) {
+        if (origin == LOBBY) {
+            return randomUpperFloor(random, -1);
+        }
+        if (interfloor == 0 || random.nextDouble() * (outgoing + interfloor) < outgoing) {
+            return LOBBY;
+        }
+        return randomUpperFloor(random, origin);
+    }
+
+    // Losowe piętro powyżej holu, różne od excluded
+    private int randomUpperFloor(Random random, int excluded) {
+        if (excluded < 1) {
+            return 1 + random.nextInt(floors - 1);
+        }
+        int floor = 1 + random.nextInt(floors - 2);
+        return floor >= excluded ? floor + 1 : floor;
+    }
+}
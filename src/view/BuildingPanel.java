@@ -0,0 +1,413 @@
+package view;
+
+import controler.ElevatorController;
+import model.Building;
+import model.Elevator;
+import simulation.BuildingState;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class BuildingPanel extends JPanel {
+    private final Building building;
+    private final ElevatorController controller;
+
+    //Stałe animacji
+    // Położenie kabiny liczone z czasu symulacji: odcinek od startY do targetY w czasie [departureTime, arrivalTime]
+    private double[] elevatorY;
+    private double[] startY;
+    private double[] targetY;
+    private long[] departureTime;
+    private long[] arrivalTime;
+    private Timer animationTimer;
+    private boolean[] isAnimating;
+    // Limit klatek na sekundę, można zmienić przez -Dliftsimulator.fps
+    private static final int max_fps = Math.max(1, Integer.getInteger("liftsimulator.fps", 60));
+    // Obrót koła linowego w stopniach na piksel ruchu kabiny
+    private static final double circle_speed = 11.0;
+    static final int floor_height = 50;
+    private static final int elevator_height = 40;
+    static final int shaft_spacing = 100;
+    private static final int top_margin = 100;
+    static final int floor_panel_offset = 135;
+    static final int floor_panel_width = 120;
+
+    // Statyczne tło (etykiety, ściany szybów, linie pięter, dach) rysowane raz do pasów po kilka pięter
+    private static final int tile_height = 8 * floor_height;
+    private static final int max_cached_tiles = 6;
+
+    private static final Font label_font = new Font("Arial", Font.BOLD, 12);
+    private static final Color wall_color = new Color(80, 80, 80);
+    private static final Color floor_line_color = new Color(120, 120, 120);
+    private static final Color roof_color = new Color(60, 60, 60);
+    private static final Color pulley_color = new Color(150, 150, 150);
+    private static final Color rope_color = new Color(139, 69, 19);
+    private static final Color elevator_color = new Color(30, 60, 120);
+    private static final Color selected_elevator_color = new Color(200, 120, 0);
+    private static final BasicStroke wall_stroke = new BasicStroke(5);
+    private static final BasicStroke thin_stroke = new BasicStroke(1);
+    private static final BasicStroke frame_stroke = new BasicStroke(2);
+    private static final BasicStroke rope_stroke = new BasicStroke(3);
+    private static final BasicStroke roof_stroke = new BasicStroke(4);
+
+    private final Map<Integer, BufferedImage> backgroundTiles = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, BufferedImage> eldest) {
+            return size() > max_cached_tiles;
+        }
+    };
+    private int backgroundWidth = -1;
+
+    // Położenie parteru - zależy od liczby pięter
+    private final int baseY;
+
+    public BuildingPanel(Building building, ElevatorController controller) {
+        this.building = building;
+        this.controller = controller;
+
+        int elevatorCount = building.getElevatorCount();
+        baseY = top_margin + (building.getFloorsCount() - 1) * floor_height;
+        elevatorY = new double[elevatorCount];
+        startY = new double[elevatorCount];
+        targetY = new double[elevatorCount];
+        departureTime = new long[elevatorCount];
+        arrivalTime = new long[elevatorCount];
+        isAnimating = new boolean[elevatorCount];
+        Arrays.fill(elevatorY, baseY);
+
+        setLayout(null);
+        setPreferredSize(new Dimension(floorPanelX() + floor_panel_width + 20, baseY + 100));
+        setBackground(Color.LIGHT_GRAY);
+        setupAnimationTimer();
+        setupElevatorClickHandler();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        drawBackground(g);
+
+        Graphics2D g2d = (Graphics2D) g.create();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        drawPulleys(g2d);
+        drawElevators(g2d);
+        drawPassengersOnFloors(g2d);
+        g2d.dispose();
+    }
+
+    private int shaftX(int elevatorId) {
+        return 170 + elevatorId * shaft_spacing;
+    }
+
+    int floorPanelX() {
+        return shaftX(building.getElevatorCount() - 1) + floor_panel_offset;
+    }
+
+    int floorY(int floor) {
+        return baseY - floor * floor_height;
+    }
+
+    // Zakres pięter widocznych w podanym prostokącie (z zapasem jednego piętra)
+    int lowestVisibleFloor(Rectangle area) {
+        return Math.max(0, (baseY - area.y - area.height) / floor_height - 1);
+    }
+
+    int highestVisibleFloor(Rectangle area) {
+        return Math.min(building.getFloorsCount() - 1, (baseY + floor_height - area.y) / floor_height + 1);
+    }
+
+    public Rectangle getFloorBounds(int floor) {
+        return new Rectangle(0, floorY(floor) - 10, getWidth(), floor_height);
+    }
+
+    private Rectangle paintArea(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        return clip != null ? clip : new Rectangle(0, 0, getWidth(), getHeight());
+    }
+
+    private void setupAnimationTimer() {
+        animationTimer = new Timer(1000 / max_fps, e -> updateAnimation());
+        animationTimer.setCoalesce(true);
+    }
+
+    private void updateAnimation() {
+        long now = controller.getSimulationTime();
+        boolean anyAnimating = false;
+
+        for (int id = 0; id < isAnimating.length; id++) {
+            if (!isAnimating[id]) continue;
+
+            double previousY = elevatorY[id];
+            if (now >= arrivalTime[id]) {
+                elevatorY[id] = targetY[id];
+                isAnimating[id] = false;
+                controller.elevatorArrived(building.getElevator(id));
+            } else {
+                long duration = Math.max(1, arrivalTime[id] - departureTime[id]);
+                double progress = Math.max(0, now - departureTime[id]) / (double) duration;
+                elevatorY[id] = startY[id] + (targetY[id] - startY[id]) * progress;
+                anyAnimating = true;
+            }
+
+            repaintShaft(id, previousY, elevatorY[id]);
+        }
+
+        if (!anyAnimating) {
+            animationTimer.stop();
+        }
+    }
+
+    // Odświeża tylko to, co się rusza: kabinę z końcem liny, koło linowe i przeciwwagę z jej liną
+    private void repaintShaft(int id, double previousY, double currentY) {
+        int left = shaftX(id);
+        int centerX = left + 25;
+        int top = (int) Math.min(previousY, currentY);
+        int bottom = (int) Math.max(previousY, currentY);
+        int counterBottom = baseY + 100 - top;
+
+        repaint(left + 3, top - 7, elevator_height + 5, bottom - top + elevator_height + 10);
+        repaint(centerX - 18, 62, 36, 36);
+        repaint(centerX + 13, 78, 47, counterBottom - 78 + 32);
+    }
+
+    private void drawBackground(Graphics g) {
+        if (getWidth() != backgroundWidth) {
+            backgroundTiles.clear();
+            backgroundWidth = getWidth();
+        }
+
+        Rectangle area = paintArea(g);
+        int firstTile = Math.max(0, area.y / tile_height);
+        int lastTile = (area.y + area.height - 1) / tile_height;
+        for (int tile = firstTile; tile <= lastTile; tile++) {
+            g.drawImage(backgroundTile(tile), 0, tile * tile_height, null);
+        }
+    }
+
+    private BufferedImage backgroundTile(int tile) {
+        BufferedImage image = backgroundTiles.get(tile);
+        if (image != null) {
+            return image;
+        }
+
+        int width = Math.max(1, backgroundWidth);
+        GraphicsConfiguration configuration = getGraphicsConfiguration();
+        image = configuration != null
+                ? configuration.createCompatibleImage(width, tile_height)
+                : new BufferedImage(width, tile_height, BufferedImage.TYPE_INT_RGB);
+
+        Graphics2D g2d = image.createGraphics();
+        g2d.setColor(getBackground());
+        g2d.fillRect(0, 0, width, tile_height);
+        g2d.translate(0, -tile * tile_height);
+        g2d.clipRect(0, tile * tile_height, width, tile_height);
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        drawFloorLabels(g2d);
+        for (int id = 0; id < building.getElevatorCount(); id++) {
+            drawElevatorBuilding(g2d, id);
+        }
+        g2d.dispose();
+
+        backgroundTiles.put(tile, image);
+        return image;
+    }
+
+    private void drawFloorLabels(Graphics2D g2d) {
+        g2d.setFont(label_font);
+        g2d.setColor(Color.BLACK);
+        FontMetrics metrics = g2d.getFontMetrics();
+
+        Rectangle area = paintArea(g2d);
+        for (int floor = lowestVisibleFloor(area); floor <= highestVisibleFloor(area); floor++) {
+            String label = "P" + floor;
+            int x = 135 - metrics.stringWidth(label) / 2;
+            int y = floorY(floor) - 10 + 20 + metrics.getAscent() / 2;
+            g2d.drawString(label, x, y);
+        }
+    }
+
+    private void drawElevatorBuilding(Graphics2D g2d, int id) {
+        int left = shaftX(id);
+        int right = left + 50;
+
+        // Ściany szybu
+        g2d.setColor(wall_color);
+        g2d.setStroke(wall_stroke);
+        g2d.drawLine(left, top_margin, left, baseY + 50); // lewa
+        g2d.drawLine(right, top_margin, right, baseY + 50); // prawa
+
+        // Linie pięter, tylko widoczne
+        g2d.setColor(floor_line_color);
+        g2d.setStroke(thin_stroke);
+        Rectangle area = paintArea(g2d);
+        for (int i = lowestVisibleFloor(area); i <= highestVisibleFloor(area) + 1; i++) {
+            int y = floorY(i);
+            g2d.drawLine(left, y + 40, right, y + 40);
+        }
+
+        // Dach
+        g2d.setColor(roof_color);
+        g2d.setStroke(roof_stroke);
+        g2d.drawLine(left - 15, 95, right + 15, 95);
+    }
+
+    private void drawPulleys(Graphics2D g2d) {
+        for (int id = 0; id < building.getElevatorCount(); id++) {
+            drawPulleySystem(g2d, id);
+        }
+    }
+
+    private void drawPulleySystem(Graphics2D g2d, int id) {
+        int centerX = shaftX(id) + 25, centerY = 80, radius = 15;
+        double elevatorY = this.elevatorY[id];
+        double pulleyRotation = (elevatorY * circle_speed) % 360;
+
+        AffineTransform transform = g2d.getTransform();
+        g2d.translate(centerX, centerY);
+        g2d.rotate(Math.toRadians(pulleyRotation));
+
+        g2d.setColor(pulley_color);
+        g2d.fillOval(-radius, -radius, radius * 2, radius * 2);
+        g2d.setColor(wall_color);
+        g2d.setStroke(frame_stroke);
+        g2d.drawOval(-radius, -radius, radius * 2, radius * 2);
+        g2d.setColor(roof_color);
+        g2d.fillOval(-4, -4, 8, 8);
+
+        g2d.setTransform(transform);
+
+        // Liny
+        g2d.setColor(rope_color);
+        g2d.setStroke(rope_stroke);
+        g2d.drawLine(centerX, centerY + radius, centerX, (int) elevatorY);
+
+        // Przeciwwaga
+        int counterY = (int)(baseY + 100 - elevatorY);
+        g2d.drawLine(centerX + radius, centerY, centerX + 50, counterY);
+        g2d.setColor(wall_color);
+        g2d.fillRect(centerX + 42, counterY, 16, 30);
+    }
+
+    private void drawElevators(Graphics2D g2d) {
+        Rectangle area = paintArea(g2d);
+        for (Elevator elevator : building.getElevators()) {
+            if (area.intersects(elevatorBounds(elevator))) {
+                drawElevator(g2d, elevator);
+            }
+        }
+    }
+
+    // Kabina razem z punktem mocowania i obrysem
+    private Rectangle elevatorBounds(Elevator elevator) {
+        return new Rectangle(shaftX(elevator.getId()) + 3, (int) elevatorY[elevator.getId()] - 6,
+                elevator_height + 5, elevator_height + 9);
+    }
+
+    private void drawElevator(Graphics2D g2d, Elevator elevator) {
+        int elevatorX = shaftX(elevator.getId()) + 5;
+        int elevatorY = (int) this.elevatorY[elevator.getId()];
+
+        // Ramka windy, wybrana winda wyróżniona
+        boolean selected = building.getElevatorCount() > 1 && elevator == controller.getSelectedElevator();
+        g2d.setColor(selected ? selected_elevator_color : elevator_color);
+        g2d.setStroke(frame_stroke);
+        g2d.drawRoundRect(elevatorX, elevatorY, elevator_height, elevator_height, 8, 8);
+
+        // Punkt mocowania
+        g2d.setColor(roof_color);
+        g2d.fillOval(elevatorX + elevator_height /2 - 3, elevatorY - 5, 6, 6);
+
+        drawPassengersInElevator(g2d, elevator, elevatorX, elevatorY);
+    }
+
+    private void drawPassengersInElevator(Graphics2D g2d, Elevator elevator, int elevatorX, int elevatorY) {
+        BuildingState state = controller.getState();
+        int car = elevator.getId();
+        for (int i = 0; i < state.getPassengerCount(car); i++) {
+            int x = 5 + (i % 3) * 8;
+            int y = 5 + (i / 3) * 10;
+            PassengerSprites.drawRider(g2d, state.getRiderOrigin(car, i), elevatorX + x, elevatorY + y);
+        }
+    }
+
+    private void drawPassengersOnFloors(Graphics2D g2d) {
+        Rectangle area = paintArea(g2d);
+        BuildingState state = controller.getState();
+        for (int floor = lowestVisibleFloor(area); floor <= highestVisibleFloor(area); floor++) {
+            int floorY = floorY(floor);
+            int startX = 5;
+
+            int waitingPassengers = state.getWaitingPassengers(floor);
+
+            for (int i = 0; i < waitingPassengers; i++) {
+                int x = startX + i * 12;
+                int y = floorY + 10;
+                PassengerSprites.drawWaiting(g2d, floor, x, y);
+            }
+        }
+    }
+
+    private void setupElevatorClickHandler() {
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                for (Elevator elevator : building.getElevators()) {
+                    if (isClickOnElevator(elevator, e.getX(), e.getY())) {
+                        controller.exitPassenger(elevator);
+                    }
+                }
+            }
+        });
+    }
+
+    private boolean isClickOnElevator(Elevator elevator, int x, int y) {
+        int elevatorX = shaftX(elevator.getId()) + 5;
+        int elevatorY = (int) this.elevatorY[elevator.getId()];
+        return x >= elevatorX && x <= elevatorX + elevator_height &&
+                y >= elevatorY && y <= elevatorY + elevator_height;
+    }
+
+    // Kabina jedzie od bieżącego położenia na ekranie do targetFloor, docierając tam w chwili arrivalTime
+    public void moveElevator(Elevator elevator, int targetFloor, long departureTime, long arrivalTime) {
+        int id = elevator.getId();
+        startY[id] = elevatorY[id];
+        targetY[id] = floorY(targetFloor);
+        this.departureTime[id] = departureTime;
+        this.arrivalTime[id] = arrivalTime;
+        isAnimating[id] = true;
+        if (!animationTimer.isRunning()) {
+            animationTimer.start();
+        }
+    }
+
+    // Ustawia kabinę na piętrze, na którym stoi w symulacji
+    public void updateElevatorPosition(Elevator elevator, int floor) {
+        int id = elevator.getId();
+        double previousY = elevatorY[id];
+        boolean wasAnimating = isAnimating[id];
+        elevatorY[id] = floorY(floor);
+        isAnimating[id] = false;
+        repaintShaft(id, previousY, elevatorY[id]);
+        if (wasAnimating) {
+            controller.elevatorArrived(elevator);
+        }
+    }
+
+    public boolean isElevatorAnimating(Elevator elevator) {
+        return isAnimating[elevator.getId()];
+    }
+
+    public void stopAnimation() {
+        if (animationTimer != null) {
+            animationTimer.stop();
+        }
+        Arrays.fill(isAnimating, false);
+        Arrays.fill(elevatorY, baseY);
+    }
+}
@@ -0,0 +1,51 @@
+package view;
+
+import javax.swing.*;
+import java.awt.*;
+
+// Panel piętra z przyciskiem wezwania; wiersze są wielokrotnie używane dla aktualnie widocznych pięter
+class FloorRow {
+    final JPanel panel;
+    final JButton callButton;
+    final JLabel directionArrow;
+    private int floor = -1;
+
+    FloorRow() {
+        panel = new JPanel();
+        panel.setLayout(null);
+        panel.setBorder(BorderFactory.createLineBorder(Color.DARK_GRAY, 2));
+        panel.setBackground(new Color(240, 240, 240));
+        panel.setFocusable(false);
+
+        callButton = new JButton("Wezwij");
+        callButton.setBounds(5, 8, 70, 25);
+        callButton.setEnabled(false);
+        callButton.setFont(new Font("Arial", Font.PLAIN, 10));
+        panel.add(callButton);
+
+        directionArrow = new JLabel("", SwingConstants.CENTER);
+        directionArrow.setBounds(80, 5, 30, 30);
+        directionArrow.setFont(new Font("Arial", Font.BOLD, 20));
+        directionArrow.setVisible(false);
+        panel.add(directionArrow);
+    }
+
+    void bind(int floor, int x, int y) {
+        this.floor = floor;
+        panel.setBounds(x, y, BuildingPanel.floor_panel_width, 40);
+        panel.setVisible(true);
+    }
+
+    void unbind() {
+        floor = -1;
+        panel.setVisible(false);
+    }
+
+    int getFloor() {
+        return floor;
+    }
+
+    boolean isBound() {
+        return floor >= 0;
+    }
+}
@@ -0,0 +1,427 @@
+package view;
+
+import model.Elevator;
+import simulation.BuildingState;
+import simulation.StatePublisher;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.util.List;
+
+// Przegląd wielu budynków naraz z poziomami szczegółowości. Z daleka każde piętro to pasek mapy cieplnej
+// oczekujących, a każda winda to jeden prostokąt; po przybliżeniu dochodzą obrysy, wezwania, a na końcu
+// postaci pasażerów i numery pięter. Wszystko rysowane w paintComponent, bez komponentów Swing na piętro.
+// Panel czyta tylko obrazy stanu z publikatorów, więc nie spowalnia wątków symulacji
+public class OverviewPanel extends JPanel {
+    private static final int max_fps = Math.max(1, Integer.getInteger("liftsimulator.fps", 60));
+
+    // Układ w jednostkach świata: piętro ma wysokość 1, szyb szerokość 1, mapa cieplna heat_width
+    private static final int heat_width = 4;
+    private static final int building_gap = 2;
+    private static final int label_height = 2;
+
+    // Progi szczegółowości w pikselach na piętro
+    private static final double medium_scale = 4;
+    private static final double detail_scale = 24;
+    private static final double min_scale = 0.05;
+    private static final double max_scale = 80;
+    private static final double zoom_step = 1.25;
+
+    // Od tej liczby oczekujących piętro ma najgorętszy kolor
+    private static final int heat_max = 12;
+    private static final Color[] heat_colors = createHeatColors(32);
+    private static final Color background_color = new Color(35, 35, 40);
+    private static final Color shaft_color = new Color(55, 55, 62);
+    private static final Color outline_color = new Color(110, 110, 120);
+    private static final Color label_color = new Color(210, 210, 210);
+    private static final Color idle_color = new Color(90, 120, 180);
+    private static final Color up_color = new Color(60, 180, 90);
+    private static final Color down_color = new Color(200, 80, 70);
+    private static final Color doors_color = new Color(230, 170, 40);
+    private static final Color call_color = new Color(255, 255, 255);
+    private static final Font label_font = new Font("Arial", Font.PLAIN, 11);
+
+    private final List<StatePublisher> buildings;
+    // Lewy górny róg budynku w jednostkach świata i jego wymiary
+    private final int[] buildingX;
+    private final int[] buildingY;
+    private final int[] floors;
+    private final int[] cars;
+    private final int worldWidth;
+    private final int worldHeight;
+
+    // Piksele na jednostkę i położenie początku świata na ekranie
+    private double scale = 1;
+    private double originX = 0;
+    private double originY = 0;
+    // Dopóki użytkownik nie przybliżał, widok dopasowuje się do rozmiaru okna
+    private boolean fitted = true;
+
+    private final Timer refreshTimer;
+    private long shownVersions = -1;
+    private Point dragStart;
+
+    public OverviewPanel(List<StatePublisher> buildings) {
+        this.buildings = buildings;
+        int count = buildings.size();
+        buildingX = new int[count];
+        buildingY = new int[count];
+        floors = new int[count];
+        cars = new int[count];
+
+        // Budynki układane w rzędy o szerokości zbliżonej do proporcji 16:9 całej ściany
+        long area = 0;
+        for (int i = 0; i < count; i++) {
+            BuildingState state = buildings.get(i).snapshot();
+            floors[i] = state.getFloorsCount();
+            cars[i] = state.getElevatorCount();
+            area += (long) (width(i) + building_gap) * (floors[i] + label_height + building_gap);
+        }
+        int rowWidth = (int) Math.max(1, Math.sqrt(area * 16 / 9.0));
+        int x = 0;
+        int y = 0;
+        int rowHeight = 0;
+        int widest = 0;
+        for (int i = 0; i < count; i++) {
+            if (x > 0 && x + width(i) > rowWidth) {
+                x = 0;
+                y += rowHeight;
+                rowHeight = 0;
+            }
+            buildingX[i] = x;
+            buildingY[i] = y;
+            x += width(i) + building_gap;
+            widest = Math.max(widest, x);
+            rowHeight = Math.max(rowHeight, floors[i] + label_height + building_gap);
+        }
+        worldWidth = widest;
+        worldHeight = y + rowHeight;
+
+        setBackground(background_color);
+        setPreferredSize(new Dimension(1280, 720));
+        setupNavigation();
+        refreshTimer = new Timer(1000 / max_fps, e -> repaintIfChanged());
+        refreshTimer.setCoalesce(true);
+        refreshTimer.start();
+    }
+
+    private int width(int building) {
+        return heat_width + cars[building];
+    }
+
+    private static Color[] createHeatColors(int steps) {
+        Color[] colors = new Color[steps];
+        for (int i = 0; i < steps; i++) {
+            // Od chłodnego szarego przez żółty do czerwieni
+            float t = i / (float) (steps - 1);
+            float hue = 0.16f * (1 - t);
+            float saturation = Math.min(1, 0.15f + 1.5f * t);
+            float brightness = 0.45f + 0.55f * Math.min(1, 2 * t);
+            colors[i] = Color.getHSBColor(hue, saturation, brightness);
+        }
+        return colors;
+    }
+
+    private static Color heatColor(int waiting) {
+        int index = Math.min(heat_colors.length - 1, waiting * (heat_colors.length - 1) / heat_max);
+        return heat_colors[Math.max(1, index)];
+    }
+
+    // Suma wersji wszystkich publikatorów rośnie przy każdej zmianie któregokolwiek budynku
+    private void repaintIfChanged() {
+        long versions = 0;
+        for (StatePublisher building : buildings) {
+            versions += building.getVersion();
+        }
+        if (versions != shownVersions) {
+            shownVersions = versions;
+            repaint();
+        }
+    }
+
+    public void stop() {
+        refreshTimer.stop();
+    }
+
+    private void setupNavigation() {
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                if (fitted) {
+                    fitAll();
+                }
+            }
+        });
+
+        MouseAdapter navigation = new MouseAdapter() {
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                zoom(Math.pow(zoom_step, -e.getPreciseWheelRotation()), e.getX(), e.getY());
+            }
+
+            @Override
+            public void mousePressed(MouseEvent e) {
+                dragStart = e.getPoint();
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                if (dragStart == null) return;
+                originX += e.getX() - dragStart.x;
+                originY += e.getY() - dragStart.y;
+                dragStart = e.getPoint();
+                fitted = false;
+                repaint();
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                dragStart = null;
+            }
+
+            // Podwójne kliknięcie przybliża budynek do pełnych szczegółów, prawy przycisk wraca do całości
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (SwingUtilities.isRightMouseButton(e)) {
+                    fitAll();
+                } else if (e.getClickCount() == 2) {
+                    int building = buildingAt(e.getX(), e.getY());
+                    if (building >= 0) {
+                        fitBuilding(building);
+                    }
+                }
+            }
+        };
+        addMouseListener(navigation);
+        addMouseMotionListener(navigation);
+        addMouseWheelListener(navigation);
+    }
+
+    public void fitAll() {
+        fitArea(0, 0, worldWidth, worldHeight);
+        fitted = true;
+    }
+
+    public void fitBuilding(int building) {
+        fitArea(buildingX[building] - 1, buildingY[building], width(building) + 2, floors[building] + label_height);
+        fitted = false;
+    }
+
+    private void fitArea(double x, double y, double width, double height) {
+        if (getWidth() == 0 || getHeight() == 0) return;
+        scale = clampScale(Math.min(getWidth() / width, getHeight() / height));
+        originX = (getWidth() - width * scale) / 2 - x * scale;
+        originY = (getHeight() - height * scale) / 2 - y * scale;
+        repaint();
+    }
+
+    // Punkt pod kursorem zostaje w miejscu
+    private void zoom(double factor, int x, int y) {
+        double next = clampScale(scale * factor);
+        originX = x - (x - originX) * next / scale;
+        originY = y - (y - originY) * next / scale;
+        scale = next;
+        fitted = false;
+        repaint();
+    }
+
+    private static double clampScale(double scale) {
+        return Math.max(min_scale, Math.min(max_scale, scale));
+    }
+
+    private int buildingAt(int x, int y) {
+        double worldX = (x - originX) / scale;
+        double worldY = (y - originY) / scale;
+        for (int i = 0; i < buildingX.length; i++) {
+            if (worldX >= buildingX[i] && worldX < buildingX[i] + width(i) &&
+                    worldY >= buildingY[i] && worldY < buildingY[i] + label_height + floors[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public double getScale() {
+        return scale;
+    }
+
+    public String getDetailLevel() {
+        return scale >= detail_scale ? "pełne szczegóły" : scale >= medium_scale ? "obrysy i wezwania" : "mapa cieplna";
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+
+        Graphics2D g2d = (Graphics2D) g.create();
+        g2d.setFont(label_font);
+        for (int i = 0; i < buildingX.length; i++) {
+            int left = screenX(buildingX[i]);
+            int top = screenY(buildingY[i]);
+            int right = screenX(buildingX[i] + width(i));
+            int bottom = screenY(buildingY[i] + label_height + floors[i]);
+            // Budynki poza oknem nie kosztują nic poza tym sprawdzeniem
+            if (right < clip.x || left > clip.x + clip.width || bottom < clip.y || top > clip.y + clip.height) {
+                continue;
+            }
+            drawBuilding(g2d, i, buildings.get(i).snapshot());
+        }
+        g2d.dispose();
+    }
+
+    private int screenX(double worldX) {
+        return (int) Math.floor(originX + worldX * scale);
+    }
+
+    private int screenY(double worldY) {
+        return (int) Math.floor(originY + worldY * scale);
+    }
+
+    // Górna krawędź piętra floor budynku; parter na dole
+    private int floorTop(int building, int floor) {
+        return screenY(buildingY[building] + label_height + floors[building] - 1 - floor);
+    }
+
+    private void drawBuilding(Graphics2D g2d, int building, BuildingState state) {
+        int left = screenX(buildingX[building]);
+        int heatRight = screenX(buildingX[building] + heat_width);
+        int right = screenX(buildingX[building] + width(building));
+        int top = floorTop(building, floors[building] - 1);
+        int bottom = floorTop(building, -1);
+
+        g2d.setColor(shaft_color);
+        g2d.fillRect(left, top, right - left, bottom - top);
+
+        if (scale >= detail_scale) {
+            drawFloorDetails(g2d, building, state, left, heatRight, right);
+        } else {
+            drawHeatMap(g2d, building, state, left, heatRight);
+        }
+        for (int car = 0; car < cars[building]; car++) {
+            drawCar(g2d, building, state, car);
+        }
+
+        if (scale >= medium_scale) {
+            g2d.setColor(outline_color);
+            g2d.drawRect(left, top, right - left - 1, bottom - top - 1);
+            g2d.drawLine(heatRight, top, heatRight, bottom - 1);
+            drawCalls(g2d, building, state, heatRight);
+            if (scale * label_height >= 14) {
+                g2d.setColor(label_color);
+                g2d.drawString("#" + building + (state.isRunning() ? "" : " (koniec)"), left, top - 4);
+            }
+        }
+    }
+
+    // Tylko piętra z oczekującymi; z daleka kilka pięter dzieli jeden wiersz pikseli, a liczy się najgorsze
+    private void drawHeatMap(Graphics2D g2d, int building, BuildingState state, int left, int right) {
+        int lastRow = Integer.MIN_VALUE;
+        int lastWaiting = 0;
+        for (int i = 0; i < state.getOccupiedFloorCount(); i++) {
+            int floor = state.getOccupiedFloor(i);
+            int waiting = state.getWaitingPassengers(floor);
+            int rowTop = floorTop(building, floor);
+            int rowBottom = Math.max(rowTop + 1, floorTop(building, floor - 1) - (scale >= medium_scale ? 1 : 0));
+            if (rowTop == lastRow && waiting <= lastWaiting) {
+                continue;
+            }
+            lastRow = rowTop;
+            lastWaiting = waiting;
+            g2d.setColor(heatColor(waiting));
+            g2d.fillRect(left, rowTop, right - left, rowBottom - rowTop);
+        }
+    }
+
+    private void drawCar(Graphics2D g2d, int building, BuildingState state, int car) {
+        int x = screenX(buildingX[building] + heat_width + car);
+        int width = Math.max(1, screenX(buildingX[building] + heat_width + car + 1) - x);
+        int floor = state.getCurrentFloor(car);
+        int top = floorTop(building, floor);
+        int height = Math.max(1, floorTop(building, floor - 1) - top);
+
+        Color color = state.isExitPhase(car) ? doors_color
+                : state.getDirection(car) > 0 ? up_color : state.getDirection(car) < 0 ? down_color : idle_color;
+        g2d.setColor(color);
+        if (scale < medium_scale) {
+            g2d.fillRect(x, top, width, height);
+            return;
+        }
+
+        // Obrys kabiny, a wypełnienie od dołu według zajętości
+        int inset = Math.max(1, width / 8);
+        int carWidth = width - 2 * inset;
+        int carHeight = height - inset;
+        int riders = state.getPassengerCount(car);
+        int fill = carHeight * riders / Math.max(riders, Elevator.DEFAULT_CAPACITY);
+        g2d.drawRect(x + inset, top + inset, carWidth - 1, carHeight - 1);
+        g2d.fillRect(x + inset, top + inset + carHeight - fill, carWidth, fill);
+
+        if (scale >= detail_scale) {
+            drawRiders(g2d, state, car, x + inset, top + inset, carWidth, carHeight);
+        }
+    }
+
+    private void drawRiders(Graphics2D g2d, BuildingState state, int car, int x, int y, int width, int height) {
+        int perRow = Math.max(1, (width - 2) / 9);
+        int rows = Math.max(1, (height - 2) / 10);
+        int riders = state.getPassengerCount(car);
+        int shown = Math.min(riders, perRow * rows);
+        for (int i = 0; i < shown; i++) {
+            PassengerSprites.drawRider(g2d, state.getRiderOrigin(car, i), x + 2 + (i % perRow) * 9,
+                    y + 2 + (i / perRow) * 10);
+        }
+    }
+
+    // Kreska przy mapie cieplnej: wezwanie z piętra, kolor windy, która je obsłuży
+    private void drawCalls(Graphics2D g2d, int building, BuildingState state, int heatRight) {
+        int width = Math.max(2, (int) (scale / 4));
+        for (int i = 0; i < state.getCallCount(); i++) {
+            int floor = state.getCallFloor(i);
+            int top = floorTop(building, floor);
+            int height = Math.max(1, floorTop(building, floor - 1) - top - 1);
+            g2d.setColor(state.getAssignedCar(floor) >= 0 ? call_color : doors_color);
+            g2d.fillRect(heatRight - width, top, width, height);
+        }
+    }
+
+    // Pełne szczegóły: linie i numery pięter oraz postacie oczekujących, tylko w widocznych wierszach
+    private void drawFloorDetails(Graphics2D g2d, int building, BuildingState state, int left, int heatRight,
+                                  int right) {
+        Rectangle clip = g2d.getClipBounds();
+        int clipTop = clip != null ? clip.y : 0;
+        int clipBottom = clip != null ? clip.y + clip.height : getHeight();
+        FontMetrics metrics = g2d.getFontMetrics();
+        int perRow = Math.max(1, (heatRight - left - 24) / 12);
+
+        for (int floor = 0; floor < floors[building]; floor++) {
+            int top = floorTop(building, floor);
+            int bottom = floorTop(building, floor - 1);
+            if (bottom < clipTop || top > clipBottom) {
+                continue;
+            }
+            g2d.setColor(outline_color);
+            g2d.drawLine(left, bottom - 1, right - 1, bottom - 1);
+            g2d.setColor(label_color);
+            g2d.drawString("P" + floor, left + 2, top + (bottom - top + metrics.getAscent()) / 2);
+
+            int waiting = state.getWaitingPassengers(floor);
+            int shown = Math.min(waiting, perRow);
+            for (int i = 0; i < shown; i++) {
+                PassengerSprites.drawWaiting(g2d, floor, left + 24 + i * 12, top + (bottom - top) / 2 - 3);
+            }
+            if (waiting > shown) {
+                g2d.setColor(heatColor(waiting));
+                g2d.drawString("+" + (waiting - shown), left + 24 + shown * 12,
+                        top + (bottom - top + metrics.getAscent()) / 2);
+            }
+        }
+    }
+}
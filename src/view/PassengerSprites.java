@@ -0,0 +1,65 @@
+package view;
+
+import Utils.Utils;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+// Atlas gotowych ikon pasażerów: kolumna na kolor piętra, wiersz na rozmiar (w kabinie / na piętrze)
+final class PassengerSprites {
+    private static final int cell_size = 12;
+    // Margines komórki mieszczący obrys wychodzący poza owal
+    private static final int padding = 2;
+    private static final int rider_size = 8;
+    private static final int waiting_size = 6;
+    private static final int rider_row = 0;
+    private static final int waiting_row = 1;
+
+    private static final BufferedImage atlas = createAtlas();
+
+    private PassengerSprites() {
+    }
+
+    private static BufferedImage createAtlas() {
+        int colors = Utils.getFloorColorCount();
+        BufferedImage image = new BufferedImage(colors * cell_size, 2 * cell_size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        for (int i = 0; i < colors; i++) {
+            Color color = Utils.getFloorColor(i);
+            int x = i * cell_size + padding;
+
+            g2d.setColor(color);
+            g2d.fillOval(x, rider_row * cell_size + padding, rider_size, rider_size);
+            g2d.setColor(color.darker());
+            g2d.setStroke(new BasicStroke(1.5f));
+            g2d.drawOval(x, rider_row * cell_size + padding, rider_size, rider_size);
+
+            g2d.setColor(color);
+            g2d.fillOval(x, waiting_row * cell_size + padding, waiting_size, waiting_size);
+            g2d.setColor(color.darker());
+            g2d.setStroke(new BasicStroke(1));
+            g2d.drawOval(x, waiting_row * cell_size + padding, waiting_size, waiting_size);
+        }
+
+        g2d.dispose();
+        return image;
+    }
+
+    // x, y to lewy górny róg owalu, tak jak przy fillOval
+    static void drawRider(Graphics g, int originFloor, int x, int y) {
+        draw(g, originFloor, rider_row, x, y);
+    }
+
+    static void drawWaiting(Graphics g, int floor, int x, int y) {
+        draw(g, floor, waiting_row, x, y);
+    }
+
+    private static void draw(Graphics g, int floor, int row, int x, int y) {
+        int sx = Utils.getFloorColorIndex(floor) * cell_size;
+        int sy = row * cell_size;
+        int dx = x - padding;
+        int dy = y - padding;
+        g.drawImage(atlas, dx, dy, dx + cell_size, dy + cell_size, sx, sy, sx + cell_size, sy + cell_size, null);
+    }
+}
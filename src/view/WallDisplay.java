@@ -0,0 +1,68 @@
+package view;
+
+import district.District;
+import simulation.SimulationActor;
+import javax.swing.*;
+import java.awt.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Ściana podglądu dzielnicy: osobny wątek przesuwa wszystkie budynki w tempie zegara ściennego razy speed,
+// a okno pokazuje je w przeglądzie z poziomami szczegółowości (OverviewPanel)
+public class WallDisplay extends JFrame {
+    private static final long HOUR = 3_600_000;
+
+    private final District district;
+    private final OverviewPanel overview;
+    private final JLabel status = new JLabel(" ");
+    private final double speed;
+    private final long tickNanos;
+    private volatile long simulationTime = 0;
+    private volatile boolean finished = false;
+
+    public WallDisplay(District district, double speed, long tickMillis) {
+        this.district = district;
+        this.speed = speed;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.overview = new OverviewPanel(district.enableStatePublishing());
+
+        setTitle("Dzielnica: " + district.size() + " budynków");
+        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        setLayout(new BorderLayout());
+        add(overview, BorderLayout.CENTER);
+        status.setBorder(BorderFactory.createEmptyBorder(2, 6, 2, 6));
+        add(status, BorderLayout.SOUTH);
+        pack();
+        setLocationRelativeTo(null);
+
+        new Timer(250, e -> updateStatus()).start();
+    }
+
+    public void start() {
+        SimulationActor.newThread("ściana-symulacja", this::runLoop).start();
+    }
+
+    // Krok co tickNanos do chwili wynikającej z zegara ściennego; po końcu ruchu wątek kończy pracę
+    private void runLoop() {
+        long started = System.nanoTime();
+        try {
+            boolean running = true;
+            while (running) {
+                LockSupport.parkNanos(tickNanos);
+                long target = (long) ((System.nanoTime() - started) / 1_000_000.0 * speed);
+                running = district.advanceTo(target);
+                simulationTime = target;
+            }
+        } finally {
+            finished = true;
+            district.shutdown();
+        }
+    }
+
+    private void updateStatus() {
+        status.setText(String.format("Czas symulacji: %.2f h%s | %.1f px na piętro, %s | kółko - przybliżenie, " +
+                        "przeciąganie - przesunięcie, dwuklik - budynek, prawy przycisk - całość",
+                simulationTime / (double) HOUR, finished ? " (koniec)" : "", overview.getScale(),
+                overview.getDetailLevel()));
+    }
+}
@@ -0,0 +1,55 @@
+package batch;
+
+import dispatch.DispatchStrategies;
+import org.junit.jupiter.api.Test;
+import simulation.CarType;
+import simulation.SimulationConfig;
+import traffic.RateProfile;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class ParameterSweepTest {
+    private static ParameterSweep sweep(SimulationConfig base) {
+        return new ParameterSweep(base, "up-peak", RateProfile.byName("up-peak", base.getFloors()), 2, 1,
+                new ScenarioCache(), 1)
+                .elevatorCounts(2, 3).capacities(8).floorTravelTimes(1000, 750, 500).exitPhaseTimes(3000)
+                .strategies(List.of(DispatchStrategies.LOOK));
+    }
+
+    @Test
+    void travelTimeAxisIsSweptWithoutCarType() {
+        List<SimulationConfig> candidates = sweep(SimulationConfig.defaults()).candidates();
+        assertEquals(6, candidates.size());
+        assertEquals(6, new HashSet<>(candidates).size());
+    }
+
+    // Z typem kabiny czas przejazdu nic nie zmienia - oś się zwija, bez identycznych kandydatów o różnym koszcie
+    @Test
+    void travelTimeAxisCollapsesWithCarType() {
+        SimulationConfig base = SimulationConfig.defaults().withCarType(CarType.OFFICE);
+        ParameterSweep sweep = sweep(base);
+        List<SimulationConfig> candidates = sweep.candidates();
+        assertEquals(2, candidates.size());
+        Set<ScenarioCache.Key> keys = new HashSet<>();
+        for (SimulationConfig config : candidates) {
+            assertEquals(base.getFloorTravelTime(), config.getFloorTravelTime());
+            keys.add(sweep.scenarioKey(config));
+        }
+        assertEquals(2, keys.size());
+    }
+
+    @Test
+    void scenarioKeyCarriesAllFields() {
+        ParameterSweep sweep = sweep(SimulationConfig.defaults());
+        SimulationConfig config = SimulationConfig.defaults().withElevatorCount(3);
+        ScenarioCache.Key key = sweep.scenarioKey(config);
+        assertEquals(key, sweep.scenarioKey(SimulationConfig.defaults().withElevatorCount(3)));
+        assertNotEquals(key, sweep.scenarioKey(config.withExitPhaseTime(2000)));
+        assertEquals("v=2|" + config.key() + "|profile=up-peak|repetitions=1|replicas=2|seed=1", key.getFields());
+    }
+}
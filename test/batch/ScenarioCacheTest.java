@@ -0,0 +1,70 @@
+package batch;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ScenarioCacheTest {
+    @TempDir
+    Path directory;
+
+    private static ScenarioResult result(double p95) {
+        return new ScenarioResult(p95, 0.5, p95 / 2, 1200);
+    }
+
+    // Ten sam skrót, inne pola - dwa osobne wyniki zamiast jednego cudzego
+    @Test
+    void hashCollisionDoesNotShareResult() {
+        ScenarioCache cache = new ScenarioCache();
+        ScenarioCache.Key first = new ScenarioCache.Key(42, "floors=11,cars=2");
+        ScenarioCache.Key second = new ScenarioCache.Key(42, "floors=11,cars=3");
+
+        assertEquals(10.0, cache.get(first, () -> result(10)).getP95Wait());
+        assertEquals(20.0, cache.get(second, () -> result(20)).getP95Wait());
+        assertEquals(10.0, cache.get(first, () -> result(99)).getP95Wait());
+        assertEquals(2, cache.getMisses());
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void fileKeepsKeyFieldsAcrossRuns() throws IOException {
+        Path file = directory.resolve("wyniki.csv");
+        ScenarioCache.Key key = new ScenarioCache.Key(0xF00DL, "v=2|floors=11|seed=1");
+        new ScenarioCache(file).get(key, () -> result(12.5));
+
+        ScenarioCache reloaded = new ScenarioCache(file);
+        AtomicInteger computed = new AtomicInteger();
+        assertEquals(12.5, reloaded.get(key, () -> {
+            computed.incrementAndGet();
+            return result(0);
+        }).getP95Wait());
+        // Skrót z pliku, ale inne pola - nowe obliczenie
+        reloaded.get(new ScenarioCache.Key(0xF00DL, "v=2|floors=12|seed=1"), () -> {
+            computed.incrementAndGet();
+            return result(0);
+        });
+        assertEquals(1, computed.get());
+    }
+
+    // Wiersze starego formatu (sam skrót) nie mają pól do porównania i są pomijane
+    @Test
+    void legacyLinesWithoutKeyFieldsAreIgnored() throws IOException {
+        Path file = Files.writeString(directory.resolve("stare.csv"), "000000000000f00d;12.5000;0.5000;6.0000;1200.0000\n");
+        ScenarioCache cache = new ScenarioCache(file);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void keyFieldsCannotBreakFileFormat() {
+        assertThrows(IllegalArgumentException.class, () -> new ScenarioCache.Key(1, "profil;x"));
+        assertThrows(IllegalArgumentException.class, () -> new ScenarioCache.Key(1, "profil\nx"));
+    }
+}
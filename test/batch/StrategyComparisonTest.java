@@ -0,0 +1,49 @@
+package batch;
+
+import dispatch.DispatchStrategies;
+import dispatch.DispatchStrategy;
+import org.junit.jupiter.api.Test;
+import stats.RunResult;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StrategyComparisonTest {
+    @Test
+    void everyStrategyRunsOnTheSameSeeds() {
+        Map<String, RunResult[]> results = StrategyComparison.compare(30, 11, 12, 3, 2);
+        List<String> names = DispatchStrategies.all().stream().map(DispatchStrategy::getName).toList();
+        assertEquals(names, List.copyOf(results.keySet()));
+
+        // Wspólne liczby losowe: te same ziarna i ta sama startowa grupa pasażerów dla każdej strategii
+        RunResult[] reference = results.get(names.get(0));
+        for (RunResult[] strategyResults : results.values()) {
+            assertEquals(reference.length, strategyResults.length);
+            for (int i = 0; i < reference.length; i++) {
+                assertEquals(reference[i].getSeed(), strategyResults[i].getSeed());
+                assertEquals(reference[i].getHandledPassengers(), strategyResults[i].getHandledPassengers());
+            }
+        }
+    }
+
+    // Wynik nie zależy od liczby wątków ani od powtórzenia
+    @Test
+    void resultsAreReproducible() {
+        Map<String, RunResult[]> first = StrategyComparison.compare(20, 5, 11, 2, 1);
+        Map<String, RunResult[]> second = StrategyComparison.compare(20, 5, 11, 2, 4);
+        for (String name : first.keySet()) {
+            assertArrayEquals(waits(first.get(name)), waits(second.get(name)), name);
+        }
+    }
+
+    private static double[] waits(RunResult[] results) {
+        double[] waits = new double[results.length];
+        for (int i = 0; i < results.length; i++) {
+            waits[i] = results[i].getMeanWait();
+        }
+        return waits;
+    }
+}
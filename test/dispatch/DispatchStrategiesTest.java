@@ -0,0 +1,142 @@
+package dispatch;
+
+import model.Building;
+import model.Elevator;
+import org.junit.jupiter.api.Test;
+import simulation.SimulationConfig;
+import simulation.SimulationEngine;
+import simulation.SimulationListener;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DispatchStrategiesTest {
+    // Winda 0 na 3. piętrze jedzie w górę, winda 1 na 7. jedzie w dół, oddalając się od wezwania z 8. piętra
+    private static Building opposingCars() {
+        Building building = new Building(11, 2);
+        building.getElevator(0).setCurrentFloor(3);
+        building.getElevator(0).setDirection(1);
+        building.getElevator(1).setCurrentFloor(7);
+        building.getElevator(1).setDirection(-1);
+        return building;
+    }
+
+    @Test
+    void lookPrefersCarHeadingTowardsCall() {
+        Building building = opposingCars();
+        Dispatcher dispatcher = new Dispatcher(building, DispatchStrategies.LOOK);
+        assertSame(building.getElevator(0), dispatcher.assignCall(8));
+    }
+
+    @Test
+    void nearestIgnoresDirection() {
+        Building building = opposingCars();
+        Dispatcher dispatcher = new Dispatcher(building, DispatchStrategies.NEAREST);
+        assertSame(building.getElevator(1), dispatcher.assignCall(8));
+    }
+
+    // Dwie bezczynne windy na tym samym piętrze - wygrywa ta bez zaplanowanych przystanków
+    @Test
+    void lookPenalisesPendingStops() {
+        Building building = new Building(11, 2);
+        building.getElevator(0).addDestination(1);
+        building.getElevator(0).addDestination(2);
+        Dispatcher dispatcher = new Dispatcher(building, DispatchStrategies.LOOK);
+        assertSame(building.getElevator(1), dispatcher.assignCall(6));
+    }
+
+    @Test
+    void etaAddsStopTimeForStopsOnTheWay() {
+        Building building = new Building(11, 2);
+        for (Elevator elevator : building.getElevators()) {
+            elevator.setCurrentFloor(1);
+            elevator.setDirection(1);
+        }
+        building.getElevator(0).addDestination(4);
+        building.getElevator(1).addDestination(10);
+        Dispatcher dispatcher = new Dispatcher(building, DispatchStrategies.ETA);
+        SimulationConfig config = dispatcher.getConfig();
+        int withStop = DispatchStrategies.ETA.callCost(dispatcher, building.getElevator(0), 7);
+        int withoutStop = DispatchStrategies.ETA.callCost(dispatcher, building.getElevator(1), 7);
+        assertTrue(withStop - withoutStop >= config.getStopTime(), withStop + " - " + withoutStop);
+        assertSame(building.getElevator(1), dispatcher.assignCall(7));
+    }
+
+    // Winda jadąca od wezwania najpierw kończy kurs, więc jej czas dojazdu jest dłuższy niż jazda wprost
+    @Test
+    void etaCountsTurnaround() {
+        Building building = new Building(11, 1);
+        Elevator elevator = building.getElevator(0);
+        elevator.setCurrentFloor(5);
+        elevator.addDestination(9);
+        Dispatcher dispatcher = new Dispatcher(building, DispatchStrategies.ETA);
+        elevator.setDirection(-1);
+        int towards = DispatchStrategies.ETA.callCost(dispatcher, elevator, 2);
+        elevator.setDirection(1);
+        int away = DispatchStrategies.ETA.callCost(dispatcher, elevator, 2);
+        assertTrue(away > towards, away + " <= " + towards);
+    }
+
+    // Jeden dodatkowy postój na każdy różny cel czekających, którego winda jeszcze nie obsługuje
+    @Test
+    void destinationCountsDistinctUnservedDestinations() {
+        Building building = new Building(11, 2);
+        for (int i = 0; i < 3; i++) {
+            building.addWaitingPassenger(3, 8, 0);
+        }
+        building.addWaitingPassenger(3, 9, 0);
+        building.getElevator(1).addDestination(8);
+        Dispatcher dispatcher = new Dispatcher(building, DispatchStrategies.DESTINATION);
+        long stopTime = dispatcher.getConfig().getStopTime();
+
+        for (Elevator elevator : building.getElevators()) {
+            int eta = DispatchStrategies.ETA.callCost(dispatcher, elevator, 3);
+            int cost = DispatchStrategies.DESTINATION.callCost(dispatcher, elevator, 3);
+            long unserved = elevator.getId() == 0 ? 2 : 1;
+            assertEquals(eta + unserved * stopTime, cost, "Winda " + elevator.getId());
+        }
+        assertSame(building.getElevator(1), dispatcher.assignCall(3));
+    }
+
+    @Test
+    void destinationCostFollowsBoarding() {
+        Building building = new Building(11, 1);
+        building.addWaitingPassenger(3, 8, 0);
+        building.addWaitingPassenger(3, 9, 0);
+        Dispatcher dispatcher = new Dispatcher(building, DispatchStrategies.DESTINATION);
+        Elevator elevator = building.getElevator(0);
+        long stopTime = dispatcher.getConfig().getStopTime();
+        int eta = DispatchStrategies.ETA.callCost(dispatcher, elevator, 3);
+
+        assertEquals(eta + 2 * stopTime, DispatchStrategies.DESTINATION.callCost(dispatcher, elevator, 3));
+        building.pollWaitingPassenger(3);
+        assertEquals(eta + stopTime, DispatchStrategies.DESTINATION.callCost(dispatcher, elevator, 3));
+        building.pollWaitingPassenger(3);
+        assertEquals(eta, DispatchStrategies.DESTINATION.callCost(dispatcher, elevator, 3));
+    }
+
+    // Każda strategia dowozi wszystkich pasażerów startowej grupy
+    @Test
+    void everyStrategyServesAllPassengers() {
+        for (DispatchStrategy strategy : DispatchStrategies.all()) {
+            for (long seed = 1; seed <= 20; seed++) {
+                SimulationEngine engine = new SimulationEngine(SimulationConfig.defaults().withFloors(15)
+                        .withElevatorCount(3).withStrategy(strategy));
+                int[] trips = new int[1];
+                engine.addListener(new SimulationListener() {
+                    @Override
+                    public void onTripCompleted(Elevator elevator, long waitTime, long tripTime) {
+                        trips[0]++;
+                    }
+                });
+                engine.enableAutomaticPassengers(seed);
+                engine.start();
+                long generated = engine.getBuilding().getTotalWaitingPassengers();
+                engine.run();
+                assertEquals(generated, trips[0], strategy.getName() + ", ziarno " + seed);
+                assertEquals(0, engine.getBuilding().getTotalWaitingPassengers());
+            }
+        }
+    }
+}
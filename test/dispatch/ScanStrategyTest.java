@@ -0,0 +1,44 @@
+package dispatch;
+
+import model.Elevator;
+import org.junit.jupiter.api.Test;
+import simulation.CarType;
+import simulation.SimulationConfig;
+import simulation.SimulationEngine;
+import simulation.SimulationListener;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ScanStrategyTest {
+    private static final int SEEDS = 200;
+
+    // SCAN dojeżdża do skrajnego piętra, ale nigdy nie zapowiada kroku poza budynek
+    @Test
+    void departuresStayInsideBuilding() {
+        for (SimulationConfig config : configs()) {
+            for (long seed = 1; seed <= SEEDS; seed++) {
+                int floors = config.getFloors();
+                int[] outside = new int[1];
+                SimulationEngine engine = new SimulationEngine(config);
+                engine.addListener(new SimulationListener() {
+                    @Override
+                    public void onElevatorDeparted(Elevator elevator, int nextFloor, long arrivalTime) {
+                        if (nextFloor < 0 || nextFloor >= floors) {
+                            outside[0]++;
+                        }
+                    }
+                });
+                engine.enableAutomaticPassengers(seed);
+                engine.start();
+                engine.run();
+                assertEquals(0, outside[0], "Odjazdy poza budynek: " + outside[0] + " (ziarno " + seed +
+                        ", " + config + ")");
+            }
+        }
+    }
+
+    private static SimulationConfig[] configs() {
+        SimulationConfig base = SimulationConfig.defaults().withElevatorCount(3).withStrategy(DispatchStrategies.SCAN);
+        return new SimulationConfig[]{base, base.withFloors(20).withCarType(CarType.OFFICE)};
+    }
+}
@@ -0,0 +1,42 @@
+package live;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonParserTest {
+    @Test
+    void parsesAllValueKinds() {
+        Object parsed = JsonParser.parse(" {\"cmd\" : \"call\", \"floor\":3, \"speed\":-1.5e2, \"on\":true,"
+                + "\"off\":false, \"none\":null, \"list\":[1, [], {}], \"big\":12345678901234567890}\n");
+        Map<?, ?> command = (Map<?, ?>) parsed;
+        assertEquals("call", command.get("cmd"));
+        assertEquals(3L, command.get("floor"));
+        assertEquals(-150.0, command.get("speed"));
+        assertEquals(Boolean.TRUE, command.get("on"));
+        assertEquals(Boolean.FALSE, command.get("off"));
+        assertNull(command.get("none"));
+        assertEquals(List.of(1L, List.of(), Map.of()), command.get("list"));
+        // Poza zakresem long - liczba zmiennoprzecinkowa, nie ucięta wartość
+        assertEquals(1.2345678901234567e19, command.get("big"));
+    }
+
+    @Test
+    void decodesStringEscapes() {
+        assertEquals("a\"b\\c/d\n\t\u0105", JsonParser.parse("\"a\\\"b\\\\c\\/d\\n\\t\\u0105\""));
+    }
+
+    @Test
+    void rejectsMalformedInput() {
+        String[] malformed = {"", "{", "{\"cmd\"}", "{\"cmd\":}", "{cmd:1}", "{\"a\":1,}", "[1,]", "01", "-",
+                "1.", "1e", "\"abc", "\"\\x\"", "\"\\u12\"", "tru", "{} {}", "\"a\nb\"", "[" .repeat(100)};
+        for (String text : malformed) {
+            assertThrows(IllegalArgumentException.class, () -> JsonParser.parse(text), text);
+        }
+    }
+}
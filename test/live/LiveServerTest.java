@@ -0,0 +1,292 @@
+package live;
+
+import controler.ElevatorController;
+import model.Building;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LiveServerTest {
+    // Przykład z RFC 6455, rozdz. 1.3
+    private static final String SAMPLE_KEY = "dGhlIHNhbXBsZSBub25jZQ==";
+    private static final String SAMPLE_ACCEPT = "s3pPLMBiTxaQ9kYGzzhZRbK+xOo=";
+
+    private ElevatorController controller;
+    private LiveServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        controller = new ElevatorController(new Building(11, 2), null);
+        server = new LiveServer(controller, 0, 20, 1);
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        server.close();
+        controller.close();
+    }
+
+    @Test
+    void handshakeAnswersWithAcceptKey() throws IOException {
+        try (Socket socket = open()) {
+            String response = handshake(socket, localOrigin());
+            assertTrue(response.startsWith("HTTP/1.1 101 "), response);
+            assertTrue(response.contains("Sec-WebSocket-Accept: " + SAMPLE_ACCEPT + "\r\n"), response);
+        }
+    }
+
+    @Test
+    void foreignOriginIsRejected() throws IOException {
+        try (Socket socket = open()) {
+            assertTrue(handshake(socket, "http://example.com").startsWith("HTTP/1.1 403 "));
+        }
+    }
+
+    // Klient bez Origin tylko po jawnym włączeniu - właściwość czytana przy tworzeniu serwera
+    @Test
+    void missingOriginNeedsExplicitOptIn() throws IOException {
+        try (Socket socket = open()) {
+            assertTrue(handshake(socket, null).startsWith("HTTP/1.1 403 "));
+        }
+        System.setProperty("liftsimulator.live.allowNoOrigin", "true");
+        try (LiveServer permissive = new LiveServer(controller, 0, 20, 1);
+             Socket socket = new Socket(InetAddress.getLoopbackAddress(), permissive.getPort())) {
+            socket.setSoTimeout(5_000);
+            assertTrue(handshake(socket, null).startsWith("HTTP/1.1 101 "));
+        } finally {
+            System.clearProperty("liftsimulator.live.allowNoOrigin");
+        }
+    }
+
+    @Test
+    void pingIsAnsweredWithPong() throws IOException {
+        try (Socket socket = connect()) {
+            byte[] payload = "ping-123".getBytes(StandardCharsets.US_ASCII);
+            sendFrame(socket, true, 0x9, payload, 0);
+            Frame pong = nextReply(socket);
+            assertEquals(0xA, pong.opcode);
+            assertArrayEquals(payload, pong.payload);
+        }
+    }
+
+    // Długość 126 (16 bitów) i 127 (64 bity) - serwer przyjmuje obie, także nadmiarową dla krótkiej ramki
+    @Test
+    void extendedPayloadLengthsAreDecoded() throws IOException {
+        try (Socket socket = connect()) {
+            String padded = "{\"cmd\":\"dlugie\"" + " ".repeat(300) + "}";
+            sendFrame(socket, true, 0x1, padded.getBytes(StandardCharsets.UTF_8), 126);
+            assertEquals(error("Nieznane polecenie: dlugie"), nextReply(socket).text());
+
+            sendFrame(socket, true, 0x1, "{\"cmd\":\"krotkie\"}".getBytes(StandardCharsets.UTF_8), 127);
+            assertEquals(error("Nieznane polecenie: krotkie"), nextReply(socket).text());
+        }
+    }
+
+    // Wiadomość w trzech fragmentach z pingiem pomiędzy - pong od razu, polecenie po ostatnim fragmencie
+    @Test
+    void fragmentedMessageIsReassembled() throws IOException {
+        try (Socket socket = connect()) {
+            sendFrame(socket, false, 0x1, "{\"cmd\":".getBytes(StandardCharsets.UTF_8), 0);
+            sendFrame(socket, false, 0x0, "\"frag".getBytes(StandardCharsets.UTF_8), 0);
+            sendFrame(socket, true, 0x9, new byte[]{1, 2}, 0);
+            sendFrame(socket, true, 0x0, "menty\"}".getBytes(StandardCharsets.UTF_8), 0);
+
+            Frame pong = nextReply(socket);
+            assertEquals(0xA, pong.opcode);
+            assertArrayEquals(new byte[]{1, 2}, pong.payload);
+            assertEquals(error("Nieznane polecenie: fragmenty"), nextReply(socket).text());
+        }
+    }
+
+    @Test
+    void malformedCommandsGetErrors() throws IOException {
+        try (Socket socket = connect()) {
+            sendFrame(socket, true, 0x1, "{\"cmd\":\"call\",\"floor\":3".getBytes(StandardCharsets.UTF_8), 0);
+            assertTrue(nextReply(socket).text().startsWith("{\"type\":\"error\",\"message\":\"Nieprawidłowy JSON"));
+
+            sendFrame(socket, true, 0x1, "[1,2]".getBytes(StandardCharsets.UTF_8), 0);
+            assertEquals(error("Polecenie musi być obiektem JSON"), nextReply(socket).text());
+
+            // Piętro jako napis albo ułamek to nie piętro
+            sendFrame(socket, true, 0x1, "{\"cmd\":\"call\",\"floor\":\"3\"}".getBytes(StandardCharsets.UTF_8), 0);
+            assertEquals(error("Nieprawidłowe piętro"), nextReply(socket).text());
+            sendFrame(socket, true, 0x1, "{\"cmd\":\"call\",\"floor\":2.5}".getBytes(StandardCharsets.UTF_8), 0);
+            assertEquals(error("Nieprawidłowe piętro"), nextReply(socket).text());
+            sendFrame(socket, true, 0x1, "{\"floor\":1,\"cmd\":\"call\",\"floor\":99}".getBytes(StandardCharsets.UTF_8), 0);
+            assertEquals(error("Nieprawidłowe piętro"), nextReply(socket).text());
+        }
+    }
+
+    @Test
+    void unmaskedFrameClosesConnection() throws IOException {
+        try (Socket socket = connect()) {
+            OutputStream out = socket.getOutputStream();
+            out.write(new byte[]{(byte) 0x81, 2, '{', '}'});
+            out.flush();
+            assertClosed(socket);
+        }
+    }
+
+    @Test
+    void oversizedMessageClosesConnection() throws IOException {
+        try (Socket socket = connect()) {
+            sendFrame(socket, false, 0x1, new byte[WebSocketSession.MAX_INCOMING], 0);
+            sendFrame(socket, true, 0x0, new byte[]{' '}, 0);
+            assertClosed(socket);
+        }
+    }
+
+    @Test
+    void continuationWithoutStartClosesConnection() throws IOException {
+        try (Socket socket = connect()) {
+            sendFrame(socket, true, 0x0, "{}".getBytes(StandardCharsets.UTF_8), 0);
+            assertClosed(socket);
+        }
+    }
+
+    // Nagłówek ramki serwera przy granicach 125/126 i 65535/65536 bajtów
+    @Test
+    void textFrameUsesShortestLengthEncoding() {
+        assertArrayEquals(new byte[]{(byte) 0x81, 125}, Arrays.copyOf(WebSocketSession.textFrame("a".repeat(125)), 2));
+        assertArrayEquals(new byte[]{(byte) 0x81, 126, 0, 126},
+                Arrays.copyOf(WebSocketSession.textFrame("a".repeat(126)), 4));
+        assertArrayEquals(new byte[]{(byte) 0x81, 126, (byte) 0xFF, (byte) 0xFF},
+                Arrays.copyOf(WebSocketSession.textFrame("a".repeat(65_535)), 4));
+        byte[] large = WebSocketSession.textFrame("a".repeat(65_536));
+        assertArrayEquals(new byte[]{(byte) 0x81, 127, 0, 0, 0, 0, 0, 1, 0, 0}, Arrays.copyOf(large, 10));
+        assertEquals(10 + 65_536, large.length);
+    }
+
+    private record Frame(int opcode, byte[] payload) {
+        String text() {
+            return new String(payload, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String error(String message) {
+        return "{\"type\":\"error\",\"message\":\"" + message + "\"}";
+    }
+
+    private String localOrigin() {
+        return "http://localhost:" + server.getPort();
+    }
+
+    private Socket open() throws IOException {
+        Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+        socket.setSoTimeout(5_000);
+        return socket;
+    }
+
+    private Socket connect() throws IOException {
+        Socket socket = open();
+        String response = handshake(socket, localOrigin());
+        assertTrue(response.startsWith("HTTP/1.1 101 "), response);
+        return socket;
+    }
+
+    // Żądanie przejścia na WebSocket; zwraca nagłówki odpowiedzi do pustej linii włącznie
+    private static String handshake(Socket socket, String origin) throws IOException {
+        String request = "GET /live HTTP/1.1\r\n" +
+                "Host: localhost\r\n" +
+                "Upgrade: websocket\r\n" +
+                "Connection: Upgrade\r\n" +
+                "Sec-WebSocket-Key: " + SAMPLE_KEY + "\r\n" +
+                "Sec-WebSocket-Version: 13\r\n" +
+                (origin != null ? "Origin: " + origin + "\r\n" : "") + "\r\n";
+        socket.getOutputStream().write(request.getBytes(StandardCharsets.US_ASCII));
+        socket.getOutputStream().flush();
+        InputStream in = socket.getInputStream();
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        while (!response.toString(StandardCharsets.US_ASCII).endsWith("\r\n\r\n")) {
+            int b = in.read();
+            if (b < 0) break;
+            response.write(b);
+        }
+        return response.toString(StandardCharsets.US_ASCII);
+    }
+
+    // forcedLength 126 albo 127 wymusza dłuższe pole długości, 0 - najkrótsze
+    private static void sendFrame(Socket socket, boolean fin, int opcode, byte[] payload, int forcedLength)
+            throws IOException {
+        ByteArrayOutputStream frame = new ByteArrayOutputStream();
+        frame.write((fin ? 0x80 : 0) | opcode);
+        int lengthCode = forcedLength != 0 ? forcedLength
+                : payload.length < 126 ? payload.length : payload.length <= 0xFFFF ? 126 : 127;
+        frame.write(0x80 | (lengthCode < 126 ? payload.length : lengthCode));
+        if (lengthCode == 126) {
+            frame.write(payload.length >>> 8);
+            frame.write(payload.length);
+        } else if (lengthCode == 127) {
+            for (int i = 7; i >= 0; i--) {
+                frame.write((int) ((long) payload.length >>> (8 * i)));
+            }
+        }
+        byte[] mask = {0x37, (byte) 0xFA, 0x21, 0x3D};
+        frame.write(mask);
+        for (int i = 0; i < payload.length; i++) {
+            frame.write(payload[i] ^ mask[i & 3]);
+        }
+        socket.getOutputStream().write(frame.toByteArray());
+        socket.getOutputStream().flush();
+    }
+
+    private static Frame readFrame(Socket socket) throws IOException {
+        InputStream in = socket.getInputStream();
+        int first = read(in);
+        long length = read(in) & 0x7F;
+        if (length == 126) {
+            length = (read(in) << 8) | read(in);
+        } else if (length == 127) {
+            length = 0;
+            for (int i = 0; i < 8; i++) {
+                length = (length << 8) | read(in);
+            }
+        }
+        byte[] payload = in.readNBytes((int) length);
+        if (payload.length < length) throw new EOFException();
+        return new Frame(first & 0x0F, payload);
+    }
+
+    // Następna ramka, która nie jest rozsyłanym stanem budynku
+    private static Frame nextReply(Socket socket) throws IOException {
+        while (true) {
+            Frame frame = readFrame(socket);
+            if (frame.opcode != 0x1 || !(frame.text().startsWith("{\"type\":\"full\"")
+                    || frame.text().startsWith("{\"type\":\"delta\""))) {
+                return frame;
+            }
+        }
+    }
+
+    // Serwer odpowiada ramką zamknięcia i rozłącza się
+    private static void assertClosed(Socket socket) throws IOException {
+        try {
+            while (true) {
+                Frame frame = nextReply(socket);
+                if (frame.opcode == 0x8) return;
+            }
+        } catch (EOFException e) {
+            // Rozłączenie bez ramki zamknięcia też kończy sesję
+        }
+    }
+
+    private static int read(InputStream in) throws IOException {
+        int b = in.read();
+        if (b < 0) throw new EOFException();
+        return b;
+    }
+}
@@ -0,0 +1,148 @@
+package log;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventLogTest {
+    @TempDir
+    Path directory;
+
+    // Wiersz bez String.format ma być identyczny z dotychczasowym formatem konsoli
+    @Test
+    void textLineMatchesFormerFormat() {
+        long[] times = {0, 7, 999, 1_000, 12_345, 9_999_999, 123_456_789_012L};
+        for (long time : times) {
+            StringBuilder line = new StringBuilder();
+            EventLog.appendLine(line, time, EventType.DESTINATION, 2, 7, 0);
+            assertEquals(String.format(Locale.ROOT, "[%10.3f s] ", time / 1000.0)
+                    + "Wybrano cel: piętro 7 (winda 2)\n", line.toString());
+        }
+        StringBuilder line = new StringBuilder();
+        EventLog.appendLine(line, 1_500, EventType.PASSENGERS_ENTERED, 0, 4, 3);
+        assertEquals("[     1.500 s] Wsiadło 3 pasażerów na piętrze 4\n", line.toString());
+    }
+
+    @Test
+    void textLogWritesFilteredRecords() throws IOException {
+        StringWriter out = new StringWriter();
+        EventLog log = new EventLog(LogLevel.INFO, EventLog.allTypes(), out, false);
+        log.log(EventType.CALL, 1_000, -1, 5);
+        log.log(EventType.PASSENGER_EXITED, 2_000, 0, 5);
+        log.log(EventType.STOP, 3_000, 1, 5);
+        log.close();
+
+        assertEquals("[     1.000 s] Wezwanie windy na piętro 5\n"
+                + "[     3.000 s] Winda 1 zatrzymała się na piętrze 5\n", out.toString());
+    }
+
+    @Test
+    void binaryLogRoundTripsThroughPrint() throws IOException {
+        Path file = directory.resolve("dziennik.bin");
+        // Pierścień mieści wszystkie wpisy, ale jest ich więcej niż w jednej paczce zapisu
+        EventLog log = new EventLog(LogLevel.DEBUG, EventLog.allTypes(), EventLog.openBinary(file, false), true, 4_096);
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 3_000; i++) {
+            log.log(EventType.PASSENGERS_ENTERED, i * 10L, i % 4, i % 11, i % 5 + 1);
+            EventLog.appendLine(expected, i * 10L, EventType.PASSENGERS_ENTERED, i % 4, i % 11, i % 5 + 1);
+        }
+        log.close();
+        assertEquals(0, log.getDropped());
+        assertEquals(EventLog.HEADER_SIZE + 3_000L * EventLog.RECORD_SIZE, Files.size(file));
+
+        StringWriter out = new StringWriter();
+        assertEquals(3_000, EventLog.print(file, out));
+        assertEquals(expected.toString(), out.toString());
+    }
+
+    // Dopisywanie kolejnego przebiegu nie powtarza nagłówka
+    @Test
+    void appendedBinaryLogKeepsSingleHeader() throws IOException {
+        Path file = directory.resolve("dziennik.bin");
+        for (int run = 0; run < 2; run++) {
+            EventLog log = new EventLog(LogLevel.INFO, EventLog.allTypes(), EventLog.openBinary(file, true), true, 16);
+            log.log(EventType.SIMULATION_STARTED, run);
+            log.close();
+        }
+        StringWriter out = new StringWriter();
+        assertEquals(2, EventLog.print(file, out));
+    }
+
+    @Test
+    void printRejectsForeignAndTruncatedFiles() throws IOException {
+        Path foreign = directory.resolve("obcy.bin");
+        Files.write(foreign, new byte[EventLog.HEADER_SIZE + EventLog.RECORD_SIZE]);
+        assertThrows(IllegalArgumentException.class, () -> EventLog.print(foreign, new StringWriter()));
+
+        Path truncated = directory.resolve("uciety.bin");
+        EventLog log = new EventLog(LogLevel.INFO, EventLog.allTypes(), EventLog.openBinary(truncated, false), true, 16);
+        log.log(EventType.SIMULATION_STARTED, 0);
+        log.close();
+        byte[] bytes = Files.readAllBytes(truncated);
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IllegalArgumentException.class, () -> EventLog.print(truncated, new StringWriter()));
+    }
+
+    // Po zamknięciu nikt nie opróżnia bufora - wpis przepada i jest liczony
+    @Test
+    void recordsAfterCloseAreDroppedAndCounted() throws IOException {
+        StringWriter out = new StringWriter();
+        EventLog log = new EventLog(LogLevel.INFO, EventLog.allTypes(), out, false);
+        log.log(EventType.CALL, 0, -1, 1);
+        log.close();
+        log.log(EventType.CALL, 1, -1, 2);
+        log.log(EventType.CALL, 2, -1, 3);
+
+        assertTrue(log.isClosed());
+        assertEquals(2, log.getDropped());
+        assertEquals("[     0.000 s] Wezwanie windy na piętro 1\n", out.toString());
+    }
+
+    // Zamknięcie z kilku wątków naraz zamyka wyjście dokładnie raz
+    @Test
+    void concurrentCloseClosesOutputOnce() throws Exception {
+        int[] closes = new int[1];
+        StringWriter target = new StringWriter();
+        Writer out = new FilterWriter(target) {
+            @Override
+            public void close() throws IOException {
+                synchronized (closes) {
+                    closes[0]++;
+                }
+                super.close();
+            }
+        };
+        EventLog log = new EventLog(LogLevel.INFO, EventLog.allTypes(), out, true);
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    start.await();
+                    log.close();
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1, closes[0]);
+    }
+}
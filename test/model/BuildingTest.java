@@ -0,0 +1,55 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BuildingTest {
+    // Wysokość powyżej 46340 pięter - iloczyn pięter nie mieści się w int, a liczniki celów muszą działać
+    @Test
+    void destinationTalliesWorkInVeryTallBuildings() {
+        Building building = new Building(100_000, 1);
+        building.addWaitingPassenger(99_999, 50_000, 0);
+        building.addWaitingPassenger(99_999, 50_000, 0);
+        building.addWaitingPassenger(99_999, 3, 0);
+        building.addWaitingPassenger(70_000, 99_999, 0);
+
+        assertEquals(2, building.getWaitingPassengers(99_999, 50_000));
+        assertEquals(1, building.getWaitingPassengers(99_999, 3));
+        assertEquals(0, building.getWaitingPassengers(50_000, 99_999));
+        assertEquals(1, building.getWaitingPassengers(70_000, 99_999));
+
+        FloorSet none = new FloorSet();
+        FloorSet stops = new FloorSet();
+        stops.add(3);
+        assertEquals(2, building.countWaitingDestinationsOutside(99_999, none, none));
+        assertEquals(1, building.countWaitingDestinationsOutside(99_999, stops, none));
+        assertEquals(0, building.countWaitingDestinationsOutside(12, none, none));
+    }
+
+    @Test
+    void destinationTalliesFollowQueue() {
+        Building building = new Building(11, 1);
+        building.addWaitingPassenger(4, 8, 0);
+        building.addWaitingPassenger(4, 2, 0);
+        building.addWaitingPassenger(4, 8, 0);
+        FloorSet none = new FloorSet();
+
+        building.pollWaitingPassenger(4);
+        assertEquals(1, building.getWaitingPassengers(4, 8));
+        assertEquals(2, building.countWaitingDestinationsOutside(4, none, none));
+        building.pollWaitingPassenger(4);
+        assertEquals(1, building.countWaitingDestinationsOutside(4, none, none));
+        building.pollWaitingPassenger(4);
+        assertEquals(0, building.countWaitingDestinationsOutside(4, none, none));
+
+        // Tablica opróżnionego piętra wraca do puli i służy innemu piętru
+        building.addWaitingPassenger(6, 1, 0);
+        assertEquals(1, building.getWaitingPassengers(6, 1));
+        assertEquals(0, building.getWaitingPassengers(4, 1));
+
+        building.clearWaitingPassengers();
+        assertEquals(0, building.getWaitingPassengers(6, 1));
+        assertEquals(0, building.countWaitingDestinationsOutside(6, none, none));
+    }
+}
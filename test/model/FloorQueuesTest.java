@@ -0,0 +1,102 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FloorQueuesTest {
+    @Test
+    void queuesAreFifoPerFloor() {
+        PassengerStore store = new PassengerStore();
+        FloorQueues queues = new FloorQueues(store);
+        int a = store.allocate(2, 5, 0);
+        int b = store.allocate(7, 1, 0);
+        int c = store.allocate(2, 9, 0);
+        queues.add(2, a);
+        queues.add(7, b);
+        queues.add(2, c);
+
+        assertEquals(2, queues.size(2));
+        assertEquals(3, queues.total());
+        assertArrayEquals(new int[]{2, 7}, queues.floors());
+        assertEquals(a, queues.peek(2));
+        assertEquals(c, queues.next(a));
+        assertEquals(PassengerStore.NONE, queues.next(c));
+
+        assertEquals(a, queues.poll(2));
+        assertEquals(c, queues.poll(2));
+        assertEquals(PassengerStore.NONE, queues.poll(2));
+        assertEquals(PassengerStore.NONE, queues.peek(2));
+        assertEquals(1, queues.floorCount());
+        assertEquals(b, queues.poll(7));
+        assertEquals(0, queues.total());
+    }
+
+    // Pasażer zwolniony po wyjściu z kolejki i przydzielony ponownie trafia na koniec innej kolejki bez starych powiązań
+    @Test
+    void reusedPassengerSlotStartsFreshLink() {
+        PassengerStore store = new PassengerStore();
+        FloorQueues queues = new FloorQueues(store);
+        int a = store.allocate(1, 4, 0);
+        int b = store.allocate(1, 5, 0);
+        queues.add(1, a);
+        queues.add(1, b);
+        assertEquals(a, queues.poll(1));
+        store.release(a);
+
+        int reused = store.allocate(3, 0, 10);
+        assertEquals(a, reused);
+        queues.add(3, reused);
+        assertEquals(PassengerStore.NONE, queues.next(reused));
+        assertEquals(b, queues.peek(1));
+        assertEquals(PassengerStore.NONE, queues.next(b));
+    }
+
+    @Test
+    void clearReleasesAllWaiting() {
+        PassengerStore store = new PassengerStore();
+        FloorQueues queues = new FloorQueues(store);
+        for (int i = 0; i < 10; i++) {
+            queues.add(i % 3 * 1_000, store.allocate(i % 3 * 1_000, 1, i));
+        }
+        queues.clear();
+        assertEquals(0, queues.total());
+        assertEquals(0, queues.floorCount());
+        assertEquals(0, store.size());
+    }
+
+    // Losowe dokładanie i zdejmowanie porównane z osobną kolejką na piętro
+    @Test
+    void matchesReferenceQueues() {
+        SplittableRandom random = new SplittableRandom(3);
+        PassengerStore store = new PassengerStore(16);
+        FloorQueues queues = new FloorQueues(store);
+        Map<Integer, ArrayDeque<Integer>> expected = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            int floor = random.nextInt(40);
+            ArrayDeque<Integer> queue = expected.computeIfAbsent(floor, f -> new ArrayDeque<>());
+            if (random.nextInt(3) > 0) {
+                int id = store.allocate(floor, 0, i);
+                queues.add(floor, id);
+                queue.add(id);
+            } else {
+                Integer head = queue.poll();
+                int polled = queues.poll(floor);
+                assertEquals(head == null ? PassengerStore.NONE : head, polled);
+                if (polled != PassengerStore.NONE) {
+                    store.release(polled);
+                }
+            }
+            assertEquals(queue.size(), queues.size(floor));
+        }
+        long total = expected.values().stream().mapToLong(ArrayDeque::size).sum();
+        assertEquals(total, queues.total());
+        assertEquals(total, store.size());
+    }
+}
@@ -0,0 +1,103 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FloorSetTest {
+    // Piętra po obu stronach granic słów 64-bitowych
+    @Test
+    void searchCrossesWordBoundaries() {
+        FloorSet set = new FloorSet(200);
+        for (int floor : new int[]{0, 63, 64, 127, 128}) {
+            set.add(floor);
+        }
+
+        assertEquals(63, set.nextAbove(0));
+        assertEquals(63, set.nextAbove(62));
+        assertEquals(64, set.nextAbove(63));
+        assertEquals(127, set.nextAbove(64));
+        assertEquals(128, set.nextAbove(127));
+        assertEquals(-1, set.nextAbove(128));
+        assertEquals(64, set.nextFloor(64));
+        assertEquals(127, set.nextFloor(65));
+
+        assertEquals(127, set.nextBelow(128));
+        assertEquals(64, set.nextBelow(127));
+        assertEquals(63, set.nextBelow(64));
+        assertEquals(0, set.nextBelow(63));
+        assertEquals(-1, set.nextBelow(0));
+        assertEquals(127, set.previousFloor(127));
+        assertEquals(64, set.previousFloor(126));
+    }
+
+    @Test
+    void searchAtTopFloorAndBeyond() {
+        FloorSet set = new FloorSet(11);
+        set.add(10);
+        set.add(3);
+
+        assertEquals(-1, set.nextAbove(10));
+        assertEquals(10, set.nextFloor(10));
+        assertEquals(-1, set.nextFloor(11));
+        assertEquals(-1, set.nextFloor(1_000));
+        assertEquals(10, set.previousFloor(1_000));
+        assertEquals(10, set.nextBelow(Integer.MAX_VALUE));
+        assertEquals(3, set.nextFloor(-5));
+        assertEquals(-1, set.previousFloor(-1));
+        // Skrajne argumenty nie mogą się przekręcić na drugi koniec zakresu
+        assertEquals(-1, set.nextAbove(Integer.MAX_VALUE));
+        assertEquals(-1, set.nextBelow(Integer.MIN_VALUE));
+    }
+
+    @Test
+    void growsAndKeepsSize() {
+        FloorSet set = new FloorSet(11);
+        assertTrue(set.add(1_000));
+        assertFalse(set.add(1_000));
+        assertTrue(set.add(5));
+        assertEquals(2, set.size());
+        assertTrue(set.contains(1_000));
+        assertEquals(1_000, set.nextAbove(5));
+
+        assertFalse(set.remove(7));
+        assertFalse(set.remove(-1));
+        assertFalse(set.remove(5_000));
+        assertTrue(set.remove(1_000));
+        assertEquals(1, set.size());
+        assertFalse(set.contains(-1));
+        assertThrows(IllegalArgumentException.class, () -> set.add(-1));
+
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertEquals(-1, set.nextFloor(0));
+    }
+
+    // Losowe operacje porównane z TreeSet
+    @Test
+    void matchesTreeSet() {
+        SplittableRandom random = new SplittableRandom(5);
+        FloorSet set = new FloorSet(64);
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 20_000; i++) {
+            int floor = random.nextInt(300);
+            if (random.nextBoolean()) {
+                assertEquals(expected.add(floor), set.add(floor));
+            } else {
+                assertEquals(expected.remove(floor), set.remove(floor));
+            }
+            int probe = random.nextInt(-2, 310);
+            Integer above = expected.higher(probe);
+            Integer below = expected.lower(probe);
+            assertEquals(above == null ? -1 : above, set.nextAbove(probe));
+            assertEquals(below == null ? -1 : below, set.nextBelow(probe));
+            assertEquals(expected.size(), set.size());
+        }
+    }
+}
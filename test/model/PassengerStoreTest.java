@@ -0,0 +1,76 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PassengerStoreTest {
+    @Test
+    void allocateStoresFieldsAndResetsTimes() {
+        PassengerStore store = new PassengerStore();
+        int id = store.allocate(3, 9, 1_000);
+        assertEquals(3, store.getOrigin(id));
+        assertEquals(9, store.getDestination(id));
+        assertEquals(1_000, store.getArrivalTime(id));
+        assertEquals(PassengerStore.NOT_YET, store.getBoardingTime(id));
+        assertEquals(PassengerStore.NOT_YET, store.getAlightingTime(id));
+
+        store.setBoardingTime(id, 4_000);
+        store.setAlightingTime(id, 10_500);
+        assertEquals(3_000, store.getWaitTime(id));
+        assertEquals(6_500, store.getRideTime(id));
+    }
+
+    // Zwolniony slot wraca przy następnym przydziale, a jego stare pola nie przeciekają do nowego pasażera
+    @Test
+    void releasedSlotsAreReusedLastInFirstOut() {
+        PassengerStore store = new PassengerStore(16);
+        int first = store.allocate(0, 5, 0);
+        int second = store.allocate(1, 6, 0);
+        int third = store.allocate(2, 7, 0);
+        store.setBoardingTime(second, 500);
+        store.release(second);
+        store.release(first);
+        assertEquals(1, store.size());
+
+        assertEquals(first, store.allocate(4, 8, 900));
+        int reused = store.allocate(5, 1, 950);
+        assertEquals(second, reused);
+        assertEquals(5, store.getOrigin(reused));
+        assertEquals(PassengerStore.NOT_YET, store.getBoardingTime(reused));
+        // Lista wolnych jest pusta - kolejny przydział bierze nowy slot
+        assertEquals(3, store.allocate(6, 2, 1_000));
+        assertEquals(4, store.size());
+        assertEquals(2, third);
+    }
+
+    // Pojemność rośnie tylko wtedy, gdy żywych rekordów jest więcej niż kiedykolwiek wcześniej
+    @Test
+    void churnDoesNotGrowStore() {
+        PassengerStore store = new PassengerStore(16);
+        int[] live = new int[16];
+        for (int i = 0; i < live.length; i++) {
+            live[i] = store.allocate(i, i + 1, i);
+        }
+        for (int round = 0; round < 1_000; round++) {
+            int slot = round % live.length;
+            store.release(live[slot]);
+            live[slot] = store.allocate(slot, slot + 1, round);
+        }
+        assertEquals(16, store.capacity());
+        assertEquals(16, store.size());
+
+        Set<Integer> ids = new HashSet<>();
+        for (int i = 0; i < 40; i++) {
+            ids.add(store.allocate(0, 1, 0));
+        }
+        assertEquals(40, ids.size());
+        assertEquals(56, store.size());
+        assertTrue(store.capacity() >= 56);
+        assertEquals(1, store.getDestination(live[0]));
+    }
+}
@@ -0,0 +1,124 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SparseFloorCountsTest {
+    @Test
+    void countsAndTotals() {
+        SparseFloorCounts counts = new SparseFloorCounts(4);
+        counts.add(7, 2);
+        counts.add(100_000, 1);
+        counts.add(7, 3);
+        assertEquals(5, counts.get(7));
+        assertEquals(1, counts.get(100_000));
+        assertEquals(0, counts.get(8));
+        assertEquals(2, counts.size());
+        assertEquals(6, counts.total());
+
+        // Zero i wartości ujemne usuwają piętro
+        counts.add(7, -5);
+        assertEquals(0, counts.get(7));
+        assertEquals(1, counts.size());
+        counts.set(100_000, -3);
+        assertEquals(0, counts.size());
+        assertEquals(0, counts.total());
+    }
+
+    // Piętra o tym samym slocie startowym - usunięcie ze środka łańcucha nie może zgubić dalszych kluczy
+    @Test
+    void deletionKeepsCollidingKeysReachable() {
+        SparseFloorCounts counts = new SparseFloorCounts(4);
+        int capacity = 8;
+        int[] colliding = new int[3];
+        int found = 0;
+        int home = -1;
+        for (int floor = 0; found < colliding.length; floor++) {
+            int h = floor * 0x9E3779B9;
+            int slot = (h ^ (h >>> 16)) & (capacity - 1);
+            if (home == -1) home = slot;
+            if (slot == home) colliding[found++] = floor;
+        }
+        for (int i = 0; i < colliding.length; i++) {
+            counts.set(colliding[i], i + 1);
+        }
+        counts.set(colliding[0], 0);
+        assertEquals(2, counts.get(colliding[1]));
+        assertEquals(3, counts.get(colliding[2]));
+        counts.set(colliding[1], 0);
+        assertEquals(3, counts.get(colliding[2]));
+        assertEquals(1, counts.size());
+    }
+
+    @Test
+    void floorsAreSortedAndCopyMatches() {
+        SparseFloorCounts counts = new SparseFloorCounts();
+        int[] floors = {90, 3, 0, 41, 17};
+        for (int floor : floors) {
+            counts.set(floor, floor + 1);
+        }
+        assertArrayEquals(new int[]{0, 3, 17, 41, 90}, counts.floors());
+
+        int[] copiedFloors = new int[counts.size()];
+        int[] copiedCounts = new int[counts.size()];
+        assertEquals(5, counts.copyTo(copiedFloors, copiedCounts));
+        for (int i = 0; i < copiedFloors.length; i++) {
+            assertEquals(copiedFloors[i] + 1, copiedCounts[i]);
+        }
+
+        FloorSet first = new FloorSet();
+        FloorSet second = new FloorSet();
+        first.add(3);
+        second.add(90);
+        second.add(5);
+        assertEquals(3, counts.countFloorsOutside(first, second));
+
+        counts.clear();
+        assertEquals(0, counts.size());
+        assertEquals(0, counts.get(41));
+    }
+
+    // -1 to znacznik pustego slotu - nie może stać się kluczem
+    @Test
+    void rejectsSentinelAndNegativeFloors() {
+        SparseFloorCounts counts = new SparseFloorCounts();
+        assertThrows(IllegalArgumentException.class, () -> counts.set(-1, 1));
+        assertThrows(IllegalArgumentException.class, () -> counts.add(-7, 1));
+        assertEquals(0, counts.get(-1));
+        assertEquals(0, counts.size());
+    }
+
+    // Losowe operacje z wieloma powiększeniami i usunięciami porównane z HashMap
+    @Test
+    void matchesHashMap() {
+        SplittableRandom random = new SplittableRandom(11);
+        SparseFloorCounts counts = new SparseFloorCounts(2);
+        Map<Integer, Integer> expected = new HashMap<>();
+        long total = 0;
+        for (int i = 0; i < 50_000; i++) {
+            int floor = random.nextInt(2_000);
+            int count = random.nextInt(4) == 0 ? 0 : random.nextInt(1, 10);
+            total += count - expected.getOrDefault(floor, 0);
+            if (count == 0) {
+                expected.remove(floor);
+            } else {
+                expected.put(floor, count);
+            }
+            counts.set(floor, count);
+            int probe = random.nextInt(2_000);
+            assertEquals(expected.getOrDefault(probe, 0), counts.get(probe));
+        }
+        assertEquals(expected.size(), counts.size());
+        assertEquals(total, counts.total());
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), counts.get(entry.getKey()));
+        }
+    }
+}
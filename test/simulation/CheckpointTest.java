@@ -0,0 +1,174 @@
+package simulation;
+
+import model.Elevator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import traffic.ArrivalStream;
+import traffic.RateProfile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Przebieg przerwany punktem kontrolnym w chwili T i wznowiony musi dalej toczyć się dokładnie tak
+// jak przebieg bez przerwy: te same zdarzenia w tych samych chwilach i te same wyniki na końcu
+class CheckpointTest {
+    private static final long[] CHECKPOINT_TIMES = {20_000, 120_000, 600_000};
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void resumedRunMatchesStraightRun() throws IOException {
+        SimulationConfig building = SimulationConfig.defaults().withFloors(15).withElevatorCount(3);
+        SimulationConfig[] configs = {building, building.withCarType(CarType.OFFICE)};
+        String[] profiles = {null, "up-peak", "lunch"};
+        for (SimulationConfig config : configs) {
+            for (String profile : profiles) {
+                for (long seed = 1; seed <= 4; seed++) {
+                    for (long time : CHECKPOINT_TIMES) {
+                        assertRoundTrip(config, profile, seed, time);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void corruptedChecksumIsRejected() throws IOException {
+        byte[] data = Checkpoint.write(runUntil(SimulationConfig.defaults().withElevatorCount(2), "up-peak", 7, 60_000));
+        data[data.length / 2] ^= 0x10;
+        Path file = Files.write(directory.resolve("uszkodzony.bin"), data);
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> Checkpoint.load(file, engine -> traffic("up-peak", engine)));
+        assertTrue(error.getMessage().contains("suma kontrolna"), error.getMessage());
+    }
+
+    @Test
+    void truncatedFileIsRejected() throws IOException {
+        byte[] data = Checkpoint.write(runUntil(SimulationConfig.defaults().withElevatorCount(2), "up-peak", 7, 60_000));
+        for (int length : new int[]{0, 5, 9, data.length / 2, data.length - 1}) {
+            Path file = Files.write(directory.resolve("przerwany-" + length + ".bin"), Arrays.copyOf(data, length));
+            assertThrows(IllegalArgumentException.class, () -> Checkpoint.load(file, engine -> traffic("up-peak", engine)),
+                    "Długość " + length);
+        }
+    }
+
+    private void assertRoundTrip(SimulationConfig config, String profile, long seed, long time) throws IOException {
+        String where = config + ", " + profile + ", ziarno " + seed + ", T = " + time;
+
+        SimulationEngine straight = runUntil(config, profile, seed, time);
+        Path file = directory.resolve("punkt.bin");
+        Checkpoint.save(straight, file);
+        Trace expected = new Trace(straight::now);
+        straight.addListener(expected);
+        straight.run();
+
+        SimulationEngine resumed = Checkpoint.load(file, engine -> traffic(profile, engine));
+        assertEquals(time, resumed.now(), where);
+        Trace actual = new Trace(resumed::now);
+        resumed.addListener(actual);
+        resumed.resume();
+        resumed.run();
+
+        assertEquals(expected.toString(), actual.toString(), where);
+        assertEquals(expected.trips, actual.trips, where);
+        assertEquals(expected.waitTotal, actual.waitTotal, where);
+        assertEquals(expected.tripTotal, actual.tripTotal, where);
+        assertEquals(straight.now(), resumed.now(), where);
+    }
+
+    private static SimulationEngine runUntil(SimulationConfig config, String profile, long seed, long time) {
+        SimulationEngine engine = new SimulationEngine(config);
+        engine.enableAutomaticPassengers(seed);
+        engine.setTrafficSource(traffic(profile, engine));
+        engine.start();
+        engine.runUntil(time);
+        return engine;
+    }
+
+    private static ArrivalStream traffic(String profile, SimulationEngine engine) {
+        return profile == null ? null : new ArrivalStream(RateProfile.byName(profile,
+                engine.getConfig().getFloors()), engine.getSeed());
+    }
+
+    // Zdarzenia silnika z chwilą wystąpienia i sumy czasów ukończonych podróży
+    private static class Trace implements SimulationListener {
+        private final LongSupplier clock;
+        private final StringBuilder events = new StringBuilder();
+        private int trips = 0;
+        private long waitTotal = 0;
+        private long tripTotal = 0;
+
+        Trace(LongSupplier clock) {
+            this.clock = clock;
+        }
+
+        private void record(String event, Object... values) {
+            events.append(clock.getAsLong()).append(' ').append(event);
+            for (Object value : values) {
+                events.append(' ').append(value);
+            }
+            events.append('\n');
+        }
+
+        @Override
+        public void onPassengerArrived(int origin, int destination) {
+            record("przyjście", origin, destination);
+        }
+
+        @Override
+        public void onCallRegistered(int floor) {
+            record("wezwanie", floor);
+        }
+
+        @Override
+        public void onDirectionChanged(Elevator elevator) {
+            record("kierunek", elevator.getId(), elevator.getDirection());
+        }
+
+        @Override
+        public void onElevatorDeparted(Elevator elevator, int nextFloor, long arrivalTime) {
+            record("odjazd", elevator.getId(), nextFloor, arrivalTime);
+        }
+
+        @Override
+        public void onElevatorStopped(Elevator elevator, int floor) {
+            record("postój", elevator.getId(), floor);
+        }
+
+        @Override
+        public void onPassengerExited(Elevator elevator, int floor) {
+            record("wysiadł", elevator.getId(), floor);
+        }
+
+        @Override
+        public void onPassengersEntered(Elevator elevator, int floor, int count) {
+            record("wsiedli", elevator.getId(), floor, count);
+        }
+
+        @Override
+        public void onTripCompleted(Elevator elevator, long waitTime, long tripTime) {
+            record("podróż", elevator.getId(), waitTime, tripTime);
+            trips++;
+            waitTotal += waitTime;
+            tripTotal += tripTime;
+        }
+
+        @Override
+        public void onSimulationEnded() {
+            record("koniec");
+        }
+
+        @Override
+        public String toString() {
+            return events.toString();
+        }
+    }
+}
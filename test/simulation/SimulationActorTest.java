@@ -0,0 +1,54 @@
+package simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SimulationActorTest {
+    // Skrzynka pełna poleceń w chwili, gdy tick jest już należny - tick musi wejść zaraz po pierwszym poleceniu
+    @Test
+    void dueTickRunsBetweenQueuedCommands() throws InterruptedException {
+        List<String> order = new CopyOnWriteArrayList<>();
+        AtomicBoolean tickDue = new AtomicBoolean(false);
+        CountDownLatch allPosted = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        SimulationActor actor = new SimulationActor("test-aktor",
+                () -> {
+                    tickDue.set(false);
+                    order.add("tick");
+                },
+                () -> tickDue.get() ? 0 : -1,
+                () -> { });
+        try {
+            actor.post(() -> {
+                try {
+                    allPosted.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                tickDue.set(true);
+                order.add("polecenie 0");
+            });
+            for (int i = 1; i < 100; i++) {
+                String name = "polecenie " + i;
+                actor.post(() -> order.add(name));
+            }
+            actor.post(done::countDown);
+            allPosted.countDown();
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+
+            assertEquals("polecenie 0", order.get(0));
+            assertEquals("tick", order.get(1));
+            assertEquals("polecenie 1", order.get(2));
+        } finally {
+            actor.stop();
+        }
+    }
+}
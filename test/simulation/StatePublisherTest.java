@@ -0,0 +1,119 @@
+package simulation;
+
+import model.Building;
+import model.Elevator;
+import model.FloorSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StatePublisherTest {
+    private static final int FLOORS = 20;
+    private static final int CARS = 3;
+    private static final int PUBLICATIONS = 200_000;
+
+    // Stan wyprowadzony z jednego piętra f: wszystkie kabiny na f, kierunek z parzystości,
+    // f % 5 + 1 celów tuż nad f - każdy obraz sklejony z dwóch publikacji łamie któryś z tych warunków
+    private static void applyStep(Building building, int f) {
+        for (Elevator elevator : building.getElevators()) {
+            elevator.setCurrentFloor(f);
+            elevator.setDirection(f % 2 == 0 ? 1 : -1);
+            FloorSet destinations = elevator.getDestinations();
+            destinations.clear();
+            for (int i = 0; i <= f % 5; i++) {
+                destinations.add((f + 1 + i) % FLOORS);
+            }
+        }
+    }
+
+    private static String inconsistency(BuildingState state) {
+        int f = state.getCurrentFloor(0);
+        for (int car = 0; car < state.getElevatorCount(); car++) {
+            if (state.getCurrentFloor(car) != f) return "kabiny na różnych piętrach";
+            if (state.getDirection(car) != (f % 2 == 0 ? 1 : -1)) return "kierunek z innej publikacji";
+            if (state.getDestinationCount(car) != f % 5 + 1) return "liczba celów z innej publikacji";
+            for (int i = 0; i <= f % 5; i++) {
+                if (!state.hasDestination(car, (f + 1 + i) % FLOORS)) return "cele z innej publikacji";
+            }
+        }
+        return null;
+    }
+
+    // Wątek symulacji publikuje bez przerwy, czytelnicy w tym czasie biorą obrazy - każdy musi być spójny
+    // i wersje u jednego czytelnika nie mogą się cofać
+    @Test
+    void concurrentReadersSeeOnlyConsistentSnapshots() throws InterruptedException {
+        Building building = new Building(FLOORS, CARS);
+        SimulationEngine engine = new SimulationEngine(building);
+        applyStep(building, 0);
+        StatePublisher publisher = new StatePublisher(engine);
+        long initialVersion = publisher.getVersion();
+
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicReference<String> failure = new AtomicReference<>();
+        AtomicLong reads = new AtomicLong();
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < 3; r++) {
+            Thread reader = new Thread(() -> {
+                long lastVersion = 0;
+                while (writing.get() && failure.get() == null) {
+                    BuildingState state = publisher.snapshot();
+                    String problem = inconsistency(state);
+                    if (problem == null && state.getVersion() < lastVersion) {
+                        problem = "wersja cofnęła się z " + lastVersion + " do " + state.getVersion();
+                    }
+                    if (problem != null) {
+                        failure.compareAndSet(null, problem + " (wersja " + state.getVersion() + ")");
+                    }
+                    lastVersion = state.getVersion();
+                    reads.incrementAndGet();
+                }
+            }, "czytelnik-" + r);
+            reader.start();
+            readers.add(reader);
+        }
+
+        for (int k = 1; k <= PUBLICATIONS && failure.get() == null; k++) {
+            applyStep(building, k % FLOORS);
+            publisher.publish();
+        }
+        writing.set(false);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertNull(failure.get());
+        assertTrue(reads.get() > 0);
+        assertEquals(initialVersion + PUBLICATIONS, publisher.getVersion());
+        BuildingState last = publisher.snapshot();
+        assertEquals(publisher.getVersion(), last.getVersion());
+        assertEquals(PUBLICATIONS % FLOORS, last.getCurrentFloor(0));
+    }
+
+    // Bez nowej publikacji kolejni czytelnicy dostają ten sam, raz zbudowany obraz
+    @Test
+    void snapshotOfUnchangedVersionIsShared() {
+        Building building = new Building(FLOORS, CARS);
+        StatePublisher publisher = new StatePublisher(new SimulationEngine(building));
+        BuildingState first = publisher.snapshot();
+        assertSame(first, publisher.snapshot());
+
+        applyStep(building, 4);
+        publisher.publish();
+        BuildingState second = publisher.snapshot();
+        assertEquals(first.getVersion() + 1, second.getVersion());
+        assertEquals(4, second.getCurrentFloor(2));
+        assertNull(inconsistency(second));
+        // Starszy obraz się nie zmienia
+        assertEquals(0, first.getCurrentFloor(2));
+    }
+}
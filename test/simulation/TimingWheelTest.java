@@ -0,0 +1,177 @@
+package simulation;
+
+import batch.MonteCarloRunner;
+import org.junit.jupiter.api.Test;
+import stats.RunResult;
+import traffic.RateProfile;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Koło czasu porównywane z kopcem (EventQueue) na tym samym losowym ciągu operacji: po każdej operacji
+// oba muszą wskazać to samo najbliższe zdarzenie, a wyjęte zdarzenia wyjść w tej samej kolejności
+class TimingWheelTest {
+    private static final int OPERATIONS = 20_000;
+
+    @Test
+    void simultaneousEventsLeaveInScheduleOrder() {
+        for (long seed = 1; seed <= 20; seed++) {
+            compare(seed, 4, 50, 0);
+        }
+    }
+
+    // Opóźnienia sięgające kilku poziomów koła - zdarzenia schodzą niżej, gdy kursor dochodzi do przegródki
+    @Test
+    void cascadesKeepOrder() {
+        for (long seed = 1; seed <= 20; seed++) {
+            compare(seed, 5_000, 10, 0);
+            compare(seed, 1 << 20, 10, 0);
+            compare(seed, 1 << 30, 10, 0);
+        }
+    }
+
+    // Najwyższe poziomy koła: odległe opóźnienia i zdarzenia tuż przed końcem zakresu long
+    @Test
+    void farFutureEventsKeepOrder() {
+        for (long seed = 1; seed <= 20; seed++) {
+            compare(seed, 1L << 48, 10, 50);
+        }
+    }
+
+    // Punkt kontrolny odtwarza zdarzenia z zapisanymi numerami w dowolnej kolejności
+    @Test
+    void restoredEventsKeepSequenceOrder() {
+        for (long seed = 1; seed <= 20; seed++) {
+            Random random = new Random(seed);
+            List<Long> sequences = new ArrayList<>();
+            for (long sequence = 0; sequence < 2000; sequence++) {
+                sequences.add(sequence);
+            }
+            Collections.shuffle(sequences, random);
+            EventScheduler wheel = new TimingWheel();
+            EventScheduler heap = new EventQueue();
+            for (long sequence : sequences) {
+                long time = random.nextInt(4) == 0 ? random.nextInt(1 << 24) : random.nextInt(8);
+                wheel.restore(time, sequence, () -> {});
+                heap.restore(time, sequence, () -> {});
+            }
+            for (int i = 0; !heap.isEmpty(); i++) {
+                assertSame(heap.poll(), wheel.poll(), seed, i);
+            }
+            assertNull(wheel.poll());
+        }
+    }
+
+    @Test
+    void cancelledEventsNeverLeave() {
+        for (long seed = 1; seed <= 20; seed++) {
+            Random random = new Random(seed);
+            EventScheduler wheel = new TimingWheel();
+            List<ScheduledEvent> events = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                events.add(wheel.schedule(random.nextInt(1 << 16), () -> {}));
+            }
+            List<ScheduledEvent> kept = new ArrayList<>();
+            for (ScheduledEvent event : events) {
+                if (random.nextBoolean()) {
+                    event.cancel();
+                } else {
+                    kept.add(event);
+                }
+            }
+            kept.sort(ScheduledEvent::compareTo);
+            for (ScheduledEvent event : kept) {
+                assertEquals(event, wheel.poll());
+            }
+            assertNull(wheel.poll());
+        }
+    }
+
+    // Cały przebieg silnika z -Dliftsimulator.scheduler=wheel i heap daje te same wyniki
+    @Test
+    void engineMatchesHeapScheduler() {
+        SimulationConfig config = SimulationConfig.defaults().withElevatorCount(3).withFloors(15);
+        for (long seed = 1; seed <= 5; seed++) {
+            for (RateProfile profile : new RateProfile[]{null, RateProfile.upPeak(15), RateProfile.lunch(15)}) {
+                RunResult heap = runWith("heap", seed, config, profile);
+                RunResult wheel = runWith("wheel", seed, config, profile);
+                assertEquals(heap.getHandledPassengers(), wheel.getHandledPassengers());
+                assertEquals(heap.getSimulatedTime(), wheel.getSimulatedTime());
+                assertEquals(heap.getMeanWait(), wheel.getMeanWait());
+                assertEquals(heap.getP99Wait(), wheel.getP99Wait());
+                assertEquals(heap.getMeanTrip(), wheel.getMeanTrip());
+            }
+        }
+    }
+
+    private static RunResult runWith(String scheduler, long seed, SimulationConfig config, RateProfile profile) {
+        String previous = System.getProperty("liftsimulator.scheduler");
+        System.setProperty("liftsimulator.scheduler", scheduler);
+        try {
+            return MonteCarloRunner.runReplica(seed, config, profile);
+        } finally {
+            if (previous == null) {
+                System.clearProperty("liftsimulator.scheduler");
+            } else {
+                System.setProperty("liftsimulator.scheduler", previous);
+            }
+        }
+    }
+
+    // Planowanie (część z opóźnieniem 0), anulowanie losowego zdarzenia i wyjmowanie, przeplatane
+    private static void compare(long seed, long maxDelay, int sameTimePercent, int farEvents) {
+        Random random = new Random(seed);
+        EventScheduler wheel = new TimingWheel();
+        EventScheduler heap = new EventQueue();
+        List<ScheduledEvent> wheelEvents = new ArrayList<>();
+        List<ScheduledEvent> heapEvents = new ArrayList<>();
+        for (int i = 0; i < farEvents; i++) {
+            long time = Long.MAX_VALUE - random.nextInt(1 << 20);
+            wheelEvents.add(wheel.schedule(time, () -> {}));
+            heapEvents.add(heap.schedule(time, () -> {}));
+        }
+        long now = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            int operation = random.nextInt(10);
+            if (operation < 5) {
+                long delay = random.nextInt(100) < sameTimePercent ? 0 : (long) (random.nextDouble() * maxDelay);
+                // Po wyjęciu zdarzeń z końca zakresu nowe czasy nie mogą go przekroczyć
+                delay = Math.min(delay, Long.MAX_VALUE - now);
+                wheelEvents.add(wheel.schedule(now + delay, () -> {}));
+                heapEvents.add(heap.schedule(now + delay, () -> {}));
+            } else if (operation < 7 && !wheelEvents.isEmpty()) {
+                int index = random.nextInt(wheelEvents.size());
+                wheelEvents.get(index).cancel();
+                heapEvents.get(index).cancel();
+            } else {
+                assertSame(heap.peek(), wheel.peek(), seed, i);
+                ScheduledEvent expected = heap.poll();
+                ScheduledEvent actual = wheel.poll();
+                assertSame(expected, actual, seed, i);
+                if (expected != null) {
+                    now = expected.getTime();
+                }
+            }
+        }
+        for (int i = OPERATIONS; !heap.isEmpty(); i++) {
+            assertSame(heap.poll(), wheel.poll(), seed, i);
+        }
+        assertNull(wheel.poll(), "Zdarzenia pozostałe w kole, ziarno " + seed);
+    }
+
+    // Oba harmonogramy numerują zdarzenia tak samo, więc odpowiadające sobie mają ten sam czas i numer
+    private static void assertSame(ScheduledEvent expected, ScheduledEvent actual, long seed, int operation) {
+        String where = "ziarno " + seed + ", operacja " + operation;
+        if (expected == null) {
+            assertNull(actual, where);
+            return;
+        }
+        assertEquals(expected.getTime(), actual.getTime(), where);
+        assertEquals(expected.getSequence(), actual.getSequence(), where);
+    }
+}
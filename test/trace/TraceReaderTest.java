@@ -0,0 +1,80 @@
+package trace;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TraceReaderTest {
+    private static final int RECORDS = 300_000;
+
+    @TempDir
+    Path directory;
+
+    // Ślad dłuższy niż okno zapisu - rekordy przecinają granice okien po obu stronach
+    private Path writeLongTrace() throws IOException {
+        Path file = directory.resolve("trace.bin");
+        try (TraceWriter writer = new TraceWriter(file, 40, 3, 7L, true, true, "LOOK")) {
+            for (int i = 0; i < RECORDS; i++) {
+                writer.write(TraceFormat.BOARDING, i * 1_000_003L, i % 3, i % 40, i % 9 + 1);
+            }
+            writer.writeEnd(RECORDS * 1_000_003L, 12345L, 0x1234_5678_9ABC_DEF0L);
+        }
+        assertTrue(Files.size(file) > TraceFormat.WINDOW_SIZE);
+        return file;
+    }
+
+    private static void assertRecords(TraceReader reader) {
+        for (int i = 0; i < RECORDS; i++) {
+            assertTrue(reader.next(), "Brak rekordu " + i);
+            assertEquals(TraceFormat.BOARDING, reader.getType());
+            assertEquals(i * 1_000_003L, reader.getTime());
+            assertEquals(i % 3, reader.getCar());
+            assertEquals(i % 40, reader.getFloor());
+            assertEquals(i % 9 + 1, reader.getCount());
+        }
+        assertTrue(reader.next());
+        assertEquals(TraceFormat.END, reader.getType());
+        assertEquals(12345L, reader.getStateCount());
+        assertEquals(0x1234_5678_9ABC_DEF0L, reader.getDigest());
+        assertFalse(reader.next());
+    }
+
+    @Test
+    void readsTraceLongerThanOneWindow() throws IOException {
+        try (TraceReader reader = new TraceReader(writeLongTrace())) {
+            assertEquals(40, reader.getFloors());
+            assertEquals(3, reader.getElevatorCount());
+            assertEquals(7L, reader.getSeed());
+            assertEquals("LOOK", reader.getStrategyName());
+            assertRecords(reader);
+        }
+    }
+
+    // Okno jednej strony - kilkaset przemapowań, rekordy na granicy okna czytane po przesunięciu
+    @Test
+    void smallWindowYieldsSameRecords() throws IOException {
+        try (TraceReader reader = new TraceReader(writeLongTrace(), 4096)) {
+            assertRecords(reader);
+        }
+    }
+
+    @Test
+    void cursorReadsIndependentlyOfOriginal() throws IOException {
+        try (TraceReader reader = new TraceReader(writeLongTrace(), 65536)) {
+            for (int i = 0; i < RECORDS / 2; i++) {
+                reader.next();
+            }
+            TraceReader cursor = reader.newCursor();
+            assertRecords(cursor);
+            assertTrue(reader.next());
+            assertEquals(RECORDS / 2 * 1_000_003L, reader.getTime());
+        }
+    }
+}
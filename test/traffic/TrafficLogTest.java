@@ -0,0 +1,131 @@
+package traffic;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrafficLogTest {
+    private static final int FLOORS = 20;
+
+    @TempDir
+    Path directory;
+
+    private Path csv(String name, String content) throws IOException {
+        return Files.writeString(directory.resolve(name), content);
+    }
+
+    // Rekordy jako trójki czas, start, cel - nieznane cele są już rozlosowane przez źródło
+    private static List<List<Long>> records(TrafficLog log) throws IOException {
+        List<List<Long>> records = new ArrayList<>();
+        try (log) {
+            while (log.hasNext()) {
+                records.add(List.of(log.nextTime(), (long) log.nextOrigin(), (long) log.nextDestination()));
+                log.advance();
+            }
+        }
+        return records;
+    }
+
+    @Test
+    void csvAcceptsHeaderCommentsAndFormats() throws IOException {
+        Path file = csv("ruch.csv", "# dziennik z holu\n\nczas;start;cel\n1000;0;5\r\n1500, 3 ,\n"
+                + "# przerwa\n2000\t7\t1\n2024-03-01T00:00:02.500;4;9\n");
+        List<List<Long>> records = records(TrafficLog.open(file, FLOORS, 1));
+
+        assertEquals(4, records.size());
+        assertEquals(List.of(0L, 0L, 5L), records.get(0));
+        assertEquals(500L, records.get(1).get(0));
+        assertEquals(3L, records.get(1).get(1));
+        assertEquals(List.of(1000L, 7L, 1L), records.get(2));
+        // Czas ISO to milisekundy od 1970 - ostatni rekord jest o wiele później niż pierwszy
+        assertEquals(1_709_251_202_500L - 1000, records.get(3).get(0));
+    }
+
+    // CSV -> binarny -> te same rekordy, także nieznane cele (to samo ziarno losuje te same)
+    @Test
+    void csvAndBinaryRoundTrip() throws IOException {
+        StringBuilder content = new StringBuilder("czas,start,cel\n");
+        for (int i = 0; i < 5_000; i++) {
+            content.append(i * 37L).append(',').append(i % FLOORS).append(',');
+            if (i % 3 != 0) {
+                content.append((i + 1 + i % 7) % FLOORS == i % FLOORS ? (i + 2) % FLOORS : (i + 1 + i % 7) % FLOORS);
+            }
+            content.append('\n');
+        }
+        Path csvFile = csv("ruch.csv", content.toString());
+        Path binaryFile = directory.resolve("ruch.bin");
+        assertEquals(5_000, TrafficLogWriter.convert(csvFile, binaryFile));
+
+        List<List<Long>> fromCsv = records(TrafficLog.open(csvFile, FLOORS, 42));
+        List<List<Long>> fromBinary = records(TrafficLog.open(binaryFile, FLOORS, 42));
+        assertTrue(TrafficLog.open(binaryFile, FLOORS, 42) instanceof BinaryTrafficLog);
+        assertEquals(5_000, fromCsv.size());
+        assertEquals(fromCsv, fromBinary);
+
+        // Małe okna mapowania - rekordy i linie przecinają granice okien
+        assertEquals(fromCsv, records(new CsvTrafficLog(new MappedLog(csvFile, 8192), FLOORS, 42)));
+        assertEquals(fromCsv, records(new BinaryTrafficLog(new MappedLog(binaryFile, 64), FLOORS, 42, binaryFile)));
+    }
+
+    @Test
+    void csvRejectsBadLinesWithLineNumber() throws IOException {
+        assertRejected("1000;1;2\nczas;start;cel\n", "linia 2");
+        assertRejected("1000;1;2\n1500;3;abc\n", "linia 2");
+        assertRejected("1000;99999999999;2\n", "linia 1");
+        assertRejected("1000;1;2;3\n", "linia 1");
+        assertRejected("1000;1x;2\n", "linia 1");
+        assertRejected("1000\n", "linia 1");
+        assertRejected("1000;;2\n", "linia 1");
+        assertRejected("99999999999999999999;1;2\n", "linia 1");
+        assertRejected("# komentarz\n1000;1;2\n2000;25;2\n", "linia 3");
+        assertRejected("1000;1;2\n500;3;4\n", "linia 2");
+    }
+
+    private void assertRejected(String content, String location) throws IOException {
+        Path file = csv("zly.csv", content);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> records(TrafficLog.open(file, FLOORS, 1)), content);
+        assertTrue(e.getMessage().contains(location), e.getMessage());
+    }
+
+    @Test
+    void binaryRejectsForeignTruncatedAndOverflowingFiles() throws IOException {
+        Path foreign = directory.resolve("obcy.bin");
+        Files.write(foreign, new byte[TrafficLogFormat.HEADER_SIZE + 3]);
+        assertThrows(IllegalArgumentException.class, () -> new BinaryTrafficLog(foreign, FLOORS, 1));
+
+        Path valid = directory.resolve("ruch.bin");
+        try (TrafficLogWriter writer = new TrafficLogWriter(valid)) {
+            writer.write(1000, 1, 2);
+            writer.write(2000, 300, 2);
+        }
+        byte[] bytes = Files.readAllBytes(valid);
+        Path truncated = directory.resolve("uciety.bin");
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 1));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> records(TrafficLog.open(truncated, 400, 1)));
+        assertTrue(e.getMessage().contains("ucięty"), e.getMessage());
+
+        // Piętro startowe 2^32 + 1 - po zwykłym rzutowaniu na int wyszłoby piętro 1
+        Path overflowing = directory.resolve("przepelniony.bin");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(overflowing))) {
+            out.writeInt(TrafficLogFormat.MAGIC);
+            out.writeShort(TrafficLogFormat.VERSION);
+            out.writeLong(0);
+            out.write(new byte[]{0, (byte) 0x81, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x10, 3});
+        }
+        e = assertThrows(IllegalArgumentException.class, () -> records(TrafficLog.open(overflowing, FLOORS, 1)));
+        assertTrue(e.getMessage().contains("poza zakresem"), e.getMessage());
+    }
+}